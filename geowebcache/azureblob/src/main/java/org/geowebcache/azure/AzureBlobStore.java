@@ -22,18 +22,22 @@
 import com.azure.storage.blob.models.BlobProperties;
 import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.specialized.BlockBlobClient;
-import com.google.common.collect.AbstractIterator;
-import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.util.Iterator;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -51,9 +55,9 @@
 import org.geowebcache.storage.BlobStoreListenerList;
 import org.geowebcache.storage.CompositeBlobStore;
 import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileBatches;
 import org.geowebcache.storage.TileObject;
 import org.geowebcache.storage.TileRange;
-import org.geowebcache.storage.TileRangeIterator;
 import org.geowebcache.util.TMSKeyBuilder;
 import org.springframework.http.HttpStatus;
 
@@ -66,11 +70,19 @@ public class AzureBlobStore implements BlobStore {
     private final AzureClient client;
     DeleteManager deleteManager;
 
-    private volatile boolean shutDown = false;
+    /** Runs the single tile requests of {@link #putAll(Collection)} and {@link #getAll(Collection)} */
+    private final ExecutorService batchExecutor;
 
     public AzureBlobStore(AzureBlobStoreData configuration, TileLayerDispatcher layers, LockProvider lockProvider)
             throws StorageException {
-        this.client = new AzureClient(configuration);
+        this(configuration, layers, lockProvider, new AzureClient(configuration));
+    }
+
+    /** Visible for testing, allows to use a mocked client */
+    AzureBlobStore(
+            AzureBlobStoreData configuration, TileLayerDispatcher layers, LockProvider lockProvider, AzureClient client)
+            throws StorageException {
+        this.client = client;
 
         String prefix = Optional.ofNullable(configuration.getPrefix()).orElse("");
         this.keyBuilder = new TMSKeyBuilder(prefix, layers);
@@ -87,6 +99,12 @@ public AzureBlobStore(AzureBlobStoreData configuration, TileLayerDispatcher laye
         // deletes are a complicated beast, we have a dedicated class to run them
         deleteManager = new DeleteManager(client, lockProvider, keyBuilder, configuration.getMaxConnections());
         deleteManager.issuePendingBulkDeletes();
+
+        ThreadFactory tf = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("GWC AzureBlobStore batch thread-%d. Container: " + client.getContainerName())
+                .build();
+        batchExecutor = Executors.newFixedThreadPool(configuration.getMaxConnections(), tf);
     }
 
     @Override
@@ -185,69 +203,26 @@ public boolean delete(TileObject obj) throws StorageException {
     @Override
     public boolean delete(TileRange tileRange) throws StorageException {
         // see if there is anything to delete in that range by computing a prefix
-        final String coordsPrefix = keyBuilder.coordinatesPrefix(tileRange, false);
+        final String coordsPrefix = keyBuilder.coordinatesPrefix(tileRange, true);
         if (!client.prefixExists(coordsPrefix)) {
             return false;
         }
 
-        // open an iterator oer tile locations, to avoid memory accumulation
-        final Iterator<long[]> tileLocations = new AbstractIterator<>() {
-
-            // TileRange iterator with 1x1 meta tiling factor
-            private TileRangeIterator trIter = new TileRangeIterator(tileRange, new int[] {1, 1});
-
-            @Override
-            protected long[] computeNext() {
-                long[] gridLoc = trIter.nextMetaGridLocation(new long[3]);
-                return gridLoc == null ? endOfData() : gridLoc;
-            }
-        };
-
-        // if no listeners, we don't need to gather extra tile info, use a dedicated fast path
-        if (listeners.isEmpty()) {
-            // if there are no listeners, don't bother requesting every tile
-            // metadata to notify the listeners
-            Iterator<String> keysIterator = Iterators.transform(
-                    tileLocations, tl -> keyBuilder.forLocation(coordsPrefix, tl, tileRange.getMimeType()));
-            // split the iteration in parts to avoid memory accumulation
-            Iterator<List<String>> partition = Iterators.partition(keysIterator, DeleteManager.PAGE_SIZE);
-
-            while (partition.hasNext() && !shutDown) {
-                List<String> locations = partition.next();
-                deleteManager.deleteParallel(locations);
-            }
-
-        } else {
-            // if we need to gather info, we'll end up just calling "delete" on each tile
-            // this is run here instead of inside the delete manager as we need high level info
-            // about tiles, e.g., TileObject, to inform the listeners
-            String layerName = tileRange.getLayerName();
-            String gridSetId = tileRange.getGridSetId();
-            String format = tileRange.getMimeType().getFormat();
-            Map<String, String> parameters = tileRange.getParameters();
-
-            Iterator<Callable<?>> tilesIterator = Iterators.transform(tileLocations, xyz -> {
-                TileObject tile = TileObject.createQueryTileObject(layerName, xyz, gridSetId, format, parameters);
-                tile.setParametersId(tileRange.getParametersId());
-                return (Callable<Object>) () -> delete(tile);
-            });
-            Iterator<List<Callable<?>>> partition = Iterators.partition(tilesIterator, DeleteManager.PAGE_SIZE);
-
-            // once a page of callables is ready, run them in parallel on the delete manager
-            while (partition.hasNext() && !shutDown) {
-                deleteManager.executeParallel(partition.next());
-            }
-        }
-
+        // list what is actually stored rather than issuing a delete for every tile location
+        deleteManager.truncate(tileRange, coordsPrefix, listeners);
         return true;
     }
 
     @Override
     public boolean get(TileObject obj) throws StorageException {
         final String key = keyBuilder.forTile(obj);
+        final long validatorTimestamp = obj.getValidatorTimestamp();
         boolean found;
         try {
-            BlobDownloadContentResponse response = client.download(key);
+            BlobDownloadContentResponse response = validatorTimestamp < 0
+                    ? client.download(key)
+                    : client.download(
+                            key, OffsetDateTime.ofInstant(Instant.ofEpochMilli(validatorTimestamp), ZoneOffset.UTC));
             if (null == response) {
                 obj.setBlob(null);
                 obj.setBlobSize(0);
@@ -262,6 +237,10 @@ public boolean get(TileObject obj) throws StorageException {
                 found = true;
             }
         } catch (BlobStorageException e) {
+            if (validatorTimestamp >= 0 && e.getStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                obj.setNotModified();
+                return true;
+            }
             throw new StorageException("Error getting " + key, e);
         }
         return found;
@@ -269,6 +248,37 @@ public boolean get(TileObject obj) throws StorageException {
 
     @Override
     public void put(TileObject obj) throws StorageException {
+        putTile(obj);
+        // along with the metadata
+        putParametersMetadata(obj.getLayerName(), obj.getParametersId(), obj.getParameters());
+    }
+
+    /**
+     * Uploads the tiles concurrently, and the parameters metadata once per distinct set of parameters instead of once
+     * per tile
+     */
+    @Override
+    public void putAll(Collection<TileObject> objs) throws StorageException {
+        TileBatches.forEach(objs, batchExecutor, obj -> {
+            putTile(obj);
+            return true;
+        });
+        Map<String, TileObject> byParameters = new HashMap<>();
+        for (TileObject obj : objs) {
+            byParameters.putIfAbsent(obj.getLayerName() + "/" + obj.getParametersId(), obj);
+        }
+        for (TileObject obj : byParameters.values()) {
+            putParametersMetadata(obj.getLayerName(), obj.getParametersId(), obj.getParameters());
+        }
+    }
+
+    /** Downloads the tiles concurrently */
+    @Override
+    public List<TileObject> getAll(Collection<TileObject> objs) throws StorageException {
+        return TileBatches.forEach(objs, batchExecutor, this::get);
+    }
+
+    private void putTile(TileObject obj) throws StorageException {
         final Resource blob = obj.getBlob();
         checkNotNull(blob);
         checkNotNull(obj.getBlobFormat());
@@ -305,9 +315,6 @@ public void put(TileObject obj) throws StorageException {
             throw new StorageException("Error obtaining date from TileObject " + obj);
         }
 
-        // along with the metadata
-        putParametersMetadata(obj.getLayerName(), obj.getParametersId(), obj.getParameters());
-
         // This is important because listeners may be tracking tile existence
         if (!listeners.isEmpty()) {
             if (existed) {
@@ -352,10 +359,12 @@ public void clear() throws StorageException {
 
     @Override
     public void destroy() {
-        shutDown = true;
         if (deleteManager != null) {
             deleteManager.close();
         }
+        if (batchExecutor != null) {
+            batchExecutor.shutdownNow();
+        }
     }
 
     @Override
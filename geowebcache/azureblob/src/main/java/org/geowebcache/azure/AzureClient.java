@@ -46,6 +46,7 @@
 import java.net.Proxy;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.Properties;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -164,9 +165,21 @@ public BlockBlobClient getBlockBlobClient(String key) {
      * @throws BlobStorageException
      */
     public BlobDownloadContentResponse download(String key) {
+        return download(key, null);
+    }
+
+    /**
+     * Conditional version of {@link #download(String)}
+     *
+     * @param ifModifiedSince only download the blob if modified after this time, {@code null} to always download it
+     * @return the blob's download response, or {@code null} if not found
+     * @throws BlobStorageException with a {@link HttpStatus#NOT_MODIFIED} status code if the blob has not been modified
+     */
+    public BlobDownloadContentResponse download(String key, @Nullable OffsetDateTime ifModifiedSince) {
         BlobClient blobClient = container.getBlobClient(key);
         DownloadRetryOptions options = new DownloadRetryOptions().setMaxRetryRequests(0);
-        BlobRequestConditions conditions = null;
+        BlobRequestConditions conditions =
+                ifModifiedSince == null ? null : new BlobRequestConditions().setIfModifiedSince(ifModifiedSince);
         Duration timeout = null;
         Context context = Context.NONE;
         try {
@@ -40,10 +40,14 @@
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.geowebcache.GeoWebCacheException;
 import org.geowebcache.locks.LockProvider;
 import org.geowebcache.locks.LockProvider.Lock;
+import org.geowebcache.storage.BlobStoreListenerList;
+import org.geowebcache.storage.ListingTruncator;
 import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileRange;
 import org.geowebcache.util.TMSKeyBuilder;
 
 /**
@@ -62,6 +66,12 @@ class DeleteManager implements Closeable {
      */
     static final int PAGE_SIZE = 1000;
 
+    /**
+     * Keys per batch of a tile range truncation. There is no multi-object delete, small batches spread the single
+     * deletes across the executor threads.
+     */
+    static final int TRUNCATE_BATCH_SIZE = 100;
+
     private final TMSKeyBuilder keyBuilder;
     private final AzureClient client;
     private final LockProvider locks;
@@ -116,6 +126,16 @@ public Long deleteParallel(List<String> keys) throws StorageException {
         }
     }
 
+    /**
+     * Deletes the tiles of the range listing the ones actually stored, see {@link ListingTruncator}
+     *
+     * @return the number of tiles deleted
+     */
+    public long truncate(TileRange tileRange, String coordsPrefix, BlobStoreListenerList listeners)
+            throws StorageException {
+        return new AzureTruncator().truncate(tileRange, coordsPrefix, listeners);
+    }
+
     public boolean scheduleAsyncDelete(final String prefix) throws StorageException {
         final long timestamp = currentTimeSeconds();
         String msg = String.format(
@@ -365,6 +385,34 @@ private long deleteItems(BlobContainerClient container, List<String> itemNames)
         }
     }
 
+    private class AzureTruncator extends ListingTruncator {
+
+        AzureTruncator() {
+            super(deleteExecutor, concurrency, TRUNCATE_BATCH_SIZE);
+        }
+
+        @Override
+        protected Stream<StoredObject> list(String prefix) {
+            return client.listBlobs(prefix, PAGE_SIZE).map(item -> {
+                Long length = item.getProperties().getContentLength();
+                return new StoredObject(item.getName(), length == null ? 0 : length);
+            });
+        }
+
+        @Override
+        protected void delete(List<String> keys) {
+            BlobContainerClient container = client.getContainer();
+            for (String key : keys) {
+                deleteItem(container, key);
+            }
+        }
+
+        @Override
+        protected boolean isAborted() {
+            return deleteExecutor.isShutdown();
+        }
+    }
+
     private boolean deleteItem(BlobContainerClient container, String key) {
         return container.getBlobClient(key).deleteIfExists();
     }
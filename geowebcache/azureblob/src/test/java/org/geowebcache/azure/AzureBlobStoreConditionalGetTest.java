@@ -0,0 +1,157 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.azure;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.azure.core.util.BinaryData;
+import com.azure.storage.blob.models.BlobDownloadContentResponse;
+import com.azure.storage.blob.models.BlobDownloadHeaders;
+import com.azure.storage.blob.models.BlobStorageException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Properties;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.layer.TileLayer;
+import org.geowebcache.layer.TileLayerDispatcher;
+import org.geowebcache.locks.NoOpLockProvider;
+import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests the conditional downloads issued for tiles the client already has a copy of, against a mocked client */
+public class AzureBlobStoreConditionalGetTest {
+
+    private static final long CLIENT_COPY = 1_000_000L;
+
+    private static final OffsetDateTime CLIENT_COPY_TIME =
+            OffsetDateTime.ofInstant(Instant.ofEpochMilli(CLIENT_COPY), ZoneOffset.UTC);
+
+    private AzureClient client;
+
+    private AzureBlobStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        client = mock(AzureClient.class);
+        when(client.getContainerName()).thenReturn("test-container");
+        when(client.getProperties(anyString())).thenReturn(new Properties());
+
+        TileLayer layer = mock(TileLayer.class);
+        when(layer.getName()).thenReturn("testLayer");
+        when(layer.getId()).thenReturn("testLayer");
+        TileLayerDispatcher layers = mock(TileLayerDispatcher.class);
+        when(layers.getTileLayer("testLayer")).thenReturn(layer);
+
+        AzureBlobStoreData configuration = new AzureBlobStoreData();
+        configuration.setMaxConnections(1);
+        store = new AzureBlobStore(configuration, layers, new NoOpLockProvider(), client);
+    }
+
+    @After
+    public void tearDown() {
+        store.destroy();
+    }
+
+    private static TileObject query(long validator) {
+        TileObject query =
+                TileObject.createQueryTileObject("testLayer", new long[] {1, 0, 5}, "testGridSet", "image/png", null);
+        query.setValidators(validator, -1);
+        return query;
+    }
+
+    private static BlobDownloadContentResponse response(String content, long lastModified) {
+        BlobDownloadContentResponse response = mock(BlobDownloadContentResponse.class);
+        when(response.getValue()).thenReturn(BinaryData.fromBytes(content.getBytes(StandardCharsets.UTF_8)));
+        when(response.getDeserializedHeaders())
+                .thenReturn(new BlobDownloadHeaders()
+                        .setLastModified(OffsetDateTime.ofInstant(Instant.ofEpochMilli(lastModified), ZoneOffset.UTC)));
+        return response;
+    }
+
+    private static BlobStorageException exception(int status) {
+        BlobStorageException exception = mock(BlobStorageException.class);
+        when(exception.getStatusCode()).thenReturn(status);
+        return exception;
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        BlobStorageException notModified = exception(304);
+        when(client.download(anyString(), eq(CLIENT_COPY_TIME))).thenThrow(notModified);
+
+        TileObject query = query(CLIENT_COPY);
+        assertThat(store.get(query), is(true));
+        assertThat(query.isNotModified(), is(true));
+        assertThat(query.getBlob(), nullValue());
+        assertThat(query.getCreated(), equalTo(CLIENT_COPY));
+    }
+
+    @Test
+    public void testModified() throws Exception {
+        BlobDownloadContentResponse newer = response("newer", CLIENT_COPY + 1000);
+        when(client.download(anyString(), eq(CLIENT_COPY_TIME))).thenReturn(newer);
+
+        TileObject query = query(CLIENT_COPY);
+        assertThat(store.get(query), is(true));
+        assertThat(query.isNotModified(), is(false));
+        assertThat(
+                new String(((ByteArrayResource) query.getBlob()).getContents(), StandardCharsets.UTF_8),
+                equalTo("newer"));
+        assertThat(query.getCreated(), equalTo(CLIENT_COPY + 1000));
+    }
+
+    @Test
+    public void testMissing() throws Exception {
+        when(client.download(anyString(), eq(CLIENT_COPY_TIME))).thenReturn(null);
+
+        TileObject query = query(CLIENT_COPY);
+        assertThat(store.get(query), is(false));
+        assertThat(query.isNotModified(), is(false));
+    }
+
+    @Test(expected = StorageException.class)
+    public void testOtherErrorsAreRethrown() throws Exception {
+        BlobStorageException failure = exception(500);
+        when(client.download(anyString(), eq(CLIENT_COPY_TIME))).thenThrow(failure);
+
+        store.get(query(CLIENT_COPY));
+    }
+
+    @Test
+    public void testNoValidatorIsUnconditional() throws Exception {
+        BlobDownloadContentResponse tile = response("tile", CLIENT_COPY);
+        when(client.download(anyString())).thenReturn(tile);
+
+        TileObject query = query(-1);
+        assertThat(store.get(query), is(true));
+        assertThat(query.isNotModified(), is(false));
+        assertThat(query.getBlobSize(), equalTo("tile".length()));
+        verify(client, never()).download(anyString(), any(OffsetDateTime.class));
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.benchmarks;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.io.Resource;
+import org.geowebcache.storage.BlobStore;
+import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileObject;
+import org.geowebcache.storage.blobstore.file.FileBlobStore;
+import org.geowebcache.storage.blobstore.memory.CacheConfiguration;
+import org.geowebcache.storage.blobstore.memory.MemoryBlobStore;
+import org.geowebcache.storage.blobstore.memory.guava.GuavaCacheProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single tile reads and writes on the {@link FileBlobStore}, and on a {@link MemoryBlobStore} backed by a
+ * {@link GuavaCacheProvider} in front of it. Run with {@code -t <threads>} to measure them under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BlobStoreBenchmark {
+
+    static final String LAYER = "benchmark";
+
+    static final String GRIDSET = "EPSG:4326";
+
+    static final String FORMAT = "image/png";
+
+    /** Tiles pre-seeded in the store, a 32x32 block at zoom level 10 */
+    static final int SIDE = 32;
+
+    @Param({"file", "memory"})
+    public String store;
+
+    @Param({"1024", "16384"})
+    public int tileSize;
+
+    private File directory;
+
+    private BlobStore blobStore;
+
+    private byte[] data;
+
+    /** Per thread position in the pre-seeded tiles */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+
+        long[] nextIndex() {
+            int i = next++ % (SIDE * SIDE);
+            return new long[] {i % SIDE, i / SIDE, 10};
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("gwc-benchmark").toFile();
+        FileBlobStore fileStore = new FileBlobStore(directory.getAbsolutePath());
+        if ("memory".equals(store)) {
+            MemoryBlobStore memoryStore = new MemoryBlobStore();
+            memoryStore.setStore(fileStore);
+            memoryStore.setCacheProvider(new GuavaCacheProvider(new CacheConfiguration()));
+            blobStore = memoryStore;
+        } else {
+            blobStore = fileStore;
+        }
+
+        data = new byte[tileSize];
+        new Random(42).nextBytes(data);
+        Cursor cursor = new Cursor();
+        for (int i = 0; i < SIDE * SIDE; i++) {
+            blobStore.put(tile(cursor.nextIndex()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        blobStore.destroy();
+        FileUtils.deleteDirectory(directory);
+    }
+
+    private TileObject tile(long[] index) {
+        return TileObject.createCompleteTileObject(
+                LAYER, index, GRIDSET, FORMAT, null, new ByteArrayResource(data));
+    }
+
+    @Benchmark
+    public Resource get(Cursor cursor) throws StorageException {
+        TileObject tile = TileObject.createQueryTileObject(LAYER, cursor.nextIndex(), GRIDSET, FORMAT, null);
+        blobStore.get(tile);
+        return tile.getBlob();
+    }
+
+    @Benchmark
+    public void put(Cursor cursor) throws StorageException {
+        blobStore.put(tile(cursor.nextIndex()));
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.benchmarks;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.geowebcache.config.DefaultGridsets;
+import org.geowebcache.grid.BoundingBox;
+import org.geowebcache.grid.GridSetBroker;
+import org.geowebcache.grid.GridSubset;
+import org.geowebcache.grid.GridSubsetFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversions between tile indexes and bounding boxes, {@link GridSubset#boundsFromIndex(long[])} is called for every
+ * backend request and {@link GridSubset#closestIndex(BoundingBox)} for every WMS tiled request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GridSubsetBenchmark {
+
+    static final int SAMPLES = 1024;
+
+    @Param({"EPSG:4326", "EPSG:3857"})
+    public String gridSet;
+
+    private GridSubset gridSubset;
+
+    private long[][] indexes;
+
+    private BoundingBox[] bounds;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        GridSetBroker gridSetBroker = new GridSetBroker(Collections.singletonList(new DefaultGridsets(false, true)));
+        gridSubset = GridSubsetFactory.createGridSubSet(gridSetBroker.get(gridSet));
+
+        Random random = new Random(42);
+        indexes = new long[SAMPLES][];
+        bounds = new BoundingBox[SAMPLES];
+        int maxZoom = gridSubset.getZoomStop();
+        for (int i = 0; i < SAMPLES; i++) {
+            int z = random.nextInt(maxZoom + 1);
+            long[] coverage = gridSubset.getCoverage(z);
+            long x = coverage[0] + (long) (random.nextDouble() * (coverage[2] - coverage[0] + 1));
+            long y = coverage[1] + (long) (random.nextDouble() * (coverage[3] - coverage[1] + 1));
+            indexes[i] = new long[] {x, y, z};
+            bounds[i] = gridSubset.boundsFromIndex(indexes[i]);
+        }
+    }
+
+    @Benchmark
+    public BoundingBox boundsFromIndex() {
+        return gridSubset.boundsFromIndex(indexes[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public long[] closestIndex() throws Exception {
+        return gridSubset.closestIndex(bounds[next++ & (SAMPLES - 1)]);
+    }
+}
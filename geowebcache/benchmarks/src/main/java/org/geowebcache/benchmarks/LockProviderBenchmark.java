@@ -0,0 +1,79 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.geowebcache.locks.LockProvider;
+import org.geowebcache.locks.MemoryLockProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Acquires and releases meta tile locks on a {@link MemoryLockProvider} from several threads. A small number of keys
+ * means threads mostly wait on each other, as when many clients request the same area, a large one measures the cost
+ * of the lock bookkeeping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LockProviderBenchmark {
+
+    @Param({"1", "16", "4096"})
+    public int keys;
+
+    /** Simulated work while holding the lock, in JMH tokens */
+    @Param({"0", "100"})
+    public int work;
+
+    private LockProvider lockProvider;
+
+    private String[] lockKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lockProvider = new MemoryLockProvider();
+        lockKeys = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            lockKeys[i] = "GWC_METATILE_benchmark_" + i;
+        }
+    }
+
+    @Benchmark
+    public void lockAndRelease() throws Exception {
+        String key = lockKeys[ThreadLocalRandom.current().nextInt(keys)];
+        LockProvider.Lock lock = lockProvider.getLock(key);
+        try {
+            Blackhole.consumeCPU(work);
+        } finally {
+            lock.release();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.benchmarks;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.geowebcache.config.DefaultGridsets;
+import org.geowebcache.grid.GridSetBroker;
+import org.geowebcache.grid.GridSubset;
+import org.geowebcache.grid.GridSubsetFactory;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.layer.MetaTile;
+import org.geowebcache.mime.MimeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cutting and encoding all the tiles of a meta tile with
+ * {@link MetaTile#writeTileToStream(int, org.geowebcache.io.Resource)}. Scores are per meta tile, so they are only
+ * comparable for the same meta tiling factor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MetaTileBenchmark {
+
+    @Param({"image/png", "image/jpeg"})
+    public String format;
+
+    @Param({"1", "4", "8"})
+    public int metaFactor;
+
+    private GridSubset gridSubset;
+
+    private MimeType mimeType;
+
+    private BufferedImage image;
+
+    private MetaTile metaTile;
+
+    private final ByteArrayResource buffer = new ByteArrayResource(16 * 1024);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        GridSetBroker gridSetBroker = new GridSetBroker(Collections.singletonList(new DefaultGridsets(false, false)));
+        gridSubset = GridSubsetFactory.createGridSubSet(gridSetBroker.getWorldEpsg3857());
+        mimeType = MimeType.createFromFormat(format);
+        image = createImage(
+                gridSubset.getTileWidth() * metaFactor,
+                gridSubset.getTileHeight() * metaFactor,
+                "image/png".equals(format));
+    }
+
+    /** Something that compresses like a map rather than like noise or a flat color */
+    static BufferedImage createImage(int width, int height, boolean alpha) {
+        BufferedImage image =
+                new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setPaint(new GradientPaint(0, 0, Color.WHITE, width, height, new Color(180, 210, 240)));
+            graphics.fillRect(0, 0, width, height);
+            Random random = new Random(42);
+            for (int i = 0; i < width * height / 1024; i++) {
+                graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256), 200));
+                int x = random.nextInt(width);
+                int y = random.nextInt(height);
+                graphics.drawLine(x, y, x + random.nextInt(64) - 32, y + random.nextInt(64) - 32);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    /** The meta tile keeps track of every tile it cut until disposed, so each invocation needs a fresh one */
+    @Setup(Level.Invocation)
+    public void createMetaTile() {
+        long[] gridPosition = {100 * metaFactor, 100 * metaFactor, 10};
+        metaTile = new MetaTile(gridSubset, mimeType, null, gridPosition, metaFactor, metaFactor, 0);
+        metaTile.setImage(image);
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeMetaTile() {
+        metaTile.dispose();
+    }
+
+    @Benchmark
+    public long writeTiles() throws Exception {
+        long size = 0;
+        int tiles = metaTile.getTilesGridPositions().length;
+        for (int i = 0; i < tiles; i++) {
+            buffer.truncate();
+            metaTile.writeTileToStream(i, buffer);
+            size += buffer.getSize();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.geowebcache.filter.parameters.CaseNormalizer;
+import org.geowebcache.filter.parameters.CaseNormalizer.Case;
+import org.geowebcache.filter.parameters.ParameterFilter;
+import org.geowebcache.filter.parameters.ParametersUtils;
+import org.geowebcache.filter.parameters.RegexParameterFilter;
+import org.geowebcache.filter.parameters.StringParameterFilter;
+import org.geowebcache.layer.wms.WMSLayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Applies the parameter filters of a layer to the request parameters and computes the parameters id, as done for
+ * every tile request with {@link WMSLayer#getModifiableParameters(Map, String)}. The layer is shared, run with
+ * {@code -t <threads>} to measure contention on the filters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParameterFilterBenchmark {
+
+    private WMSLayer layer;
+
+    private Map<String, String[]> defaults;
+
+    private Map<String, String[]> filtered;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringParameterFilter styles = new StringParameterFilter();
+        styles.setKey("STYLES");
+        styles.setDefaultValue("polygon");
+        styles.setValues(Arrays.asList("polygon", "line", "point", "population", "roads"));
+        styles.setNormalize(new CaseNormalizer(Case.LOWER));
+
+        RegexParameterFilter time = new RegexParameterFilter();
+        time.setKey("TIME");
+        time.setDefaultValue("2020-01-01");
+        time.setRegex("\\d{4}-\\d{2}-\\d{2}");
+
+        RegexParameterFilter env = new RegexParameterFilter();
+        env.setKey("ENV");
+        env.setDefaultValue("");
+        env.setRegex("([a-z]+:[0-9a-f]+;?)*");
+        env.setNormalize(new CaseNormalizer(Case.LOWER));
+
+        List<ParameterFilter> filters = new ArrayList<>(Arrays.asList(styles, time, env));
+        layer = new WMSLayer(
+                "benchmark",
+                new String[] {"http://localhost:8080/wms"},
+                null,
+                "benchmark",
+                Collections.singletonList("image/png"),
+                new HashMap<>(),
+                filters,
+                new int[] {4, 4},
+                null,
+                false,
+                null);
+
+        defaults = request("polygon", null, null);
+        filtered = request("Roads", "2024-06-30", "color:ff0000;width:3");
+    }
+
+    private static Map<String, String[]> request(String styles, String time, String env) {
+        Map<String, String[]> request = new HashMap<>();
+        request.put("SERVICE", new String[] {"WMS"});
+        request.put("REQUEST", new String[] {"GetMap"});
+        request.put("LAYERS", new String[] {"benchmark"});
+        request.put("BBOX", new String[] {"-180,-90,0,90"});
+        request.put("WIDTH", new String[] {"256"});
+        request.put("HEIGHT", new String[] {"256"});
+        request.put("styles", new String[] {styles});
+        if (time != null) {
+            request.put("time", new String[] {time});
+        }
+        if (env != null) {
+            request.put("env", new String[] {env});
+        }
+        return request;
+    }
+
+    @Benchmark
+    public String defaultParameters() throws Exception {
+        return ParametersUtils.getId(layer.getModifiableParameters(defaults, "UTF-8"));
+    }
+
+    @Benchmark
+    public String filteredParameters() throws Exception {
+        return ParametersUtils.getId(layer.getModifiableParameters(filtered, "UTF-8"));
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.geowebcache.mime.MimeType;
+import org.geowebcache.storage.PartitionedTileRangeIterator;
+import org.geowebcache.storage.TileRange;
+import org.geowebcache.storage.TileRangeIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hands out all the meta tiles of a tile range to a number of workers, the way seed tasks do, either from a shared
+ * {@link TileRangeIterator} or from the worker iterators of a {@link PartitionedTileRangeIterator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TileRangeIteratorBenchmark {
+
+    @Param({"plain", "partitioned"})
+    public String iterator;
+
+    @Param({"1", "4", "16"})
+    public int workers;
+
+    @Param({"4"})
+    public int metaFactor;
+
+    private TileRange tileRange;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // a whole world power of two grid up to level 11, about 5.6M tiles
+        long[][] coverages = new long[12][];
+        for (int z = 0; z < coverages.length; z++) {
+            long max = (1L << z) - 1;
+            coverages[z] = new long[] {0, 0, max, max, z};
+        }
+        tileRange = new TileRange(
+                "benchmark", "EPSG:3857", 0, 11, coverages, MimeType.createFromFormat("image/png"), null);
+        executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long drain() throws Exception {
+        int[] metaTilingFactors = {metaFactor, metaFactor};
+        List<TileRangeIterator> iterators = new ArrayList<>(workers);
+        if ("partitioned".equals(iterator)) {
+            PartitionedTileRangeIterator partitioned =
+                    new PartitionedTileRangeIterator(tileRange, metaTilingFactors, workers);
+            for (int i = 0; i < workers; i++) {
+                iterators.add(partitioned.getWorkerIterator(i));
+            }
+        } else {
+            TileRangeIterator shared = new TileRangeIterator(tileRange, metaTilingFactors);
+            for (int i = 0; i < workers; i++) {
+                iterators.add(shared);
+            }
+        }
+
+        List<Future<Long>> futures = new ArrayList<>(workers);
+        for (TileRangeIterator it : iterators) {
+            futures.add(executor.submit(() -> {
+                long count = 0;
+                long[] gridLoc = new long[3];
+                while ((gridLoc = it.nextMetaGridLocation(gridLoc)) != null) {
+                    count++;
+                }
+                return count;
+            }));
+        }
+        long total = 0;
+        for (Future<Long> future : futures) {
+            total += future.get();
+        }
+        return total;
+    }
+}
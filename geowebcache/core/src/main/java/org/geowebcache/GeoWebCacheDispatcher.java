@@ -500,6 +500,7 @@ private void handleFrontPage(HttpServletRequest request, HttpServletResponse res
             }
             if (storageBroker != null) {
                 appendInternalCacheStats(str);
+                appendTransientCacheStats(str);
             }
         }
         str.append("</body></html>\n");
@@ -565,6 +566,40 @@ private void appendStorageLocations(StringBuilder str) {
         str.append("</table>\n");
     }
 
+    /**
+     * Appends the statistics of the transient cache, used for the metatile tiles that are not cached, to the GWC
+     * homepage
+     *
+     * @param str Input {@link StringBuilder} containing the HTML for the GWC homepage
+     */
+    private void appendTransientCacheStats(StringBuilder str) {
+        if (!(storageBroker instanceof DefaultStorageBroker)) {
+            return;
+        }
+        CacheStatistics statistics = ((DefaultStorageBroker) storageBroker).getTransientCacheStatistics();
+
+        str.append("<h3>Transient Cache Statistics</h3>\n");
+        str.append("<table border=\"0\" cellspacing=\"5\">");
+        str.append("<tr><td colspan=\"2\">Transient Cache hit count:</td><td colspan=\"3\">")
+                .append(statistics.getHitCount())
+                .append("</td></tr>\n");
+        str.append("<tr><td colspan=\"2\">Transient Cache miss count:</td><td colspan=\"3\">")
+                .append(statistics.getMissCount())
+                .append("</td></tr>\n");
+        str.append("<tr><td colspan=\"2\">Transient Cache hit ratio:</td><td colspan=\"3\">")
+                .append(statistics.getHitRate())
+                .append(" %</td></tr>\n");
+        str.append("<tr><td colspan=\"2\">Total number of evicted tiles:</td><td colspan=\"3\">")
+                .append(statistics.getEvictionCount())
+                .append("</td></tr>\n");
+        str.append("<tr><td colspan=\"2\">Cache Actual Size/ Total Size :</td><td colspan=\"3\">")
+                .append(statistics.getActualSize() / 1024)
+                .append(" / ")
+                .append(statistics.getTotalSize() / 1024)
+                .append(" KiB</td></tr>\n");
+        str.append("</table>\n");
+    }
+
     /**
      * This method appends the cache statistics to the GWC homepage if the blobstore used is an instance of the
      * {@link MemoryBlobStore} class
@@ -620,6 +655,7 @@ private void appendInternalCacheStats(StringBuilder strGlobal) {
         double hitRate = statistics.getHitRate();
         double missRate = statistics.getMissRate();
         double currentMemory = statistics.getCurrentMemoryOccupation();
+        double fragmentation = statistics.getFragmentation();
         long byteToMb = 1024 * 1024;
         double actualSize = ((long) (100 * (statistics.getActualSize() * 1.0d) / byteToMb)) / 100d;
         double totalSize = ((long) (100 * (statistics.getTotalSize() * 1.0d) / byteToMb)) / 100d;
@@ -665,6 +701,10 @@ private void appendInternalCacheStats(StringBuilder strGlobal) {
                 + (currentMemory >= 0 ? currentMemory + " %" : "Unavailable"));
         str.append("</td></tr>\n");
 
+        str.append("<tr><td colspan=\"2\">Cache Memory fragmentation:</td><td colspan=\"3\">"
+                + (fragmentation >= 0 ? fragmentation + " %" : "Unavailable"));
+        str.append("</td></tr>\n");
+
         str.append("<tr><td colspan=\"5\"> </td></tr>");
 
         str.append("<tr><td colspan=\"2\">Cache Actual Size/ Total Size :</td><td colspan=\"3\">"
@@ -0,0 +1,78 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.config;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import org.geowebcache.storage.blobstore.memory.CacheConfiguration;
+import org.geowebcache.storage.blobstore.memory.CachingBlobStore;
+
+/**
+ * Configuration of the local read cache a blob store can be fronted with, see {@link BlobStoreInfo#getCache()} and
+ * {@link CachingBlobStore}.
+ *
+ * @since 1.27
+ */
+public class BlobStoreCacheInfo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long memoryLimit;
+
+    private String diskDirectory;
+
+    /**
+     * @return the maximum size of the in memory tier in megabytes, {@code null} for the default of
+     *     {@link CacheConfiguration#DEFAULT_MEMORY_LIMIT}
+     */
+    @Nullable
+    public Long getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    /** Sets the maximum size of the in memory tier in megabytes */
+    public void setMemoryLimit(Long memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+
+    /** @return the directory of the local disk tier, {@code null} if there is none */
+    @Nullable
+    public String getDiskDirectory() {
+        return diskDirectory;
+    }
+
+    /** Sets the directory of the local disk tier, {@code null} for none */
+    public void setDiskDirectory(String diskDirectory) {
+        this.diskDirectory = diskDirectory;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memoryLimit, diskDirectory);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        BlobStoreCacheInfo other = (BlobStoreCacheInfo) obj;
+        return Objects.equals(memoryLimit, other.memoryLimit) && Objects.equals(diskDirectory, other.diskDirectory);
+    }
+
+    @Override
+    public String toString() {
+        return "BlobStoreCacheInfo [memoryLimit=" + memoryLimit + ", diskDirectory=" + diskDirectory + "]";
+    }
+}
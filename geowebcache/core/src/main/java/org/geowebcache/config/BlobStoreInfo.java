@@ -46,6 +46,8 @@ public abstract class BlobStoreInfo implements Serializable, Cloneable, Info {
 
     private boolean _default;
 
+    private BlobStoreCacheInfo cache;
+
     protected BlobStoreInfo() {
         //
     }
@@ -119,6 +121,25 @@ public void setDefault(boolean def) {
         this._default = def;
     }
 
+    /**
+     * @return the configuration of the local read cache in front of the blob store, {@code null} if the blob store is
+     *     used directly
+     * @since 1.27
+     */
+    public BlobStoreCacheInfo getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the configuration of the local read cache in front of the blob store, meant for remote blob stores
+     *
+     * @param cache the cache configuration, {@code null} to use the blob store directly
+     * @since 1.27
+     */
+    public void setCache(BlobStoreCacheInfo cache) {
+        this.cache = cache;
+    }
+
     @Override
     public abstract String toString();
 
@@ -157,6 +178,7 @@ public int hashCode() {
         result = prime * result + (_default ? 1231 : 1237);
         result = prime * result + (enabled ? 1231 : 1237);
         result = prime * result + ((name == null) ? 0 : name.hashCode());
+        result = prime * result + ((cache == null) ? 0 : cache.hashCode());
         return result;
     }
 
@@ -171,6 +193,9 @@ public boolean equals(Object obj) {
         if (name == null) {
             if (other.name != null) return false;
         } else if (!name.equals(other.name)) return false;
+        if (cache == null) {
+            if (other.cache != null) return false;
+        } else if (!cache.equals(other.cache)) return false;
         return true;
     }
 }
@@ -20,6 +20,7 @@
 import org.geowebcache.storage.BlobStore;
 import org.geowebcache.storage.BlobStoreListener;
 import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.blobstore.file.BundleFileBlobStore;
 import org.geowebcache.storage.blobstore.file.DefaultFilePathGenerator;
 import org.geowebcache.storage.blobstore.file.FileBlobStore;
 import org.geowebcache.storage.blobstore.file.XYZFilePathGenerator;
@@ -35,7 +36,9 @@ public class FileBlobStoreInfo extends BlobStoreInfo {
     public static enum PathGeneratorType {
         DEFAULT,
         TMS,
-        SLIPPY
+        SLIPPY,
+        /** Tiles packed in bundle files, see {@link BundleFileBlobStore} */
+        BUNDLED
     }
 
     private static final long serialVersionUID = -6470560864068854508L;
@@ -130,6 +133,8 @@ public BlobStore createInstance(TileLayerDispatcher layers, LockProvider lockPro
             fileBlobStore = new FileBlobStore(
                     baseDirectory,
                     new XYZFilePathGenerator(baseDirectory, layers, XYZFilePathGenerator.Convention.TMS));
+        } else if (pathGeneratorType == PathGeneratorType.BUNDLED) {
+            fileBlobStore = new BundleFileBlobStore(baseDirectory);
         } else {
             fileBlobStore = new FileBlobStore(
                     baseDirectory,
@@ -63,6 +63,9 @@ public static enum CacheResult {
 
     protected CacheResult cacheResult;
 
+    // Used to measure the time taken to serve the request
+    private final long startNanos = System.nanoTime();
+
     protected Conveyor(String layerId, StorageBroker sb, HttpServletRequest srq, HttpServletResponse srp) {
         this.layerId = layerId;
         storageBroker = sb;
@@ -123,6 +126,11 @@ public void setRequestHandler(RequestHandler reqHandler) {
         this.reqHandler = reqHandler;
     }
 
+    /** @return the {@link System#nanoTime()} at which this conveyor was created */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
     public CacheResult getCacheResult() {
         return this.cacheResult;
     }
@@ -0,0 +1,139 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Read only {@link Resource} backed by a {@link ByteBuffer}, usually a direct one so that the contents are kept out of
+ * the java heap.
+ *
+ * <p>Every read works on a duplicate of the buffer, so the resource can be read concurrently and more than once.
+ */
+public class ByteBufferResource implements Resource {
+
+    private final ByteBuffer buffer;
+
+    private final long lastModified;
+
+    /** @param buffer the contents, from its position to its limit. The buffer is not copied. */
+    public ByteBufferResource(ByteBuffer buffer) {
+        this(buffer, System.currentTimeMillis());
+    }
+
+    /**
+     * @param buffer the contents, from its position to its limit. The buffer is not copied.
+     * @param lastModified the last modification time
+     */
+    public ByteBufferResource(ByteBuffer buffer, long lastModified) {
+        this.buffer = buffer.slice().asReadOnlyBuffer();
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Copies the contents of the given resource in a newly allocated direct buffer
+     *
+     * @param resource the resource to copy
+     * @return an off heap copy of the resource
+     */
+    public static ByteBufferResource copyOffHeap(Resource resource) throws IOException {
+        ByteBuffer target = ByteBuffer.allocateDirect((int) resource.getSize());
+        resource.transferTo(new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) {
+                int remaining = src.remaining();
+                target.put(src);
+                return remaining;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+                // nothing to do
+            }
+        });
+        target.flip();
+        return new ByteBufferResource(target, resource.getLastModified());
+    }
+
+    @Override
+    public long getSize() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public long transferTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer src = buffer.duplicate();
+        long length = src.remaining();
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+        return length;
+    }
+
+    /** Unsupported, the resource is read only */
+    @Override
+    public long transferFrom(ReadableByteChannel channel) throws IOException {
+        throw new UnsupportedOperationException("ByteBufferResource is read only");
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        final ByteBuffer src = buffer.duplicate();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return src.hasRemaining() ? src.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                if (!src.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(len, src.remaining());
+                src.get(b, off, count);
+                return count;
+            }
+
+            @Override
+            public int available() {
+                return src.remaining();
+            }
+        };
+    }
+
+    /** Unsupported, the resource is read only */
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        throw new UnsupportedOperationException("ByteBufferResource is read only");
+    }
+
+    @Override
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -23,27 +23,94 @@
 import java.nio.channels.FileLock;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
 
 public class FileResource implements Resource {
 
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
     private final File file;
 
+    /** Size and last modified time read in a single call, or {@link #UNKNOWN} to ask the file system every time */
+    private volatile long size = UNKNOWN;
+
+    private volatile long lastModified = UNKNOWN;
+
     public FileResource(File file) {
         this.file = file;
     }
 
+    /**
+     * Creates a resource for a file whose attributes have already been read, so that {@link #getSize()} and
+     * {@link #getLastModified()} do not hit the file system again. Writing through this resource discards them.
+     */
+    public FileResource(File file, BasicFileAttributes attributes) {
+        this.file = file;
+        this.size = attributes.size();
+        this.lastModified = attributes.lastModifiedTime().toMillis();
+    }
+
+    /**
+     * Reads the size and last modification time of the file with a single file system call, instead of the separate
+     * {@code exists()}, {@code length()} and {@code lastModified()} ones.
+     *
+     * @return the resource, or {@code null} if the file does not exist, is not a regular file, or cannot be accessed,
+     *     same as {@link File#exists()} returning {@code false}
+     */
+    public static FileResource readIfExists(File file) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        } catch (FileSystemException e) {
+            // NoSuchFileException, AccessDeniedException, or a path going through a regular file
+            return null;
+        }
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+        return new FileResource(file, attributes);
+    }
+
+    /**
+     * Checks whether the file still has the size and last modification time read when this resource was created, to
+     * tell if it has been replaced since.
+     *
+     * @return {@code true} if the file is unchanged, {@code false} if it was replaced, written through this resource,
+     *     or deleted, or if the attributes were not read upfront
+     */
+    public boolean isUnchanged() {
+        long size = this.size;
+        long lastModified = this.lastModified;
+        if (size == UNKNOWN || lastModified == UNKNOWN) {
+            return false;
+        }
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            return false;
+        }
+        return attributes.size() == size && attributes.lastModifiedTime().toMillis() == lastModified;
+    }
+
     /** @see org.geowebcache.io.Resource#getLastModified() */
     @Override
     public long getLastModified() {
-        return file.lastModified();
+        long lastModified = this.lastModified;
+        return lastModified == UNKNOWN ? file.lastModified() : lastModified;
     }
 
     /** @see org.geowebcache.io.Resource#getSize() */
     @Override
     public long getSize() {
-        // avoid a (relatively expensive) call to File.exists(), file.length() returns 0 if the file
-        // doesn't exist anyway
-        long size = file.length();
+        long size = this.size;
+        if (size == UNKNOWN) {
+            // avoid a (relatively expensive) call to File.exists(), file.length() returns 0 if the file
+            // doesn't exist anyway
+            size = file.length();
+        }
         return size == 0 ? -1 : size;
     }
 
@@ -65,6 +132,7 @@ public long transferTo(WritableByteChannel target) throws IOException {
     @Override
     @SuppressWarnings("PMD.UnusedLocalVariable")
     public long transferFrom(ReadableByteChannel channel) throws IOException {
+        forgetAttributes();
         try (FileOutputStream fos = new FileOutputStream(file);
                 FileChannel out = fos.getChannel();
                 FileLock lock = out.lock()) {
@@ -85,9 +153,15 @@ public InputStream getInputStream() throws IOException {
 
     @Override
     public OutputStream getOutputStream() throws IOException {
+        forgetAttributes();
         return new FileOutputStream(file);
     }
 
+    private void forgetAttributes() {
+        size = UNKNOWN;
+        lastModified = UNKNOWN;
+    }
+
     public File getFile() {
         return file;
     }
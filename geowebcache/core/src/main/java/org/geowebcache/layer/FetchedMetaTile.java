@@ -0,0 +1,79 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.layer;
+
+import java.io.IOException;
+import java.util.List;
+import org.geowebcache.GeoWebCacheException;
+import org.geowebcache.conveyor.ConveyorTile;
+import org.geowebcache.io.Resource;
+import org.geowebcache.storage.TileObject;
+
+/**
+ * A meta tile whose image has been fetched from the backend but not decoded yet, as returned by
+ * {@link TileLayer#fetchMetaTile(ConveyorTile, boolean)}.
+ *
+ * <p>Instances are handed over between threads, the raw image must not live in a thread local buffer.
+ */
+public class FetchedMetaTile {
+
+    private final TileLayer layer;
+
+    private final ConveyorTile tile;
+
+    private final MetaTile metaTile;
+
+    private final Resource data;
+
+    private final long requestTime;
+
+    /**
+     * @param layer the layer the meta tile belongs to
+     * @param tile the requested tile, used as prototype for the tiles to store
+     * @param metaTile the meta tile
+     * @param data the raw image returned by the backend
+     * @param requestTime the time the backend request was issued
+     */
+    public FetchedMetaTile(TileLayer layer, ConveyorTile tile, MetaTile metaTile, Resource data, long requestTime) {
+        this.layer = layer;
+        this.tile = tile;
+        this.metaTile = metaTile;
+        this.data = data;
+        this.requestTime = requestTime;
+    }
+
+    /** @return the requested tile */
+    public ConveyorTile getTile() {
+        return tile;
+    }
+
+    /**
+     * Decodes the meta tile image and encodes the tiles that should be cached, disposing the meta tile afterwards.
+     *
+     * @return the tiles to store
+     */
+    public List<TileObject> decode() throws GeoWebCacheException, IOException {
+        try {
+            metaTile.setImageBytes(data);
+            return layer.encodeTiles(metaTile, tile, requestTime);
+        } finally {
+            dispose();
+        }
+    }
+
+    /** Releases the meta tile resources, for meta tiles that won't be decoded */
+    public void dispose() {
+        metaTile.dispose();
+    }
+}
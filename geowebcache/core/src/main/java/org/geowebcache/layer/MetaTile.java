@@ -376,7 +376,7 @@ public boolean writeTileToStream(final int tileIdx, Resource target) throws IOEx
         return true;
     }
 
-    protected void disposeLater(RenderedImage tile) {
+    protected synchronized void disposeLater(RenderedImage tile) {
         if (disposableImages == null) {
             disposableImages = new ArrayList<>(tiles.length);
         }
@@ -460,7 +460,7 @@ public MimeType getRequestFormat() {
     }
 
     /** Should be called as soon as the meta tile is no longer needed in order to dispose any held resource */
-    public void dispose() {
+    public synchronized void dispose() {
         if (metaTileImage == null) {
             return;
         }
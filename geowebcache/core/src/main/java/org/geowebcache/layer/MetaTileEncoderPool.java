@@ -0,0 +1,110 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.layer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.GeoWebCacheExtensions;
+
+/**
+ * Holds the executor shared by all layers to encode and store the tiles of a {@link MetaTile} in parallel.
+ *
+ * <p>Parallel encoding is disabled by default, it's enabled by setting the {@link #GWC_METATILE_ENCODER_THREADS}
+ * property (system property, servlet context parameter or environment variable) to a positive number of threads. The
+ * pool work queue is bounded, when full the submitting thread encodes the tile itself, so a burst of cache misses
+ * cannot queue an unbounded amount of decoded metatiles in memory.
+ */
+public class MetaTileEncoderPool {
+
+    private static Logger log = Logging.getLogger(MetaTileEncoderPool.class.getName());
+
+    /** Number of threads used to encode metatile subtiles, zero or unset disables parallel encoding */
+    public static final String GWC_METATILE_ENCODER_THREADS = "GWC_METATILE_ENCODER_THREADS";
+
+    /** Size of the pool work queue, defaults to four times the number of threads */
+    public static final String GWC_METATILE_ENCODER_QUEUE_SIZE = "GWC_METATILE_ENCODER_QUEUE_SIZE";
+
+    private static volatile ExecutorService executor;
+
+    private static volatile boolean initialized;
+
+    private MetaTileEncoderPool() {
+        // utility class
+    }
+
+    /** @return the shared executor, or {@code null} if parallel metatile encoding is not enabled */
+    @Nullable
+    public static ExecutorService getExecutor() {
+        if (!initialized) {
+            synchronized (MetaTileEncoderPool.class) {
+                if (!initialized) {
+                    executor = createExecutor();
+                    initialized = true;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /** Shuts down the shared executor, a new one will be created on next use based on the current configuration */
+    public static synchronized void reset() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        executor = null;
+        initialized = false;
+    }
+
+    private static ExecutorService createExecutor() {
+        int threads = getIntProperty(GWC_METATILE_ENCODER_THREADS, 0);
+        if (threads <= 0) {
+            return null;
+        }
+        int queueSize = Math.max(1, getIntProperty(GWC_METATILE_ENCODER_QUEUE_SIZE, 4 * threads));
+        log.info("Encoding metatiles with " + threads + " threads, queue size " + queueSize);
+
+        ThreadFactory tf = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("GWC metatile encoder thread-%d")
+                .build();
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                tf,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    static int getIntProperty(String name, int defaultValue) {
+        String value = GeoWebCacheExtensions.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warning("Invalid value for " + name + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
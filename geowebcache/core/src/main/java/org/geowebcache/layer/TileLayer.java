@@ -22,6 +22,9 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -153,6 +156,22 @@ public abstract ConveyorTile getTile(ConveyorTile tile)
     /** */
     public abstract void seedTile(ConveyorTile tile, boolean tryCache) throws GeoWebCacheException, IOException;
 
+    /**
+     * Requests the meta tile containing the given tile from the backend, leaving the decoding and storage of its tiles
+     * to the caller. Used by pipelined seeding, so that backend requests, decoding and storage can run on different
+     * threads.
+     *
+     * <p>The default implementation seeds the tile right away with {@link #seedTile(ConveyorTile, boolean)} and returns
+     * {@code null}.
+     *
+     * @return the fetched meta tile, or {@code null} if there is nothing left to decode and store
+     */
+    @Nullable
+    public FetchedMetaTile fetchMetaTile(ConveyorTile tile, boolean tryCache) throws GeoWebCacheException, IOException {
+        seedTile(tile, tryCache);
+        return null;
+    }
+
     /**
      * This is a more direct way of requesting a tile without invoking metatiling, and should not be used in general.
      * The method was exposed to let the KML service traverse the tree ahead of the client, to avoid linking to empty
@@ -481,6 +500,16 @@ protected void saveTiles(MetaTile metaTile, ConveyorTile tileProto, long request
         final int zoomLevel = (int) gridLoc[2];
         final boolean store = this.getExpireCache(zoomLevel) != GWCVars.CACHE_DISABLE_CACHE;
 
+        final ExecutorService encoderPool = MetaTileEncoderPool.getExecutor();
+        if (store && encoderPool != null && gridPositions.length > 1) {
+            saveTilesParallel(metaTile, tileProto, requestTime, encoderPool);
+            return;
+        }
+
+        // tiles going to the persistent storage are handed over in a single batch, so they need their own buffers
+        final boolean batch = store && !tileProto.isMetaTileCacheOnly() && gridPositions.length > 1;
+        final List<TileObject> batchTiles = batch ? new ArrayList<>(gridPositions.length) : null;
+
         Resource resource;
         boolean encode;
         for (int i = 0; i < gridPositions.length; i++) {
@@ -492,7 +521,7 @@ protected void saveTiles(MetaTile metaTile, ConveyorTile tileProto, long request
                 tileProto.setBlob(resource);
                 encode = true;
             } else {
-                resource = getImageBuffer(WMS_BUFFER);
+                resource = batch ? new ByteArrayResource(16 * 1024) : getImageBuffer(WMS_BUFFER);
                 encode = store;
             }
 
@@ -503,37 +532,176 @@ protected void saveTiles(MetaTile metaTile, ConveyorTile tileProto, long request
                 }
 
                 try {
-                    boolean completed = metaTile.writeTileToStream(i, resource);
-                    if (!completed) {
-                        log.log(Level.SEVERE, "metaTile.writeTileToStream returned false, no tiles saved");
-                    }
-                    if (store) {
-                        long[] idx = {gridPos[0], gridPos[1], gridPos[2]};
-
-                        TileObject tile = TileObject.createCompleteTileObject(
-                                this.getName(),
-                                idx,
-                                tileProto.getGridSetId(),
-                                tileProto.getMimeType().getFormat(),
-                                tileProto.getParameters(),
-                                resource);
-                        tile.setCreated(requestTime);
-
-                        try {
-                            if (tileProto.isMetaTileCacheOnly()) {
-                                tileProto.getStorageBroker().putTransient(tile);
-                            } else {
-                                tileProto.getStorageBroker().put(tile);
-                            }
-                            tileProto.getStorageObject().setCreated(tile.getCreated());
-                        } catch (StorageException e) {
-                            throw new GeoWebCacheException(e);
-                        }
+                    encodeTile(metaTile, i, resource);
+                    if (batch) {
+                        batchTiles.add(createTileObject(tileProto, gridPos, resource, requestTime));
+                    } else if (store) {
+                        storeTile(tileProto, gridPos, resource, requestTime);
                     }
                 } catch (IOException ioe) {
                     log.log(Level.SEVERE, "Unable to write image tile to " + "ByteArrayOutputStream", ioe);
                 }
             }
         }
+        if (batch && !batchTiles.isEmpty()) {
+            storeTiles(tileProto, batchTiles, requestTime);
+        }
+    }
+
+    /**
+     * Parallel version of {@link #saveTiles(MetaTile, ConveyorTile, long)}, used when a
+     * {@link MetaTileEncoderPool#getExecutor() metatile encoder pool} is configured.
+     *
+     * <p>The requested tile is encoded first in the calling thread, so that its contents are available as soon as
+     * possible, while the other tiles are encoded and stored in the pool. The method returns only after all tiles have
+     * been stored, so that any lock held by the caller covers the whole metatile.
+     */
+    protected void saveTilesParallel(
+            MetaTile metaTile, ConveyorTile tileProto, long requestTime, ExecutorService encoderPool)
+            throws GeoWebCacheException {
+
+        final long[][] gridPositions = metaTile.getTilesGridPositions();
+        final long[] gridLoc = tileProto.getTileIndex();
+        final GridSubset gridSubset = getGridSubset(tileProto.getGridSetId());
+
+        List<Future<?>> siblings = new ArrayList<>(gridPositions.length);
+        int requested = -1;
+        try {
+            for (int i = 0; i < gridPositions.length; i++) {
+                final long[] gridPos = gridPositions[i];
+                if (Arrays.equals(gridLoc, gridPos)) {
+                    requested = i;
+                    if (gridSubset.covers(gridPos)) {
+                        Resource resource = getImageBuffer(WMS_BUFFER2);
+                        tileProto.setBlob(resource);
+                        encodeTile(metaTile, i, resource);
+                    }
+                    break;
+                }
+            }
+        } catch (IOException ioe) {
+            log.log(Level.SEVERE, "Unable to write image tile to " + "ByteArrayOutputStream", ioe);
+        }
+
+        for (int i = 0; i < gridPositions.length; i++) {
+            final long[] gridPos = gridPositions[i];
+            if (i == requested || !gridSubset.covers(gridPos)) {
+                // the requested tile is stored below, edge tiles outside coverage are not stored
+                continue;
+            }
+            final int tileIndex = i;
+            siblings.add(encoderPool.submit(() -> {
+                // the thread local buffers cannot be used, the tile is kept until stored
+                Resource resource = new ByteArrayResource(16 * 1024);
+                encodeTile(metaTile, tileIndex, resource);
+                storeTile(tileProto, gridPos, resource, requestTime);
+                return null;
+            }));
+        }
+
+        GeoWebCacheException failure = null;
+        if (requested != -1 && gridSubset.covers(gridLoc)) {
+            try {
+                storeTile(tileProto, gridLoc, tileProto.getBlob(), requestTime);
+            } catch (GeoWebCacheException e) {
+                failure = e;
+            }
+        }
+        for (Future<?> sibling : siblings) {
+            try {
+                sibling.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GeoWebCacheException(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    log.log(Level.SEVERE, "Unable to write image tile to " + "ByteArrayOutputStream", cause);
+                } else if (failure == null) {
+                    failure = cause instanceof GeoWebCacheException
+                            ? (GeoWebCacheException) cause
+                            : new GeoWebCacheException(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void encodeTile(MetaTile metaTile, int tileIndex, Resource target) throws IOException {
+        boolean completed = metaTile.writeTileToStream(tileIndex, target);
+        if (!completed) {
+            log.log(Level.SEVERE, "metaTile.writeTileToStream returned false, no tiles saved");
+        }
+    }
+
+    /**
+     * Encodes the tiles of a decoded meta tile that should be cached, each one in its own buffer, so that they can be
+     * stored by another thread.
+     *
+     * @return the tiles to store, empty if the zoom level is not cached
+     */
+    protected List<TileObject> encodeTiles(MetaTile metaTile, ConveyorTile tileProto, long requestTime)
+            throws IOException {
+        final long[][] gridPositions = metaTile.getTilesGridPositions();
+        final GridSubset gridSubset = getGridSubset(tileProto.getGridSetId());
+        final int zoomLevel = (int) tileProto.getTileIndex()[2];
+
+        List<TileObject> tiles = new ArrayList<>(gridPositions.length);
+        if (this.getExpireCache(zoomLevel) == GWCVars.CACHE_DISABLE_CACHE) {
+            return tiles;
+        }
+        for (int i = 0; i < gridPositions.length; i++) {
+            final long[] gridPos = gridPositions[i];
+            if (!gridSubset.covers(gridPos)) {
+                // edge tile outside coverage, do not store it
+                continue;
+            }
+            Resource resource = new ByteArrayResource(16 * 1024);
+            encodeTile(metaTile, i, resource);
+            tiles.add(createTileObject(tileProto, gridPos, resource, requestTime));
+        }
+        return tiles;
+    }
+
+    private void storeTile(ConveyorTile tileProto, long[] gridPos, Resource resource, long requestTime)
+            throws GeoWebCacheException {
+        TileObject tile = createTileObject(tileProto, gridPos, resource, requestTime);
+
+        try {
+            if (tileProto.isMetaTileCacheOnly()) {
+                tileProto.getStorageBroker().putTransient(tile);
+            } else {
+                tileProto.getStorageBroker().put(tile);
+            }
+            tileProto.getStorageObject().setCreated(tile.getCreated());
+        } catch (StorageException e) {
+            throw new GeoWebCacheException(e);
+        }
+    }
+
+    private void storeTiles(ConveyorTile tileProto, List<TileObject> tiles, long requestTime)
+            throws GeoWebCacheException {
+        try {
+            tileProto.getStorageBroker().putAll(tiles);
+            tileProto.getStorageObject().setCreated(requestTime);
+        } catch (StorageException e) {
+            throw new GeoWebCacheException(e);
+        }
+    }
+
+    private TileObject createTileObject(ConveyorTile tileProto, long[] gridPos, Resource resource, long requestTime) {
+        long[] idx = {gridPos[0], gridPos[1], gridPos[2]};
+
+        TileObject tile = TileObject.createCompleteTileObject(
+                this.getName(),
+                idx,
+                tileProto.getGridSetId(),
+                tileProto.getMimeType().getFormat(),
+                tileProto.getParameters(),
+                resource);
+        tile.setCreated(requestTime);
+        return tile;
     }
 }
@@ -21,6 +21,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.servlet.http.HttpServletResponse;
@@ -29,6 +30,7 @@
 import org.apache.http.HttpResponse;
 import org.geotools.util.logging.Logging;
 import org.geowebcache.GeoWebCacheException;
+import org.geowebcache.GeoWebCacheExtensions;
 import org.geowebcache.config.XMLGridSubset;
 import org.geowebcache.config.legends.LegendsRawInfo;
 import org.geowebcache.conveyor.Conveyor.CacheResult;
@@ -44,6 +46,7 @@
 import org.geowebcache.io.Resource;
 import org.geowebcache.layer.AbstractTileLayer;
 import org.geowebcache.layer.ExpirationRule;
+import org.geowebcache.layer.FetchedMetaTile;
 import org.geowebcache.layer.ProxyLayer;
 import org.geowebcache.layer.meta.LayerMetaInformation;
 import org.geowebcache.layer.meta.MetadataURL;
@@ -60,6 +63,17 @@ public class WMSLayer extends AbstractTileLayer implements ProxyLayer {
 
     private static Logger log = Logging.getLogger(WMSLayer.class.getName());
 
+    /**
+     * System property, servlet context parameter or environment variable with the maximum time, in milliseconds, a tile
+     * request waits for another request working on the same meta tile. After that the tile is requested alone and not
+     * cached. Unset or negative waits as long as the lock provider allows.
+     */
+    public static final String GWC_METATILE_LOCK_TIMEOUT = "GWC_METATILE_LOCK_TIMEOUT";
+
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private static volatile long metaTileLockTimeout = UNSET;
+
     public enum RequestType {
         MAP,
         FEATUREINFO
@@ -269,9 +283,9 @@ public ConveyorTile getTile(ConveyorTile tile) throws GeoWebCacheException, IOEx
             if (tryCacheFetch(tile)) {
                 returnTile = finalizeTile(tile);
             } else if (mime.supportsTiling()) { // Okay, so we need to go to the backend
-                returnTile = getMetatilingReponse(tile, true);
+                returnTile = getMetatilingReponse(tile, true, getMetaTileLockTimeout());
             } else {
-                returnTile = getNonMetatilingReponse(tile, true);
+                returnTile = getNonMetatilingReponse(tile, true, getMetaTileLockTimeout());
             }
         } finally {
             cleanUpThreadLocals();
@@ -288,9 +302,9 @@ public void seedTile(ConveyorTile tile, boolean tryCache) throws GeoWebCacheExce
         GridSubset gridSubset = getGridSubset(tile.getGridSetId());
         if (gridSubset.shouldCacheAtZoom(tile.getTileIndex()[2])) {
             if (tile.getMimeType().supportsTiling() && (metaWidthHeight[0] > 1 || metaWidthHeight[1] > 1)) {
-                getMetatilingReponse(tile, tryCache);
+                getMetatilingReponse(tile, tryCache, -1);
             } else {
-                getNonMetatilingReponse(tile, tryCache);
+                getNonMetatilingReponse(tile, tryCache, -1);
             }
         }
     }
@@ -300,59 +314,95 @@ public void seedTile(ConveyorTile tile, boolean tryCache) throws GeoWebCacheExce
      *
      * @param tile the Tile with all the information
      * @param tryCache whether to try the cache, or seed
+     * @param lockTimeout maximum wait for the meta tile lock in milliseconds, negative to wait as long as the lock
+     *     provider allows
      */
-    private ConveyorTile getMetatilingReponse(ConveyorTile tile, boolean tryCache) throws GeoWebCacheException {
+    private ConveyorTile getMetatilingReponse(ConveyorTile tile, boolean tryCache, long lockTimeout)
+            throws GeoWebCacheException {
 
-        // int idx = this.getSRSIndex(tile.getSRS());
-        long[] gridLoc = tile.getTileIndex();
+        WMSMetaTile metaTile = createMetaTile(tile);
 
-        GridSubset gridSubset = subSets.get(tile.getGridSetId());
+        String metaKey = buildLockKey(tile, metaTile);
+        MetaTileRequest request = null;
+        try {
+            /*
+             * This thread's byte buffer
+             */
+            ByteArrayResource buffer = getImageBuffer(WMS_BUFFER);
+
+            request = requestMetaTile(tile, metaTile, metaKey, buffer, tryCache, lockTimeout);
+            if (request == null) {
+                return getUncachedResponse(tile, metaKey, tryCache);
+            }
+            if (request.cached) {
+                // Someone got it already, return lock and we're done
+                return finalizeTile(tile);
+            }
 
-        // GridCalculator gridCalc = getGrid(tile.getSRS()).getGridCalculator();
+            metaTile.setImageBytes(buffer);
 
-        MimeType mimeType = tile.getMimeType();
-        Map<String, String> filteringParameters = tile.getFilteringParameters();
-        if (filteringParameters.isEmpty()) {
-            filteringParameters = getDefaultParameterFilters();
+            saveTiles(metaTile, tile, request.requestTime);
+
+            /** ****************** Return lock and response ****** */
+        } finally {
+            if (request != null) {
+                request.lock.release();
+            }
+            metaTile.dispose();
         }
-        WMSMetaTile metaTile = new WMSMetaTile(
-                this,
-                gridSubset,
-                mimeType,
-                this.getFormatModifier(tile.getMimeType()),
-                gridLoc,
-                metaWidthHeight[0],
-                metaWidthHeight[1],
-                filteringParameters);
+        return finalizeTile(tile);
+    }
 
-        // Leave a hint to save expiration, if necessary
-        if (saveExpirationHeaders) {
-            metaTile.setExpiresHeader(GWCVars.CACHE_USE_WMS_BACKEND_VALUE);
+    /** A meta tile request made while holding the meta tile lock, which the caller must release */
+    private static final class MetaTileRequest {
+
+        final Lock lock;
+
+        /** Whether the tile was found in the cache, and the meta tile not requested */
+        final boolean cached;
+
+        final long requestTime;
+
+        MetaTileRequest(Lock lock, boolean cached, long requestTime) {
+            this.lock = lock;
+            this.cached = cached;
+            this.requestTime = requestTime;
         }
+    }
 
-        String metaKey = buildLockKey(tile, metaTile);
-        Lock lock = null;
+    /**
+     * Acquires the meta tile lock, checks the cache again and, if the tile is still missing, requests the meta tile
+     * image from the WMS backend
+     *
+     * @param buffer receives the meta tile image
+     * @param lockTimeout maximum wait for the meta tile lock in milliseconds, negative to wait as long as the lock
+     *     provider allows
+     * @return the request holding the lock, or {@code null} if the lock could not be acquired in time
+     */
+    private MetaTileRequest requestMetaTile(
+            ConveyorTile tile,
+            WMSMetaTile metaTile,
+            String metaKey,
+            ByteArrayResource buffer,
+            boolean tryCache,
+            long lockTimeout)
+            throws GeoWebCacheException {
+        /** ****************** Acquire lock ******************* */
+        Lock lock = lockProvider.tryLock(metaKey, getName(), lockTimeout, TimeUnit.MILLISECONDS);
+        if (lock == null) {
+            return null;
+        }
+        MetaTileRequest request = null;
         try {
-            /** ****************** Acquire lock ******************* */
-            lock = lockProvider.getLock(metaKey);
             /** ****************** Check cache again ************** */
             if (tryCache && tryCacheFetch(tile)) {
-                // Someone got it already, return lock and we're done
-                return finalizeTile(tile);
+                request = new MetaTileRequest(lock, true, -1);
+                return request;
             }
 
             tile.setCacheResult(CacheResult.MISS);
 
-            /*
-             * This thread's byte buffer
-             */
-            ByteArrayResource buffer = getImageBuffer(WMS_BUFFER);
-
             /** ****************** No luck, Request metatile ****** */
-            // Leave a hint to save expiration, if necessary
-            if (saveExpirationHeaders) {
-                metaTile.setExpiresHeader(GWCVars.CACHE_USE_WMS_BACKEND_VALUE);
-            }
             long requestTime = System.currentTimeMillis();
             sourceHelper.makeRequest(metaTile, buffer);
 
@@ -364,19 +414,80 @@ private ConveyorTile getMetatilingReponse(ConveyorTile tile, boolean tryCache) t
                 // Converting to seconds
                 saveExpirationInformation((int) (tile.getExpiresHeader() / 1000));
             }
+            request = new MetaTileRequest(lock, false, requestTime);
+            return request;
+        } finally {
+            if (request == null) {
+                lock.release();
+            }
+        }
+    }
 
-            metaTile.setImageBytes(buffer);
+    /** Creates the meta tile containing the requested tile */
+    private WMSMetaTile createMetaTile(ConveyorTile tile) {
+        long[] gridLoc = tile.getTileIndex();
 
-            saveTiles(metaTile, tile, requestTime);
+        GridSubset gridSubset = subSets.get(tile.getGridSetId());
 
-            /** ****************** Return lock and response ****** */
+        MimeType mimeType = tile.getMimeType();
+        Map<String, String> filteringParameters = tile.getFilteringParameters();
+        if (filteringParameters.isEmpty()) {
+            filteringParameters = getDefaultParameterFilters();
+        }
+        WMSMetaTile metaTile = new WMSMetaTile(
+                this,
+                gridSubset,
+                mimeType,
+                this.getFormatModifier(tile.getMimeType()),
+                gridLoc,
+                metaWidthHeight[0],
+                metaWidthHeight[1],
+                filteringParameters);
+
+        // Leave a hint to save expiration, if necessary
+        if (saveExpirationHeaders) {
+            metaTile.setExpiresHeader(GWCVars.CACHE_USE_WMS_BACKEND_VALUE);
+        }
+        return metaTile;
+    }
+
+    /**
+     * Used for pipelined seeding. The lock on the meta tile is only held while checking the cache and requesting the
+     * image, a concurrent request for the same meta tile may render it again before its tiles are stored.
+     */
+    @Override
+    public FetchedMetaTile fetchMetaTile(ConveyorTile tile, boolean tryCache) throws GeoWebCacheException, IOException {
+        GridSubset gridSubset = getGridSubset(tile.getGridSetId());
+        if (!gridSubset.shouldCacheAtZoom(tile.getTileIndex()[2])) {
+            return null;
+        }
+        if (!tile.getMimeType().supportsTiling() || (metaWidthHeight[0] == 1 && metaWidthHeight[1] == 1)) {
+            getNonMetatilingReponse(tile, tryCache, -1);
+            return null;
+        }
+
+        WMSMetaTile metaTile = createMetaTile(tile);
+        String metaKey = buildLockKey(tile, metaTile);
+        MetaTileRequest request = null;
+        FetchedMetaTile fetched = null;
+        try {
+            // not the thread local buffer, the image is decoded by another thread
+            ByteArrayResource buffer = new ByteArrayResource(16 * 1024);
+            request = requestMetaTile(tile, metaTile, metaKey, buffer, tryCache, -1);
+            // without a timeout the lock is always acquired, nothing to decode if the tile got cached meanwhile
+            if (request == null || request.cached) {
+                return null;
+            }
+            fetched = new FetchedMetaTile(this, tile, metaTile, buffer, request.requestTime);
+            return fetched;
         } finally {
-            if (lock != null) {
-                lock.release();
+            if (request != null) {
+                request.lock.release();
+            }
+            if (fetched == null) {
+                metaTile.dispose();
             }
-            metaTile.dispose();
         }
-        return finalizeTile(tile);
     }
 
     private String buildLockKey(ConveyorTile tile, WMSMetaTile metaTile) {
@@ -410,8 +521,11 @@ private String buildLockKey(ConveyorTile tile, WMSMetaTile metaTile) {
      *
      * @param tile the Tile with all the information
      * @param tryCache whether to try the cache, or seed
+     * @param lockTimeout maximum wait for the tile lock in milliseconds, negative to wait as long as the lock provider
+     *     allows
      */
-    private ConveyorTile getNonMetatilingReponse(ConveyorTile tile, boolean tryCache) throws GeoWebCacheException {
+    private ConveyorTile getNonMetatilingReponse(ConveyorTile tile, boolean tryCache, long lockTimeout)
+            throws GeoWebCacheException {
         // String debugHeadersStr = null;
         long[] gridLoc = tile.getTileIndex();
 
@@ -419,7 +533,10 @@ private ConveyorTile getNonMetatilingReponse(ConveyorTile tile, boolean tryCache
         Lock lock = null;
         try {
             /** ****************** Acquire lock ******************* */
-            lock = lockProvider.getLock(lockKey);
+            lock = lockProvider.tryLock(lockKey, getName(), lockTimeout, TimeUnit.MILLISECONDS);
+            if (lock == null) {
+                return getUncachedResponse(tile, lockKey, tryCache);
+            }
 
             /** ****************** Check cache again ************** */
             if (tryCache && tryCacheFetch(tile)) {
@@ -454,6 +571,50 @@ private ConveyorTile getNonMetatilingReponse(ConveyorTile tile, boolean tryCache
         return finalizeTile(tile);
     }
 
+    /**
+     * Called when waiting for another request working on the same tile took too long, requests the tile alone and
+     * returns it without caching it, as the other request is going to
+     */
+    private ConveyorTile getUncachedResponse(ConveyorTile tile, String lockKey, boolean tryCache)
+            throws GeoWebCacheException {
+        // the other request might have completed meanwhile
+        if (tryCache && tryCacheFetch(tile)) {
+            return finalizeTile(tile);
+        }
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Timed out waiting for lock " + lockKey + ", requesting the tile without caching it");
+        }
+        tile.setCacheResult(CacheResult.WMS);
+        if (saveExpirationHeaders) {
+            tile.setExpiresHeader(GWCVars.CACHE_USE_WMS_BACKEND_VALUE);
+        }
+        tile = doNonMetatilingRequest(tile);
+        return finalizeTile(tile);
+    }
+
+    /** @return the maximum wait for the meta tile lock of a tile request, see {@link #GWC_METATILE_LOCK_TIMEOUT} */
+    static long getMetaTileLockTimeout() {
+        long timeout = metaTileLockTimeout;
+        if (timeout == UNSET) {
+            timeout = -1;
+            String value = GeoWebCacheExtensions.getProperty(GWC_METATILE_LOCK_TIMEOUT);
+            if (value != null) {
+                try {
+                    timeout = Long.parseLong(value.trim());
+                } catch (NumberFormatException e) {
+                    log.warning("Invalid value for " + GWC_METATILE_LOCK_TIMEOUT + ": " + value + ", ignoring it");
+                }
+            }
+            metaTileLockTimeout = timeout;
+        }
+        return timeout;
+    }
+
+    /** Forgets the configured meta tile lock timeout, it will be looked up again on next use */
+    static void resetMetaTileLockTimeout() {
+        metaTileLockTimeout = UNSET;
+    }
+
     public boolean tryCacheFetch(ConveyorTile tile) {
         int expireCache = this.getExpireCache((int) tile.getTileIndex()[2]);
         if (expireCache != GWCVars.CACHE_DISABLE_CACHE) {
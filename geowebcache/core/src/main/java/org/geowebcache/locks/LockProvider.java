@@ -13,6 +13,7 @@
  */
 package org.geowebcache.locks;
 
+import java.util.concurrent.TimeUnit;
 import org.geowebcache.GeoWebCacheException;
 
 /**
@@ -25,6 +26,20 @@ public interface LockProvider {
     /** Acquires a exclusive lock on the specified key */
     public Lock getLock(String lockKey) throws GeoWebCacheException;
 
+    /**
+     * Acquires a exclusive lock on the specified key, giving up after the specified time. The default implementation
+     * does not support timeouts and waits as long as {@link #getLock(String)} does.
+     *
+     * @param lockKey the key to lock
+     * @param group groups related locks in the statistics kept by some providers, usually the layer name, may be null
+     * @param timeout the maximum time to wait, a negative value waits as long as {@link #getLock(String)} does
+     * @param unit the unit of the timeout
+     * @return the lock, or {@code null} if it could not be acquired in time
+     */
+    public default Lock tryLock(String lockKey, String group, long timeout, TimeUnit unit) throws GeoWebCacheException {
+        return getLock(lockKey);
+    }
+
     public interface Lock {
         /** Releases the lock on the specified key */
         public void release() throws GeoWebCacheException;
@@ -0,0 +1,132 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.locks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock acquisition statistics for a group of locks, with a histogram of the time spent waiting for the contended ones.
+ * Updates are cheap and thread safe, reads are not atomic snapshots.
+ */
+public class LockStatistics {
+
+    /** Upper bounds of the wait time histogram buckets, in milliseconds, the last bucket holds the longer waits */
+    public static final long[] WAIT_BUCKETS = {1, 10, 100, 1000, 10000, 60000};
+
+    private final LongAdder acquired = new LongAdder();
+
+    private final LongAdder contended = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder totalWait = new LongAdder();
+
+    private final LongAccumulator maxWait = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder[] waitHistogram = new LongAdder[WAIT_BUCKETS.length + 1];
+
+    public LockStatistics() {
+        for (int i = 0; i < waitHistogram.length; i++) {
+            waitHistogram[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a lock request
+     *
+     * @param contended whether the lock was held by another thread when requested
+     * @param acquired whether the lock was acquired, or the wait timed out
+     * @param waitNanos the time spent waiting for the lock
+     */
+    void record(boolean contended, boolean acquired, long waitNanos) {
+        if (acquired) {
+            this.acquired.increment();
+        } else {
+            this.timeouts.increment();
+        }
+        if (contended) {
+            this.contended.increment();
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+            totalWait.add(waitMillis);
+            maxWait.accumulate(waitMillis);
+            int bucket = 0;
+            while (bucket < WAIT_BUCKETS.length && waitMillis >= WAIT_BUCKETS[bucket]) {
+                bucket++;
+            }
+            waitHistogram[bucket].increment();
+        }
+    }
+
+    /** @return the number of locks acquired */
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    /** @return the number of lock requests that had to wait for another thread */
+    public long getContended() {
+        return contended.sum();
+    }
+
+    /** @return the number of lock requests that gave up waiting */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /** @return the total time spent waiting for contended locks, in milliseconds */
+    public long getTotalWaitMillis() {
+        return totalWait.sum();
+    }
+
+    /** @return the longest wait for a lock, in milliseconds */
+    public long getMaxWaitMillis() {
+        return maxWait.get();
+    }
+
+    /**
+     * @return the number of contended lock requests by wait time, the element at index {@code i} counting the waits
+     *     shorter than {@code WAIT_BUCKETS[i]} milliseconds and not counted by the previous elements, the last one
+     *     counting the waits longer than all the buckets
+     */
+    public long[] getWaitHistogram() {
+        long[] result = new long[waitHistogram.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = waitHistogram[i].sum();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("LockStatistics[acquired:")
+                .append(getAcquired())
+                .append(", contended:")
+                .append(getContended())
+                .append(", timeouts:")
+                .append(getTimeouts())
+                .append(", totalWaitMillis:")
+                .append(getTotalWaitMillis())
+                .append(", maxWaitMillis:")
+                .append(getMaxWaitMillis())
+                .append(", waits:");
+        long[] histogram = getWaitHistogram();
+        for (int i = 0; i < histogram.length; i++) {
+            sb.append(i == 0 ? "" : ", ");
+            sb.append(i < WAIT_BUCKETS.length ? "<" + WAIT_BUCKETS[i] : ">=" + WAIT_BUCKETS[i - 1]);
+            sb.append("ms=").append(histogram[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -14,11 +14,13 @@
 package org.geowebcache.locks;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.util.logging.Logging;
+import org.geowebcache.GeoWebCacheException;
 
 /**
  * An in memory lock provider.
@@ -60,19 +62,73 @@ public class MemoryLockProvider implements LockProvider {
     public Lock getLock(String lockKey) {
         if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Acquiring lock key " + lockKey);
 
-        // Atomically create a new LockAndCounter, or increment the existing one
-        LockAndCounter lockAndCounter = lockAndCounters.compute(lockKey, (key, internalLockAndCounter) -> {
+        LockAndCounter lockAndCounter = reference(lockKey);
+        lockAndCounter.lock.lock();
+
+        if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Acquired lock key " + lockKey);
+
+        return newLock(lockKey);
+    }
+
+    /** Waits at most the given time for the lock, the group is ignored as this provider does not keep statistics */
+    @Override
+    public Lock tryLock(String lockKey, String group, long timeout, TimeUnit unit) throws GeoWebCacheException {
+        if (timeout < 0) {
+            return getLock(lockKey);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Trying to acquire lock key " + lockKey);
+
+        LockAndCounter lockAndCounter = reference(lockKey);
+        boolean acquired = false;
+        try {
+            acquired = lockAndCounter.lock.tryLock(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeoWebCacheException("Interrupted while waiting for lock key " + lockKey, e);
+        } finally {
+            if (!acquired) {
+                dereference(lockKey, lockAndCounter);
+            }
+        }
+        if (!acquired) {
+            if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Timed out waiting for lock key " + lockKey);
+            return null;
+        }
+
+        if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Acquired lock key " + lockKey);
+
+        return newLock(lockKey);
+    }
+
+    /** Atomically creates a new LockAndCounter, or increments the existing one */
+    private LockAndCounter reference(String lockKey) {
+        return lockAndCounters.compute(lockKey, (key, internalLockAndCounter) -> {
             if (internalLockAndCounter == null) {
                 internalLockAndCounter = new LockAndCounter();
             }
             internalLockAndCounter.counter.incrementAndGet();
             return internalLockAndCounter;
         });
+    }
 
-        lockAndCounter.lock.lock();
-
-        if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Acquired lock key " + lockKey);
+    /** Decrements the counter, and removes the lock if no other thread is holding or waiting for it */
+    private void dereference(String lockKey, LockAndCounter lockAndCounter) {
+        if (lockAndCounter.counter.decrementAndGet() == 0) {
+
+            // Try to remove the lock, but we have to check the count AGAIN inside of
+            // "compute"
+            // so that we know it hasn't been incremented since the if-statement above
+            // was evaluated
+            lockAndCounters.compute(lockKey, (key, existingLockAndCounter) -> {
+                if (existingLockAndCounter == null || existingLockAndCounter.counter.get() == 0) {
+                    return null;
+                }
+                return existingLockAndCounter;
+            });
+        }
+    }
 
+    private Lock newLock(String lockKey) {
         return new Lock() {
 
             boolean released = false;
@@ -86,19 +142,7 @@ public void release() {
                     lockAndCounter.lock.unlock();
 
                     // Attempt to remove lock if no other thread is waiting for it
-                    if (lockAndCounter.counter.decrementAndGet() == 0) {
-
-                        // Try to remove the lock, but we have to check the count AGAIN inside of
-                        // "compute"
-                        // so that we know it hasn't been incremented since the if-statement above
-                        // was evaluated
-                        lockAndCounters.compute(lockKey, (key, existingLockAndCounter) -> {
-                            if (existingLockAndCounter == null || existingLockAndCounter.counter.get() == 0) {
-                                return null;
-                            }
-                            return existingLockAndCounter;
-                        });
-                    }
+                    dereference(lockKey, lockAndCounter);
 
                     if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Released lock key " + lockKey);
                 }
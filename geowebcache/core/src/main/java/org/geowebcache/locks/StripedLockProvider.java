@@ -0,0 +1,158 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.locks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.GeoWebCacheException;
+
+/**
+ * An in memory lock provider using a fixed array of locks, each key being mapped to one of them, so that no memory is
+ * allocated per key and the memory used does not depend on the number of keys being locked.
+ *
+ * <p>The locks are fair by default, so that a burst of requests for the same meta tile gets served in arrival order.
+ * Lock waits are bounded, {@link #getLock(String)} fails after the configured timeout rather than blocking forever, and
+ * {@link #tryLock(String, String, long, TimeUnit)} returns {@code null} to let the caller do something else. For each
+ * lock group, usually a layer, the provider keeps {@link LockStatistics} with the number of contended and timed out
+ * requests and a histogram of the wait times.
+ *
+ * <p>Unrelated keys can be mapped to the same lock, so unlike {@link MemoryLockProvider} nested locking can deadlock:
+ * two threads holding a lock while asking for a key mapped to the lock held by the other thread will wait on each other
+ * until the timeout. Use a large number of stripes to make collisions unlikely.
+ */
+public class StripedLockProvider implements LockProvider {
+
+    private static final Logger LOGGER = Logging.getLogger(StripedLockProvider.class.getName());
+
+    static final int DEFAULT_STRIPES = 1024;
+
+    /** Same as the maximum wait of {@link NIOLockProvider} */
+    static final long DEFAULT_TIMEOUT = 120 * 1000;
+
+    /** Statistics key for locks requested without a group */
+    static final String NO_GROUP = "";
+
+    private final ReentrantLock[] locks;
+
+    private final int mask;
+
+    private final long timeout;
+
+    private final Map<String, LockStatistics> statistics = new ConcurrentHashMap<>();
+
+    public StripedLockProvider() {
+        this(DEFAULT_STRIPES, true, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param stripes the number of locks, rounded up to a power of two
+     * @param fair whether the locks are granted in request order
+     * @param timeout the maximum wait of {@link #getLock(String)}, in milliseconds
+     */
+    public StripedLockProvider(int stripes, boolean fair, long timeout) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("The number of stripes must be positive: " + stripes);
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock(fair);
+        }
+        this.mask = size - 1;
+        this.timeout = timeout;
+    }
+
+    int stripe(String lockKey) {
+        int h = lockKey.hashCode();
+        // spread the high bits, like HashMap does
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @Override
+    public Lock getLock(String lockKey) throws GeoWebCacheException {
+        Lock lock = tryLock(lockKey, null, timeout, TimeUnit.MILLISECONDS);
+        if (lock == null) {
+            throw new GeoWebCacheException("Failed to get a lock on key " + lockKey + " after " + timeout + " ms");
+        }
+        return lock;
+    }
+
+    @Override
+    public Lock tryLock(String lockKey, String group, long timeout, TimeUnit unit) throws GeoWebCacheException {
+        final ReentrantLock lock = locks[stripe(lockKey)];
+        final long start = System.nanoTime();
+        boolean contended = false;
+        boolean acquired;
+        try {
+            // a zero wait tryLock, unlike tryLock(), does not barge ahead of the waiting threads
+            acquired = lock.tryLock(0, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                contended = true;
+                if (timeout < 0) {
+                    lock.lockInterruptibly();
+                    acquired = true;
+                } else {
+                    acquired = lock.tryLock(timeout, unit);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeoWebCacheException("Interrupted while waiting for lock key " + lockKey, e);
+        }
+        getStatistics(group).record(contended, acquired, System.nanoTime() - start);
+
+        if (!acquired) {
+            if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Timed out waiting for lock key " + lockKey);
+            return null;
+        }
+        if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Acquired lock key " + lockKey);
+
+        return new Lock() {
+
+            boolean released = false;
+
+            @Override
+            public void release() {
+                if (!released) {
+                    released = true;
+                    lock.unlock();
+                    if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Released lock key " + lockKey);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the statistics of a lock group
+     *
+     * @param group the group, {@code null} for the locks requested without a group
+     */
+    public LockStatistics getStatistics(String group) {
+        return statistics.computeIfAbsent(group == null ? NO_GROUP : group, g -> new LockStatistics());
+    }
+
+    /** @return the statistics of all the lock groups, the locks requested without a group having an empty name */
+    public Map<String, LockStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.seed;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.GeoWebCacheException;
+import org.geowebcache.conveyor.ConveyorTile;
+import org.geowebcache.layer.FetchedMetaTile;
+import org.geowebcache.layer.TileLayer;
+import org.geowebcache.storage.StorageBroker;
+import org.geowebcache.storage.TileObject;
+
+/**
+ * Splits the seeding of meta tiles in three stages, so that the backend and the storage can be kept busy at the same
+ * time:
+ *
+ * <ol>
+ *   <li>fetch: the {@link SeedTask} threads request the meta tiles from the backend, see
+ *       {@link TileLayer#fetchMetaTile(ConveyorTile, boolean)}
+ *   <li>decode: a pool of threads decodes the meta tiles and encodes their tiles
+ *   <li>store: a pool of threads puts the encoded tiles of each meta tile in the storage broker, as a single
+ *       {@link StorageBroker#putAll(java.util.Collection) batch}
+ * </ol>
+ *
+ * <p>The stages are connected by bounded queues, when a queue is full the thread of the previous stage runs the work
+ * itself, which slows it down and keeps the amount of meta tiles and tiles in memory bounded.
+ *
+ * <p>A pipeline is shared by all the tasks of a seed request. Backend requests are retried according to the task
+ * failure policy, decode and store failures are not retried but count towards the total failures before aborting.
+ */
+public class SeedPipeline {
+
+    private static final Logger log = Logging.getLogger(SeedPipeline.class.getName());
+
+    /** Pending meta tiles per decoder thread */
+    static final int DECODE_QUEUE_PER_THREAD = 2;
+
+    /** Pending meta tiles per store thread */
+    static final int STORE_QUEUE_PER_THREAD = 4;
+
+    private final ThreadPoolExecutor decoders;
+
+    private final ThreadPoolExecutor storers;
+
+    /** Tasks feeding the pipeline that did not finish yet */
+    private final AtomicInteger activeTasks = new AtomicInteger();
+
+    private int tileFailureRetryCount = -1;
+
+    private long totalFailuresBeforeAborting = 1000;
+
+    private AtomicLong sharedFailureCounter = new AtomicLong();
+
+    private volatile boolean aborted;
+
+    /**
+     * @param decodeThreads number of threads decoding meta tiles, defaults to the number of processors if not positive
+     * @param storeThreads number of threads storing tiles, defaults to twice the number of processors if not positive
+     */
+    public SeedPipeline(int decodeThreads, int storeThreads) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        decodeThreads = decodeThreads > 0 ? decodeThreads : processors;
+        storeThreads = storeThreads > 0 ? storeThreads : 2 * processors;
+        this.decoders = createExecutor("GWC seed decoder thread-%d", decodeThreads, DECODE_QUEUE_PER_THREAD);
+        this.storers = createExecutor("GWC seed store thread-%d", storeThreads, STORE_QUEUE_PER_THREAD);
+    }
+
+    private static ThreadPoolExecutor createExecutor(String nameFormat, int threads, int queuePerThread) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * queuePerThread),
+                new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat(nameFormat)
+                        .setPriority((Thread.NORM_PRIORITY + Thread.MIN_PRIORITY) / 2)
+                        .build(),
+                SeedPipeline::rejected);
+        // idle threads go away even if the seed tasks never get to shut the pipeline down
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /** Same semantics as {@link SeedTask#setFailurePolicy(int, long, long, AtomicLong)} */
+    public void setFailurePolicy(
+            int tileFailureRetryCount, long totalFailuresBeforeAborting, AtomicLong sharedFailureCounter) {
+        this.tileFailureRetryCount = tileFailureRetryCount;
+        this.totalFailuresBeforeAborting = totalFailuresBeforeAborting;
+        this.sharedFailureCounter = sharedFailureCounter;
+    }
+
+    /** Registers a task that will feed the pipeline, it must call {@link #taskDone(boolean)} when finished */
+    void register() {
+        activeTasks.incrementAndGet();
+    }
+
+    /** @return whether decoding or storing failed too many times and the seed tasks should stop */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Fetches the meta tile containing the tile in the calling thread, and queues it for decoding and storage. Blocks,
+     * or decodes in the calling thread, if the decode queue is full.
+     */
+    void seed(TileLayer layer, ConveyorTile tile, boolean tryCache) throws GeoWebCacheException, IOException {
+        final FetchedMetaTile fetched = layer.fetchMetaTile(tile, tryCache);
+        if (fetched != null) {
+            decoders.execute(new DecodeTask(fetched));
+        }
+    }
+
+    /**
+     * Runs the rejected task in the calling thread, like {@link ThreadPoolExecutor.CallerRunsPolicy}, unless the
+     * executor was shut down, in which case the meta tile waiting to be decoded, if any, is released
+     */
+    private static void rejected(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            discard(task);
+        } else {
+            task.run();
+        }
+    }
+
+    private static void discard(Runnable task) {
+        if (task instanceof DecodeTask) {
+            ((DecodeTask) task).fetched.dispose();
+        }
+    }
+
+    /** Decodes a meta tile, a class rather than a lambda so that it can be disposed of if it never runs */
+    private class DecodeTask implements Runnable {
+
+        final FetchedMetaTile fetched;
+
+        DecodeTask(FetchedMetaTile fetched) {
+            this.fetched = fetched;
+        }
+
+        @Override
+        public void run() {
+            decode(fetched);
+        }
+    }
+
+    private void decode(FetchedMetaTile fetched) {
+        if (aborted) {
+            fetched.dispose();
+            return;
+        }
+        final StorageBroker storageBroker = fetched.getTile().getStorageBroker();
+        List<TileObject> tiles;
+        try {
+            tiles = fetched.decode();
+        } catch (Exception e) {
+            failed("Decoding of " + fetched.getTile() + " failed", e);
+            return;
+        }
+        if (!tiles.isEmpty()) {
+            storers.execute(() -> store(storageBroker, fetched.getTile(), tiles));
+        }
+    }
+
+    private void store(StorageBroker storageBroker, ConveyorTile tile, List<TileObject> tiles) {
+        if (aborted) {
+            return;
+        }
+        try {
+            storageBroker.putAll(tiles);
+        } catch (Exception e) {
+            failed("Storing of the tiles of the meta tile containing " + tile + " failed", e);
+        }
+    }
+
+    private void failed(String message, Exception e) {
+        if (tileFailureRetryCount < 0) {
+            // no failure tolerance configured, same as a failure in the fetch stage
+            log.log(Level.SEVERE, message + ", aborting the seed pipeline", e);
+            abort();
+            return;
+        }
+        long failures = sharedFailureCounter.incrementAndGet();
+        log.log(Level.WARNING, message + ". Total failure count across threads is at: " + failures, e);
+        if (failures >= totalFailuresBeforeAborting) {
+            log.info(
+                    "Aborting seed pipeline. Error count reached configured maximum of " + totalFailuresBeforeAborting);
+            abort();
+        }
+    }
+
+    private void abort() {
+        aborted = true;
+        // the meta tiles still queued would otherwise never be disposed of
+        decoders.shutdownNow().forEach(SeedPipeline::discard);
+        storers.shutdownNow();
+    }
+
+    /**
+     * Called by each registered task when it's done feeding the pipeline. The last one waits for the queued meta tiles
+     * to be decoded and stored, or discards them if it was terminated.
+     */
+    void taskDone(boolean terminated) throws InterruptedException {
+        if (activeTasks.decrementAndGet() > 0) {
+            return;
+        }
+        if (terminated) {
+            abort();
+            return;
+        }
+        try {
+            // decoders feed the storers, they have to be drained first
+            decoders.shutdown();
+            awaitTermination(decoders);
+            storers.shutdown();
+            awaitTermination(storers);
+        } catch (InterruptedException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    private static void awaitTermination(ThreadPoolExecutor executor) throws InterruptedException {
+        while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+            // keep waiting
+        }
+    }
+}
@@ -49,6 +49,12 @@ public class SeedRequest {
 
     private Boolean filterUpdate = null;
 
+    private Boolean pipelined = null;
+
+    private Integer decodeThreadCount = null;
+
+    private Integer storeThreadCount = null;
+
     private int tileFailureRetryCount = TileBreeder.TILE_FAILURE_RETRY_COUNT_DEFAULT;
 
     private long tileFailureRetryWaitTime = TileBreeder.TILE_FAILURE_RETRY_WAIT_TIME_DEFAULT;
@@ -237,4 +243,38 @@ public long getTotalFailuresBeforeAborting() {
     public void setTotalFailuresBeforeAborting(long totalFailuresBeforeAborting) {
         this.totalFailuresBeforeAborting = totalFailuresBeforeAborting;
     }
+
+    /**
+     * Whether the seed threads should only fetch meta tiles from the backend, leaving their decoding and storage to
+     * separate pools of threads. See {@link SeedPipeline}.
+     */
+    public boolean getPipelined() {
+        if (pipelined != null) {
+            return pipelined;
+        } else {
+            return false;
+        }
+    }
+
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    /** Number of threads decoding meta tiles when pipelined, or {@code null} for the default */
+    public Integer getDecodeThreadCount() {
+        return decodeThreadCount;
+    }
+
+    public void setDecodeThreadCount(Integer decodeThreadCount) {
+        this.decodeThreadCount = decodeThreadCount;
+    }
+
+    /** Number of threads storing tiles when pipelined, or {@code null} for the default */
+    public Integer getStoreThreadCount() {
+        return storeThreadCount;
+    }
+
+    public void setStoreThreadCount(Integer storeThreadCount) {
+        this.storeThreadCount = storeThreadCount;
+    }
 }
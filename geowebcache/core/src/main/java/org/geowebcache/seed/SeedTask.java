@@ -55,6 +55,10 @@ class SeedTask extends GWCTask {
 
     private AtomicLong sharedFailureCounter;
 
+    private SeedPipeline pipeline;
+
+    private boolean pipelineReleased;
+
     @VisibleForTesting
     Sleeper sleeper = Thread::sleep;
 
@@ -115,6 +119,11 @@ protected void doActionInternal() throws GeoWebCacheException, InterruptedExcept
         while (gridLoc != null && this.terminate == false) {
 
             checkInterrupted();
+            if (pipeline != null && pipeline.isAborted()) {
+                log.info("Aborting seed thread " + getThreadName() + ". The seed pipeline was aborted");
+                super.state = GWCTask.STATE.DEAD;
+                return;
+            }
             Map<String, String> fullParameters = tr.getParameters();
 
             ConveyorTile tile = new ConveyorTile(
@@ -125,7 +134,11 @@ protected void doActionInternal() throws GeoWebCacheException, InterruptedExcept
                     fetchAttempt++) {
                 try {
                     checkInterrupted();
-                    tl.seedTile(tile, tryCache);
+                    if (pipeline == null) {
+                        tl.seedTile(tile, tryCache);
+                    } else {
+                        pipeline.seed(tl, tile, tryCache);
+                    }
                     break; // success, let it go
                 } catch (Exception e) {
                     // if GWC_SEED_RETRY_COUNT was not set then none of the settings have effect, in
@@ -187,6 +200,9 @@ protected void doActionInternal() throws GeoWebCacheException, InterruptedExcept
             gridLoc = trIter.nextMetaGridLocation(gridLoc);
         }
 
+        // the last thread waits for the pipeline to decode and store the fetched meta tiles
+        releasePipeline(this.terminate);
+
         if (this.terminate) {
             log.info("Job on " + getThreadName() + " was terminated after " + this.tilesDone + " tiles");
         } else {
@@ -296,8 +312,30 @@ public void setFailurePolicy(
         this.sharedFailureCounter = sharedFailureCounter;
     }
 
+    /**
+     * Makes this task feed the given pipeline, which will decode and store the meta tiles this task fetches from the
+     * backend.
+     */
+    public void setPipeline(SeedPipeline pipeline) {
+        this.pipeline = pipeline;
+        pipeline.register();
+    }
+
+    private void releasePipeline(boolean terminated) throws InterruptedException {
+        if (pipeline != null && !pipelineReleased) {
+            pipelineReleased = true;
+            pipeline.taskDone(terminated);
+        }
+    }
+
     @Override
     protected void dispose() {
+        try {
+            // in case the task did not complete normally
+            releasePipeline(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         if (tl instanceof WMSLayer) {
             ((WMSLayer) tl).cleanUpThreadLocals();
         }
@@ -33,6 +33,7 @@
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import org.geotools.util.logging.Logging;
 import org.geowebcache.GeoWebCacheException;
 import org.geowebcache.grid.BoundingBox;
@@ -44,6 +45,7 @@
 import org.geowebcache.mime.MimeType;
 import org.geowebcache.seed.GWCTask.STATE;
 import org.geowebcache.seed.GWCTask.TYPE;
+import org.geowebcache.storage.PartitionedTileRangeIterator;
 import org.geowebcache.storage.StorageBroker;
 import org.geowebcache.storage.TileRange;
 import org.geowebcache.storage.TileRangeIterator;
@@ -71,6 +73,9 @@
  *       as a single thread group; so if the value is {@code 10} and you launch a seed task with four threads, when
  *       {@code 10} failures are reached by all or any of those four threads the four threads will abort the seeding
  *       task. The default is {@code 1000}.
+ *   <li>{@code GWC_SEED_PARTITIONED}: whether seed tasks running on more than one thread split the tile range in chunks
+ *       that each thread claims, and steals from the others when done, instead of sharing a single synchronized
+ *       iterator. Defaults to {@code true}.
  * </ul>
  *
  * These environment variables can be established by any of the following ways, in order of precedence:
@@ -101,6 +106,8 @@ public class TileBreeder implements ApplicationContextAware {
 
     private static final String GWC_SEED_RETRY_COUNT = "GWC_SEED_RETRY_COUNT";
 
+    private static final String GWC_SEED_PARTITIONED = "GWC_SEED_PARTITIONED";
+
     private static Logger log = Logging.getLogger(TileBreeder.class.getName());
 
     private ThreadPoolExecutor threadPool;
@@ -121,6 +128,9 @@ public class TileBreeder implements ApplicationContextAware {
      */
     public static long TOTAL_FAILURES_BEFORE_ABORTING_DEFAULT = 1000;
 
+    /** Whether multi threaded seed tasks use a {@link PartitionedTileRangeIterator} */
+    public static boolean SEED_PARTITIONED_DEFAULT = true;
+
     private Map<Long, SubmittedTask> currentPool = new TreeMap<>();
 
     private AtomicLong currentId = new AtomicLong();
@@ -155,10 +165,12 @@ public void setApplicationContext(ApplicationContext applicationContext) throws
         String retryCount = GWCVars.findEnvVar(applicationContext, GWC_SEED_RETRY_COUNT);
         String retryWait = GWCVars.findEnvVar(applicationContext, GWC_SEED_RETRY_WAIT);
         String abortLimit = GWCVars.findEnvVar(applicationContext, GWC_SEED_ABORT_LIMIT);
+        String partitioned = GWCVars.findEnvVar(applicationContext, GWC_SEED_PARTITIONED);
 
         TILE_FAILURE_RETRY_COUNT_DEFAULT = (int) toLong(GWC_SEED_RETRY_COUNT, retryCount, -1);
         TILE_FAILURE_RETRY_WAIT_TIME_DEFAULT = toLong(GWC_SEED_RETRY_WAIT, retryWait, 100);
         TOTAL_FAILURES_BEFORE_ABORTING_DEFAULT = toLong(GWC_SEED_ABORT_LIMIT, abortLimit, 1000);
+        SEED_PARTITIONED_DEFAULT = partitioned == null || Boolean.parseBoolean(partitioned.trim());
 
         checkPositive(TILE_FAILURE_RETRY_WAIT_TIME_DEFAULT, GWC_SEED_RETRY_WAIT);
         checkPositive(TOTAL_FAILURES_BEFORE_ABORTING_DEFAULT, GWC_SEED_ABORT_LIMIT);
@@ -199,7 +211,23 @@ public void seed(final String layerName, final SeedRequest sr) throws GeoWebCach
 
         TileRange tr = createTileRange(sr, tl);
 
-        GWCTask[] tasks = createTasks(tr, tl, sr.getType(), sr.getThreadCount(), sr.getFilterUpdate());
+        SeedPipeline pipeline = null;
+        if (sr.getPipelined() && sr.getType() != TYPE.TRUNCATE) {
+            pipeline = new SeedPipeline(
+                    sr.getDecodeThreadCount() == null ? 0 : sr.getDecodeThreadCount(),
+                    sr.getStoreThreadCount() == null ? 0 : sr.getStoreThreadCount());
+        }
+
+        GWCTask[] tasks = createTasks(
+                tr,
+                tl,
+                sr.getType(),
+                sr.getThreadCount(),
+                sr.getFilterUpdate(),
+                TILE_FAILURE_RETRY_COUNT_DEFAULT,
+                TILE_FAILURE_RETRY_WAIT_TIME_DEFAULT,
+                TOTAL_FAILURES_BEFORE_ABORTING_DEFAULT,
+                pipeline);
 
         dispatchTasks(tasks);
     }
@@ -210,7 +238,8 @@ public void seed(final String layerName, final SeedRequest sr) throws GeoWebCach
      * @param tr The range of tiles to work on.
      * @param type The type of task(s) to create
      * @param threadCount The number of threads to use, forced to 1 if type is TRUNCATE
-     * @param filterUpdate // TODO: What does this do?
+     * @param filterUpdate whether to {@link org.geowebcache.filter.request.RequestFilter#update update} the request
+     *     filters of the layer once the tasks are done
      * @return Array of tasks. Will have length threadCount or 1.
      */
     public GWCTask[] createTasks(TileRange tr, GWCTask.TYPE type, int threadCount, boolean filterUpdate)
@@ -241,7 +270,8 @@ public GWCTask[] createTasks(TileRange tr, TileLayer tl, GWCTask.TYPE type, int
      * @param tl The layer to work on. Overrides any layer specified on tr.
      * @param type The type of task(s) to create
      * @param threadCount The number of threads to use, forced to 1 if type is TRUNCATE
-     * @param filterUpdate // TODO: What does this do?
+     * @param filterUpdate whether to {@link org.geowebcache.filter.request.RequestFilter#update update} the request
+     *     filters of the layer once the tasks are done
      * @param tileFailureRetryCount Number of retries for a single tile
      * @param tileFailureRetryWaitTime Time to wait between retries
      * @param totalFailuresBeforeAborting Total number of failures, across all threads, before aborting seeding
@@ -257,6 +287,45 @@ public GWCTask[] createTasks(
             long tileFailureRetryWaitTime,
             long totalFailuresBeforeAborting)
             throws GeoWebCacheException {
+        return createTasks(
+                tr,
+                tl,
+                type,
+                threadCount,
+                filterUpdate,
+                tileFailureRetryCount,
+                tileFailureRetryWaitTime,
+                totalFailuresBeforeAborting,
+                null);
+    }
+
+    /**
+     * Create tasks to manipulate the cache (Seed, truncate, etc). They will still need to be dispatched.
+     *
+     * @param tr The range of tiles to work on.
+     * @param tl The layer to work on. Overrides any layer specified on tr.
+     * @param type The type of task(s) to create
+     * @param threadCount The number of threads to use, forced to 1 if type is TRUNCATE
+     * @param filterUpdate whether to {@link org.geowebcache.filter.request.RequestFilter#update update} the request
+     *     filters of the layer once the tasks are done
+     * @param tileFailureRetryCount Number of retries for a single tile
+     * @param tileFailureRetryWaitTime Time to wait between retries
+     * @param totalFailuresBeforeAborting Total number of failures, across all threads, before aborting seeding
+     * @param pipeline if not {@code null}, the seed tasks only fetch the meta tiles from the backend and leave their
+     *     decoding and storage to this pipeline. Ignored for TRUNCATE.
+     * @return Array of tasks. Will have length threadCount or 1.
+     */
+    public GWCTask[] createTasks(
+            TileRange tr,
+            TileLayer tl,
+            GWCTask.TYPE type,
+            int threadCount,
+            boolean filterUpdate,
+            int tileFailureRetryCount,
+            long tileFailureRetryWaitTime,
+            long totalFailuresBeforeAborting,
+            @Nullable SeedPipeline pipeline)
+            throws GeoWebCacheException {
 
         if (threadCount < 1) {
             log.finer("Forcing thread count to 1");
@@ -264,6 +333,11 @@ public GWCTask[] createTasks(
         }
 
         TileRangeIterator trIter = new TileRangeIterator(tr, tl.getMetaTilingFactors());
+        // each seed thread claims chunks of the range instead of contending on the shared iterator
+        PartitionedTileRangeIterator partitioned = null;
+        if (type != TYPE.TRUNCATE && threadCount > 1 && SEED_PARTITIONED_DEFAULT) {
+            partitioned = new PartitionedTileRangeIterator(tr, tl.getMetaTilingFactors(), threadCount);
+        }
 
         GWCTask[] tasks = new GWCTask[threadCount];
 
@@ -273,13 +347,20 @@ public GWCTask[] createTasks(
             if (type == TYPE.TRUNCATE) {
                 tasks[i] = createTruncateTask(trIter, tl, filterUpdate);
             } else {
-                SeedTask task = (SeedTask) createSeedTask(type, trIter, tl, filterUpdate);
+                TileRangeIterator taskIter = partitioned == null ? trIter : partitioned.getWorkerIterator(i);
+                SeedTask task = (SeedTask) createSeedTask(type, taskIter, tl, filterUpdate);
                 task.setFailurePolicy(
                         tileFailureRetryCount, tileFailureRetryWaitTime, totalFailuresBeforeAborting, failureCounter);
+                if (pipeline != null) {
+                    task.setPipeline(pipeline);
+                }
                 tasks[i] = task;
             }
             tasks[i].setThreadInfo(sharedThreadCount, i);
         }
+        if (pipeline != null) {
+            pipeline.setFailurePolicy(tileFailureRetryCount, totalFailuresBeforeAborting, failureCounter);
+        }
 
         return tasks;
     }
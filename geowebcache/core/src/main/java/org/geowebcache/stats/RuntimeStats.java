@@ -13,14 +13,29 @@
  */
 package org.geowebcache.stats;
 
+import static org.apache.commons.text.StringEscapeUtils.escapeHtml4;
+
 import java.time.Clock;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.util.logging.Logging;
 import org.geowebcache.conveyor.Conveyor.CacheResult;
 import org.geowebcache.util.ServletUtils;
 
+/**
+ * Keeps track of the requests served and of their latency.
+ *
+ * <p>Requests are logged on every tile response, so the logging methods are lock free: counters are striped
+ * {@link LongAdder}s and latencies go into per layer, gridset and cache result {@link LatencyHistogram}s. The stats
+ * thread drains the counters every poll interval into the ring buffers used to report on the configured intervals.
+ */
 public class RuntimeStats {
     private static Logger log = Logging.getLogger(RuntimeStats.class.getName());
 
@@ -33,9 +48,9 @@ public class RuntimeStats {
 
     final String[] intervalDescs;
 
-    int curBytes = 0;
+    final LongAdder curBytes = new LongAdder();
 
-    int curRequests = 0;
+    final LongAdder curRequests = new LongAdder();
 
     long peakBytesTime = 0;
 
@@ -49,11 +64,13 @@ public class RuntimeStats {
 
     long totalRequests = 0;
 
-    long totalHits;
+    final LongAdder totalHits = new LongAdder();
 
-    long totalMisses;
+    final LongAdder totalMisses = new LongAdder();
 
-    long totalWMS;
+    final LongAdder totalWMS = new LongAdder();
+
+    final Map<LatencyKey, LatencyHistogram> latencies = new ConcurrentHashMap<>();
 
     final int[] bytes;
 
@@ -134,30 +151,54 @@ public void destroy() {
 
     public void log(int size, CacheResult cacheResult) {
         if (this.statsThread != null) {
-            synchronized (bytes) {
-                curBytes += size;
-                curRequests += 1;
-
-                if (cacheResult == CacheResult.HIT) {
-                    totalHits++;
-                } else if (cacheResult == CacheResult.MISS) {
-                    totalMisses++;
-                } else if (cacheResult == CacheResult.WMS) {
-                    totalWMS++;
-                }
+            curBytes.add(size);
+            curRequests.increment();
+
+            if (cacheResult == CacheResult.HIT) {
+                totalHits.increment();
+            } else if (cacheResult == CacheResult.MISS) {
+                totalMisses.increment();
+            } else if (cacheResult == CacheResult.WMS) {
+                totalWMS.increment();
             }
         }
     }
 
-    protected int[] popIntervalData() {
-        synchronized (bytes) {
-            int[] ret = {curBytes, curRequests};
+    /**
+     * Records the time taken to serve a tile
+     *
+     * @param layer the layer name
+     * @param gridSet the gridset name
+     * @param cacheResult how the tile was obtained, only {@link CacheResult#HIT}, {@link CacheResult#MISS} and
+     *     {@link CacheResult#WMS} are tracked
+     * @param nanos the time it took to serve the tile, in nanoseconds
+     */
+    public void logLatency(String layer, String gridSet, CacheResult cacheResult, long nanos) {
+        if (this.statsThread != null
+                && (cacheResult == CacheResult.HIT
+                        || cacheResult == CacheResult.MISS
+                        || cacheResult == CacheResult.WMS)) {
+            LatencyKey key = new LatencyKey(layer, gridSet, cacheResult);
+            LatencyHistogram histogram = latencies.get(key);
+            if (histogram == null) {
+                histogram = latencies.computeIfAbsent(key, k -> new LatencyHistogram());
+            }
+            histogram.record(nanos);
+        }
+    }
 
-            curBytes = 0;
-            curRequests = 0;
+    /** @return the latency histograms, sorted by layer, gridset and cache result */
+    public Map<LatencyKey, LatencyHistogram> getLatencies() {
+        return Collections.unmodifiableMap(new TreeMap<>(latencies));
+    }
 
-            return ret;
-        }
+    /**
+     * Drains the counters of the current interval. Requests logged while draining may be accounted for in the next
+     * interval.
+     */
+    protected int[] popIntervalData() {
+        int[] ret = {(int) curBytes.sumThenReset(), (int) curRequests.sumThenReset()};
+        return ret;
     }
 
     public String getHTMLStats() {
@@ -167,6 +208,10 @@ public String getHTMLStats() {
 
         str.append("<table border=\"0\" cellspacing=\"5\" class=\"stats\">");
 
+        final long totalHits = this.totalHits.sum();
+        final long totalMisses = this.totalMisses.sum();
+        final long totalWMS = this.totalWMS.sum();
+
         synchronized (bytes) {
             // Starting time
             if (runningTime > 0) {
@@ -291,6 +336,34 @@ public String getHTMLStats() {
             str.append("</tbody>");
         }
 
+        Map<LatencyKey, LatencyHistogram> latencies = getLatencies();
+        if (!latencies.isEmpty()) {
+            str.append("<tbody>");
+            str.append("<tr><th scope=\"col\">Layer / Gridset</th><th scope=\"col\">Result</th>"
+                    + "<th scope=\"col\">Requests</th><th scope=\"col\">p50 / p99 / p999</th>"
+                    + "<th scope=\"col\">Max</th></tr>\n");
+            for (Map.Entry<LatencyKey, LatencyHistogram> e : latencies.entrySet()) {
+                LatencyKey key = e.getKey();
+                LatencyHistogram histogram = e.getValue();
+                str.append("<tr><td>")
+                        .append(escapeHtml4(key.getLayer() + " / " + key.getGridSet()))
+                        .append("</td><td>")
+                        .append(key.getCacheResult())
+                        .append("</td><td>")
+                        .append(histogram.getCount())
+                        .append("</td><td>")
+                        .append(formatMicros(histogram.getPercentile(50)))
+                        .append(" / ")
+                        .append(formatMicros(histogram.getPercentile(99)))
+                        .append(" / ")
+                        .append(formatMicros(histogram.getPercentile(99.9)))
+                        .append("</td><td>")
+                        .append(formatMicros(histogram.getMax()))
+                        .append("</td></tr>\n");
+            }
+            str.append("</tbody>");
+        }
+
         return str.toString();
     }
 
@@ -355,6 +428,13 @@ private String formatBits(double bitsps) {
         return avg;
     }
 
+    private String formatMicros(long micros) {
+        if (micros >= 10000) {
+            return (micros / 1000) + "&nbsp;ms";
+        }
+        return (Math.round(micros / 100.0) / 10.0) + "&nbsp;ms";
+    }
+
     private String formatTimeDiff(long seconds) {
         if (seconds < 3600) {
             return (seconds / 60) + " minutes";
@@ -365,6 +445,68 @@ private String formatTimeDiff(long seconds) {
         }
     }
 
+    /** Identifies a {@link LatencyHistogram} */
+    public static class LatencyKey implements Comparable<LatencyKey> {
+
+        private final String layer;
+
+        private final String gridSet;
+
+        private final CacheResult cacheResult;
+
+        public LatencyKey(String layer, String gridSet, CacheResult cacheResult) {
+            this.layer = String.valueOf(layer);
+            this.gridSet = String.valueOf(gridSet);
+            this.cacheResult = cacheResult;
+        }
+
+        public String getLayer() {
+            return layer;
+        }
+
+        public String getGridSet() {
+            return gridSet;
+        }
+
+        public CacheResult getCacheResult() {
+            return cacheResult;
+        }
+
+        @Override
+        public int compareTo(LatencyKey o) {
+            int c = layer.compareTo(o.layer);
+            if (c == 0) {
+                c = gridSet.compareTo(o.gridSet);
+            }
+            if (c == 0) {
+                c = cacheResult.compareTo(o.cacheResult);
+            }
+            return c;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LatencyKey)) {
+                return false;
+            }
+            LatencyKey other = (LatencyKey) o;
+            return layer.equals(other.layer) && gridSet.equals(other.gridSet) && cacheResult == other.cacheResult;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(layer, gridSet, cacheResult);
+        }
+
+        @Override
+        public String toString() {
+            return layer + "/" + gridSet + "/" + cacheResult;
+        }
+    }
+
     private class RuntimeStatsThread extends Thread {
 
         final RuntimeStats stats;
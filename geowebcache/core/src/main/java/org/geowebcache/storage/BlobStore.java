@@ -14,6 +14,8 @@
 package org.geowebcache.storage;
 
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -94,6 +96,32 @@ public default boolean deleteByParameters(final String layerName, final Map<Stri
     /** Store blob. Calls getBlob() on passed object, does not modify the object. */
     public void put(TileObject obj) throws StorageException;
 
+    /**
+     * Retrieves several tiles, filling the blob and metadata of the ones found. The default implementation calls
+     * {@link #get(TileObject)} for each tile, stores that can fetch several tiles at once should override it.
+     *
+     * @return the tiles that were found, in iteration order
+     */
+    public default List<TileObject> getAll(Collection<TileObject> objs) throws StorageException {
+        List<TileObject> found = new ArrayList<>(objs.size());
+        for (TileObject obj : objs) {
+            if (get(obj)) {
+                found.add(obj);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stores several tiles, same as calling {@link #put(TileObject)} for each one, which is what the default
+     * implementation does. Stores that can write several tiles at once more cheaply should override it.
+     */
+    public default void putAll(Collection<TileObject> objs) throws StorageException {
+        for (TileObject obj : objs) {
+            put(obj);
+        }
+    }
+
     /** Wipes the entire storage. Should only be invoked during testing. */
     public void clear() throws StorageException;
 
@@ -16,7 +16,11 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -39,6 +43,7 @@
 import org.geowebcache.layer.TileLayerDispatcher;
 import org.geowebcache.locks.LockProvider;
 import org.geowebcache.storage.blobstore.file.FileBlobStore;
+import org.geowebcache.storage.blobstore.memory.CachingBlobStore;
 
 /**
  * A composite {@link BlobStore} that multiplexes tile operations to configured blobstores based on
@@ -179,6 +184,36 @@ public void put(TileObject obj) throws StorageException {
         readActionUnsafe(() -> store(obj.getLayerName()).put(obj));
     }
 
+    /** Hands each layer's tiles to its blob store in a single call */
+    @Override
+    public List<TileObject> getAll(Collection<TileObject> objs) throws StorageException {
+        return readFunctionUnsafe(() -> {
+            List<TileObject> found = new ArrayList<>(objs.size());
+            for (Map.Entry<String, List<TileObject>> layerTiles : byLayer(objs).entrySet()) {
+                found.addAll(store(layerTiles.getKey()).getAll(layerTiles.getValue()));
+            }
+            return found;
+        });
+    }
+
+    /** Hands each layer's tiles to its blob store in a single call */
+    @Override
+    public void putAll(Collection<TileObject> objs) throws StorageException {
+        readActionUnsafe(() -> {
+            for (Map.Entry<String, List<TileObject>> layerTiles : byLayer(objs).entrySet()) {
+                store(layerTiles.getKey()).putAll(layerTiles.getValue());
+            }
+        });
+    }
+
+    private static Map<String, List<TileObject>> byLayer(Collection<TileObject> objs) {
+        Map<String, List<TileObject>> byLayer = new LinkedHashMap<>();
+        for (TileObject obj : objs) {
+            byLayer.computeIfAbsent(obj.getLayerName(), k -> new ArrayList<>()).add(obj);
+        }
+        return byLayer;
+    }
+
     @Deprecated
     @Override
     public void clear() throws StorageException {
@@ -404,6 +439,15 @@ private LiveStore loadBlobStore(Map<String, LiveStore> stores, BlobStoreInfo con
         BlobStore store = null;
         if (enabled) {
             store = config.createInstance(layers, lockProvider);
+            if (config.getCache() != null) {
+                BlobStore remote = store;
+                try {
+                    store = new CachingBlobStore(remote, config.getCache());
+                } catch (StorageException | RuntimeException e) {
+                    remote.destroy();
+                    throw e;
+                }
+            }
         }
 
         LiveStore liveStore = new LiveStore(config, store);
@@ -13,12 +13,15 @@
  */
 package org.geowebcache.storage;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 import org.geotools.util.logging.Logging;
 import org.geowebcache.io.Resource;
 import org.geowebcache.layer.TileLayer;
+import org.geowebcache.storage.blobstore.memory.CacheStatistics;
 
 /**
  * Handles cacheable objects (tiles, wfs responses) both in terms of data storage and metadata storage, delegating most
@@ -93,6 +96,17 @@ public boolean put(TileObject tileObj) throws StorageException {
         return true;
     }
 
+    @Override
+    public List<TileObject> getAll(Collection<TileObject> tileObjs) throws StorageException {
+        return blobStore.getAll(tileObjs);
+    }
+
+    @Override
+    public boolean putAll(Collection<TileObject> tileObjs) throws StorageException {
+        blobStore.putAll(tileObjs);
+        return true;
+    }
+
     @Override
     public void destroy() {
         log.fine("Destroying StorageBroker");
@@ -111,10 +125,7 @@ public void putLayerMetadata(final String layerName, final String key, final Str
     @Override
     public boolean getTransient(TileObject tile) {
         String key = TransientCache.computeTransientKey(tile);
-        Resource resource;
-        synchronized (transientCache) {
-            resource = transientCache.get(key);
-        }
+        Resource resource = transientCache.get(key);
         tile.setBlob(resource);
         return resource != null;
     }
@@ -122,9 +133,12 @@ public boolean getTransient(TileObject tile) {
     @Override
     public void putTransient(TileObject tile) {
         String key = TransientCache.computeTransientKey(tile);
-        synchronized (transientCache) {
-            transientCache.put(key, tile.getBlob());
-        }
+        transientCache.put(key, tile.getBlob());
+    }
+
+    /** @return the hit, miss and eviction statistics of the transient cache */
+    public CacheStatistics getTransientCacheStatistics() {
+        return transientCache.getStatistics();
     }
 
     /**
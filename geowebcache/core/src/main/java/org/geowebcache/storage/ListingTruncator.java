@@ -0,0 +1,281 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.geowebcache.util.TMSKeyBuilder;
+
+/**
+ * Truncates a {@link TileRange} on object stores using {@link TMSKeyBuilder} keys by listing the tiles actually stored,
+ * instead of enumerating every tile location of the range, which for sparse caches at high zoom levels means billions
+ * of keys that do not exist.
+ *
+ * <p>The zoom levels of the range are listed in parallel, column by column when the range spans few columns, the keys
+ * found are matched against the range, and its mask if any, and deleted in batches, also in parallel. Listeners are
+ * notified with the sizes reported by the listing, so no per tile metadata request is needed.
+ *
+ * <p>Subclasses provide the listing and the batch delete of the specific store.
+ *
+ * @since 1.27
+ */
+public abstract class ListingTruncator {
+
+    /** Zoom levels where the range spans up to this many columns are listed column by column */
+    static final int MAX_COLUMN_PREFIXES = 256;
+
+    /** An object found by {@link ListingTruncator#list(String)} */
+    public static class StoredObject {
+
+        private final String key;
+
+        private final long size;
+
+        public StoredObject(String key, long size) {
+            this.key = key;
+            this.size = size;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    private final int batchSize;
+
+    /**
+     * @param executor runs the listings and the batch deletes
+     * @param parallelism the maximum number of concurrent listings, and of concurrent batch deletes
+     * @param batchSize the maximum number of keys passed to {@link #delete(List)}
+     */
+    protected ListingTruncator(Executor executor, int parallelism, int batchSize) {
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
+
+    /** @return the objects whose keys start with the given prefix, lazily fetched */
+    protected abstract Stream<StoredObject> list(String prefix) throws StorageException;
+
+    /** Deletes the objects with the given keys */
+    protected abstract void delete(List<String> keys) throws StorageException;
+
+    /** @return {@code true} if the truncation should stop, e.g. because the store is shutting down */
+    protected boolean isAborted() {
+        return false;
+    }
+
+    /**
+     * Deletes the stored tiles of the range, and notifies the listeners about each of them.
+     *
+     * @param coordsPrefix the key prefix of the range tiles, as returned by
+     *     {@link TMSKeyBuilder#coordinatesPrefix(TileRange, boolean)} with a closing slash
+     * @return the number of tiles deleted
+     * @throws StorageException the first listing or delete failure, once the running ones completed
+     */
+    public long truncate(TileRange tileRange, String coordsPrefix, BlobStoreListenerList listeners)
+            throws StorageException {
+        return new Truncation(tileRange, coordsPrefix, listeners).run();
+    }
+
+    /** @return the prefixes to list, the highest zoom levels first as they hold the most tiles */
+    static List<String> prefixes(TileRange tileRange, String coordsPrefix) {
+        List<String> prefixes = new ArrayList<>();
+        for (int z = tileRange.getZoomStop(); z >= tileRange.getZoomStart(); z--) {
+            String zoomPrefix = coordsPrefix + z + "/";
+            long[] bounds = tileRange.rangeBounds(z);
+            if (bounds[2] - bounds[0] < MAX_COLUMN_PREFIXES) {
+                for (long x = bounds[0]; x <= bounds[2]; x++) {
+                    prefixes.add(zoomPrefix + x + "/");
+                }
+            } else {
+                prefixes.add(zoomPrefix);
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * @return the {x, y, z} location of the tile with the given key, {@code null} if the key is not the one of a tile
+     *     with the given prefix and extension
+     */
+    static long[] parseLocation(String key, String coordsPrefix, String extension) {
+        if (!key.startsWith(coordsPrefix) || !key.endsWith(extension)) {
+            return null;
+        }
+        String[] zxy = key.substring(coordsPrefix.length(), key.length() - extension.length())
+                .split("/");
+        if (zxy.length != 3) {
+            return null;
+        }
+        try {
+            return new long[] {Long.parseLong(zxy[1]), Long.parseLong(zxy[2]), Integer.parseInt(zxy[0])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private class Truncation {
+
+        private final TileRange tileRange;
+
+        private final String coordsPrefix;
+
+        private final String extension;
+
+        private final BlobStoreListenerList listeners;
+
+        private final Semaphore listings = new Semaphore(parallelism);
+
+        private final Semaphore deletes = new Semaphore(parallelism);
+
+        private final Queue<CompletableFuture<Void>> tasks = new ConcurrentLinkedQueue<>();
+
+        private final AtomicLong deleted = new AtomicLong();
+
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        Truncation(TileRange tileRange, String coordsPrefix, BlobStoreListenerList listeners) {
+            this.tileRange = tileRange;
+            this.coordsPrefix = coordsPrefix;
+            this.extension = "." + tileRange.getMimeType().getInternalName();
+            this.listeners = listeners;
+        }
+
+        long run() throws StorageException {
+            try {
+                for (String prefix : prefixes(tileRange, coordsPrefix)) {
+                    if (isAborted() || failure.get() != null) {
+                        break;
+                    }
+                    // only the calling thread waits for permits, the tasks never block on each other
+                    listings.acquire();
+                    submit(listings, () -> listPrefix(prefix));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+            // listings add delete tasks while running, wait until there are no more
+            CompletableFuture<Void> task;
+            while ((task = tasks.poll()) != null) {
+                task.join();
+            }
+
+            Exception e = failure.get();
+            if (e instanceof StorageException) {
+                throw (StorageException) e;
+            } else if (e != null) {
+                throw new StorageException("Failed to truncate " + coordsPrefix, e);
+            }
+            return deleted.get();
+        }
+
+        private void submit(Semaphore permits, Task task) {
+            try {
+                // the task is added before it can complete, so run() cannot miss the tasks it submits in turn
+                tasks.add(CompletableFuture.runAsync(
+                        () -> {
+                            try {
+                                task.run();
+                            } catch (Exception e) {
+                                failure.compareAndSet(null, e);
+                            } finally {
+                                permits.release();
+                            }
+                        },
+                        executor));
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        private void listPrefix(String prefix) throws StorageException {
+            List<StoredObject> batch = new ArrayList<>(batchSize);
+            try (Stream<StoredObject> objects = list(prefix)) {
+                Iterator<StoredObject> it = objects.iterator();
+                while (it.hasNext() && !isAborted() && failure.get() == null) {
+                    StoredObject object = it.next();
+                    long[] xyz = parseLocation(object.getKey(), coordsPrefix, extension);
+                    if (xyz != null && tileRange.contains(xyz)) {
+                        batch.add(object);
+                        if (batch.size() == batchSize) {
+                            deleteAsync(batch);
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                deleteAsync(batch);
+            }
+        }
+
+        private void deleteAsync(List<StoredObject> batch) throws StorageException {
+            if (deletes.tryAcquire()) {
+                submit(deletes, () -> deleteBatch(batch));
+            } else {
+                // enough deletes in flight already, slow down the listing
+                deleteBatch(batch);
+            }
+        }
+
+        private void deleteBatch(List<StoredObject> batch) throws StorageException {
+            List<String> keys = new ArrayList<>(batch.size());
+            for (StoredObject object : batch) {
+                keys.add(object.getKey());
+            }
+            delete(keys);
+            deleted.addAndGet(keys.size());
+
+            if (!listeners.isEmpty()) {
+                String layerName = tileRange.getLayerName();
+                String gridSetId = tileRange.getGridSetId();
+                String format = tileRange.getMimeType().getFormat();
+                String parametersId = tileRange.getParametersId();
+                for (StoredObject object : batch) {
+                    long[] xyz = parseLocation(object.getKey(), coordsPrefix, extension);
+                    listeners.sendTileDeleted(
+                            layerName, gridSetId, format, parametersId, xyz[0], xyz[1], (int) xyz[2], object.getSize());
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Task {
+
+        void run() throws StorageException;
+    }
+}
@@ -0,0 +1,281 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Splits a {@link TileRange} in chunks of meta tiles that a fixed number of workers claim without contending on a
+ * shared lock.
+ *
+ * <p>Each zoom level starts as a single chunk. Workers split the chunks they claim in quadrants, following a Morton
+ * (Z-order) curve, until they are at most {@link #LEAF_SIZE} meta tiles wide and tall, and then traverse them row by
+ * row, so consecutive meta tiles of a worker are spatially close. Every worker owns a deque of pending chunks, takes
+ * work from its head, and when it runs out steals from the tail of the other workers, which holds the biggest and
+ * farthest away chunks.
+ *
+ * <p>Use {@link #getWorkerIterator(int)} to get the iterator of each worker. Unlike the plain
+ * {@link TileRangeIterator}, each worker iterator must be used by a single thread.
+ */
+public class PartitionedTileRangeIterator {
+
+    /** Maximum width and height, in meta tiles, of the chunks workers traverse */
+    static final int LEAF_SIZE = 8;
+
+    /** Number of chunks per worker to split the tile range in before any work starts */
+    static final int INITIAL_CHUNKS_PER_WORKER = 4;
+
+    private final TileRange tr;
+
+    private final int metaX;
+
+    private final int metaY;
+
+    private final ConcurrentLinkedDeque<Chunk>[] queues;
+
+    /**
+     * Chunks that are either queued or claimed and still being split. Workers with nothing left to steal only give up
+     * when it gets to zero, as another worker might be about to push more work
+     */
+    private final AtomicLong outstanding = new AtomicLong();
+
+    /** Note that the bounds of the tile range must already be expanded to the meta tile factors for this to work. */
+    @SuppressWarnings("unchecked")
+    public PartitionedTileRangeIterator(TileRange tr, int[] metaTilingFactors, int workers) {
+        Preconditions.checkArgument(workers > 0, "At least one worker is needed");
+        this.tr = tr;
+        this.metaX = metaTilingFactors[0];
+        this.metaY = metaTilingFactors[1];
+
+        List<Chunk> chunks = initialChunks(workers * INITIAL_CHUNKS_PER_WORKER);
+        this.queues = new ConcurrentLinkedDeque[workers];
+        for (int i = 0; i < workers; i++) {
+            queues[i] = new ConcurrentLinkedDeque<>();
+        }
+        // contiguous runs of chunks per worker, so each one starts on its own area
+        for (int i = 0; i < chunks.size(); i++) {
+            queues[(int) ((long) i * workers / chunks.size())].addLast(chunks.get(i));
+        }
+        outstanding.set(chunks.size());
+    }
+
+    /** Returns the underlying tile range */
+    public TileRange getTileRange() {
+        return tr;
+    }
+
+    /** @return the number of workers the tile range is partitioned for */
+    public int getWorkerCount() {
+        return queues.length;
+    }
+
+    /**
+     * @param worker the worker index, between zero and {@link #getWorkerCount()} (exclusive)
+     * @return the iterator for the given worker
+     */
+    public TileRangeIterator getWorkerIterator(int worker) {
+        Preconditions.checkElementIndex(worker, queues.length);
+        return new WorkerIterator(worker);
+    }
+
+    /** One chunk per zoom level, split in Morton order until there are enough to share among the workers */
+    private List<Chunk> initialChunks(int target) {
+        List<Chunk> chunks = new ArrayList<>();
+        for (int z = tr.getZoomStart(); z <= tr.getZoomStop(); z++) {
+            long[] levelBounds = tr.rangeBounds(z);
+            long width = metaTileCount(levelBounds[0], levelBounds[2], metaX);
+            long height = metaTileCount(levelBounds[1], levelBounds[3], metaY);
+            if (width > 0 && height > 0) {
+                chunks.add(new Chunk(z, levelBounds[0], levelBounds[1], 0, 0, width - 1, height - 1));
+            }
+        }
+        boolean split = true;
+        while (split && chunks.size() < target) {
+            split = false;
+            List<Chunk> next = new ArrayList<>();
+            for (Chunk c : chunks) {
+                if (c.isLeaf()) {
+                    next.add(c);
+                } else {
+                    c.split(next);
+                    split = true;
+                }
+            }
+            chunks = next;
+        }
+        return chunks;
+    }
+
+    private static long metaTileCount(long min, long max, int metaFactor) {
+        if (max < min) {
+            return 0;
+        }
+        return (max - min) / metaFactor + 1;
+    }
+
+    /** @return the next leaf chunk for the given worker, or {@code null} if the whole range has been handed out */
+    private Chunk claim(int worker) {
+        while (true) {
+            Chunk chunk = queues[worker].pollFirst();
+            if (chunk == null) {
+                chunk = steal(worker);
+            }
+            if (chunk != null) {
+                return splitToLeaf(chunk, worker);
+            }
+            if (outstanding.get() == 0) {
+                return null;
+            }
+            // someone is splitting a chunk and will push the pieces right away
+            Thread.yield();
+        }
+    }
+
+    private Chunk steal(int worker) {
+        for (int i = 1; i < queues.length; i++) {
+            Chunk chunk = queues[(worker + i) % queues.length].pollLast();
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+        return null;
+    }
+
+    /** Splits the chunk until its first quadrant is a leaf, queueing the other quadrants at the head of the deque */
+    private Chunk splitToLeaf(Chunk chunk, int worker) {
+        List<Chunk> quadrants = new ArrayList<>(4);
+        while (!chunk.isLeaf()) {
+            quadrants.clear();
+            chunk.split(quadrants);
+            // account for the new chunks before they are visible to other workers
+            outstanding.addAndGet(quadrants.size() - 1);
+            for (int i = quadrants.size() - 1; i > 0; i--) {
+                queues[worker].addFirst(quadrants.get(i));
+            }
+            chunk = quadrants.get(0);
+        }
+        outstanding.decrementAndGet();
+        return chunk;
+    }
+
+    /**
+     * A rectangle of meta tiles on a zoom level, in meta tile units relative to the level origin so splitting keeps the
+     * meta tile alignment
+     */
+    private static final class Chunk {
+
+        final int z;
+
+        final long originX;
+
+        final long originY;
+
+        final long minX;
+
+        final long minY;
+
+        final long maxX;
+
+        final long maxY;
+
+        Chunk(int z, long originX, long originY, long minX, long minY, long maxX, long maxY) {
+            this.z = z;
+            this.originX = originX;
+            this.originY = originY;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        boolean isLeaf() {
+            return maxX - minX < LEAF_SIZE && maxY - minY < LEAF_SIZE;
+        }
+
+        /** Adds the quadrants of this chunk to {@code target}, in Z-order */
+        void split(List<Chunk> target) {
+            long midX = maxX - minX < LEAF_SIZE ? maxX : minX + (maxX - minX) / 2;
+            long midY = maxY - minY < LEAF_SIZE ? maxY : minY + (maxY - minY) / 2;
+            add(target, minX, minY, midX, midY);
+            add(target, midX + 1, minY, maxX, midY);
+            add(target, minX, midY + 1, midX, maxY);
+            add(target, midX + 1, midY + 1, maxX, maxY);
+        }
+
+        private void add(List<Chunk> target, long x0, long y0, long x1, long y1) {
+            if (x0 <= x1 && y0 <= y1) {
+                target.add(new Chunk(z, originX, originY, x0, y0, x1, y1));
+            }
+        }
+    }
+
+    /** Walks the leaf chunks claimed by a single worker */
+    private final class WorkerIterator extends TileRangeIterator {
+
+        private final int worker;
+
+        private Chunk chunk;
+
+        private long x;
+
+        private long y;
+
+        WorkerIterator(int worker) {
+            super(PartitionedTileRangeIterator.this.tr, new int[] {metaX, metaY});
+            this.worker = worker;
+        }
+
+        /**
+         * Returns the next meta tile location of this worker, see
+         * {@link TileRangeIterator#nextMetaGridLocation(long[])}
+         */
+        @Override
+        public long[] nextMetaGridLocation(final long[] gridLoc) {
+            while (true) {
+                if (chunk == null || !advance()) {
+                    chunk = claim(worker);
+                    if (chunk == null) {
+                        return null;
+                    }
+                    x = chunk.minX;
+                    y = chunk.minY;
+                }
+                gridLoc[0] = chunk.originX + x * metaX;
+                gridLoc[1] = chunk.originY + y * metaY;
+                gridLoc[2] = chunk.z;
+                if (checkGridLocation(gridLoc)) {
+                    return gridLoc;
+                }
+            }
+        }
+
+        /** Moves to the next position in the current chunk, returns whether there is one */
+        private boolean advance() {
+            if (x < chunk.maxX) {
+                x++;
+                return true;
+            }
+            if (y < chunk.maxY) {
+                x = chunk.minX;
+                y++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -13,6 +13,9 @@
  */
 package org.geowebcache.storage;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.geowebcache.layer.TileLayer;
@@ -55,6 +58,25 @@ public interface StorageBroker {
     /** Puts the given TileObject into storage */
     boolean put(TileObject tileObj) throws StorageException;
 
+    /** Retrieves several tiles, see {@link BlobStore#getAll(Collection)} */
+    default List<TileObject> getAll(Collection<TileObject> tileObjs) throws StorageException {
+        List<TileObject> found = new ArrayList<>(tileObjs.size());
+        for (TileObject tileObj : tileObjs) {
+            if (get(tileObj)) {
+                found.add(tileObj);
+            }
+        }
+        return found;
+    }
+
+    /** Stores several tiles, see {@link BlobStore#putAll(Collection)} */
+    default boolean putAll(Collection<TileObject> tileObjs) throws StorageException {
+        for (TileObject tileObj : tileObjs) {
+            put(tileObj);
+        }
+        return true;
+    }
+
     /** Destroy method for Spring */
     void destroy();
 
@@ -0,0 +1,93 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Helpers for {@link BlobStore#putAll(Collection)} and {@link BlobStore#getAll(Collection)} implementations that run
+ * the single tile operations concurrently, for stores where each tile is an independent network round trip.
+ */
+public class TileBatches {
+
+    /** An operation on a single tile */
+    @FunctionalInterface
+    public interface TileOperation {
+
+        /** @return whether the operation succeeded, e.g. whether the tile was found */
+        boolean apply(TileObject tile) throws StorageException;
+    }
+
+    private TileBatches() {
+        // utility class
+    }
+
+    /**
+     * Runs the operation on all the tiles using the executor, and waits for all of them to complete.
+     *
+     * @return the tiles for which the operation returned {@code true}, in iteration order
+     * @throws StorageException the first failure, once all the operations completed
+     */
+    public static List<TileObject> forEach(Collection<TileObject> tiles, Executor executor, TileOperation operation)
+            throws StorageException {
+        List<TileObject> result = new ArrayList<>(tiles.size());
+        if (tiles.size() == 1) {
+            // not worth a thread switch
+            TileObject tile = tiles.iterator().next();
+            if (operation.apply(tile)) {
+                result.add(tile);
+            }
+            return result;
+        }
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(tiles.size());
+        for (TileObject tile : tiles) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> {
+                        try {
+                            return operation.apply(tile);
+                        } catch (StorageException e) {
+                            throw new CompletionException(e);
+                        }
+                    },
+                    executor));
+        }
+
+        StorageException failure = null;
+        int i = 0;
+        for (TileObject tile : tiles) {
+            try {
+                if (futures.get(i++).join()) {
+                    result.add(tile);
+                }
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    Throwable cause = e.getCause() == null ? e : e.getCause();
+                    failure = cause instanceof StorageException
+                            ? (StorageException) cause
+                            : new StorageException("Failed to process " + tile, cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return result;
+    }
+}
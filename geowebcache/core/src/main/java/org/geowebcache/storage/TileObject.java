@@ -29,6 +29,9 @@ public class TileObject extends StorageObject implements Serializable {
 
     public static final String TYPE = "tile";
 
+    /** The gzip content encoding, see {@link #getBlobEncoding()} */
+    public static final String GZIP_ENCODING = "gzip";
+
     Resource blob;
 
     String parameters_id = null;
@@ -41,6 +44,16 @@ public class TileObject extends StorageObject implements Serializable {
 
     String gridSetId;
 
+    long ifModifiedSince = -1;
+
+    long ifNoneMatch = -1;
+
+    boolean notModified;
+
+    boolean gzipAccepted;
+
+    String blobEncoding;
+
     public static TileObject createQueryTileObject(
             String layerName, long[] xyz, String gridSetId, String format, Map<String, String> parameters) {
         TileObject obj = new TileObject();
@@ -86,9 +99,23 @@ public Resource getBlob() {
         return blob;
     }
 
+    /** Sets the contents of the tile, not encoded */
     public void setBlob(Resource blob) {
+        setBlob(blob, null);
+    }
+
+    /**
+     * Sets the contents of the tile, as stored.
+     *
+     * @param encoding the content encoding of the blob, e.g. {@link #GZIP_ENCODING}, {@code null} if not encoded. Blob
+     *     stores only return encoded contents if the caller {@link #isGzipAccepted() accepts} them.
+     * @since 1.27
+     */
+    public void setBlob(Resource blob, String encoding) {
+        this.blobEncoding = blob == null ? null : encoding;
         if (blob != null) {
             this.blob_size = (int) blob.getSize();
+            this.notModified = false;
         } else {
             this.blob_size = -1;
         }
@@ -126,6 +153,80 @@ public Map<String, String> getParameters() {
         return parameters;
     }
 
+    /**
+     * Sets the validators of the copy of the tile the client already has, so that blob stores able to check them
+     * remotely can skip transferring unmodified tiles, see {@link #isNotModified()}
+     *
+     * @param ifModifiedSince the If-Modified-Since time in milliseconds, -1 if none
+     * @param ifNoneMatch the creation time the If-None-Match ETag was computed from, -1 if none
+     */
+    public void setValidators(long ifModifiedSince, long ifNoneMatch) {
+        this.ifModifiedSince = ifModifiedSince;
+        this.ifNoneMatch = ifNoneMatch;
+    }
+
+    /** @return the If-Modified-Since time in milliseconds, -1 if none */
+    public long getIfModifiedSince() {
+        return ifModifiedSince;
+    }
+
+    /** @return the creation time the If-None-Match ETag was computed from, -1 if none */
+    public long getIfNoneMatch() {
+        return ifNoneMatch;
+    }
+
+    /**
+     * @return the creation time up to which the client copy of the tile is current, to be used as the If-Modified-Since
+     *     time of a conditional request, -1 if the client has no copy
+     */
+    public long getValidatorTimestamp() {
+        return Math.max(ifModifiedSince, ifNoneMatch);
+    }
+
+    /**
+     * Marks the tile as found but not modified since the {@link #getValidatorTimestamp() client copy}, without
+     * contents. Blob stores call this instead of fetching the contents when a conditional request says so.
+     */
+    public void setNotModified() {
+        this.notModified = true;
+        this.blob = null;
+        this.blobEncoding = null;
+        this.blob_size = -1;
+        this.created = getValidatorTimestamp();
+    }
+
+    /**
+     * @return {@code true} if the tile has been found but its contents have not been fetched, as the client copy is
+     *     current
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    /**
+     * Lets blob stores keeping tiles gzipped, such as vector tiles, return them as stored, see
+     * {@link #getBlobEncoding()}, instead of decompressing them. Only set when the caller can handle the encoded
+     * contents, e.g. by passing them to an HTTP client that accepts them.
+     *
+     * @since 1.27
+     */
+    public void setGzipAccepted(boolean gzipAccepted) {
+        this.gzipAccepted = gzipAccepted;
+    }
+
+    /** @return {@code true} if the blob can be returned gzipped */
+    public boolean isGzipAccepted() {
+        return gzipAccepted;
+    }
+
+    /**
+     * @return the content encoding of the blob, {@code null} if not encoded
+     * @since 1.27
+     */
+    public String getBlobEncoding() {
+        return blobEncoding;
+    }
+
     @Override
     public String getType() {
         return TYPE;
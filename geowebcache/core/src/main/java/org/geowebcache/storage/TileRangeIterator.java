@@ -128,7 +128,7 @@ private int tilesForLocation(long[] gridLoc, long[] levelBounds) {
      * Checks whether this grid location, or any on the same meta tile, should be included according to the
      * DiscontinuousTileRange
      */
-    private boolean checkGridLocation(long[] gridLoc) {
+    boolean checkGridLocation(long[] gridLoc) {
         if (dtr == null) {
             return true;
         } else {
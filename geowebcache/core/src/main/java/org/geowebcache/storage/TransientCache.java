@@ -15,19 +15,31 @@
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Ticker;
+import com.google.common.io.ByteStreams;
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.io.InputStream;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.io.ByteBufferResource;
 import org.geowebcache.io.Resource;
 import org.geowebcache.mime.MimeType;
 import org.geowebcache.storage.blobstore.file.DefaultFilePathGenerator;
 import org.geowebcache.storage.blobstore.file.FilePathGenerator;
+import org.geowebcache.storage.blobstore.memory.CacheStatistics;
 
 /**
- * Non-thread safe Resource cache. Currently in-memory only.
+ * Thread safe Resource cache, holding the tiles of a metatile that are not meant to be cached on the blob store until
+ * they are requested. Currently in-memory only, the tile contents can be kept either on the heap or in direct buffers.
+ *
+ * <p>Entries live in a {@link ConcurrentHashMap} so that concurrent requests do not contend on a single lock, while a
+ * lock free insertion order queue is used to evict the oldest entries as soon as the tile count or the storage limits
+ * are exceeded. An entry is removed from the cache when retrieved.
  *
  * @author Ian Schneider <ischneider@opengeo.org>
  * @author Kevin Smith, Boundless
@@ -40,7 +52,17 @@ public class TransientCache {
 
     private final long expireDelay;
 
-    private long currentStorage;
+    private final boolean offHeap;
+
+    private final AtomicLong currentStorage = new AtomicLong();
+
+    private final AtomicInteger currentSize = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
 
     private Ticker ticker = Ticker.systemTicker();
 
@@ -50,16 +72,10 @@ public class TransientCache {
      */
     private static FilePathGenerator keyGenerator = new DefaultFilePathGenerator("");
 
-    private Map<String, CachedResource> cache = new LinkedHashMap<>() {
-
-        /** serialVersionUID */
-        private static final long serialVersionUID = -4106644240603796847L;
+    private final Map<String, CachedResource> cache = new ConcurrentHashMap<>();
 
-        @Override
-        protected boolean removeEldestEntry(Entry<String, CachedResource> eldest) {
-            return removeEntries(eldest);
-        }
-    };
+    /** Entries in insertion order, may contain entries already removed from {@link #cache} */
+    private final Queue<CachedResource> insertionOrder = new ConcurrentLinkedQueue<>();
 
     /**
      * @param maxTiles Maximum number of tiles in cache
@@ -67,19 +83,30 @@ protected boolean removeEldestEntry(Entry<String, CachedResource> eldest) {
      * @param expireDelay Duration for which the cached resource is valid in ms
      */
     public TransientCache(int maxTiles, int maxStorageKB, long expireDelay) {
+        this(maxTiles, maxStorageKB, expireDelay, false);
+    }
+
+    /**
+     * @param maxTiles Maximum number of tiles in cache
+     * @param maxStorageKB Maximum size of cached data in KiB
+     * @param expireDelay Duration for which the cached resource is valid in ms
+     * @param offHeap Whether to keep the cached contents in direct buffers rather than on the heap
+     */
+    public TransientCache(int maxTiles, int maxStorageKB, long expireDelay, boolean offHeap) {
         this.maxTiles = maxTiles;
         this.maxStorage = maxStorageKB * 1024;
         this.expireDelay = expireDelay;
+        this.offHeap = offHeap;
     }
 
     /** Count of cached resources. May include expired resources not yet cleared. */
     public int size() {
-        return cache.size();
+        return currentSize.get();
     }
 
     /** The currently used storage. May include expired resources not yet cleared. */
     public long storageSize() {
-        return currentStorage;
+        return currentStorage.get();
     }
 
     /**
@@ -89,15 +116,16 @@ public long storageSize() {
      * @param r the resource to cache
      */
     public void put(String key, Resource r) {
-        byte[] buf = new byte[(int) r.getSize()];
-        try {
-            r.getInputStream().read(buf);
-        } catch (IOException ex) {
-            throw new RuntimeException(ex);
+        CachedResource blob = new CachedResource(key, copy(r));
+        currentStorage.addAndGet(blob.size);
+        currentSize.incrementAndGet();
+        CachedResource previous = cache.put(key, blob);
+        if (previous != null) {
+            released(previous);
         }
-        CachedResource blob = new CachedResource(new ByteArrayResource(buf));
-        currentStorage += r.getSize();
-        cache.put(key, blob);
+        // add to the queue only once in the cache, or a concurrent eviction would take it as stale
+        insertionOrder.add(blob);
+        evict();
     }
 
     /**
@@ -106,39 +134,91 @@ public void put(String key, Resource r) {
      * @return The resource cached under the given key, or null if no resource is cached.
      */
     public Resource get(String key) {
-        CachedResource cached = cache.get(key);
+        CachedResource cached = cache.remove(key);
         if (cached != null) {
-            cache.remove(key);
-            currentStorage -= cached.content.getSize();
+            released(cached);
 
             if (cached.time + expireDelay < currentTime()) {
+                misses.increment();
                 return null;
             } else {
+                hits.increment();
                 return cached.content;
             }
         }
+        misses.increment();
         return null;
     }
 
+    /** @return a snapshot of the cache hit, miss and eviction counts and of its storage usage */
+    public CacheStatistics getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requestCount = hitCount + missCount;
+        long actualSize = storageSize();
+
+        CacheStatistics stats = new CacheStatistics();
+        stats.setHitCount(hitCount);
+        stats.setMissCount(missCount);
+        stats.setEvictionCount(evictions.sum());
+        stats.setTotalCount(requestCount);
+        stats.setHitRate(requestCount == 0 ? 0 : (int) (100d * hitCount / requestCount));
+        stats.setMissRate(requestCount == 0 ? 0 : 100 - stats.getHitRate());
+        stats.setCurrentMemoryOccupation(maxStorage == 0 ? 0 : Math.min(100, 100d * actualSize / maxStorage));
+        stats.setActualSize(actualSize);
+        stats.setTotalSize(maxStorage);
+        return stats;
+    }
+
     /** A timestamp in milliseconds */
     protected long currentTime() {
         return ticker.read() / 1000;
     }
 
-    // Gets called by overridden LinkedHashMap.removeEldestEntry
-    private boolean removeEntries(Entry<String, CachedResource> eldest) {
-        // iterator returns items in order added so oldest items are first
-        Iterator<CachedResource> items = cache.values().iterator();
-        while (items.hasNext() && (currentStorage > maxStorage || cache.size() > maxTiles)) {
-            CachedResource r = items.next();
-            currentStorage -= r.content.getSize();
-            items.remove();
+    private Resource copy(Resource r) {
+        try {
+            if (offHeap) {
+                return ByteBufferResource.copyOffHeap(r);
+            }
+            byte[] buf = new byte[(int) r.getSize()];
+            if (buf.length > 0) {
+                try (InputStream in = r.getInputStream()) {
+                    ByteStreams.readFully(in, buf);
+                }
+            }
+            return new ByteArrayResource(buf);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
         }
-        assert currentStorage <= maxStorage;
-        assert currentStorage >= 0;
-        assert cache.size() <= maxStorage;
+    }
+
+    /** Updates the counters for an entry that is no longer in the cache */
+    private void released(CachedResource r) {
+        currentStorage.addAndGet(-r.size);
+        currentSize.decrementAndGet();
+    }
 
-        return false;
+    /**
+     * Removes the oldest entries until the cache is back within its limits. Entries that have been already retrieved
+     * are just dropped from the insertion order queue, as well as the expired ones.
+     */
+    private void evict() {
+        final long now = currentTime();
+        CachedResource eldest;
+        while ((eldest = insertionOrder.peek()) != null) {
+            boolean overLimits = currentStorage.get() > maxStorage || currentSize.get() > maxTiles;
+            boolean stale = cache.get(eldest.key) != eldest;
+            boolean expired = eldest.time + expireDelay < now;
+            if (!overLimits && !stale && !expired) {
+                break;
+            }
+            if (insertionOrder.remove(eldest) && cache.remove(eldest.key, eldest)) {
+                released(eldest);
+                if (overLimits) {
+                    evictions.increment();
+                }
+            }
+        }
     }
 
     public static String computeTransientKey(TileObject tile) {
@@ -151,17 +231,21 @@ public static String computeTransientKey(TileObject tile) {
     }
 
     private class CachedResource {
-        Resource content;
-        long time;
+        final String key;
+        final Resource content;
+        final long size;
+        final long time;
 
-        public CachedResource(Resource content, long time) {
+        public CachedResource(String key, Resource content, long time) {
             super();
+            this.key = key;
             this.content = content;
+            this.size = content.getSize();
             this.time = time;
         }
 
-        public CachedResource(Resource content) {
-            this(content, currentTime());
+        public CachedResource(String key, Resource content) {
+            this(key, content, currentTime());
         }
     }
 
@@ -0,0 +1,347 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.StorageObject.Status;
+import org.geowebcache.storage.TileObject;
+import org.geowebcache.storage.TileRange;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * A {@link FileBlobStore} packing the tiles in {@link TileBundle bundle files} of {@link TileBundle#SIZE} by
+ * {@link TileBundle#SIZE} tiles, instead of using a file per tile, to avoid running out of inodes on deep caches and to
+ * make truncation cheaper.
+ *
+ * <p>Tiles are appended to the bundles, replaced and deleted tiles leave unreferenced data behind, and the bundles
+ * wasting more than half of their space are compacted periodically in a background thread. Truncating a tile range
+ * reads the index of each bundle once, and deletes the whole bundle file when all its tiles are in the range.
+ *
+ * <p>Concurrent access to the bundles is only coordinated inside this process, the cache directory should not be shared
+ * by several GeoWebCache instances.
+ */
+public class BundleFileBlobStore extends FileBlobStore {
+
+    private static Logger log = Logging.getLogger(BundleFileBlobStore.class.getName());
+
+    /** Minimum amount of unreferenced data before a bundle gets compacted */
+    static final long COMPACTION_MIN_DEAD_BYTES = 256 * 1024;
+
+    /** Delay between compaction runs, in seconds */
+    static final long DEFAULT_COMPACTION_INTERVAL = 60;
+
+    private final FilePathGenerator pathGenerator;
+
+    /** Number of locks the bundle files are spread over, by path hash */
+    private static final int lockShardSize = 64;
+
+    /** Coordinates the access to the bundle files among the threads of this process, see {@link #getLock(File)} */
+    private final ReadWriteLock[] locks = IntStream.range(0, lockShardSize)
+            .mapToObj(i -> new ReentrantReadWriteLock())
+            .toArray(ReadWriteLock[]::new);
+
+    private final Set<File> pendingCompactions = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService compactionService;
+
+    public BundleFileBlobStore(String rootPath) throws StorageException {
+        this(rootPath, DEFAULT_COMPACTION_INTERVAL);
+    }
+
+    /**
+     * @param rootPath the cache root directory
+     * @param compactionInterval seconds between compactions of the bundles wasting too much space, zero or negative to
+     *     disable background compaction
+     */
+    public BundleFileBlobStore(String rootPath, long compactionInterval) throws StorageException {
+        this(rootPath, new BundleFilePathGenerator(rootPath), compactionInterval);
+    }
+
+    private BundleFileBlobStore(String rootPath, BundleFilePathGenerator pathGenerator, long compactionInterval)
+            throws StorageException {
+        super(rootPath, pathGenerator);
+        this.pathGenerator = pathGenerator;
+        if (compactionInterval > 0) {
+            CustomizableThreadFactory tf = new CustomizableThreadFactory("GWC FileStore bundle compaction thread-");
+            tf.setDaemon(true);
+            tf.setThreadPriority(Thread.MIN_PRIORITY);
+            compactionService = Executors.newSingleThreadScheduledExecutor(tf);
+            compactionService.scheduleWithFixedDelay(
+                    this::compactPending, compactionInterval, compactionInterval, TimeUnit.SECONDS);
+        } else {
+            compactionService = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        if (compactionService != null) {
+            compactionService.shutdown();
+        }
+    }
+
+    private ReadWriteLock getLock(File bundleFile) {
+        int idx = Math.abs(bundleFile.getPath().hashCode() % lockShardSize);
+        return locks[idx];
+    }
+
+    @Override
+    public boolean get(TileObject stObj) throws StorageException {
+        final File bundleFile = getFileHandleTile(stObj, false);
+        final long[] xyz = stObj.getXYZ();
+        ReadWriteLock lock = getLock(bundleFile);
+        lock.readLock().lock();
+        try (TileBundle bundle = TileBundle.openForRead(bundleFile)) {
+            byte[] data = bundle == null ? null : bundle.read(xyz[0], xyz[1]);
+            if (data == null) {
+                stObj.setStatus(Status.MISS);
+                return false;
+            }
+            stObj.setBlob(new ByteArrayResource(data));
+            stObj.setCreated(bundle.created());
+            stObj.setBlobSize(data.length);
+            return true;
+        } catch (IOException e) {
+            throw new StorageException("Failed to read tile from " + bundleFile, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(TileObject stObj) throws StorageException {
+        putAll(Collections.singletonList(stObj));
+    }
+
+    /** Appends the tiles going to the same bundle while opening and locking it only once */
+    @Override
+    public void putAll(Collection<TileObject> stObjs) throws StorageException {
+        Map<File, List<TileObject>> bundles = new LinkedHashMap<>();
+        for (TileObject stObj : stObjs) {
+            bundles.computeIfAbsent(getFileHandleTile(stObj, false), f -> new ArrayList<>())
+                    .add(stObj);
+        }
+
+        Set<String> parameterIds = new HashSet<>();
+        for (Map.Entry<File, List<TileObject>> entry : bundles.entrySet()) {
+            final File bundleFile = entry.getKey();
+            final List<TileObject> tiles = entry.getValue();
+            mkdirs(bundleFile.getParentFile(), tiles.get(0));
+
+            int[] previous = new int[tiles.size()];
+            ReadWriteLock lock = getLock(bundleFile);
+            lock.writeLock().lock();
+            try (TileBundle bundle = TileBundle.openForWrite(bundleFile)) {
+                for (int i = 0; i < previous.length; i++) {
+                    TileObject stObj = tiles.get(i);
+                    long[] xyz = stObj.getXYZ();
+                    long created = stObj.getCreated() > 0 ? stObj.getCreated() : System.currentTimeMillis();
+                    previous[i] = bundle.write(xyz[0], xyz[1], stObj.getBlob(), created);
+                }
+                checkCompaction(bundleFile, bundle);
+            } catch (IOException e) {
+                throw new StorageException("Failed to write tiles to " + bundleFile, e);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            for (int i = 0; i < previous.length; i++) {
+                TileObject stObj = tiles.get(i);
+                if (parameterIds.add(stObj.getLayerName() + "/" + stObj.getParametersId())) {
+                    putParametersMetadata(stObj.getLayerName(), stObj.getParametersId(), stObj.getParameters());
+                }
+                // report the sizes padded to whole blocks, like the file per tile layout
+                stObj.setBlobSize((int) padSize(stObj.getBlobSize()));
+                if (previous[i] > 0) {
+                    listeners.sendTileUpdated(stObj, padSize(previous[i]));
+                } else {
+                    listeners.sendTileStored(stObj);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean delete(TileObject stObj) throws StorageException {
+        final File bundleFile = getFileHandleTile(stObj, false);
+        final long[] xyz = stObj.getXYZ();
+        int length;
+        ReadWriteLock lock = getLock(bundleFile);
+        lock.writeLock().lock();
+        try {
+            if (!bundleFile.exists()) {
+                return false;
+            }
+            try (TileBundle bundle = TileBundle.openForWrite(bundleFile)) {
+                length = bundle.remove(xyz[0], xyz[1]);
+                checkCompaction(bundleFile, bundle);
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to delete tile from " + bundleFile, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (length < 0) {
+            return false;
+        }
+        stObj.setBlobSize((int) padSize(length));
+        listeners.sendTileDeleted(stObj);
+        return true;
+    }
+
+    @Override
+    public boolean delete(TileRange trObj) throws StorageException {
+        final File layerPath = getLayerPath(trObj.getLayerName());
+        if (!layerPath.exists()) {
+            return true;
+        }
+        if (!layerPath.isDirectory() || !layerPath.canWrite()) {
+            throw new StorageException(layerPath + " does is not a directory or is not writable.");
+        }
+
+        AtomicLong count = new AtomicLong();
+        try {
+            pathGenerator.visitRange(layerPath, trObj, new TileFileVisitor() {
+
+                @Override
+                public void visitFile(File bundleFile, long column, long row, int z) {
+                    try {
+                        count.addAndGet(truncate(bundleFile, column, row, z, trObj));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void postVisitDirectory(File dir) {
+                    // will delete only if empty
+                    dir.delete();
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw new StorageException("Failed to truncate " + trObj.getLayerName(), e.getCause());
+        }
+
+        log.info("Truncated " + count + " tiles");
+
+        return true;
+    }
+
+    /**
+     * Removes the tiles in range from a bundle, deleting the whole bundle file if it has no other tiles
+     *
+     * @return the number of tiles removed
+     */
+    private int truncate(File bundleFile, long column, long row, int z, TileRange range) throws IOException {
+        final List<long[]> removed = new ArrayList<>();
+        final boolean[] partial = {false};
+        ReadWriteLock lock = getLock(bundleFile);
+        lock.writeLock().lock();
+        try {
+            try (TileBundle bundle = TileBundle.openForRead(bundleFile)) {
+                if (bundle == null) {
+                    return 0;
+                }
+                bundle.visit((c, r, offset, length, created) -> {
+                    long x = column * TileBundle.SIZE + c;
+                    long y = row * TileBundle.SIZE + r;
+                    if (range.contains(x, y, z)) {
+                        removed.add(new long[] {x, y, length});
+                    } else {
+                        partial[0] = true;
+                    }
+                });
+            }
+            if (!partial[0]) {
+                Files.deleteIfExists(bundleFile.toPath());
+                pendingCompactions.remove(bundleFile);
+            } else if (!removed.isEmpty()) {
+                try (TileBundle bundle = TileBundle.openForWrite(bundleFile)) {
+                    for (long[] tile : removed) {
+                        bundle.remove(tile[0], tile[1]);
+                    }
+                    checkCompaction(bundleFile, bundle);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        final String layerName = range.getLayerName();
+        final String gridSetId = range.getGridSetId();
+        final String blobFormat = range.getMimeType().getFormat();
+        final String parametersId = range.getParametersId();
+        for (long[] tile : removed) {
+            listeners.sendTileDeleted(
+                    layerName, gridSetId, blobFormat, parametersId, tile[0], tile[1], z, padSize(tile[2]));
+        }
+        return removed.size();
+    }
+
+    /** Queues the bundle for compaction if it is empty or more than half of its data is no longer referenced */
+    private void checkCompaction(File bundleFile, TileBundle bundle) throws IOException {
+        long dead = bundle.deadBytes();
+        long data = bundle.dataBytes();
+        if (dead > 0 && (dead >= data || (dead >= COMPACTION_MIN_DEAD_BYTES && dead * 2 > data))) {
+            pendingCompactions.add(bundleFile);
+        }
+    }
+
+    /** Compacts the bundles queued for compaction, called periodically by the background thread */
+    public void compactPending() {
+        for (Iterator<File> it = pendingCompactions.iterator(); it.hasNext(); ) {
+            File bundleFile = it.next();
+            it.remove();
+            ReadWriteLock lock = getLock(bundleFile);
+            lock.writeLock().lock();
+            try {
+                long reclaimed = TileBundle.compact(bundleFile);
+                if (log.isLoggable(Level.FINE)) {
+                    log.fine("Compacted " + bundleFile + ", reclaimed " + reclaimed + " bytes");
+                }
+            } catch (IOException e) {
+                log.log(Level.WARNING, "Failed to compact " + bundleFile, e);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.file;
+
+import static org.geowebcache.storage.blobstore.file.FilePathUtils.appendFiltered;
+import static org.geowebcache.storage.blobstore.file.FilePathUtils.appendGridsetZoomLevelDir;
+import static org.geowebcache.storage.blobstore.file.FilePathUtils.filteredGridSetId;
+import static org.geowebcache.storage.blobstore.file.FilePathUtils.findZoomLevel;
+import static org.geowebcache.util.FileUtils.listFilesNullSafe;
+
+import java.io.File;
+import java.util.Map;
+import org.geowebcache.filter.parameters.ParametersUtils;
+import org.geowebcache.mime.MimeType;
+import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileObject;
+import org.geowebcache.storage.TileRange;
+
+/**
+ * Generates the paths of the {@link TileBundle bundle files} containing the tiles, like <code>
+ * layerName/gridsetId_zz[_parametersId]/column_row.extension.bundle</code>, where column and row are the tile
+ * coordinates divided by the {@link TileBundle#SIZE bundle size}. The layer and gridset directories are the same as the
+ * {@link DefaultFilePathGenerator} ones, so that the directory level operations of {@link FileBlobStore} apply
+ * unchanged.
+ */
+public class BundleFilePathGenerator implements FilePathGenerator {
+
+    static final String BUNDLE_EXTENSION = ".bundle";
+
+    String cacheRoot;
+
+    public BundleFilePathGenerator(String cacheRoot) {
+        this.cacheRoot = cacheRoot;
+    }
+
+    /** Returns the bundle file containing the given tile */
+    @Override
+    public File tilePath(TileObject tile, MimeType mimeType) {
+        final long[] tileIndex = tile.getXYZ();
+        long x = tileIndex[0];
+        long y = tileIndex[1];
+        long z = tileIndex[2];
+
+        StringBuilder path = new StringBuilder(256);
+        path.append(cacheRoot);
+        path.append(File.separatorChar);
+        appendFiltered(tile.getLayerName(), path);
+        path.append(File.separatorChar);
+        appendGridsetZoomLevelDir(tile.getGridSetId(), z, path);
+        String parametersId = tile.getParametersId();
+        Map<String, String> parameters = tile.getParameters();
+        if (parametersId == null && parameters != null && !parameters.isEmpty()) {
+            parametersId = ParametersUtils.getId(parameters);
+            tile.setParametersId(parametersId);
+        }
+        if (parametersId != null) {
+            path.append('_');
+            path.append(parametersId);
+        }
+        path.append(File.separatorChar);
+        path.append(x / TileBundle.SIZE);
+        path.append('_');
+        path.append(y / TileBundle.SIZE);
+        path.append('.');
+        path.append(mimeType.getFileExtension());
+        path.append(BUNDLE_EXTENSION);
+
+        return new File(path.toString());
+    }
+
+    /**
+     * Visits the bundles intersecting the tile range, the visitor receives the bundle column and row instead of the
+     * tile ones
+     */
+    @Override
+    public void visitRange(File layerDirectory, TileRange range, TileFileVisitor visitor) throws StorageException {
+        final String gridsetPrefix = filteredGridSetId(range.getGridSetId());
+        final String suffix = "." + range.getMimeType().getFileExtension() + BUNDLE_EXTENSION;
+        // the default filter only accepts the zoom level directories, as bundle names have a different pattern
+        for (File zoomDir : listFilesNullSafe(layerDirectory, new DefaultFilePathFilter(range))) {
+            final int z = findZoomLevel(gridsetPrefix, zoomDir.getName());
+            final long[] bounds = range.rangeBounds(z);
+            visitor.preVisitDirectory(zoomDir);
+
+            File[] bundles = listFilesNullSafe(zoomDir, (dir, name) -> name.endsWith(suffix));
+            for (File bundle : bundles) {
+                String[] coords = bundle.getName()
+                        .substring(0, bundle.getName().indexOf('.'))
+                        .split("_");
+                long column = Long.parseLong(coords[0]);
+                long row = Long.parseLong(coords[1]);
+                long minX = column * TileBundle.SIZE;
+                long minY = row * TileBundle.SIZE;
+                long maxX = minX + TileBundle.SIZE - 1;
+                long maxY = minY + TileBundle.SIZE - 1;
+                if (bounds[0] <= maxX && bounds[2] >= minX && bounds[1] <= maxY && bounds[3] >= minY) {
+                    visitor.visitFile(bundle, column, row, z);
+                }
+            }
+
+            visitor.postVisitDirectory(zoomDir);
+        }
+    }
+}
@@ -32,7 +32,9 @@
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -51,7 +53,6 @@
 import org.geowebcache.config.ConfigurationException;
 import org.geowebcache.filter.parameters.ParametersUtils;
 import org.geowebcache.io.FileResource;
-import org.geowebcache.io.Resource;
 import org.geowebcache.mime.MimeException;
 import org.geowebcache.mime.MimeType;
 import org.geowebcache.storage.BlobStore;
@@ -89,7 +90,7 @@ interface FileWriter {
 
     private int diskBlockSize = DEFAULT_DISK_BLOCK_SIZE;
 
-    private final BlobStoreListenerList listeners = new BlobStoreListenerList();
+    final BlobStoreListenerList listeners = new BlobStoreListenerList();
 
     private FilePathGenerator pathGenerator;
 
@@ -351,7 +352,7 @@ public boolean rename(final String oldLayerName, final String newLayerName) thro
         return renamed;
     }
 
-    private File getLayerPath(String layerName) {
+    File getLayerPath(String layerName) {
         String prefix = path + File.separator + filteredLayerName(layerName);
 
         File layerPath = new File(prefix);
@@ -445,11 +446,17 @@ public void postVisitDirectory(File dir) {
     @Override
     public boolean get(TileObject stObj) throws StorageException {
         File fh = getFileHandleTile(stObj, false);
-        if (!fh.exists()) {
+        // a single stat call instead of separate exists, length and last modified ones
+        FileResource resource;
+        try {
+            resource = FileResource.readIfExists(fh);
+        } catch (IOException e) {
+            throw new StorageException("Failed to read attributes of " + fh, e);
+        }
+        if (resource == null) {
             stObj.setStatus(Status.MISS);
             return false;
         } else {
-            Resource resource = readFile(fh);
             stObj.setBlob(resource);
             stObj.setCreated(resource.getLastModified());
             stObj.setBlobSize((int) resource.getSize());
@@ -461,6 +468,29 @@ public boolean get(TileObject stObj) throws StorageException {
     @Override
     public void put(TileObject stObj) throws StorageException {
         final File fh = getFileHandleTile(stObj, true);
+        putTile(fh, stObj, true);
+    }
+
+    /**
+     * Stores the tiles creating each parent directory, and checking each parameters metadata file, only once per batch
+     * instead of once per tile.
+     */
+    @Override
+    public void putAll(Collection<TileObject> stObjs) throws StorageException {
+        Set<File> parents = new HashSet<>();
+        Set<String> parameterIds = new HashSet<>();
+        for (TileObject stObj : stObjs) {
+            final File fh = getFileHandleTile(stObj, false);
+            final File parent = fh.getParentFile();
+            if (parents.add(parent)) {
+                mkdirs(parent, stObj);
+            }
+            boolean newParameters = parameterIds.add(stObj.getLayerName() + "/" + stObj.getParametersId());
+            putTile(fh, stObj, newParameters);
+        }
+    }
+
+    private void putTile(File fh, TileObject stObj, boolean putParameters) throws StorageException {
         final long oldSize = fh.length();
         final boolean existed = oldSize > 0;
 
@@ -476,7 +506,9 @@ public void put(TileObject stObj) throws StorageException {
             }
         }
 
-        putParametersMetadata(stObj.getLayerName(), stObj.getParametersId(), stObj.getParameters());
+        if (putParameters) {
+            putParametersMetadata(stObj.getLayerName(), stObj.getParametersId(), stObj.getParameters());
+        }
 
         /*
          * this is important because listeners may be tracking tile existence
@@ -489,7 +521,7 @@ public void put(TileObject stObj) throws StorageException {
         }
     }
 
-    private void putParametersMetadata(String layerName, String parametersId, Map<String, String> parameters)
+    void putParametersMetadata(String layerName, String parametersId, Map<String, String> parameters)
             throws StorageException {
         // check if we even need to use any IO
         if (parametersId == null || parameters == null || parameters.isEmpty()) return;
@@ -514,7 +546,7 @@ private File parametersFile(String layerName, String parametersId) {
         return new File(path);
     }
 
-    private File getFileHandleTile(TileObject stObj, boolean createParent) throws StorageException {
+    File getFileHandleTile(TileObject stObj, boolean createParent) throws StorageException {
         final MimeType mimeType;
         try {
             mimeType = MimeType.createFromFormat(stObj.getBlobFormat());
@@ -539,13 +571,6 @@ private File getFileHandleTile(TileObject stObj, boolean createParent) throws St
         return tilePath;
     }
 
-    private Resource readFile(File fh) throws StorageException {
-        if (!fh.exists()) {
-            return null;
-        }
-        return new FileResource(fh);
-    }
-
     private void writeTile(File target, TileObject stObj, boolean existed) throws StorageException {
         writeFile(target, existed, file -> {
             try (FileOutputStream fos = new FileOutputStream(file);
@@ -613,7 +638,7 @@ public boolean removeListener(BlobStoreListener listener) {
      * This method will recursively create the missing directories and call the listeners directoryCreated method for
      * each created directory.
      */
-    private boolean mkdirs(File path, TileObject stObj) {
+    boolean mkdirs(File path, TileObject stObj) {
         /* if the terminal directory already exists, answer false */
         if (path.exists()) {
             return false;
@@ -693,7 +718,7 @@ public void setBlockSize(int fileSystemBlockSize) {
      * @param fileSize the size of the tile file as reported by {@link File#length()}
      * @return {@code fileSize} padded to whole blocks as per {@link #diskBlockSize}
      */
-    private long padSize(long fileSize) {
+    protected long padSize(long fileSize) {
 
         final int blockSize = this.diskBlockSize;
 
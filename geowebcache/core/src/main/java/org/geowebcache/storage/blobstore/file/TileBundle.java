@@ -0,0 +1,307 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.file;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.geowebcache.io.Resource;
+
+/**
+ * A bundle file packing the tiles of a {@link #SIZE} by {@link #SIZE} block of a zoom level, used by
+ * {@link BundleFileBlobStore}.
+ *
+ * <p>The file starts with a {@link #HEADER_LENGTH} bytes header, followed by a fixed size index with an entry for each
+ * tile of the block, row by row, and then by the tile data. Each index entry holds the offset of the tile data in the
+ * file, its length, and the tile creation time, a zero length meaning the tile is not there. The index is not written
+ * in advance, reading past the end of the file simply finds empty entries.
+ *
+ * <p>Writes are append only, the tile data is written at the end of the file before its index entry is updated.
+ * Replaced and removed tiles leave unreferenced data behind, whose size is tracked in the header so that the bundle can
+ * be {@link #compact(File) compacted} once it wastes too much space.
+ *
+ * <p>Instances are not thread safe, callers are expected to lock the bundle file while using it.
+ */
+class TileBundle implements Closeable {
+
+    /** Number of tiles on each side of a bundle */
+    static final int SIZE = 128;
+
+    static final int MAGIC = 0x47574342; // GWCB
+
+    static final int VERSION = 1;
+
+    static final int HEADER_LENGTH = 32;
+
+    /** Offset of the header field holding the size of the unreferenced tile data */
+    static final int DEAD_BYTES_OFFSET = 16;
+
+    /** offset (long), length (int), created (long) */
+    static final int ENTRY_LENGTH = 20;
+
+    static final long DATA_START = HEADER_LENGTH + (long) SIZE * SIZE * ENTRY_LENGTH;
+
+    /** Receives the tiles stored in a bundle */
+    interface EntryVisitor {
+        /**
+         * @param column the tile column inside the bundle
+         * @param row the tile row inside the bundle
+         */
+        void visit(int column, int row, long offset, int length, long created) throws IOException;
+    }
+
+    private final File file;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_LENGTH);
+
+    private TileBundle(File file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens an existing bundle for reading
+     *
+     * @return the bundle, or {@code null} if the file does not exist
+     */
+    static TileBundle openForRead(File file) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        TileBundle bundle = new TileBundle(file, channel);
+        bundle.checkHeader();
+        return bundle;
+    }
+
+    /** Opens a bundle for reading and writing, creating it if missing */
+    static TileBundle openForWrite(File file) throws IOException {
+        FileChannel channel = FileChannel.open(
+                file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        TileBundle bundle = new TileBundle(file, channel);
+        if (channel.size() == 0) {
+            bundle.writeHeader();
+        } else {
+            bundle.checkHeader();
+        }
+        return bundle;
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(MAGIC).putInt(VERSION).putInt(SIZE);
+        header.clear();
+        writeFully(header, 0);
+    }
+
+    private void checkHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(12);
+        if (readFully(header, 0) < 12 || header.getInt(0) != MAGIC) {
+            close();
+            throw new IOException(file + " is not a tile bundle");
+        }
+        if (header.getInt(4) != VERSION || header.getInt(8) != SIZE) {
+            close();
+            throw new IOException("Unsupported tile bundle version " + header.getInt(4) + " and size "
+                    + header.getInt(8) + " in " + file);
+        }
+    }
+
+    private static long entryPosition(long x, long y) {
+        int column = (int) (x % SIZE);
+        int row = (int) (y % SIZE);
+        return HEADER_LENGTH + ((long) row * SIZE + column) * ENTRY_LENGTH;
+    }
+
+    /** Reads the index entry of a tile, returns {@code false} if the tile is not in the bundle */
+    private boolean readEntry(long x, long y) throws IOException {
+        entry.clear();
+        if (readFully(entry, entryPosition(x, y)) < ENTRY_LENGTH) {
+            return false;
+        }
+        return entry.getInt(8) > 0;
+    }
+
+    private void writeEntry(long x, long y, long offset, int length, long created) throws IOException {
+        entry.clear();
+        entry.putLong(offset).putInt(length).putLong(created);
+        entry.flip();
+        writeFully(entry, entryPosition(x, y));
+    }
+
+    /** @return the length of the tile, or {@code -1} if the tile is not in the bundle */
+    int length(long x, long y) throws IOException {
+        return readEntry(x, y) ? entry.getInt(8) : -1;
+    }
+
+    /** @return the creation time of the tile, only valid after a successful {@link #read(long, long)} */
+    long created() {
+        return entry.getLong(12);
+    }
+
+    /**
+     * Reads a tile
+     *
+     * @return the tile contents, or {@code null} if the tile is not in the bundle
+     */
+    byte[] read(long x, long y) throws IOException {
+        if (!readEntry(x, y)) {
+            return null;
+        }
+        long offset = entry.getLong(0);
+        int length = entry.getInt(8);
+        ByteBuffer data = ByteBuffer.allocate(length);
+        if (readFully(data, offset) < length) {
+            throw new IOException("Truncated tile data at " + offset + " in " + file);
+        }
+        return data.array();
+    }
+
+    /**
+     * Appends a tile to the bundle, replacing any previous version
+     *
+     * @return the length of the replaced tile, or {@code -1} if the tile was not in the bundle
+     */
+    int write(long x, long y, Resource blob, long created) throws IOException {
+        final int previous = length(x, y);
+        final long offset = Math.max(channel.size(), DATA_START);
+        channel.position(offset);
+        long length = blob.transferTo(channel);
+        writeEntry(x, y, offset, (int) length, created);
+        if (previous > 0) {
+            addDeadBytes(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Removes a tile from the bundle index, its data is reclaimed at the next compaction
+     *
+     * @return the length of the removed tile, or {@code -1} if the tile was not in the bundle
+     */
+    int remove(long x, long y) throws IOException {
+        final int previous = length(x, y);
+        if (previous > 0) {
+            writeEntry(x, y, 0, 0, 0);
+            addDeadBytes(previous);
+        }
+        return previous;
+    }
+
+    /** Visits all the tiles in the bundle, reading the whole index at once */
+    void visit(EntryVisitor visitor) throws IOException {
+        ByteBuffer index = ByteBuffer.allocate(SIZE * SIZE * ENTRY_LENGTH);
+        int read = readFully(index, HEADER_LENGTH);
+        for (int i = 0; i + ENTRY_LENGTH <= read; i += ENTRY_LENGTH) {
+            int length = index.getInt(i + 8);
+            if (length > 0) {
+                int tile = i / ENTRY_LENGTH;
+                visitor.visit(tile % SIZE, tile / SIZE, index.getLong(i), length, index.getLong(i + 12));
+            }
+        }
+    }
+
+    /** @return the size of the tile data no longer referenced by the index */
+    long deadBytes() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        readFully(buffer, DEAD_BYTES_OFFSET);
+        return buffer.getLong(0);
+    }
+
+    /** @return the size of the tile data, referenced or not */
+    long dataBytes() throws IOException {
+        return Math.max(0, channel.size() - DATA_START);
+    }
+
+    private void addDeadBytes(long bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.putLong(0, deadBytes() + bytes);
+        writeFully(buffer, DEAD_BYTES_OFFSET);
+    }
+
+    /**
+     * Rewrites a bundle keeping only the tiles referenced by its index, and replaces it atomically. A bundle without
+     * tiles is deleted instead.
+     *
+     * @return the number of bytes reclaimed
+     */
+    static long compact(File file) throws IOException {
+        File compacted = new File(file.getParentFile(), file.getName() + ".compacting");
+        long before = file.length();
+        // leftover of an interrupted compaction
+        Files.deleteIfExists(compacted.toPath());
+        try (TileBundle source = openForRead(file)) {
+            if (source == null) {
+                return 0;
+            }
+            boolean empty;
+            try (TileBundle target = openForWrite(compacted)) {
+                long[] position = {DATA_START};
+                source.visit((column, row, offset, length, created) -> {
+                    long copied = 0;
+                    while (copied < length) {
+                        copied += source.channel.transferTo(
+                                offset + copied, length - copied, target.channel.position(position[0] + copied));
+                    }
+                    target.writeEntry(column, row, position[0], length, created);
+                    position[0] += length;
+                });
+                empty = position[0] == DATA_START;
+            }
+            if (empty) {
+                Files.deleteIfExists(compacted.toPath());
+                Files.deleteIfExists(file.toPath());
+                return before;
+            }
+            Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(compacted.toPath());
+        }
+        return before - file.length();
+    }
+
+    private int readFully(ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
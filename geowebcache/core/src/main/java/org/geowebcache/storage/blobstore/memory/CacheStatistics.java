@@ -53,6 +53,9 @@ public class CacheStatistics implements Serializable {
     /** Cache actual size */
     private long actualSize = 0;
 
+    /** Percentage of the memory allocated to the cached tiles not holding tile data */
+    private double fragmentation = 0;
+
     public CacheStatistics() {}
 
     // Copy Constructor
@@ -66,6 +69,7 @@ public CacheStatistics(CacheStatistics stats) {
         this.setCurrentMemoryOccupation(stats.getCurrentMemoryOccupation());
         this.setActualSize(stats.getActualSize());
         this.setTotalSize(stats.getTotalSize());
+        this.setFragmentation(stats.getFragmentation());
     }
 
     /** @return the cache hit count */
@@ -157,4 +161,18 @@ public long getActualSize() {
     public void setActualSize(long actualSize) {
         this.actualSize = actualSize;
     }
+
+    /**
+     * @return the percentage of the memory allocated to the cached tiles not holding tile data, for the cache providers
+     *     allocating memory in fixed size blocks, 0 otherwise
+     * @since 1.27
+     */
+    public double getFragmentation() {
+        return fragmentation;
+    }
+
+    /** Setter for cache fragmentation */
+    public void setFragmentation(double fragmentation) {
+        this.fragmentation = fragmentation;
+    }
 }
@@ -0,0 +1,449 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.memory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.config.BlobStoreCacheInfo;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.io.Resource;
+import org.geowebcache.storage.BlobStore;
+import org.geowebcache.storage.BlobStoreListener;
+import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileObject;
+import org.geowebcache.storage.TileRange;
+import org.geowebcache.storage.blobstore.file.FileBlobStore;
+import org.geowebcache.storage.blobstore.memory.guava.GuavaCacheProvider;
+
+/**
+ * A read through cache in front of a, usually remote, {@link BlobStore}. Tiles read from the wrapped store are kept in
+ * a size bounded memory tier, backed by a {@link CacheProvider}, and optionally in a local disk tier using the
+ * {@link FileBlobStore} layout. Puts and deletes go straight to the wrapped store and invalidate both tiers, so the
+ * cache never holds tiles the wrapped store was told to replace, it is however not aware of changes made by other
+ * instances sharing the wrapped store.
+ *
+ * <p>The disk tier is not bounded, it is expected to be cleaned up along with the wrapped store or by external means.
+ * Listeners are registered on the wrapped store only, so the disk quota accounts for the remote tiles.
+ *
+ * <p>Unlike {@link MemoryBlobStore} all the operations run on the calling thread, and the hits of each tier are counted
+ * separately, see {@link #getStatistics()}.
+ */
+public class CachingBlobStore implements BlobStore {
+
+    private static final Logger log = Logging.getLogger(CachingBlobStore.class.getName());
+
+    /** Number of the invalidation counters keeping concurrent reads from caching replaced tiles */
+    private static final int GENERATIONS = 256;
+
+    private final BlobStore store;
+
+    private final CacheProvider memory;
+
+    @Nullable
+    private final BlobStore disk;
+
+    /** Incremented on each invalidation of the tiles hashing to the slot */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATIONS);
+
+    private final Statistics statistics = new Statistics();
+
+    /**
+     * @param store the wrapped store
+     * @param config the cache configuration
+     * @throws StorageException if the disk tier can't be created
+     */
+    public CachingBlobStore(BlobStore store, BlobStoreCacheInfo config) throws StorageException {
+        this.store = store;
+        CacheConfiguration memoryConfig = new CacheConfiguration();
+        if (config.getMemoryLimit() != null) {
+            memoryConfig.setHardMemoryLimit(config.getMemoryLimit());
+        }
+        this.memory = new GuavaCacheProvider(memoryConfig);
+        this.disk = config.getDiskDirectory() == null ? null : new FileBlobStore(config.getDiskDirectory());
+    }
+
+    /** Visible for testing */
+    CachingBlobStore(BlobStore store, CacheProvider memory, @Nullable BlobStore disk) {
+        this.store = store;
+        this.memory = memory;
+        this.disk = disk;
+    }
+
+    /** @return the wrapped store */
+    public BlobStore getStore() {
+        return store;
+    }
+
+    /** @return the hit counts of the cache tiers and of the wrapped store */
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    /** @return the statistics of the memory tier */
+    public CacheStatistics getCacheStatistics() {
+        return memory.getStatistics();
+    }
+
+    private int generationSlot(TileObject obj) {
+        return Math.abs(GuavaCacheProvider.generateTileKey(obj).hashCode() % GENERATIONS);
+    }
+
+    @Override
+    public boolean get(TileObject obj) throws StorageException {
+        TileObject cached = memory.getTileObj(obj);
+        if (cached != null) {
+            statistics.memoryHits.increment();
+            copyTo(cached, obj);
+            return true;
+        }
+
+        final int slot = generationSlot(obj);
+        final long generation = generations.get(slot);
+        if (disk != null && disk.get(obj)) {
+            statistics.diskHits.increment();
+            cache(obj, slot, generation, false);
+            return true;
+        }
+        if (store.get(obj)) {
+            statistics.storeHits.increment();
+            cache(obj, slot, generation, true);
+            return true;
+        }
+        statistics.misses.increment();
+        return false;
+    }
+
+    /** Looks up the tiles in the cache tiers, and fetches the missing ones with a single call to the wrapped store */
+    @Override
+    public List<TileObject> getAll(Collection<TileObject> objs) throws StorageException {
+        Set<TileObject> hits = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<TileObject> remote = new ArrayList<>();
+        Map<TileObject, Long> expected = new IdentityHashMap<>();
+        for (TileObject obj : objs) {
+            TileObject cached = memory.getTileObj(obj);
+            if (cached != null) {
+                statistics.memoryHits.increment();
+                copyTo(cached, obj);
+                hits.add(obj);
+                continue;
+            }
+            final int slot = generationSlot(obj);
+            final long generation = generations.get(slot);
+            if (disk != null && disk.get(obj)) {
+                statistics.diskHits.increment();
+                cache(obj, slot, generation, false);
+                hits.add(obj);
+            } else {
+                expected.put(obj, generation);
+                remote.add(obj);
+            }
+        }
+        if (!remote.isEmpty()) {
+            List<TileObject> fetched = store.getAll(remote);
+            statistics.storeHits.add(fetched.size());
+            statistics.misses.add(remote.size() - fetched.size());
+            for (TileObject obj : fetched) {
+                cache(obj, generationSlot(obj), expected.get(obj), true);
+                hits.add(obj);
+            }
+        }
+        List<TileObject> found = new ArrayList<>(hits.size());
+        for (TileObject obj : objs) {
+            if (hits.contains(obj)) {
+                found.add(obj);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Keeps a tile just read in the memory tier, and in the disk tier if read from the wrapped store, unless it has
+     * been invalidated meanwhile, and replaces its contents with the in memory copy. Tiles the wrapped store found
+     * {@link TileObject#isNotModified() not modified} have no contents to keep, and tiles returned
+     * {@link TileObject#getBlobEncoding() encoded} are only good for callers accepting the encoding.
+     */
+    private void cache(TileObject obj, int slot, long generation, boolean toDisk) throws StorageException {
+        if (obj.isNotModified() || obj.getBlobEncoding() != null) {
+            return;
+        }
+        TileObject cached = toByteTile(obj);
+        // a put or delete while reading means the tile read might be stale already
+        if (generations.get(slot) == generation) {
+            memory.putTileObj(cached);
+            if (toDisk && disk != null) {
+                try {
+                    disk.put(cached);
+                } catch (StorageException e) {
+                    log.log(Level.WARNING, "Failed to cache tile on disk: " + obj, e);
+                }
+            }
+            // an invalidation between the check and the puts may have run before them, take the copies back then
+            if (generations.get(slot) != generation) {
+                memory.removeTileObj(cached);
+                if (toDisk && disk != null) {
+                    disk.delete(cached);
+                }
+            }
+        }
+        copyTo(cached, obj);
+    }
+
+    @Override
+    public void put(TileObject obj) throws StorageException {
+        store.put(obj);
+        invalidate(obj);
+    }
+
+    @Override
+    public void putAll(Collection<TileObject> objs) throws StorageException {
+        store.putAll(objs);
+        for (TileObject obj : objs) {
+            invalidate(obj);
+        }
+    }
+
+    @Override
+    public boolean delete(TileObject obj) throws StorageException {
+        invalidate(obj);
+        return store.delete(obj);
+    }
+
+    @Override
+    public boolean delete(TileRange obj) throws StorageException {
+        invalidateLayer(obj.getLayerName());
+        if (disk != null) {
+            disk.delete(obj);
+        }
+        return store.delete(obj);
+    }
+
+    @Override
+    public boolean delete(String layerName) throws StorageException {
+        invalidateLayer(layerName);
+        if (disk != null) {
+            disk.delete(layerName);
+        }
+        return store.delete(layerName);
+    }
+
+    @Override
+    public boolean deleteByGridsetId(String layerName, String gridSetId) throws StorageException {
+        invalidateLayer(layerName);
+        if (disk != null) {
+            disk.deleteByGridsetId(layerName, gridSetId);
+        }
+        return store.deleteByGridsetId(layerName, gridSetId);
+    }
+
+    @Override
+    public boolean deleteByParametersId(String layerName, String parametersId) throws StorageException {
+        invalidateLayer(layerName);
+        if (disk != null) {
+            disk.deleteByParametersId(layerName, parametersId);
+        }
+        return store.deleteByParametersId(layerName, parametersId);
+    }
+
+    @Override
+    public boolean rename(String oldLayerName, String newLayerName) throws StorageException {
+        invalidateLayer(oldLayerName);
+        if (disk != null) {
+            disk.delete(oldLayerName);
+        }
+        return store.rename(oldLayerName, newLayerName);
+    }
+
+    @Override
+    public void clear() throws StorageException {
+        memory.clear();
+        if (disk != null) {
+            disk.clear();
+        }
+        store.clear();
+    }
+
+    @Override
+    public void destroy() {
+        memory.reset();
+        if (disk != null) {
+            disk.destroy();
+        }
+        store.destroy();
+    }
+
+    private void invalidate(TileObject obj) throws StorageException {
+        generations.incrementAndGet(generationSlot(obj));
+        memory.removeTileObj(obj);
+        if (disk != null) {
+            disk.delete(obj);
+        }
+    }
+
+    private void invalidateLayer(String layerName) {
+        for (int i = 0; i < GENERATIONS; i++) {
+            generations.incrementAndGet(i);
+        }
+        memory.removeLayer(layerName);
+    }
+
+    /** Copies the contents of a cached tile into the requested one */
+    private static void copyTo(TileObject cached, TileObject obj) {
+        Resource resource = cached.getBlob();
+        obj.setBlob(resource);
+        obj.setCreated(cached.getCreated());
+        obj.setBlobSize((int) resource.getSize());
+    }
+
+    /** Copies a tile with its contents in memory, so that it can be kept in the memory tier */
+    private static TileObject toByteTile(TileObject obj) throws StorageException {
+        Resource blob = obj.getBlob();
+        final ByteArrayResource bytes;
+        if (blob instanceof ByteArrayResource) {
+            bytes = new ByteArrayResource(((ByteArrayResource) blob).getContents());
+        } else {
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream((int) blob.getSize());
+                    WritableByteChannel channel = Channels.newChannel(out)) {
+                blob.transferTo(channel);
+                bytes = new ByteArrayResource(out.toByteArray());
+            } catch (IOException e) {
+                throw new StorageException("Error copying blob contents", e);
+            }
+        }
+        bytes.setLastModified(obj.getCreated());
+        TileObject cached = TileObject.createCompleteTileObject(
+                obj.getLayerName(), obj.getXYZ(), obj.getGridSetId(), obj.getBlobFormat(), obj.getParameters(), bytes);
+        cached.setParametersId(obj.getParametersId());
+        cached.setCreated(obj.getCreated());
+        return cached;
+    }
+
+    @Override
+    public void addListener(BlobStoreListener listener) {
+        store.addListener(listener);
+    }
+
+    @Override
+    public boolean removeListener(BlobStoreListener listener) {
+        return store.removeListener(listener);
+    }
+
+    @Override
+    public String getLayerMetadata(String layerName, String key) {
+        return store.getLayerMetadata(layerName, key);
+    }
+
+    @Override
+    public void putLayerMetadata(String layerName, String key, String value) {
+        store.putLayerMetadata(layerName, key, value);
+    }
+
+    @Override
+    public boolean layerExists(String layerName) {
+        return store.layerExists(layerName);
+    }
+
+    @Override
+    public Set<Map<String, String>> getParameters(String layerName) throws StorageException {
+        return store.getParameters(layerName);
+    }
+
+    @Override
+    public Map<String, Optional<Map<String, String>>> getParametersMapping(String layerName) {
+        return store.getParametersMapping(layerName);
+    }
+
+    /** Hit counts of a {@link CachingBlobStore}, each request being counted once, by the tier that served it */
+    public static class Statistics {
+
+        private final LongAdder memoryHits = new LongAdder();
+
+        private final LongAdder diskHits = new LongAdder();
+
+        private final LongAdder storeHits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        /** @return the number of tiles served by the memory tier */
+        public long getMemoryHits() {
+            return memoryHits.sum();
+        }
+
+        /** @return the number of tiles served by the disk tier */
+        public long getDiskHits() {
+            return diskHits.sum();
+        }
+
+        /** @return the number of tiles served by the wrapped store */
+        public long getStoreHits() {
+            return storeHits.sum();
+        }
+
+        /** @return the number of tiles found in none of the tiers nor the wrapped store */
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        /** @return the total number of tiles requested */
+        public long getRequestCount() {
+            return getMemoryHits() + getDiskHits() + getStoreHits() + getMisses();
+        }
+
+        /** @return the ratio of the requests served by the memory or disk tiers, without going to the wrapped store */
+        public double getHitRate() {
+            long requests = getRequestCount();
+            return requests == 0 ? 0 : (double) (getMemoryHits() + getDiskHits()) / requests;
+        }
+
+        /** @return the ratio of the requests served by the memory tier */
+        public double getMemoryHitRate() {
+            long requests = getRequestCount();
+            return requests == 0 ? 0 : (double) getMemoryHits() / requests;
+        }
+
+        /** @return the ratio of the requests served by the disk tier */
+        public double getDiskHitRate() {
+            long requests = getRequestCount();
+            return requests == 0 ? 0 : (double) getDiskHits() / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics [memoryHits="
+                    + getMemoryHits()
+                    + ", diskHits="
+                    + getDiskHits()
+                    + ", storeHits="
+                    + getStoreHits()
+                    + ", misses="
+                    + getMisses()
+                    + "]";
+        }
+    }
+}
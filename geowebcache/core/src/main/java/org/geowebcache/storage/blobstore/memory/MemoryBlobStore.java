@@ -20,10 +20,11 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
@@ -43,13 +44,21 @@
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * This class is an implementation of the {@link BlobStore} interface wrapping another {@link BlobStore} implementation
  * and supporting in memory caching. Caching is provided by an input {@link CacheProvider} object. It must be pointed
- * out that this Blobstore has an asynchronous relation with the underlying wrapped {@link BlobStore}. In fact, each
- * operation on the wrapped {@link BlobStore} is scheduled in a queue and will be done by an executor thread. Operations
- * that require a boolean value will have to wait until previous tasks are completed.
+ * out that this Blobstore has an asynchronous relation with the underlying wrapped {@link BlobStore}. Operations on the
+ * wrapped {@link BlobStore} are ordered per tile: an operation on a tile waits for the operations previously scheduled
+ * on the same tile, while operations on the whole layer, such as the removal of a tile range, wait for all of them.
+ * Operations that require a boolean value run on the calling thread once their predecessors are completed, so reads of
+ * different tiles missing the cache run in parallel, the others are done by executor threads.
+ *
+ * <p>Puts are written to the wrapped store before returning, unless {@link #setWriteBehind(boolean) write-behind} is
+ * enabled. In that case they are written in the background, up to {@link #setMaxPendingWrites(int)} of them are queued
+ * before puts wait for the queue to drain, a put replaces the one of the same tile still in the queue, and the queue is
+ * flushed on {@link #destroy()}.
  *
  * @author Nicola Lagomarsini Geosolutions
  */
@@ -64,9 +73,21 @@ public class MemoryBlobStore implements BlobStore, ApplicationContextAware {
     /** {@link CacheProvider} object to use for caching */
     private CacheProvider cacheProvider;
 
-    /** Executor service used for scheduling cacheProvider store operations like put,delete,... */
+    /** Default maximum number of write-behind puts waiting to be written to the wrapped store */
+    public static final int DEFAULT_MAX_PENDING_WRITES = 1000;
+
+    /** Executor service used for running the asynchronous wrapped store operations like delete,... */
     private final ExecutorService executorService;
 
+    /** Orders the operations on the wrapped store, per tile, package visible for testing */
+    final TileTaskSequencer sequencer;
+
+    /** Whether puts are written to the wrapped store in the background */
+    private volatile boolean writeBehind;
+
+    /** Bounds the number of write-behind puts waiting to be written */
+    private volatile Semaphore pendingWrites = new Semaphore(DEFAULT_MAX_PENDING_WRITES);
+
     /** Optional name used for searching the bean related to the CacheProvider to set in the ApplicationContext */
     private String cacheBeanName;
 
@@ -87,7 +108,14 @@ public class MemoryBlobStore implements BlobStore, ApplicationContextAware {
 
     public MemoryBlobStore() {
         // Initialization of the various elements
-        this.executorService = Executors.newFixedThreadPool(1);
+        int threads = Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory tf = new CustomizableThreadFactory("GWC MemoryBlobStore thread-");
+        tf.setDaemon(true);
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), tf);
+        executor.allowCoreThreadTimeOut(true);
+        this.executorService = executor;
+        this.sequencer = new TileTaskSequencer(executor);
         lock = new ReentrantReadWriteLock(true);
         blobStoreStateLock = lock.writeLock();
         componentsStateLock = lock.readLock();
@@ -119,7 +147,8 @@ public boolean delete(String layerName) throws StorageException {
             // Remove from cacheProvider
             cacheProvider.removeLayer(layerName);
             // Remove the layer. Wait other scheduled tasks
-            boolean executed = executeBlobStoreTask(BlobStoreAction.DELETE_LAYER, store, layerName);
+            boolean executed =
+                    sequencer.runBarrierTask(new BlobStoreTask(store, BlobStoreAction.DELETE_LAYER, layerName));
             if (log.isLoggable(Level.FINE)) {
                 if (executed) {
                     log.fine("Delete Layer Task executed");
@@ -147,7 +176,7 @@ public boolean deleteByGridsetId(String layerName, String gridSetId) throws Stor
                 log.fine("Scheduling GridSet: " + gridSetId + " removal for Layer: " + layerName);
             }
             // Remove selected gridsets
-            executorService.submit(new BlobStoreTask(store, BlobStoreAction.DELETE_GRIDSET, layerName, gridSetId));
+            sequencer.submitBarrierTask(new BlobStoreTask(store, BlobStoreAction.DELETE_GRIDSET, layerName, gridSetId));
             return true;
         } finally {
             componentsStateLock.unlock();
@@ -167,7 +196,13 @@ public boolean delete(TileObject obj) throws StorageException {
             if (log.isLoggable(Level.FINE)) {
                 log.fine("Scheduling removal of TileObject: " + obj);
             }
-            executorService.submit(new BlobStoreTask(store, BlobStoreAction.DELETE_SINGLE, obj));
+            BlobStoreTask task = new BlobStoreTask(store, BlobStoreAction.DELETE_SINGLE, obj);
+            sequencer.submitTileTask(GuavaCacheProvider.generateTileKey(obj), () -> {
+                boolean deleted = task.call();
+                // evict again, in case a concurrent read cached the tile before it was deleted
+                cacheProvider.removeTileObj(obj);
+                return deleted;
+            });
             return true;
         } finally {
             componentsStateLock.unlock();
@@ -204,7 +239,7 @@ public boolean delete(TileRange obj) throws StorageException {
                         + obj.getGridSetId());
             }
             // Remove selected TileRange
-            executorService.submit(new BlobStoreTask(store, BlobStoreAction.DELETE_RANGE, obj));
+            sequencer.submitBarrierTask(new BlobStoreTask(store, BlobStoreAction.DELETE_RANGE, obj));
             return true;
         } finally {
             componentsStateLock.unlock();
@@ -224,19 +259,30 @@ public boolean get(TileObject obj) throws StorageException {
                 if (log.isLoggable(Level.FINE)) {
                     log.fine("TileObject:" + obj + " not found. Try to get it from the wrapped blobstore");
                 }
-                // Try if it can be found in the system. Wait other scheduled tasks
-                found = executeBlobStoreTask(BlobStoreAction.GET, store, obj);
-
-                // If the file has been found, it is inserted in cacheProvider
-                if (found) {
-                    if (log.isLoggable(Level.FINE)) {
-                        log.fine("TileObject:" + obj + " found. Put it in cache");
+                // Try if it can be found in the system. Wait other tasks scheduled on the same tile
+                final BlobStore store = this.store;
+                final TileObject[] loaded = new TileObject[1];
+                found = sequencer.runTileTask(GuavaCacheProvider.generateTileKey(obj), () -> {
+                    if (!BlobStoreAction.GET.executeOperation(store, obj)) {
+                        return false;
+                    }
+                    // Nothing to cache if the client copy is current, and encoded tiles are only for the caller
+                    if (!obj.isNotModified() && obj.getBlobEncoding() == null) {
+                        // If the file has been found, it is inserted in cacheProvider
+                        if (log.isLoggable(Level.FINE)) {
+                            log.fine("TileObject:" + obj + " found. Put it in cache");
+                        }
+                        // Get the Cached TileObject
+                        loaded[0] = getByteResourceTile(obj);
+                        // Put the file in Cache, before a later delete of the tile can evict it
+                        cacheProvider.putTileObj(loaded[0]);
                     }
-                    // Get the Cached TileObject
-                    cached = getByteResourceTile(obj);
-                    // Put the file in Cache
-                    cacheProvider.putTileObj(cached);
+                    return true;
+                });
+                if (found && loaded[0] == null) {
+                    return true;
                 }
+                cached = loaded[0];
             } else {
                 // Found in cacheProvider
                 found = true;
@@ -270,12 +316,16 @@ public void put(TileObject obj) throws StorageException {
                 log.fine("Adding TileObject: " + obj + " to cache");
             }
             cacheProvider.putTileObj(cached);
-            // Add selected TileObject. Wait other scheduled tasks
+            // Add selected TileObject. Wait other tasks scheduled on the same tile
             if (log.isLoggable(Level.FINE)) {
                 log.fine("Adding TileObject: " + obj + " to the wrapped blobstore");
             }
-            // Variable containing the execution result
-            executeBlobStoreTask(BlobStoreAction.PUT, store, obj);
+            String key = GuavaCacheProvider.generateTileKey(obj);
+            if (writeBehind) {
+                writeBehind(key, obj, cached);
+            } else {
+                sequencer.runTileTask(key, new BlobStoreTask(store, BlobStoreAction.PUT, obj));
+            }
         } finally {
             componentsStateLock.unlock();
         }
@@ -291,7 +341,7 @@ public void clear() throws StorageException {
             // flush the cacheProvider
             cacheProvider.clear();
             // Remove all the files
-            executorService.submit(new BlobStoreTask(store, BlobStoreAction.CLEAR, ""));
+            sequencer.submitBarrierTask(new BlobStoreTask(store, BlobStoreAction.CLEAR, ""));
         } finally {
             componentsStateLock.unlock();
         }
@@ -310,8 +360,9 @@ public void destroy() {
             if (log.isLoggable(Level.FINE)) {
                 log.fine("Destroy wrapped store");
             }
-            executeBlobStoreTask(BlobStoreAction.DESTROY, store, "");
-            // Stop the pending tasks
+            // Runs after all the scheduled tasks, flushing the write-behind puts
+            sequencer.runBarrierTask(new BlobStoreTask(store, BlobStoreAction.DESTROY, ""));
+            // Stop the executor threads
             executorService.shutdown();
         } finally {
             blobStoreStateLock.unlock();
@@ -360,7 +411,8 @@ public boolean rename(String oldLayerName, String newLayerName) throws StorageEx
                 log.fine("Executing Layer rename task");
             }
             // Variable containing the execution result
-            boolean executed = executeBlobStoreTask(BlobStoreAction.RENAME, store, oldLayerName, newLayerName);
+            boolean executed = sequencer.runBarrierTask(
+                    new BlobStoreTask(store, BlobStoreAction.RENAME, oldLayerName, newLayerName));
             return executed;
         } finally {
             componentsStateLock.unlock();
@@ -513,6 +565,39 @@ public void setCacheBeanName(String cacheBeanName) {
         }
     }
 
+    /**
+     * Sets whether puts are written to the wrapped store in the background, defaults to {@code false}. The tiles are
+     * served from the cache meanwhile, but are lost if the process dies before they are written.
+     *
+     * @since 1.27
+     */
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    /** @return whether puts are written to the wrapped store in the background */
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Sets the maximum number of write-behind puts waiting to be written to the wrapped store, defaults to
+     * {@link #DEFAULT_MAX_PENDING_WRITES}. Puts wait for the queue to have room when it is full.
+     *
+     * @since 1.27
+     */
+    public void setMaxPendingWrites(int maxPendingWrites) {
+        if (maxPendingWrites < 1) {
+            throw new IllegalArgumentException("maxPendingWrites must be positive: " + maxPendingWrites);
+        }
+        blobStoreStateLock.lock();
+        try {
+            this.pendingWrites = new Semaphore(maxPendingWrites);
+        } finally {
+            blobStoreStateLock.unlock();
+        }
+    }
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         if (!cacheAlreadySet.get()) {
@@ -578,22 +663,34 @@ public void setApplicationContext(ApplicationContext applicationContext) throws
         }
     }
 
-    private boolean executeBlobStoreTask(BlobStoreAction action, BlobStore store, Object... objs) {
-        Future<Boolean> future = executorService.submit(new BlobStoreTask(store, action, objs));
-        // Variable containing the execution result
-        boolean executed = false;
-        if (log.isLoggable(Level.FINE)) {
-            log.fine("Waiting scheduled Tasks");
+    /**
+     * Queues the put of a tile to the wrapped store, or merges it into the put of the same tile still waiting in the
+     * queue, waiting for the queue to have room if full.
+     */
+    private void writeBehind(String key, TileObject obj, TileObject cached) throws StorageException {
+        // the caller may reuse its resource once the put returns, write the copy made for the cache
+        TileObject tile = TileObject.createCompleteTileObject(
+                obj.getLayerName(),
+                obj.getXYZ(),
+                obj.getGridSetId(),
+                obj.getBlobFormat(),
+                obj.getParameters(),
+                cached.getBlob());
+        tile.setParametersId(obj.getParametersId());
+        if (sequencer.updatePendingTileTask(key, t -> t instanceof PendingWrite && ((PendingWrite) t).replace(tile))) {
+            if (log.isLoggable(Level.FINE)) {
+                log.fine("Replaced the queued write of TileObject: " + obj);
+            }
+            return;
         }
+        Semaphore permits = pendingWrites;
         try {
-            // Waiting tasks
-            executed = future.get();
-        } catch (InterruptedException | ExecutionException e) {
-            if (log.isLoggable(Level.SEVERE)) {
-                log.log(Level.SEVERE, e.getMessage(), e);
-            }
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while queuing the write of " + obj, e);
         }
-        return executed;
+        sequencer.submitTileTask(key, new PendingWrite(store, tile, permits));
     }
 
     /**
@@ -634,6 +731,52 @@ public Boolean call() throws Exception {
         }
     }
 
+    /**
+     * A write-behind put, writing the last tile {@link #replace(TileObject) replacing} it before it starts, and giving
+     * back its queue permit once done.
+     */
+    static class PendingWrite implements Callable<Boolean> {
+
+        private final BlobStore store;
+
+        private final Semaphore permits;
+
+        /** The tile to write, guarded by this */
+        private TileObject tile;
+
+        /** Whether the write started, guarded by this */
+        private boolean started;
+
+        PendingWrite(BlobStore store, TileObject tile, Semaphore permits) {
+            this.store = store;
+            this.tile = tile;
+            this.permits = permits;
+        }
+
+        /** @return {@code true} if the write did not start yet and will write the given tile instead */
+        synchronized boolean replace(TileObject tile) {
+            if (started) {
+                return false;
+            }
+            this.tile = tile;
+            return true;
+        }
+
+        @Override
+        public Boolean call() throws Exception {
+            TileObject toWrite;
+            synchronized (this) {
+                started = true;
+                toWrite = tile;
+            }
+            try {
+                return new BlobStoreTask(store, BlobStoreAction.PUT, toWrite).call();
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
     /**
      * Enum containing all the possible operations that can be executed by a {@link BlobStoreTask}. Each operation must
      * implement the "executeOperation" method.
@@ -750,7 +893,8 @@ public boolean deleteByParametersId(String layerName, String parametersId) throw
                 log.fine("Scheduling Parameters: " + parametersId + " removal for Layer: " + layerName);
             }
             // Remove selected parameters
-            executorService.submit(new BlobStoreTask(store, BlobStoreAction.DELETE_PARAMS_ID, layerName, parametersId));
+            sequencer.submitBarrierTask(
+                    new BlobStoreTask(store, BlobStoreAction.DELETE_PARAMS_ID, layerName, parametersId));
             return true;
         } finally {
             componentsStateLock.unlock();
@@ -0,0 +1,192 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.memory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Orders the operations {@link MemoryBlobStore} runs against its wrapped store. Operations on a single tile are only
+ * ordered with respect to the other operations on the same tile key, so operations on different tiles run in parallel,
+ * while barrier operations, such as the removal of a layer or a tile range, run after all the operations scheduled
+ * before them and before all the ones scheduled after them.
+ *
+ * <p>Synchronous operations run on the calling thread once their predecessors are done, asynchronous ones on the given
+ * executor. Failed operations are logged and return {@code false}, without affecting their successors.
+ */
+class TileTaskSequencer {
+
+    private static final Logger log = Logging.getLogger(TileTaskSequencer.class.getName());
+
+    private final Executor executor;
+
+    /** The last operation scheduled on each tile key, removed once done */
+    private final Map<String, Scheduled> tails = new HashMap<>();
+
+    /** The last barrier operation scheduled */
+    private CompletableFuture<?> barrier = CompletableFuture.completedFuture(null);
+
+    TileTaskSequencer(Executor executor) {
+        this.executor = executor;
+    }
+
+    /** An operation scheduled on a tile key, along with the barrier it follows */
+    private static class Scheduled {
+
+        final Callable<Boolean> task;
+
+        final CompletableFuture<?> future;
+
+        final CompletableFuture<?> barrier;
+
+        Scheduled(Callable<Boolean> task, CompletableFuture<?> future, CompletableFuture<?> barrier) {
+            this.task = task;
+            this.future = future;
+            this.barrier = barrier;
+        }
+    }
+
+    /** Runs the task on the calling thread, after the operations previously scheduled on the tile key */
+    boolean runTileTask(String key, Callable<Boolean> task) {
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        CompletableFuture<?> previous;
+        Scheduled scheduled;
+        synchronized (this) {
+            previous = predecessor(key);
+            scheduled = new Scheduled(task, done, barrier);
+            tails.put(key, scheduled);
+        }
+        try {
+            return await(previous) && call(task);
+        } finally {
+            done.complete(Boolean.TRUE);
+            release(key, scheduled);
+        }
+    }
+
+    /** Runs the task on the executor, after the operations previously scheduled on the tile key */
+    CompletableFuture<Boolean> submitTileTask(String key, Callable<Boolean> task) {
+        synchronized (this) {
+            CompletableFuture<Boolean> future = after(predecessor(key), task);
+            Scheduled scheduled = new Scheduled(task, future, barrier);
+            tails.put(key, scheduled);
+            future.whenComplete((r, e) -> release(key, scheduled));
+            return future;
+        }
+    }
+
+    /**
+     * Applies the update to the last task scheduled on the tile key, if it is still pending and no barrier operation
+     * has been scheduled after it, allowing to merge an operation into it instead of scheduling a new one
+     *
+     * @return the update result, or {@code false} if there is no such task
+     */
+    synchronized boolean updatePendingTileTask(String key, Predicate<Callable<Boolean>> update) {
+        Scheduled scheduled = tails.get(key);
+        if (scheduled == null || scheduled.barrier != barrier || scheduled.future.isDone()) {
+            return false;
+        }
+        return update.test(scheduled.task);
+    }
+
+    /** Runs the task on the calling thread, after all the operations previously scheduled */
+    boolean runBarrierTask(Callable<Boolean> task) {
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        CompletableFuture<?> previous;
+        synchronized (this) {
+            previous = all();
+            barrier = done;
+        }
+        try {
+            return await(previous) && call(task);
+        } finally {
+            done.complete(Boolean.TRUE);
+        }
+    }
+
+    /** Runs the task on the executor, after all the operations previously scheduled */
+    synchronized CompletableFuture<Boolean> submitBarrierTask(Callable<Boolean> task) {
+        CompletableFuture<Boolean> future = after(all(), task);
+        barrier = future;
+        return future;
+    }
+
+    /** @return the number of tile keys with scheduled operations */
+    synchronized int getPendingKeys() {
+        return tails.size();
+    }
+
+    private CompletableFuture<?> predecessor(String key) {
+        Scheduled previous = tails.get(key);
+        if (previous == null || previous.future.isDone()) {
+            return barrier;
+        }
+        if (barrier.isDone() || previous.barrier == barrier) {
+            return previous.future;
+        }
+        return CompletableFuture.allOf(previous.future, barrier);
+    }
+
+    private CompletableFuture<?> all() {
+        List<CompletableFuture<?>> pending = new ArrayList<>(tails.size() + 1);
+        pending.add(barrier);
+        for (Scheduled scheduled : tails.values()) {
+            if (!scheduled.future.isDone()) {
+                pending.add(scheduled.future);
+            }
+        }
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[pending.size()]));
+    }
+
+    private CompletableFuture<Boolean> after(CompletableFuture<?> previous, Callable<Boolean> task) {
+        // failures are logged by the tasks themselves, they don't prevent the successors from running
+        return previous.handle((r, e) -> null).thenApplyAsync(v -> call(task), executor);
+    }
+
+    private synchronized void release(String key, Scheduled scheduled) {
+        tails.remove(key, scheduled);
+    }
+
+    private boolean await(CompletableFuture<?> previous) {
+        try {
+            previous.get();
+        } catch (ExecutionException e) {
+            // already logged by the failed task
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.log(Level.SEVERE, e.getMessage(), e);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean call(Callable<Boolean> task) {
+        try {
+            return Boolean.TRUE.equals(task.call());
+        } catch (Exception e) {
+            log.log(Level.SEVERE, e.getMessage(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,766 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.memory.offheap;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.io.ByteBufferResource;
+import org.geowebcache.io.Resource;
+import org.geowebcache.storage.TileObject;
+import org.geowebcache.storage.blobstore.memory.CacheConfiguration;
+import org.geowebcache.storage.blobstore.memory.CacheConfiguration.EvictionPolicy;
+import org.geowebcache.storage.blobstore.memory.CacheProvider;
+import org.geowebcache.storage.blobstore.memory.CacheStatistics;
+import org.geowebcache.storage.blobstore.memory.guava.GuavaCacheProvider;
+
+/**
+ * A {@link CacheProvider} keeping the tile contents out of the java heap, in direct {@link ByteBuffer}s, so that a
+ * large memory tier does not fill the old generation with long lived byte arrays.
+ *
+ * <p>The memory is split in pages of {@link #PAGE_SIZE} bytes, allocated on demand in slabs of {@link #PAGES_PER_SLAB}
+ * pages. Each page is assigned to a size class and cut in chunks of the class size, the sizes growing by
+ * {@link #GROWTH_FACTOR} from {@link #MIN_CHUNK_SIZE}, and each tile is stored in a chunk of the smallest class it fits
+ * in. Once all the pages are assigned, a tile evicts the least recently used tiles of its own class, in a CLOCK
+ * approximation of LRU that keeps the reads lock free. Pages stay assigned to their class, except that a class without
+ * pages takes the least recently used page of another class, evicting its tiles. Tiles larger than a page are not
+ * cached. The memory of the assigned pages not holding tile data is reported as the
+ * {@link CacheStatistics#getFragmentation() fragmentation}.
+ *
+ * <p>Cached tiles are returned as read only {@link ByteBufferResource} views of their chunk, written to the response
+ * without copying them on the heap. A chunk is only reused once the tile is evicted and all the views returned for it
+ * are garbage collected, so until then the memory of evicted tiles is still accounted as used.
+ *
+ * <p>The direct memory available to the JVM, set by {@code -XX:MaxDirectMemorySize}, must be larger than the configured
+ * {@link CacheConfiguration#getHardMemoryLimit() memory limit}. The {@link EvictionPolicy#EXPIRE_AFTER_ACCESS} and
+ * {@link EvictionPolicy#EXPIRE_AFTER_WRITE} policies are checked when reading the tiles.
+ *
+ * @since 1.27
+ */
+public class OffHeapCacheProvider implements CacheProvider {
+
+    private static final Logger LOGGER = Logging.getLogger(OffHeapCacheProvider.class.getName());
+
+    /** Constant for multiplying bytes to MB */
+    public static final long BYTES_TO_MB = 1048576;
+
+    /** Size of the pages assigned to the size classes, and maximum size of the cached tiles */
+    public static final int PAGE_SIZE = 1 << 20;
+
+    /** Number of pages allocated at once */
+    public static final int PAGES_PER_SLAB = 64;
+
+    /** Size of the smallest chunks */
+    public static final int MIN_CHUNK_SIZE = 256;
+
+    /** Ratio between the chunk sizes of consecutive size classes */
+    public static final double GROWTH_FACTOR = 1.25;
+
+    private static final String NAME = "Off-heap Cache";
+
+    /** Array containing the supported Policies */
+    public static final List<EvictionPolicy> POLICIES = Collections.unmodifiableList(
+            Arrays.asList(EvictionPolicy.NULL, EvictionPolicy.EXPIRE_AFTER_ACCESS, EvictionPolicy.EXPIRE_AFTER_WRITE));
+
+    /** Releases the chunks of the evicted tiles once their views are garbage collected */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /** Names of the Layers that must not be cached */
+    private final Set<String> uncachedLayers = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /** The memory holding the tiles, {@code null} if not configured */
+    private volatile Memory memory;
+
+    public OffHeapCacheProvider() {
+        this(new CacheConfiguration());
+    }
+
+    public OffHeapCacheProvider(CacheConfiguration config) {
+        configure(config);
+    }
+
+    /** The off heap memory and the index of the tiles stored in it, for a given configuration */
+    private static final class Memory {
+
+        final Map<String, Entry> index = new ConcurrentHashMap<>();
+
+        final SizeClass[] classes;
+
+        final ByteBuffer[] slabs;
+
+        final int totalPages;
+
+        final long maxMemory;
+
+        final long expireAfterAccessNanos;
+
+        final long expireAfterWriteNanos;
+
+        /** Bytes of the tiles holding a chunk */
+        final AtomicLong usedBytes = new AtomicLong();
+
+        /** The pages taken back from their class, guarded by this */
+        final ArrayDeque<Page> freePages = new ArrayDeque<>();
+
+        /** Number of pages allocated so far, guarded by this */
+        int allocatedPages;
+
+        /** Number of pages assigned to a size class, guarded by this */
+        int assignedPages;
+
+        Memory(long maxMemory, long expireAfterAccessNanos, long expireAfterWriteNanos) {
+            this.maxMemory = maxMemory;
+            this.expireAfterAccessNanos = expireAfterAccessNanos;
+            this.expireAfterWriteNanos = expireAfterWriteNanos;
+            this.totalPages = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxMemory / PAGE_SIZE));
+            this.slabs = new ByteBuffer[(totalPages + PAGES_PER_SLAB - 1) / PAGES_PER_SLAB];
+
+            List<SizeClass> classes = new ArrayList<>();
+            for (double size = MIN_CHUNK_SIZE; size < PAGE_SIZE; size *= GROWTH_FACTOR) {
+                // 8 bytes aligned
+                classes.add(new SizeClass(this, ((int) size + 7) & ~7));
+            }
+            classes.add(new SizeClass(this, PAGE_SIZE));
+            this.classes = classes.toArray(new SizeClass[classes.size()]);
+        }
+
+        /** @return the size class of the smallest chunks the given number of bytes fit in */
+        SizeClass classFor(int length) {
+            int low = 0;
+            int high = classes.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (classes[mid].chunkSize < length) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return classes[low];
+        }
+
+        /** @return a page to assign to a size class, or {@code null} if all the pages are assigned */
+        synchronized Page newPage() {
+            Page free = freePages.poll();
+            if (free != null) {
+                assignedPages++;
+                return free;
+            }
+            if (allocatedPages == totalPages) {
+                return null;
+            }
+            int page = allocatedPages++;
+            int slab = page / PAGES_PER_SLAB;
+            if (slabs[slab] == null) {
+                int pages = Math.min(PAGES_PER_SLAB, totalPages - slab * PAGES_PER_SLAB);
+                slabs[slab] = ByteBuffer.allocateDirect(pages * PAGE_SIZE);
+            }
+            int offset = (page % PAGES_PER_SLAB) * PAGE_SIZE;
+            ByteBuffer buffer = slabs[slab].duplicate();
+            buffer.position(offset).limit(offset + PAGE_SIZE);
+            assignedPages++;
+            return new Page(buffer.slice());
+        }
+
+        /** Makes a page taken back from its class, with all its chunks released, available to the other classes */
+        synchronized void pageFreed(Page page) {
+            page.owner = null;
+            page.draining = false;
+            freePages.add(page);
+            assignedPages--;
+        }
+
+        synchronized int getAssignedPages() {
+            return assignedPages;
+        }
+
+        /**
+         * Takes the least recently used page of the classes other than the given one back, evicting its tiles. The page
+         * is available once the chunks of the evicted tiles are no longer read.
+         */
+        void reclaimColdestPage(SizeClass requester, LongAdder evictions) {
+            Page coldest = null;
+            // one class lock at a time, the requester and the other classes may be looking for pages concurrently
+            for (SizeClass sizeClass : classes) {
+                if (sizeClass != requester) {
+                    synchronized (sizeClass) {
+                        for (Page page : sizeClass.pages) {
+                            if (coldest == null || page.accessed - coldest.accessed < 0) {
+                                coldest = page;
+                            }
+                        }
+                    }
+                }
+            }
+            if (coldest != null) {
+                SizeClass owner = coldest.owner;
+                if (owner != null) {
+                    owner.drain(coldest, evictions);
+                }
+            }
+        }
+
+        boolean isExpired(Entry entry, long now) {
+            return (expireAfterAccessNanos > 0 && now - entry.accessed > expireAfterAccessNanos)
+                    || (expireAfterWriteNanos > 0 && now - entry.written > expireAfterWriteNanos);
+        }
+
+        /** Removes the entry from the index, releasing its chunk if not already removed */
+        boolean remove(Entry entry) {
+            if (index.remove(entry.key, entry)) {
+                entry.removed = true;
+                entry.release();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /** A page of memory, cut in the chunks of the size class it is assigned to */
+    private static final class Page {
+
+        final ByteBuffer buffer;
+
+        /** The class the page is assigned to, {@code null} if free */
+        volatile SizeClass owner;
+
+        /** Number of chunks taken from the free list of the owner and not given back yet, guarded by the owner */
+        int used;
+
+        /** Whether the page is being taken back from the owner, guarded by the owner */
+        boolean draining;
+
+        /** Last time a tile of the page was written or read, from {@link System#nanoTime()} */
+        volatile long accessed;
+
+        Page(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    /** A part of a page holding a single tile */
+    private static final class Chunk {
+
+        final Page page;
+
+        final ByteBuffer buffer;
+
+        Chunk(Page page, ByteBuffer buffer) {
+            this.page = page;
+            this.buffer = buffer;
+        }
+    }
+
+    /** The chunks of a given size, and the tiles stored in them in CLOCK order */
+    private static final class SizeClass {
+
+        final Memory memory;
+
+        final int chunkSize;
+
+        /** The pages assigned to the class, guarded by this */
+        final List<Page> pages = new ArrayList<>();
+
+        /** Guarded by this */
+        final ArrayDeque<Chunk> free = new ArrayDeque<>();
+
+        /** Guarded by this */
+        final ArrayDeque<Entry> clock = new ArrayDeque<>();
+
+        SizeClass(Memory memory, int chunkSize) {
+            this.memory = memory;
+            this.chunkSize = chunkSize;
+        }
+
+        /**
+         * @return a free chunk, taken from a new page if any is left, or freed by evicting the least recently used
+         *     tiles of the class otherwise. {@code null} if the chunks of the evicted tiles are still being read.
+         */
+        Chunk allocate(LongAdder evictions) {
+            boolean hasPages;
+            synchronized (this) {
+                Chunk chunk = take();
+                if (chunk != null) {
+                    return chunk;
+                }
+                hasPages = !pages.isEmpty();
+            }
+            Page page = memory.newPage();
+            if (page == null && !hasPages) {
+                // no tiles of its own to evict
+                memory.reclaimColdestPage(this, evictions);
+                page = memory.newPage();
+            }
+            synchronized (this) {
+                if (page != null) {
+                    page.owner = this;
+                    page.accessed = System.nanoTime();
+                    pages.add(page);
+                    for (int offset = 0; offset + chunkSize <= PAGE_SIZE; offset += chunkSize) {
+                        ByteBuffer chunk = page.buffer.duplicate();
+                        chunk.position(offset).limit(offset + chunkSize);
+                        free.add(new Chunk(page, chunk.slice()));
+                    }
+                }
+                // second chance: the tiles read since the last pass are skipped once
+                for (int attempts = 2 * clock.size(); free.isEmpty() && attempts > 0; attempts--) {
+                    Entry entry = clock.poll();
+                    if (entry.removed) {
+                        continue;
+                    }
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                        clock.add(entry);
+                    } else if (memory.remove(entry)) {
+                        evictions.increment();
+                    }
+                }
+                return take();
+            }
+        }
+
+        /** Guarded by this */
+        private Chunk take() {
+            Chunk chunk = free.poll();
+            if (chunk != null) {
+                chunk.page.used++;
+            }
+            return chunk;
+        }
+
+        synchronized void free(Chunk chunk) {
+            Page page = chunk.page;
+            page.used--;
+            if (!page.draining) {
+                free.push(chunk);
+            } else if (page.used == 0) {
+                memory.pageFreed(page);
+            }
+        }
+
+        /** Takes the page back, evicting its tiles, if still assigned to the class */
+        synchronized void drain(Page page, LongAdder evictions) {
+            if (page.owner != this || !pages.remove(page)) {
+                return;
+            }
+            page.draining = true;
+            free.removeIf(chunk -> chunk.page == page);
+            if (page.used == 0) {
+                memory.pageFreed(page);
+                return;
+            }
+            // the page is freed along with the last of its chunks
+            for (Iterator<Entry> entries = clock.iterator(); entries.hasNext(); ) {
+                Entry entry = entries.next();
+                if (entry.chunk.page == page) {
+                    entries.remove();
+                    if (memory.remove(entry)) {
+                        evictions.increment();
+                    }
+                }
+            }
+        }
+
+        synchronized void added(Entry entry) {
+            clock.add(entry);
+        }
+    }
+
+    /** A cached tile, holding its chunk until removed from the index and no longer read */
+    private static final class Entry {
+
+        final String key;
+
+        final String layer;
+
+        final SizeClass sizeClass;
+
+        final Chunk chunk;
+
+        final int length;
+
+        final long lastModified;
+
+        final long written;
+
+        volatile long accessed;
+
+        /** Whether the tile was read since the last CLOCK pass */
+        volatile boolean referenced;
+
+        /** Whether the entry was removed from the index */
+        volatile boolean removed;
+
+        /** The index and the views referencing the chunk */
+        final AtomicInteger references = new AtomicInteger(1);
+
+        Entry(String key, String layer, SizeClass sizeClass, Chunk chunk, int length, long lastModified, long now) {
+            this.key = key;
+            this.layer = layer;
+            this.sizeClass = sizeClass;
+            this.chunk = chunk;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.written = now;
+            this.accessed = now;
+        }
+
+        /** @return {@code false} if the chunk was already released */
+        boolean retain() {
+            for (; ; ) {
+                int current = references.get();
+                if (current == 0) {
+                    return false;
+                }
+                if (references.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                sizeClass.memory.usedBytes.addAndGet(-length);
+                sizeClass.free(chunk);
+            }
+        }
+    }
+
+    /** A view of a cached tile, keeping its chunk from being reused while reachable */
+    static class ChunkResource extends ByteBufferResource {
+
+        ChunkResource(ByteBuffer buffer, long lastModified) {
+            super(buffer, lastModified);
+        }
+
+        @Override
+        public long transferTo(WritableByteChannel channel) throws IOException {
+            try {
+                return super.transferTo(channel);
+            } finally {
+                Reference.reachabilityFence(this);
+            }
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new ChunkInputStream(super.getInputStream(), this);
+        }
+    }
+
+    /** Keeps the view reachable until the stream is */
+    private static class ChunkInputStream extends FilterInputStream {
+
+        private final ChunkResource resource;
+
+        ChunkInputStream(InputStream in, ChunkResource resource) {
+            super(in);
+            this.resource = resource;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } finally {
+                Reference.reachabilityFence(resource);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } finally {
+                Reference.reachabilityFence(resource);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void configure(CacheConfiguration configuration) {
+        reset();
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Building new Cache");
+        }
+        long evictionNanos = TimeUnit.SECONDS.toNanos(configuration.getEvictionTime());
+        EvictionPolicy policy = configuration.getPolicy();
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        memory = new Memory(
+                configuration.getHardMemoryLimit() * BYTES_TO_MB,
+                policy == EvictionPolicy.EXPIRE_AFTER_ACCESS ? evictionNanos : 0,
+                policy == EvictionPolicy.EXPIRE_AFTER_WRITE ? evictionNanos : 0);
+    }
+
+    @Override
+    public TileObject getTileObj(TileObject obj) {
+        Memory memory = this.memory;
+        if (memory == null || uncachedLayers.contains(obj.getLayerName())) {
+            return null;
+        }
+        Entry entry = memory.index.get(GuavaCacheProvider.generateTileKey(obj));
+        long now = System.nanoTime();
+        if (entry != null && memory.isExpired(entry, now)) {
+            if (memory.remove(entry)) {
+                evictions.increment();
+            }
+            entry = null;
+        }
+        if (entry == null || !entry.retain()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.referenced = true;
+        entry.chunk.page.accessed = now;
+        if (memory.expireAfterAccessNanos > 0) {
+            entry.accessed = now;
+        }
+
+        ByteBuffer view = entry.chunk.buffer.duplicate();
+        view.clear().limit(entry.length);
+        ChunkResource blob = new ChunkResource(view, entry.lastModified);
+        CLEANER.register(blob, entry::release);
+        TileObject cached = TileObject.createCompleteTileObject(
+                obj.getLayerName(), obj.getXYZ(), obj.getGridSetId(), obj.getBlobFormat(), obj.getParameters(), blob);
+        cached.setCreated(entry.lastModified);
+        return cached;
+    }
+
+    @Override
+    public void putTileObj(TileObject obj) {
+        Memory memory = this.memory;
+        Resource blob = obj.getBlob();
+        if (memory == null || uncachedLayers.contains(obj.getLayerName()) || blob == null) {
+            return;
+        }
+        long size = blob.getSize();
+        if (size <= 0 || size > PAGE_SIZE) {
+            return;
+        }
+        final int length = (int) size;
+        SizeClass sizeClass = memory.classFor(length);
+        Chunk chunk = sizeClass.allocate(evictions);
+        if (chunk == null) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("No memory available to cache TileObject: " + obj);
+            }
+            return;
+        }
+        if (!copy(blob, chunk.buffer, length)) {
+            sizeClass.free(chunk);
+            return;
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Adding TileObject: " + obj + " to cache");
+        }
+        String key = GuavaCacheProvider.generateTileKey(obj);
+        long now = System.nanoTime();
+        Entry entry = new Entry(key, obj.getLayerName(), sizeClass, chunk, length, blob.getLastModified(), now);
+        chunk.page.accessed = now;
+        memory.usedBytes.addAndGet(length);
+        // indexed before being evictable, so the eviction always finds it in the index
+        Entry previous = memory.index.put(key, entry);
+        sizeClass.added(entry);
+        if (previous != null) {
+            previous.removed = true;
+            previous.release();
+        }
+    }
+
+    /** Copies the contents of the resource to the start of the chunk */
+    private boolean copy(Resource blob, ByteBuffer chunk, int length) {
+        ByteBuffer target = chunk.duplicate();
+        target.clear().limit(length);
+        try {
+            blob.transferTo(new WritableByteChannel() {
+                @Override
+                public int write(ByteBuffer src) throws IOException {
+                    int count = src.remaining();
+                    if (count > target.remaining()) {
+                        throw new IOException("Resource larger than its declared size");
+                    }
+                    target.put(src);
+                    return count;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                    // nothing to do
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read the tile to cache", e);
+            return false;
+        }
+        return !target.hasRemaining();
+    }
+
+    @Override
+    public void removeTileObj(TileObject obj) {
+        Memory memory = this.memory;
+        if (memory == null || uncachedLayers.contains(obj.getLayerName())) {
+            return;
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Removing TileObject: " + obj + " from cache");
+        }
+        Entry entry = memory.index.get(GuavaCacheProvider.generateTileKey(obj));
+        if (entry != null) {
+            memory.remove(entry);
+        }
+    }
+
+    @Override
+    public void removeLayer(String layername) {
+        Memory memory = this.memory;
+        if (memory == null || uncachedLayers.contains(layername)) {
+            return;
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Removing Layer: " + layername + " from cache");
+        }
+        for (Entry entry : memory.index.values()) {
+            if (entry.layer.equals(layername)) {
+                memory.remove(entry);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        Memory memory = this.memory;
+        if (memory != null) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Flushing cache");
+            }
+            for (Entry entry : memory.index.values()) {
+                memory.remove(entry);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void reset() {
+        Memory memory = this.memory;
+        if (memory != null) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Reset Cache internally");
+            }
+            this.memory = null;
+            // the slabs are freed once the views still being read are garbage collected
+            for (Entry entry : memory.index.values()) {
+                memory.remove(entry);
+            }
+            uncachedLayers.clear();
+        }
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        CacheStatistics statistics = new CacheStatistics();
+        Memory memory = this.memory;
+        if (memory == null) {
+            return statistics;
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requestCount = hitCount + missCount;
+        statistics.setHitCount(hitCount);
+        statistics.setMissCount(missCount);
+        statistics.setTotalCount(requestCount);
+        statistics.setEvictionCount(evictions.sum());
+        statistics.setHitRate(requestCount == 0 ? 100 : (int) (hitCount * 100 / requestCount));
+        statistics.setMissRate(100 - statistics.getHitRate());
+        long used = memory.usedBytes.get();
+        long assigned = (long) memory.getAssignedPages() * PAGE_SIZE;
+        statistics.setCurrentMemoryOccupation(memory.maxMemory == 0 ? 0 : used * 100 / memory.maxMemory);
+        statistics.setActualSize(used);
+        statistics.setTotalSize(memory.maxMemory);
+        statistics.setFragmentation(assigned == 0 ? 0 : (assigned - used) * 100d / assigned);
+        return statistics;
+    }
+
+    @Override
+    public void addUncachedLayer(String layername) {
+        if (memory != null) {
+            uncachedLayers.add(layername);
+        }
+    }
+
+    @Override
+    public void removeUncachedLayer(String layername) {
+        if (memory != null) {
+            uncachedLayers.remove(layername);
+        }
+    }
+
+    @Override
+    public boolean containsUncachedLayer(String layername) {
+        return memory != null && uncachedLayers.contains(layername);
+    }
+
+    @Override
+    public List<EvictionPolicy> getSupportedPolicies() {
+        return POLICIES;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return false;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
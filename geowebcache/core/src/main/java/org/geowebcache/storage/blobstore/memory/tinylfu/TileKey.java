@@ -0,0 +1,109 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.memory.tinylfu;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fixed layout cache key of a tile: the interned ids of its layer, gridset and format, its coordinates, and a 64 bits
+ * hash of its parameters.
+ */
+final class TileKey {
+
+    final int layer;
+
+    final int gridSet;
+
+    final int format;
+
+    final int z;
+
+    final long x;
+
+    final long y;
+
+    final long parameters;
+
+    private final int hash;
+
+    TileKey(int layer, int gridSet, int format, long[] xyz, long parameters) {
+        this.layer = layer;
+        this.gridSet = gridSet;
+        this.format = format;
+        this.x = xyz[0];
+        this.y = xyz[1];
+        this.z = (int) xyz[2];
+        this.parameters = parameters;
+
+        int h = layer;
+        h = 31 * h + gridSet;
+        h = 31 * h + format;
+        h = 31 * h + z;
+        h = 31 * h + Long.hashCode(x);
+        h = 31 * h + Long.hashCode(y);
+        h = 31 * h + Long.hashCode(parameters);
+        // spread the bits, the segment and the frequency sketch use different ones
+        h *= 0x9E3779B9;
+        this.hash = h ^ (h >>> 16);
+    }
+
+    /** @return a hash of the parameters, independent of their order, {@code 0} if there are none */
+    static long hashParameters(Map<String, String> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return 0;
+        }
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Map.Entry<String, String> e : new TreeMap<>(parameters).entrySet()) {
+            hasher.putString(e.getKey(), StandardCharsets.UTF_8).putByte((byte) 0);
+            if (e.getValue() != null) {
+                hasher.putString(e.getValue(), StandardCharsets.UTF_8);
+            }
+            hasher.putByte((byte) 0);
+        }
+        return hasher.hash().asLong();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TileKey)) {
+            return false;
+        }
+        TileKey other = (TileKey) obj;
+        return x == other.x
+                && y == other.y
+                && z == other.z
+                && layer == other.layer
+                && gridSet == other.gridSet
+                && format == other.format
+                && parameters == other.parameters;
+    }
+
+    @Override
+    public String toString() {
+        return "TileKey[" + layer + ", " + gridSet + ", " + format + ", " + x + ", " + y + ", " + z + ", "
+                + Long.toHexString(parameters) + "]";
+    }
+}
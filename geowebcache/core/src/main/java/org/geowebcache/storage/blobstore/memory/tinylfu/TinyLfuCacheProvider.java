@@ -0,0 +1,637 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.memory.tinylfu;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.io.Resource;
+import org.geowebcache.storage.TileObject;
+import org.geowebcache.storage.blobstore.memory.CacheConfiguration;
+import org.geowebcache.storage.blobstore.memory.CacheConfiguration.EvictionPolicy;
+import org.geowebcache.storage.blobstore.memory.CacheProvider;
+import org.geowebcache.storage.blobstore.memory.CacheStatistics;
+
+/**
+ * A {@link CacheProvider} using a W-TinyLFU policy, which keeps the frequently used tiles when a large number of tiles
+ * is read only once, as when a client pans over a large area or a crawler walks the tiles.
+ *
+ * <p>New tiles enter a small LRU admission window. Tiles leaving the window are admitted to the main space, split in
+ * probation and protected LRU segments, only if a count-min sketch of the recent accesses estimates them as more
+ * frequently used than the tile they would evict.
+ *
+ * <p>To keep the heap used by each cached tile low, the keys have a fixed layout with interned ids for the layer,
+ * gridset and format, see {@link TileKey}, and the values hold only the tile bytes and last modified time. Layers are
+ * removed by incrementing a per layer generation counter, invalidating their cached tiles at once, the stale tiles
+ * being evicted as any other unused tile.
+ *
+ * <p>The cache is split in {@link CacheConfiguration#getConcurrencyLevel() concurrency level} segments, each with its
+ * own lock and sketch. The {@link EvictionPolicy#EXPIRE_AFTER_ACCESS} and {@link EvictionPolicy#EXPIRE_AFTER_WRITE}
+ * policies are checked when reading the tiles.
+ *
+ * @since 1.27
+ */
+public class TinyLfuCacheProvider implements CacheProvider {
+
+    private static final Logger LOGGER = Logging.getLogger(TinyLfuCacheProvider.class.getName());
+
+    /** Constant for multiplying bytes to MB */
+    public static final long BYTES_TO_MB = 1048576;
+
+    /** Share of each segment used by the admission window */
+    static final double WINDOW_RATIO = 0.01;
+
+    /** Share of the main space of each segment used by the protected LRU */
+    static final double PROTECTED_RATIO = 0.8;
+
+    /** Tile size used to size the frequency sketches */
+    static final int EXPECTED_TILE_SIZE = 8192;
+
+    private static final String NAME = "TinyLFU Cache";
+
+    /** Array containing the supported Policies */
+    public static final List<EvictionPolicy> POLICIES = Collections.unmodifiableList(
+            Arrays.asList(EvictionPolicy.NULL, EvictionPolicy.EXPIRE_AFTER_ACCESS, EvictionPolicy.EXPIRE_AFTER_WRITE));
+
+    private static final byte WINDOW = 0;
+
+    private static final byte PROBATION = 1;
+
+    private static final byte PROTECTED = 2;
+
+    /** Names of the Layers that must not be cached */
+    private final Set<String> uncachedLayers = ConcurrentHashMap.newKeySet();
+
+    /** Interned ids and generations of the layers */
+    private final Map<String, Layer> layers = new ConcurrentHashMap<>();
+
+    /** Interned ids of the gridsets and formats */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final AtomicLong currentSize = new AtomicLong();
+
+    /** The cache segments, {@code null} if not configured */
+    private volatile Segment[] segments;
+
+    /** Cache total memory in bytes */
+    private long maxMemory;
+
+    private long expireAfterAccessNanos;
+
+    private long expireAfterWriteNanos;
+
+    public TinyLfuCacheProvider() {
+        this(new CacheConfiguration());
+    }
+
+    public TinyLfuCacheProvider(CacheConfiguration config) {
+        configure(config);
+    }
+
+    /** The interned id of a layer, and its current generation */
+    private static class Layer {
+
+        final int id;
+
+        final AtomicInteger generation = new AtomicInteger();
+
+        Layer(int id) {
+            this.id = id;
+        }
+    }
+
+    /** The cached contents of a tile */
+    private static class Value {
+
+        final byte[] data;
+
+        final long lastModified;
+
+        Value(byte[] data, long lastModified) {
+            this.data = data;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /** A cached tile, linked in the LRU list of its queue */
+    private static class Node {
+
+        final TileKey key;
+
+        Value value;
+
+        int generation;
+
+        byte queue;
+
+        long written;
+
+        long accessed;
+
+        Node prev;
+
+        Node next;
+
+        Node(TileKey key) {
+            this.key = key;
+        }
+
+        int weight() {
+            return value.data.length;
+        }
+    }
+
+    /** Intrusive LRU list, the least recently used node first */
+    private static class NodeList {
+
+        Node first;
+
+        Node last;
+
+        void add(Node node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void remove(Node node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToEnd(Node node) {
+            if (node != last) {
+                remove(node);
+                add(node);
+            }
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+        }
+    }
+
+    /** A part of the cache, guarded by its own lock */
+    private final class Segment {
+
+        private final Map<TileKey, Node> nodes = new HashMap<>();
+
+        private final NodeList window = new NodeList();
+
+        private final NodeList probation = new NodeList();
+
+        private final NodeList protectedNodes = new NodeList();
+
+        private final FrequencySketch sketch;
+
+        private final long maxWeight;
+
+        private final long maxWindowWeight;
+
+        private final long maxProtectedWeight;
+
+        private long weight;
+
+        private long windowWeight;
+
+        private long protectedWeight;
+
+        Segment(long maxWeight) {
+            this.maxWeight = maxWeight;
+            this.maxWindowWeight = Math.max(1, (long) (maxWeight * WINDOW_RATIO));
+            this.maxProtectedWeight = (long) ((maxWeight - maxWindowWeight) * PROTECTED_RATIO);
+            this.sketch = new FrequencySketch((int) Math.min(Integer.MAX_VALUE, maxWeight / EXPECTED_TILE_SIZE));
+        }
+
+        synchronized Value get(TileKey key, int generation, long now) {
+            sketch.increment(key.hashCode());
+            Node node = nodes.get(key);
+            if (node == null) {
+                return null;
+            }
+            if (node.generation != generation) {
+                remove(node);
+                return null;
+            }
+            if (isExpired(node, now)) {
+                remove(node);
+                evictions.increment();
+                return null;
+            }
+            node.accessed = now;
+            onAccess(node);
+            return node.value;
+        }
+
+        synchronized void put(TileKey key, Value value, int generation, long now) {
+            Node node = nodes.get(key);
+            if (value.data.length > maxWeight) {
+                // would evict everything else
+                if (node != null) {
+                    remove(node);
+                }
+                return;
+            }
+            if (node == null) {
+                sketch.increment(key.hashCode());
+                node = new Node(key);
+                node.value = value;
+                node.queue = WINDOW;
+                nodes.put(key, node);
+                window.add(node);
+                addWeight(node, value.data.length);
+            } else {
+                int delta = value.data.length - node.weight();
+                node.value = value;
+                addWeight(node, delta);
+                onAccess(node);
+            }
+            node.generation = generation;
+            node.written = now;
+            node.accessed = now;
+            evict();
+        }
+
+        synchronized void remove(TileKey key) {
+            Node node = nodes.get(key);
+            if (node != null) {
+                remove(node);
+            }
+        }
+
+        synchronized void clear() {
+            nodes.clear();
+            window.clear();
+            probation.clear();
+            protectedNodes.clear();
+            sketch.clear();
+            currentSize.addAndGet(-weight);
+            weight = 0;
+            windowWeight = 0;
+            protectedWeight = 0;
+        }
+
+        private void addWeight(Node node, long delta) {
+            weight += delta;
+            currentSize.addAndGet(delta);
+            if (node.queue == WINDOW) {
+                windowWeight += delta;
+            } else if (node.queue == PROTECTED) {
+                protectedWeight += delta;
+            }
+        }
+
+        private void onAccess(Node node) {
+            if (node.queue == WINDOW) {
+                window.moveToEnd(node);
+            } else if (node.queue == PROTECTED) {
+                protectedNodes.moveToEnd(node);
+            } else {
+                // promoted, demoting the least recently used protected tiles if needed
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedNodes.add(node);
+                protectedWeight += node.weight();
+                while (protectedWeight > maxProtectedWeight && protectedNodes.first != node) {
+                    Node demoted = protectedNodes.first;
+                    protectedNodes.remove(demoted);
+                    protectedWeight -= demoted.weight();
+                    demoted.queue = PROBATION;
+                    probation.add(demoted);
+                }
+            }
+        }
+
+        private void evict() {
+            // the tiles leaving the window join the end of probation, as candidates for admission
+            Node candidate = null;
+            while (windowWeight > maxWindowWeight) {
+                Node node = window.first;
+                window.remove(node);
+                windowWeight -= node.weight();
+                node.queue = PROBATION;
+                probation.add(node);
+                if (candidate == null) {
+                    candidate = node;
+                }
+            }
+            while (weight > maxWeight) {
+                Node victim = probation.first != null
+                        ? probation.first
+                        : protectedNodes.first != null ? protectedNodes.first : window.first;
+                if (candidate == null || candidate == victim) {
+                    if (candidate != null) {
+                        candidate = candidate.next;
+                    }
+                    evict(victim);
+                } else if (sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+                    evict(victim);
+                } else {
+                    // not used often enough to replace the victim
+                    Node rejected = candidate;
+                    candidate = candidate.next;
+                    evict(rejected);
+                }
+            }
+        }
+
+        private void evict(Node node) {
+            remove(node);
+            evictions.increment();
+        }
+
+        private void remove(Node node) {
+            nodes.remove(node.key);
+            if (node.queue == WINDOW) {
+                window.remove(node);
+            } else if (node.queue == PROTECTED) {
+                protectedNodes.remove(node);
+            } else {
+                probation.remove(node);
+            }
+            addWeight(node, -node.weight());
+        }
+    }
+
+    private boolean isExpired(Node node, long now) {
+        return (expireAfterAccessNanos > 0 && now - node.accessed > expireAfterAccessNanos)
+                || (expireAfterWriteNanos > 0 && now - node.written > expireAfterWriteNanos);
+    }
+
+    @Override
+    public synchronized void configure(CacheConfiguration configuration) {
+        reset();
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Building new Cache");
+        }
+        maxMemory = configuration.getHardMemoryLimit() * BYTES_TO_MB;
+        expireAfterAccessNanos = 0;
+        expireAfterWriteNanos = 0;
+        long evictionNanos = TimeUnit.SECONDS.toNanos(configuration.getEvictionTime());
+        if (configuration.getPolicy() == EvictionPolicy.EXPIRE_AFTER_ACCESS) {
+            expireAfterAccessNanos = evictionNanos;
+        } else if (configuration.getPolicy() == EvictionPolicy.EXPIRE_AFTER_WRITE) {
+            expireAfterWriteNanos = evictionNanos;
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+
+        int concurrency = Math.max(1, configuration.getConcurrencyLevel());
+        // a power of two, to pick segments by masking the key hash
+        int numSegments = Integer.highestOneBit(Math.min(1 << 16, concurrency * 2 - 1));
+        Segment[] newSegments = new Segment[numSegments];
+        for (int i = 0; i < numSegments; i++) {
+            newSegments[i] = new Segment(maxMemory / numSegments);
+        }
+        segments = newSegments;
+    }
+
+    private Segment segment(Segment[] segments, TileKey key) {
+        // the high bits, the sketch uses the low ones
+        return segments[(key.hashCode() >>> 16) & (segments.length - 1)];
+    }
+
+    /** @return the key of the tile, or {@code null} if not interned yet and {@code intern} is false */
+    private TileKey key(TileObject obj, Layer layer, boolean intern) {
+        Integer gridSet = intern ? ids.computeIfAbsent(obj.getGridSetId(), this::newId) : ids.get(obj.getGridSetId());
+        Integer format = intern ? ids.computeIfAbsent(obj.getBlobFormat(), this::newId) : ids.get(obj.getBlobFormat());
+        if (gridSet == null || format == null) {
+            return null;
+        }
+        return new TileKey(layer.id, gridSet, format, obj.getXYZ(), TileKey.hashParameters(obj.getParameters()));
+    }
+
+    private Integer newId(String name) {
+        return nextId.getAndIncrement();
+    }
+
+    @Override
+    public TileObject getTileObj(TileObject obj) {
+        Segment[] segments = this.segments;
+        if (segments == null || uncachedLayers.contains(obj.getLayerName())) {
+            return null;
+        }
+        Layer layer = layers.get(obj.getLayerName());
+        TileKey key = layer == null ? null : key(obj, layer, false);
+        Value value = key == null ? null : segment(segments, key).get(key, layer.generation.get(), System.nanoTime());
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        ByteArrayResource blob = new ByteArrayResource(value.data);
+        blob.setLastModified(value.lastModified);
+        TileObject cached = TileObject.createCompleteTileObject(
+                obj.getLayerName(), obj.getXYZ(), obj.getGridSetId(), obj.getBlobFormat(), obj.getParameters(), blob);
+        cached.setCreated(value.lastModified);
+        return cached;
+    }
+
+    @Override
+    public void putTileObj(TileObject obj) {
+        Segment[] segments = this.segments;
+        if (segments == null || uncachedLayers.contains(obj.getLayerName()) || obj.getBlob() == null) {
+            return;
+        }
+        byte[] data = getContents(obj.getBlob());
+        if (data == null) {
+            return;
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Adding TileObject: " + obj + " to cache");
+        }
+        Layer layer = layers.computeIfAbsent(obj.getLayerName(), name -> new Layer(nextId.getAndIncrement()));
+        // read before caching, a concurrent layer removal makes the tile stale
+        int generation = layer.generation.get();
+        TileKey key = key(obj, layer, true);
+        Value value = new Value(data, obj.getBlob().getLastModified());
+        segment(segments, key).put(key, value, generation, System.nanoTime());
+    }
+
+    private byte[] getContents(Resource blob) {
+        if (blob instanceof ByteArrayResource) {
+            return ((ByteArrayResource) blob).getContents();
+        }
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.max(0, blob.getSize()));
+                WritableByteChannel channel = Channels.newChannel(out)) {
+            blob.transferTo(channel);
+            return out.toByteArray();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read the tile to cache", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void removeTileObj(TileObject obj) {
+        Segment[] segments = this.segments;
+        if (segments == null || uncachedLayers.contains(obj.getLayerName())) {
+            return;
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Removing TileObject: " + obj + " from cache");
+        }
+        Layer layer = layers.get(obj.getLayerName());
+        TileKey key = layer == null ? null : key(obj, layer, false);
+        if (key != null) {
+            segment(segments, key).remove(key);
+        }
+    }
+
+    @Override
+    public void removeLayer(String layername) {
+        if (segments == null || uncachedLayers.contains(layername)) {
+            return;
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Removing Layer: " + layername + " from cache");
+        }
+        Layer layer = layers.get(layername);
+        if (layer != null) {
+            layer.generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void clear() {
+        Segment[] segments = this.segments;
+        if (segments != null) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Flushing cache");
+            }
+            for (Segment segment : segments) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void reset() {
+        Segment[] segments = this.segments;
+        if (segments != null) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Reset Cache internally");
+            }
+            this.segments = null;
+            for (Segment segment : segments) {
+                segment.clear();
+            }
+            uncachedLayers.clear();
+            layers.clear();
+            ids.clear();
+        }
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        CacheStatistics statistics = new CacheStatistics();
+        if (segments == null) {
+            return statistics;
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requestCount = hitCount + missCount;
+        statistics.setHitCount(hitCount);
+        statistics.setMissCount(missCount);
+        statistics.setTotalCount(requestCount);
+        statistics.setEvictionCount(evictions.sum());
+        statistics.setHitRate(requestCount == 0 ? 100 : (int) (hitCount * 100 / requestCount));
+        statistics.setMissRate(100 - statistics.getHitRate());
+        long actualSize = currentSize.get();
+        statistics.setCurrentMemoryOccupation(maxMemory == 0 ? 0 : Math.max(0, actualSize * 100 / maxMemory));
+        statistics.setActualSize(actualSize);
+        statistics.setTotalSize(maxMemory);
+        return statistics;
+    }
+
+    @Override
+    public void addUncachedLayer(String layername) {
+        if (segments != null) {
+            uncachedLayers.add(layername);
+        }
+    }
+
+    @Override
+    public void removeUncachedLayer(String layername) {
+        if (segments != null) {
+            uncachedLayers.remove(layername);
+        }
+    }
+
+    @Override
+    public boolean containsUncachedLayer(String layername) {
+        return segments != null && uncachedLayers.contains(layername);
+    }
+
+    @Override
+    public List<EvictionPolicy> getSupportedPolicies() {
+        return POLICIES;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return false;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
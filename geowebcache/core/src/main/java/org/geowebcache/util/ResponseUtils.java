@@ -31,6 +31,7 @@
 import org.geotools.util.logging.Logging;
 import org.geowebcache.GeoWebCacheDispatcher;
 import org.geowebcache.GeoWebCacheException;
+import org.geowebcache.GeoWebCacheExtensions;
 import org.geowebcache.conveyor.Conveyor;
 import org.geowebcache.conveyor.Conveyor.CacheResult;
 import org.geowebcache.conveyor.ConveyorTile;
@@ -40,6 +41,7 @@
 import org.geowebcache.grid.GridSubset;
 import org.geowebcache.grid.OutsideCoverageException;
 import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.io.FileResource;
 import org.geowebcache.io.Resource;
 import org.geowebcache.layer.EmptyTileException;
 import org.geowebcache.layer.TileLayer;
@@ -59,6 +61,26 @@ public final class ResponseUtils {
 
     private static Logger log = Logging.getLogger(ResponseUtils.class);
 
+    /**
+     * Minimum size, in bytes, of the tiles handed over to the servlet container sendfile support, a negative value
+     * disables it. Defaults to 48KB, same as the Tomcat default servlet.
+     */
+    public static final String GWC_SENDFILE_MIN_SIZE = "GWC_SENDFILE_MIN_SIZE";
+
+    static final long DEFAULT_SENDFILE_MIN_SIZE = 48 * 1024;
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private static volatile long sendfileMinSize = UNSET;
+
     private ResponseUtils() {}
 
     /**
@@ -91,6 +113,12 @@ public static void writeTile(
         // Throw an exception if not authorized
         secDispatcher.checkSecurity(convTile);
 
+        // Let the blob stores skip fetching tiles the client already has
+        setValidators(convTile, layer);
+
+        // Let the blob stores skip decompressing tiles the client can decompress
+        setGzipAccepted(convTile);
+
         // Keep the URI
         // tile.requestURI = request.getRequestURI();
 
@@ -115,6 +143,81 @@ public static void writeTile(
         }
     }
 
+    /**
+     * Passes the If-Modified-Since and If-None-Match headers down to the blob stores, the latter only if the layer uses
+     * ETags, as they are computed from the tile creation time. The response code is still decided by
+     * {@link #writeData(ConveyorTile, RuntimeStats)}.
+     */
+    private static void setValidators(ConveyorTile tile, TileLayer layer) {
+        final HttpServletRequest servletReq = tile.servletReq;
+        if (servletReq == null) {
+            return;
+        }
+        long ifModifiedSince = -1;
+        String ifModSinceHeader = servletReq.getHeader("If-Modified-Since");
+        if (ifModSinceHeader != null && ifModSinceHeader.length() > 0) {
+            Date date = DateUtils.parseDate(ifModSinceHeader);
+            if (date != null) {
+                ifModifiedSince = date.getTime();
+            }
+        }
+        long ifNoneMatch = -1;
+        String ifNoneMatchHeader = servletReq.getHeader("If-None-Match");
+        if (ifNoneMatchHeader != null && layer.useETags()) {
+            try {
+                long timestamp = Long.parseLong(ifNoneMatchHeader, 16);
+                // only ETags writeData would match
+                if (Long.toHexString(timestamp).equals(ifNoneMatchHeader)) {
+                    ifNoneMatch = timestamp;
+                }
+            } catch (NumberFormatException e) {
+                // not one of ours
+            }
+        }
+        tile.getStorageObject().setValidators(ifModifiedSince, ifNoneMatch);
+    }
+
+    private static void setGzipAccepted(ConveyorTile tile) {
+        final HttpServletRequest servletReq = tile.servletReq;
+        if (servletReq == null) {
+            return;
+        }
+        tile.getStorageObject().setGzipAccepted(acceptsGzip(servletReq.getHeader("Accept-Encoding")));
+    }
+
+    /**
+     * @return {@code true} if the Accept-Encoding header value allows the gzip content coding, by name or through the
+     *     "*" wildcard, with a non zero quality value
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 1 && Character.toLowerCase(param.charAt(0)) == 'q' && param.charAt(1) == '=') {
+                    try {
+                        accepted = Double.parseDouble(param.substring(2).trim()) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzip = accepted;
+            } else if (name.equals("*")) {
+                any = accepted;
+            }
+        }
+        return gzip != null ? gzip : Boolean.TRUE.equals(any);
+    }
+
     /** Happy ending, sets the headers and writes the response back to the client. */
     private static void writeData(ConveyorTile tile, RuntimeStats runtimeStats) throws IOException {
         HttpServletResponse servletResp = tile.servletResp;
@@ -149,6 +252,11 @@ private static void writeData(ConveyorTile tile, RuntimeStats runtimeStats) thro
         if (ifModSinceHeader != null && ifModSinceHeader.length() > 0) {
 
             ifModifiedSince = DateUtils.parseDate(ifModSinceHeader);
+        } else {
+            ifModifiedSince = null;
+        }
+        // malformed dates are ignored
+        if (ifModifiedSince != null) {
             // the HTTP header has second precision
             long ifModSinceSeconds = 1000 * (ifModifiedSince.getTime() / 1000);
             long tileTimeStampSeconds = 1000 * (tileTimeStamp / 1000);
@@ -173,8 +281,27 @@ private static void writeData(ConveyorTile tile, RuntimeStats runtimeStats) thro
             servletResp.setHeader("ETag", hexTag);
         }
 
+        // blob stores only return encoded tiles to clients accepting them
+        String blobEncoding = tile.getStorageObject().getBlobEncoding();
+        if (blob != null && blobEncoding != null) {
+            servletResp.setHeader("Content-Encoding", blobEncoding);
+            servletResp.setHeader("Vary", "Accept-Encoding");
+        }
+
         int contentLength = (int) (blob == null ? -1 : blob.getSize());
-        writeFixedResponse(servletResp, httpCode, mimeType, blob, cacheResult, contentLength, runtimeStats);
+        if (httpCode == HttpServletResponse.SC_OK && sendfile(servletReq, servletResp, blob, contentLength)) {
+            servletResp.setStatus(httpCode);
+            servletResp.setContentType(mimeType);
+            servletResp.setContentLength(contentLength);
+            runtimeStats.log(contentLength, cacheResult);
+        } else {
+            writeFixedResponse(servletResp, httpCode, mimeType, blob, cacheResult, contentLength, runtimeStats);
+        }
+        // revalidations send no tile, they would skew the latencies down
+        if (httpCode != HttpServletResponse.SC_NOT_MODIFIED) {
+            runtimeStats.logLatency(
+                    tile.getLayerId(), tile.getGridSetId(), cacheResult, System.nanoTime() - tile.getStartNanos());
+        }
     }
 
     private static void writeEmpty(
@@ -240,6 +367,64 @@ public static void writeFixedResponse(
         writeFixedResponse(response, httpCode, contentType, resource, cacheRes, contentLength, runtimeStats);
     }
 
+    /**
+     * Hands the file backing the resource over to the servlet container, that will copy it to the socket once the
+     * request is handled, without going through user space buffers. Only possible if the container advertises sendfile
+     * support (Tomcat with the NIO or NIO2 connectors does) and the file is at least {@link #GWC_SENDFILE_MIN_SIZE}
+     * bytes, as for small files the copy costs less than the extra system calls.
+     *
+     * <p>The container opens the file after the request is handled and sends as many bytes as it had when the tile was
+     * looked up, so only files that are never rewritten in place qualify: those read along with their attributes by
+     * {@link FileResource#readIfExists(File)}, as the {@link org.geowebcache.storage.blobstore.file.FileBlobStore}
+     * does, which replaces tiles by renaming complete temporary files over them. Files replaced since they were looked
+     * up are written to the response stream instead.
+     *
+     * @return {@code true} if the container will send the file, the caller must not write any content
+     */
+    static boolean sendfile(
+            HttpServletRequest request, HttpServletResponse response, Resource resource, long contentLength) {
+        if (!(resource instanceof FileResource)
+                || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                || response.isCommitted()) {
+            return false;
+        }
+        long minSize = getSendfileMinSize();
+        if (minSize < 0 || contentLength < minSize) {
+            return false;
+        }
+        FileResource fileResource = (FileResource) resource;
+        if (!fileResource.isUnchanged()) {
+            return false;
+        }
+        File file = fileResource.getFile();
+        request.setAttribute(SENDFILE_FILENAME, file.getAbsolutePath());
+        request.setAttribute(SENDFILE_START, Long.valueOf(0));
+        request.setAttribute(SENDFILE_END, Long.valueOf(contentLength));
+        return true;
+    }
+
+    static long getSendfileMinSize() {
+        long minSize = sendfileMinSize;
+        if (minSize == UNSET) {
+            minSize = DEFAULT_SENDFILE_MIN_SIZE;
+            String value = GeoWebCacheExtensions.getProperty(GWC_SENDFILE_MIN_SIZE);
+            if (value != null) {
+                try {
+                    minSize = Long.parseLong(value.trim());
+                } catch (NumberFormatException e) {
+                    log.warning("Invalid value for " + GWC_SENDFILE_MIN_SIZE + ": " + value + ", using " + minSize);
+                }
+            }
+            sendfileMinSize = minSize;
+        }
+        return minSize;
+    }
+
+    /** Forgets the configured sendfile threshold, it will be looked up again on next use */
+    static void resetSendfileMinSize() {
+        sendfileMinSize = UNSET;
+    }
+
     /**
      * Helper method that writes an HTTP response setting the provided HTTP code. Using the provided content length.
      *
@@ -5,12 +5,14 @@
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.imageio.ImageIO;
 import javax.servlet.http.HttpServletResponse;
+import org.easymock.EasyMock;
 import org.geowebcache.config.DefaultGridsets;
 import org.geowebcache.grid.BoundingBox;
 import org.geowebcache.grid.GridSetBroker;
@@ -19,6 +21,9 @@
 import org.geowebcache.layer.wms.WMSLayer;
 import org.geowebcache.seed.GWCTask;
 import org.geowebcache.seed.SeedRequest;
+import org.geowebcache.storage.StorageBroker;
+import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileObject;
 import org.geowebcache.util.MockLockProvider;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
@@ -104,6 +109,24 @@ public static SeedRequest createRequest(WMSLayer tl, GWCTask.TYPE type, int zoom
         return req;
     }
 
+    /**
+     * Makes a recording EasyMock storage broker handle {@link StorageBroker#putAll(Collection)} by calling
+     * {@link StorageBroker#put(TileObject)} on each tile, so the expectations on single puts keep working.
+     */
+    public static void expectPutAllAsPuts(StorageBroker mockStorageBroker) throws StorageException {
+        EasyMock.expect(mockStorageBroker.putAll(EasyMock.anyObject()))
+                .andAnswer(() -> {
+                    @SuppressWarnings("unchecked")
+                    Collection<TileObject> tiles = (Collection<TileObject>) EasyMock.getCurrentArguments()[0];
+                    boolean stored = true;
+                    for (TileObject tile : tiles) {
+                        stored &= mockStorageBroker.put(tile);
+                    }
+                    return stored;
+                })
+                .anyTimes();
+    }
+
     /** Matcher for an {@link HttpServletResponse} that checks its status. */
     @SuppressWarnings("PMD.UseDiamondOperator")
     public static Matcher<HttpServletResponse> hasStatus(HttpStatus expected) {
@@ -0,0 +1,143 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.blobstore.file;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.easymock.EasyMock;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.mime.ImageMime;
+import org.geowebcache.storage.AbstractBlobStoreTest;
+import org.geowebcache.storage.BlobStoreListener;
+import org.geowebcache.storage.TileObject;
+import org.geowebcache.storage.TileRange;
+import org.geowebcache.storage.blobstore.file.BundleFileBlobStore;
+import org.geowebcache.storage.blobstore.file.FileBlobStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BundleFileBlobStoreComformanceTest extends AbstractBlobStoreTest<FileBlobStore> {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Override
+    public void createTestUnit() throws Exception {
+        // compaction is triggered by hand in the tests
+        this.store = new BundleFileBlobStore(temp.getRoot().getAbsolutePath(), 0);
+    }
+
+    private File[] bundles(int z) {
+        File zoomDir = new File(temp.getRoot(), "testLayer/testGridSet_" + (z < 10 ? "0" : "") + z);
+        File[] bundles = zoomDir.listFiles((dir, name) -> name.endsWith(".png.bundle"));
+        return bundles == null ? new File[0] : bundles;
+    }
+
+    private TileObject tile(long x, long y, int z, byte[] content) {
+        return TileObject.createCompleteTileObject(
+                "testLayer", new long[] {x, y, z}, "testGridSet", "image/png", null, new ByteArrayResource(content));
+    }
+
+    @Test
+    public void testTilesShareBundle() throws Exception {
+        store.put(tile(0, 0, 8, "a".getBytes(StandardCharsets.UTF_8)));
+        store.put(tile(127, 127, 8, "b".getBytes(StandardCharsets.UTF_8)));
+        assertThat(bundles(8), arrayWithSize(1));
+
+        store.put(tile(128, 0, 8, "c".getBytes(StandardCharsets.UTF_8)));
+        assertThat(bundles(8), arrayWithSize(2));
+
+        assertTile("testLayer", 0, 0, 8, "testGridSet", "image/png", null, "a");
+        assertTile("testLayer", 127, 127, 8, "testGridSet", "image/png", null, "b");
+        assertTile("testLayer", 128, 0, 8, "testGridSet", "image/png", null, "c");
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        byte[] big = new byte[512 * 1024];
+        Arrays.fill(big, (byte) 1);
+        store.put(tile(3, 4, 10, big));
+        store.put(tile(5, 6, 10, "keep".getBytes(StandardCharsets.UTF_8)));
+        File bundle = bundles(10)[0];
+        long before = bundle.length();
+
+        // replacing the big tile leaves its data unreferenced until the bundle is compacted
+        store.put(tile(3, 4, 10, "small".getBytes(StandardCharsets.UTF_8)));
+        assertThat(bundle.length(), equalTo(before + 5));
+        ((BundleFileBlobStore) store).compactPending();
+        assertThat(bundle.length(), lessThan(before - big.length + 10));
+
+        assertTile("testLayer", 3, 4, 10, "testGridSet", "image/png", null, "small");
+        assertTile("testLayer", 5, 6, 10, "testGridSet", "image/png", null, "keep");
+    }
+
+    @Test
+    public void testCompactionRemovesEmptyBundle() throws Exception {
+        store.put(tile(3, 4, 10, "a".getBytes(StandardCharsets.UTF_8)));
+        store.delete(
+                TileObject.createQueryTileObject("testLayer", new long[] {3, 4, 10}, "testGridSet", "image/png", null));
+        assertThat(bundles(10), arrayWithSize(1));
+
+        ((BundleFileBlobStore) store).compactPending();
+        assertThat(bundles(10), arrayWithSize(0));
+    }
+
+    @Test
+    public void testListenerSizesPaddedToBlocks() throws Exception {
+        ((FileBlobStore) store).setBlockSize(4096);
+        BlobStoreListener listener = EasyMock.createMock(BlobStoreListener.class);
+        listener.tileStored("testLayer", "testGridSet", "image/png", null, 3, 4, 10, 4096);
+        listener.tileUpdated("testLayer", "testGridSet", "image/png", null, 3, 4, 10, 8192, 4096);
+        listener.tileDeleted("testLayer", "testGridSet", "image/png", null, 3, 4, 10, 8192);
+        EasyMock.replay(listener);
+        store.addListener(listener);
+
+        store.put(tile(3, 4, 10, "a".getBytes(StandardCharsets.UTF_8)));
+        store.put(tile(3, 4, 10, new byte[5000]));
+        store.delete(
+                TileObject.createQueryTileObject("testLayer", new long[] {3, 4, 10}, "testGridSet", "image/png", null));
+        EasyMock.verify(listener);
+    }
+
+    @Test
+    public void testTruncateDeletesWholeBundles() throws Exception {
+        for (long x = 120; x < 136; x++) {
+            store.put(tile(x, 0, 9, "tile".getBytes(StandardCharsets.UTF_8)));
+        }
+        assertThat(bundles(9), arrayWithSize(2));
+
+        // covers all the tiles of the second bundle, and only some of the first one
+        TileRange range = new TileRange(
+                "testLayer", "testGridSet", 9, 9, new long[][] {{124, 0, 200, 0, 9}}, ImageMime.png, null);
+        store.delete(range);
+
+        File[] bundles = bundles(9);
+        assertThat(bundles, arrayWithSize(1));
+        assertThat(bundles[0].getName(), equalTo("0_0.png.bundle"));
+        for (long x = 120; x < 136; x++) {
+            if (x < 124) {
+                assertTile("testLayer", x, 0, 9, "testGridSet", "image/png", null, "tile");
+            } else {
+                assertNoTile("testLayer", x, 0, 9, "testGridSet", "image/png", null);
+            }
+        }
+    }
+}
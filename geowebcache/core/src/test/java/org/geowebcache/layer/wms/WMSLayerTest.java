@@ -20,6 +20,7 @@
 import static org.geowebcache.TestHelpers.createFakeSourceImage;
 import static org.geowebcache.TestHelpers.createRequest;
 import static org.geowebcache.TestHelpers.createWMSLayer;
+import static org.geowebcache.TestHelpers.expectPutAllAsPuts;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -45,11 +46,14 @@
 import java.net.URL;
 import java.nio.channels.Channels;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -82,6 +86,7 @@
 import org.geowebcache.grid.OutsideCoverageException;
 import org.geowebcache.io.ByteArrayResource;
 import org.geowebcache.io.Resource;
+import org.geowebcache.layer.MetaTileEncoderPool;
 import org.geowebcache.layer.TileLayer;
 import org.geowebcache.layer.TileResponseReceiver;
 import org.geowebcache.layer.wms.WMSLayer.RequestType;
@@ -98,8 +103,10 @@
 import org.geowebcache.storage.TransientCache;
 import org.geowebcache.util.MockLockProvider;
 import org.geowebcache.util.MockWMSSourceHelper;
+import org.geowebcache.util.PropertyRule;
 import org.junit.After;
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -115,6 +122,9 @@ public class WMSLayerTest extends TileLayerTest {
     private final GridSetBroker gridSetBroker =
             new GridSetBroker(Collections.singletonList(new DefaultGridsets(false, false)));
 
+    @Rule
+    public PropertyRule encoderThreads = PropertyRule.system(MetaTileEncoderPool.GWC_METATILE_ENCODER_THREADS);
+
     @After
     public void tearDown() throws Exception {
         TestHelpers.mockProvider.verify();
@@ -135,6 +145,7 @@ public void testSeedMetaTiled() throws Exception {
         expect(mockStorageBroker.put(EasyMock.capture(captured)))
                 .andReturn(true)
                 .anyTimes();
+        expectPutAllAsPuts(mockStorageBroker);
         replay(mockStorageBroker);
 
         String layerId = layer.getName();
@@ -165,6 +176,63 @@ public void testSeedMetaTiled() throws Exception {
         lockProvider.clear();
     }
 
+    @Test
+    public void testSeedMetaTiledParallelEncoding() throws Exception {
+        Set<String> sequential = seedMetaTileCollectingPuts();
+        assertEquals(9, sequential.size());
+
+        encoderThreads.setValue("4");
+        MetaTileEncoderPool.reset();
+        try {
+            assertNotNull(MetaTileEncoderPool.getExecutor());
+            Set<String> parallel = seedMetaTileCollectingPuts();
+            assertEquals(sequential, parallel);
+        } finally {
+            encoderThreads.setValue(null);
+            MetaTileEncoderPool.reset();
+        }
+    }
+
+    private Set<String> seedMetaTileCollectingPuts() throws Exception {
+        WMSLayer layer = createWMSLayer("image/png");
+        layer.setSourceHelper(new MockWMSSourceHelper());
+        MockLockProvider lockProvider = new MockLockProvider();
+        layer.setLockProvider(lockProvider);
+
+        final Set<String> stored = ConcurrentHashMap.newKeySet();
+        final StorageBroker mockStorageBroker = EasyMock.createMock(StorageBroker.class);
+        expect(mockStorageBroker.put(anyObject(TileObject.class)))
+                .andAnswer(() -> {
+                    TileObject to = (TileObject) EasyMock.getCurrentArguments()[0];
+                    assertTrue(to.getBlob().getSize() > 0);
+                    stored.add(Arrays.toString(to.getXYZ()));
+                    return true;
+                })
+                .anyTimes();
+        expectPutAllAsPuts(mockStorageBroker);
+        replay(mockStorageBroker);
+
+        String gridSetId = gridSetBroker.getWorldEpsg4326().getName();
+        // pick a metatile fully inside the layer coverage
+        long[] coverage = layer.getGridSubset(gridSetId).getCoverage(6);
+        long[] gridLoc = {coverage[0] + 3 - coverage[0] % 3, coverage[1] + 3 - coverage[1] % 3, 6};
+        ConveyorTile tile = new ConveyorTile(
+                mockStorageBroker,
+                layer.getName(),
+                gridSetId,
+                gridLoc,
+                layer.getMimeTypes().get(0),
+                null,
+                new MockHttpServletRequest(),
+                new MockHttpServletResponse());
+
+        layer.seedTile(tile, false);
+
+        verify(mockStorageBroker);
+        lockProvider.verify();
+        return stored;
+    }
+
     @Test
     public void testSeedJpegPngMetaTiled() throws Exception {
         checkJpegPng(
@@ -265,6 +333,7 @@ public void checkJpegPng(String format, IAnswer<Boolean> tileVerifier, WMSSource
         expect(mockStorageBroker.put(EasyMock.capture(captured)))
                 .andAnswer(tileVerifier)
                 .anyTimes();
+        expectPutAllAsPuts(mockStorageBroker);
         replay(mockStorageBroker);
 
         String layerId = layer.getName();
@@ -761,6 +830,7 @@ private void installMockBroker() throws Exception {
                         }
                     })
                     .anyTimes();
+            expectPutAllAsPuts(storageBroker);
             replay(storageBroker);
         }
     }
@@ -0,0 +1,137 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.locks;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.geowebcache.GeoWebCacheException;
+import org.junit.After;
+import org.junit.Test;
+
+public class StripedLockProviderTest {
+
+    private ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Locks the key from another thread until the returned latch is counted down */
+    private CountDownLatch holdLock(LockProvider provider, String key) throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            LockProvider.Lock lock = provider.getLock(key);
+            locked.countDown();
+            try {
+                release.await();
+            } finally {
+                lock.release();
+            }
+            return null;
+        });
+        locked.await();
+        return release;
+    }
+
+    @Test
+    public void testUncontended() throws Exception {
+        StripedLockProvider provider = new StripedLockProvider();
+        LockProvider.Lock lock = provider.tryLock("meta_layer_1", "layer", 0, TimeUnit.MILLISECONDS);
+        assertThat(lock, notNullValue());
+        lock.release();
+        // a second release is a no-op
+        lock.release();
+
+        LockStatistics statistics = provider.getStatistics("layer");
+        assertThat(statistics.getAcquired(), equalTo(1L));
+        assertThat(statistics.getContended(), equalTo(0L));
+        assertThat(statistics.getTimeouts(), equalTo(0L));
+        assertThat(provider.getStatistics().keySet(), equalTo(Collections.singleton("layer")));
+    }
+
+    @Test
+    public void testReentrant() throws Exception {
+        StripedLockProvider provider = new StripedLockProvider(1, true, 1000);
+        LockProvider.Lock outer = provider.getLock("meta_layer_1");
+        // same stripe, same thread
+        LockProvider.Lock inner = provider.getLock("tile_layer_1");
+        inner.release();
+        outer.release();
+        assertThat(provider.getStatistics(null).getAcquired(), equalTo(2L));
+    }
+
+    @Test
+    public void testTryLockTimesOut() throws Exception {
+        StripedLockProvider provider = new StripedLockProvider();
+        CountDownLatch release = holdLock(provider, "meta_layer_1");
+        try {
+            assertThat(provider.tryLock("meta_layer_1", "layer", 50, TimeUnit.MILLISECONDS), nullValue());
+        } finally {
+            release.countDown();
+        }
+        // waits for the other thread to release
+        LockProvider.Lock lock = provider.tryLock("meta_layer_1", "layer", 10, TimeUnit.SECONDS);
+        assertThat(lock, notNullValue());
+        lock.release();
+
+        LockStatistics statistics = provider.getStatistics("layer");
+        assertThat(statistics.getTimeouts(), equalTo(1L));
+        assertThat(statistics.getAcquired(), equalTo(1L));
+        assertThat(statistics.getContended(), greaterThanOrEqualTo(1L));
+        assertThat(statistics.getMaxWaitMillis(), greaterThanOrEqualTo(50L));
+        assertThat(Arrays.stream(statistics.getWaitHistogram()).sum(), equalTo(statistics.getContended()));
+    }
+
+    @Test
+    public void testGetLockFailsAfterTimeout() throws Exception {
+        StripedLockProvider provider = new StripedLockProvider(16, true, 50);
+        CountDownLatch release = holdLock(provider, "meta_layer_1");
+        try {
+            assertThrows(GeoWebCacheException.class, () -> provider.getLock("meta_layer_1"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testMemoryProviderTryLock() throws Exception {
+        MemoryLockProvider provider = new MemoryLockProvider();
+        CountDownLatch release = holdLock(provider, "meta_layer_1");
+        try {
+            assertThat(provider.tryLock("meta_layer_1", "layer", 50, TimeUnit.MILLISECONDS), nullValue());
+        } finally {
+            release.countDown();
+        }
+        // the executor is single threaded, this waits for the holder to release the lock
+        executor.submit(() -> null).get();
+        LockProvider.Lock lock = provider.tryLock("meta_layer_1", "layer", 10, TimeUnit.SECONDS);
+        assertThat(lock, notNullValue());
+        lock.release();
+        // the timed out request did not leak its reference to the lock
+        assertThat(provider.lockAndCounters.isEmpty(), equalTo(true));
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.seed;
+
+import static org.easymock.EasyMock.anyBoolean;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.geowebcache.conveyor.ConveyorTile;
+import org.geowebcache.layer.FetchedMetaTile;
+import org.geowebcache.layer.TileLayer;
+import org.geowebcache.storage.TileObject;
+import org.junit.Test;
+
+public class SeedPipelineTest {
+
+    /** The meta tiles queued for decoding, or submitted after the pipeline is aborted, must be disposed of */
+    @Test
+    public void testAbortDisposesQueuedMetaTiles() throws Exception {
+        SeedPipeline pipeline = new SeedPipeline(1, 1);
+        CountDownLatch decoding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ConveyorTile tile = createNiceMock(ConveyorTile.class);
+        replay(tile);
+        // the first one keeps the only decoder thread busy
+        FetchedMetaTile busy = createMock(FetchedMetaTile.class);
+        expect(busy.getTile()).andReturn(tile).anyTimes();
+        expect(busy.decode()).andAnswer(() -> {
+            decoding.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return Collections.<TileObject>emptyList();
+        });
+        replay(busy);
+        // fill the decode queue, and one more once aborted
+        List<FetchedMetaTile> discarded = new ArrayList<>();
+        for (int i = 0; i < SeedPipeline.DECODE_QUEUE_PER_THREAD + 1; i++) {
+            FetchedMetaTile fetched = createMock(FetchedMetaTile.class);
+            fetched.dispose();
+            expectLastCall().once();
+            replay(fetched);
+            discarded.add(fetched);
+        }
+
+        TileLayer layer = createMock(TileLayer.class);
+        expect(layer.fetchMetaTile(eq(tile), anyBoolean())).andReturn(busy);
+        for (FetchedMetaTile fetched : discarded) {
+            expect(layer.fetchMetaTile(eq(tile), anyBoolean())).andReturn(fetched);
+        }
+        replay(layer);
+
+        pipeline.register();
+        pipeline.seed(layer, tile, false);
+        assertTrue(decoding.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < SeedPipeline.DECODE_QUEUE_PER_THREAD; i++) {
+            pipeline.seed(layer, tile, false);
+        }
+        pipeline.taskDone(true);
+        assertTrue(pipeline.isAborted());
+        pipeline.seed(layer, tile, false);
+        release.countDown();
+
+        verify(layer, busy);
+        for (FetchedMetaTile fetched : discarded) {
+            verify(fetched);
+        }
+    }
+}
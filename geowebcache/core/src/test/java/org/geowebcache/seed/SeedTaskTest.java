@@ -23,11 +23,14 @@
 import static org.geowebcache.TestHelpers.createFakeSourceImage;
 import static org.geowebcache.TestHelpers.createRequest;
 import static org.geowebcache.TestHelpers.createWMSLayer;
+import static org.geowebcache.TestHelpers.expectPutAllAsPuts;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.channels.Channels;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -124,6 +127,7 @@ public Void answer() throws Throwable {
         final StorageBroker mockStorageBroker = EasyMock.createMock(StorageBroker.class);
         expect(mockStorageBroker.put(anyObject())).andReturn(true).anyTimes();
         expect(mockStorageBroker.get(anyObject())).andReturn(false).anyTimes();
+        expectPutAllAsPuts(mockStorageBroker);
         replay(mockStorageBroker);
 
         boolean reseed = false;
@@ -207,6 +211,7 @@ protected void makeRequest(
         final StorageBroker mockStorageBroker = EasyMock.createMock(StorageBroker.class);
         expect(mockStorageBroker.put(anyObject())).andReturn(true).anyTimes();
         expect(mockStorageBroker.get(anyObject())).andReturn(false).anyTimes();
+        expectPutAllAsPuts(mockStorageBroker);
         replay(mockStorageBroker);
 
         long tileFailureRetryWaitTime = 10;
@@ -267,6 +272,7 @@ public void testSeedStoredTiles() throws Exception {
         expect(mockStorageBroker.put(capture(storedObjects))).andReturn(true).anyTimes();
 
         expect(mockStorageBroker.get(anyObject())).andReturn(false).anyTimes();
+        expectPutAllAsPuts(mockStorageBroker);
         replay(mockStorageBroker);
 
         TileRange tr = TileBreeder.createTileRange(req, tl);
@@ -325,6 +331,64 @@ public void testSeedStoredTiles() throws Exception {
         verify(sleeper);
     }
 
+    /** Same as {@link #testSeedStoredTiles()}, with decoding and storage done by a {@link SeedPipeline} */
+    @Test
+    public void testSeedStoredTilesPipelined() throws Exception {
+
+        WMSLayer tl = createWMSLayer("image/png");
+        WMSSourceHelper mockSourceHelper = new MockWMSSourceHelper();
+        tl.setSourceHelper(mockSourceHelper);
+
+        final String gridSetId = tl.getGridSubsets().iterator().next();
+        final int zoomLevel = 2;
+        SeedRequest req = createRequest(tl, TYPE.SEED, zoomLevel, zoomLevel);
+
+        // tiles are stored by the pipeline threads, collect them in a thread safe list
+        final List<TileObject> storedTiles = Collections.synchronizedList(new ArrayList<>());
+        final StorageBroker mockStorageBroker = EasyMock.createMock(StorageBroker.class);
+        expect(mockStorageBroker.put(anyObject()))
+                .andAnswer(() -> storedTiles.add((TileObject) EasyMock.getCurrentArguments()[0]))
+                .anyTimes();
+        expect(mockStorageBroker.get(anyObject())).andReturn(false).anyTimes();
+        expectPutAllAsPuts(mockStorageBroker);
+        replay(mockStorageBroker);
+
+        TileRange tr = TileBreeder.createTileRange(req, tl);
+        TileRangeIterator trIter = new TileRangeIterator(tr, tl.getMetaTilingFactors());
+
+        SeedPipeline pipeline = new SeedPipeline(2, 2);
+        SeedTask task = new SeedTask(mockStorageBroker, trIter, tl, false, false);
+        task.setTaskId(1L);
+        task.setThreadInfo(new AtomicInteger(), 0);
+        task.setPipeline(pipeline);
+        Sleeper sleeper = createMock(Sleeper.class);
+        // Should not be called
+        replay(sleeper);
+        task.sleeper = sleeper;
+        Thread.currentThread().setName("pool-fake-thread-1");
+
+        // returns once the pipeline is drained
+        task.doAction();
+
+        Assert.assertEquals(GWCTask.STATE.DONE, task.getState());
+        Assert.assertFalse(pipeline.isAborted());
+
+        final long[] coveredGridLevels = tl.getGridSubset(gridSetId).getCoverage(zoomLevel);
+        Set<Tuple<Long>> expectedTiles = new TreeSet<>();
+        for (long x = coveredGridLevels[0]; x <= coveredGridLevels[2]; x++) {
+            for (long y = coveredGridLevels[1]; y <= coveredGridLevels[3]; y++) {
+                expectedTiles.add(new Tuple<>(x, y, (long) zoomLevel));
+            }
+        }
+        Set<Tuple<Long>> tileKeys = new TreeSet<>();
+        for (TileObject obj : storedTiles) {
+            tileKeys.add(new Tuple<>(obj.getXYZ()[0], obj.getXYZ()[1], obj.getXYZ()[2]));
+        }
+        Assert.assertEquals(expectedTiles.size(), storedTiles.size());
+        Assert.assertEquals(expectedTiles, tileKeys);
+        verify(sleeper);
+    }
+
     private static class Tuple<T extends Comparable<T>> implements Comparable<Tuple<T>> {
 
         private T[] members;
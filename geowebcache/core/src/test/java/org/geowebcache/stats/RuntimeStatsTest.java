@@ -13,9 +13,20 @@
  */
 package org.geowebcache.stats;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.easymock.EasyMock;
+import org.geowebcache.conveyor.Conveyor.CacheResult;
+import org.geowebcache.stats.RuntimeStats.LatencyKey;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -38,4 +49,55 @@ public void test() {
         // Shouldn't get a divide by zero
         EasyMock.verify(clock);
     }
+
+    @Test
+    public void testLogConcurrently() throws Exception {
+        RuntimeStats stats = new RuntimeStats(1, Arrays.asList(60), Arrays.asList("Minutes"));
+        stats.start();
+        try {
+            final int threads = 8;
+            final int requests = 1000;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < requests; i++) {
+                        stats.log(10, CacheResult.HIT);
+                        stats.logLatency("layer", "EPSG:4326", CacheResult.HIT, 1_000_000);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            assertEquals(threads * requests, stats.totalHits.sum());
+            // the stats thread may have already drained part of the interval data
+            int[] interval = stats.popIntervalData();
+            assertTrue(interval[1] <= threads * requests);
+            assertEquals(interval[1] * 10, interval[0]);
+
+            Map<LatencyKey, LatencyHistogram> latencies = stats.getLatencies();
+            assertEquals(1, latencies.size());
+            LatencyHistogram histogram = latencies.get(new LatencyKey("layer", "EPSG:4326", CacheResult.HIT));
+            assertEquals(threads * requests, histogram.getCount());
+            assertEquals(1000, histogram.getPercentile(99));
+            assertTrue(stats.getHTMLStats().contains("layer / EPSG:4326"));
+        } finally {
+            stats.destroy();
+        }
+    }
+
+    @Test
+    public void testLatencyNotTrackedForOther() {
+        RuntimeStats stats = new RuntimeStats(1, Arrays.asList(60), Arrays.asList("Minutes"));
+        stats.start();
+        try {
+            stats.logLatency("layer", "EPSG:4326", CacheResult.OTHER, 1_000_000);
+            assertTrue(stats.getLatencies().isEmpty());
+        } finally {
+            stats.destroy();
+        }
+    }
 }
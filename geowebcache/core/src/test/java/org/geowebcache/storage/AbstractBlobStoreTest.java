@@ -34,8 +34,10 @@
 import static org.hamcrest.Matchers.nullValue;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import org.easymock.Capture;
@@ -180,6 +182,41 @@ public void testStoreTilesInMultipleLayers() throws Exception {
                 hasProperty("blob", resource(new ByteArrayResource("7,8,9,10 test".getBytes(StandardCharsets.UTF_8)))));
     }
 
+    @Test
+    public void testPutAllGetAll() throws Exception {
+        List<TileObject> toCache = new ArrayList<>();
+        for (String layer : Arrays.asList("testLayer1", "testLayer2")) {
+            for (long x = 0; x < 2; x++) {
+                toCache.add(TileObject.createCompleteTileObject(
+                        layer,
+                        new long[] {x, 0L, 1L},
+                        "testGridSet",
+                        "image/png",
+                        null,
+                        new ByteArrayResource((layer + " " + x).getBytes(StandardCharsets.UTF_8))));
+            }
+        }
+        store.putAll(toCache);
+
+        List<TileObject> fromCache = new ArrayList<>();
+        for (TileObject tile : toCache) {
+            fromCache.add(TileObject.createQueryTileObject(
+                    tile.getLayerName(), tile.getXYZ(), "testGridSet", "image/png", null));
+        }
+        TileObject missing = TileObject.createQueryTileObject(
+                "testLayer1", new long[] {1L, 1L, 1L}, "testGridSet", "image/png", null);
+        List<TileObject> query = new ArrayList<>(fromCache);
+        query.add(1, missing);
+
+        assertThat(store.getAll(query), equalTo(fromCache));
+        for (TileObject tile : fromCache) {
+            String expected = tile.getLayerName() + " " + tile.getXYZ()[0];
+            assertThat(
+                    tile,
+                    hasProperty("blob", resource(new ByteArrayResource(expected.getBytes(StandardCharsets.UTF_8)))));
+        }
+    }
+
     @Test
     public void testDeleteTile() throws Exception {
         BlobStoreListener listener = EasyMock.createNiceMock(BlobStoreListener.class);
@@ -0,0 +1,174 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.easymock.EasyMock;
+import org.geowebcache.mime.ImageMime;
+import org.junit.After;
+import org.junit.Test;
+
+public class ListingTruncatorTest {
+
+    private static final String PREFIX = "prefix/layer/EPSG:4326/png/default/";
+
+    private ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    /** Stores the objects in a sorted map, as object stores list them in key order */
+    private Map<String, Long> objects = new ConcurrentSkipListMap<>();
+
+    private List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    private ListingTruncator truncator = new ListingTruncator(executor, 2, 2) {
+
+        @Override
+        protected Stream<StoredObject> list(String prefix) {
+            return objects.entrySet().stream()
+                    .filter(e -> e.getKey().startsWith(prefix))
+                    .map(e -> new StoredObject(e.getKey(), e.getValue()));
+        }
+
+        @Override
+        protected void delete(List<String> keys) {
+            batchSizes.add(keys.size());
+            keys.forEach(objects::remove);
+        }
+    };
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void seed(int z, long x, long y) {
+        objects.put(PREFIX + z + "/" + x + "/" + y + ".png", 100L * z + 10 * x + y);
+    }
+
+    private TileRange range(int zoomStart, int zoomStop, long[][] bounds) {
+        return new TileRange("layer", "EPSG:4326", zoomStart, zoomStop, bounds, ImageMime.png, null);
+    }
+
+    @Test
+    public void testParseLocation() {
+        assertThat(ListingTruncator.parseLocation(PREFIX + "3/5/7.png", PREFIX, ".png"), equalTo(new long[] {5, 7, 3}));
+        assertThat(ListingTruncator.parseLocation(PREFIX + "3/5/7.jpeg", PREFIX, ".png"), nullValue());
+        assertThat(ListingTruncator.parseLocation(PREFIX + "3/7.png", PREFIX, ".png"), nullValue());
+        assertThat(ListingTruncator.parseLocation(PREFIX + "3/a/7.png", PREFIX, ".png"), nullValue());
+        assertThat(ListingTruncator.parseLocation("other/3/5/7.png", PREFIX, ".png"), nullValue());
+    }
+
+    @Test
+    public void testPrefixes() {
+        long wide = ListingTruncator.MAX_COLUMN_PREFIXES;
+        TileRange range = range(1, 2, new long[][] {{0, 0, 1, 1, 1}, {0, 0, wide, 0, 2}});
+        // the highest zoom level first, the narrow one by column
+        assertThat(ListingTruncator.prefixes(range, PREFIX), contains(PREFIX + "2/", PREFIX + "1/0/", PREFIX + "1/1/"));
+    }
+
+    @Test
+    public void testTruncate() throws Exception {
+        for (int z = 0; z <= 2; z++) {
+            long max = (1 << z) - 1;
+            for (long x = 0; x <= max; x++) {
+                for (long y = 0; y <= max; y++) {
+                    seed(z, x, y);
+                }
+            }
+        }
+        // tiles of another format are left alone
+        objects.put(PREFIX + "1/0/0.jpeg", 1L);
+
+        BlobStoreListener listener = EasyMock.createMock(BlobStoreListener.class);
+        listener.tileDeleted("layer", "EPSG:4326", "image/png", null, 0, 0, 1, 100L);
+        listener.tileDeleted("layer", "EPSG:4326", "image/png", null, 1, 0, 1, 110L);
+        listener.tileDeleted("layer", "EPSG:4326", "image/png", null, 0, 1, 1, 101L);
+        listener.tileDeleted("layer", "EPSG:4326", "image/png", null, 1, 2, 2, 212L);
+        listener.tileDeleted("layer", "EPSG:4326", "image/png", null, 1, 3, 2, 213L);
+        EasyMock.replay(listener);
+        BlobStoreListenerList listeners = new BlobStoreListenerList();
+        listeners.addListener(listener);
+
+        // a masked range, leaving out the 1/1/1 tile
+        TileRange range =
+                new TileRange(
+                        "layer",
+                        "EPSG:4326",
+                        1,
+                        2,
+                        new long[][] {{0, 0, 1, 1, 1}, {1, 2, 1, 3, 2}},
+                        ImageMime.png,
+                        null) {
+                    @Override
+                    public boolean contains(long x, long y, int z) {
+                        return super.contains(x, y, z) && !(x == 1 && y == 1 && z == 1);
+                    }
+                };
+
+        assertThat(truncator.truncate(range, PREFIX, listeners), equalTo(5L));
+        EasyMock.verify(listener);
+        assertThat(batchSizes, everyItem(lessThanOrEqualTo(2)));
+        assertThat(objects.size(), equalTo(1 + 4 + 16 - 5 + 1));
+        assertThat(objects.containsKey(PREFIX + "1/1/1.png"), equalTo(true));
+        assertThat(objects.containsKey(PREFIX + "2/1/1.png"), equalTo(true));
+        assertThat(objects.containsKey(PREFIX + "1/0/0.png"), equalTo(false));
+    }
+
+    @Test
+    public void testTruncateWideRange() throws Exception {
+        long wide = 2L * ListingTruncator.MAX_COLUMN_PREFIXES;
+        for (long x = 0; x < wide; x += 16) {
+            seed(10, x, 0);
+        }
+        seed(10, 0, 1);
+        TileRange range = range(10, 10, new long[][] {{0, 0, wide, 0, 10}});
+
+        assertThat(truncator.truncate(range, PREFIX, new BlobStoreListenerList()), equalTo(wide / 16));
+        assertThat(objects.keySet(), contains(PREFIX + "10/0/1.png"));
+    }
+
+    @Test
+    public void testFailure() {
+        ListingTruncator failing = new ListingTruncator(executor, 2, 2) {
+
+            @Override
+            protected Stream<StoredObject> list(String prefix) {
+                return Stream.of(new StoredObject(prefix + "0.png", 1));
+            }
+
+            @Override
+            protected void delete(List<String> keys) throws StorageException {
+                throw new StorageException("failed");
+            }
+        };
+        TileRange range = range(0, 0, new long[][] {{0, 0, 0, 0, 0}});
+        StorageException e = assertThrows(
+                StorageException.class, () -> failing.truncate(range, PREFIX, new BlobStoreListenerList()));
+        assertThat(e.getMessage(), equalTo("failed"));
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.geowebcache.mime.MimeType;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PartitionedTileRangeIteratorTest {
+
+    private MimeType mimeType;
+
+    private long[][] coverages;
+
+    @Before
+    public void setUp() throws Exception {
+        mimeType = MimeType.createFromFormat("image/png");
+        coverages = new long[10][];
+        for (int z = 0; z < coverages.length; z++) {
+            long max = (1L << z) - 1;
+            coverages[z] = new long[] {0, 0, max, max, z};
+        }
+        // an offset, non square level
+        coverages[9] = new long[] {37, 11, 300, 140, 9};
+    }
+
+    @Test
+    public void testSingleWorker() throws Exception {
+        TileRange tr = new TileRange("layer", "gridset", 0, 9, coverages, mimeType, null);
+        assertSameLocations(tr, new int[] {1, 1}, 1);
+    }
+
+    @Test
+    public void testMultipleWorkers() throws Exception {
+        TileRange tr = new TileRange("layer", "gridset", 0, 9, coverages, mimeType, null);
+        assertSameLocations(tr, new int[] {1, 1}, 16);
+    }
+
+    @Test
+    public void testMultipleWorkersMetaTiling() throws Exception {
+        TileRange tr = new TileRange("layer", "gridset", 0, 9, coverages, mimeType, null);
+        assertSameLocations(tr, new int[] {3, 2}, 7);
+    }
+
+    @Test
+    public void testMoreWorkersThanChunks() throws Exception {
+        TileRange tr = new TileRange("layer", "gridset", 0, 2, coverages, mimeType, null);
+        assertSameLocations(tr, new int[] {1, 1}, 32);
+    }
+
+    @Test
+    public void testDiscontinuousTileRange() throws Exception {
+        TileRangeMask mask = new TileRangeMask() {
+            @Override
+            public long[][] getGridCoverages() {
+                return coverages;
+            }
+
+            @Override
+            public boolean lookup(long x, long y, int z) {
+                // a diagonal band
+                return Math.abs(x - y) < 3;
+            }
+        };
+        TileRange tr = new DiscontinuousTileRange("layer", "gridset", 0, 8, mask, mimeType, null);
+        assertSameLocations(tr, new int[] {2, 2}, 8);
+    }
+
+    @Test
+    public void testChunksAreSpatiallyGrouped() throws Exception {
+        TileRange tr = new TileRange("layer", "gridset", 8, 8, coverages, mimeType, null);
+        TileRangeIterator iterator = new PartitionedTileRangeIterator(tr, new int[] {1, 1}, 1).getWorkerIterator(0);
+        List<long[]> locations = new ArrayList<>();
+        long[] gridLoc = new long[3];
+        while ((gridLoc = iterator.nextMetaGridLocation(gridLoc)) != null) {
+            locations.add(gridLoc.clone());
+        }
+        assertEquals(256 * 256, locations.size());
+        // every run of LEAF_SIZE^2 locations stays within a single leaf chunk
+        final int leafSize = PartitionedTileRangeIterator.LEAF_SIZE;
+        for (int i = 0; i < locations.size(); i += leafSize * leafSize) {
+            long[] first = locations.get(i);
+            for (int j = i; j < i + leafSize * leafSize; j++) {
+                long[] loc = locations.get(j);
+                assertEquals(first[0] / leafSize, loc[0] / leafSize);
+                assertEquals(first[1] / leafSize, loc[1] / leafSize);
+            }
+        }
+    }
+
+    /** Checks the workers visit the same meta tiles as the plain iterator, and each one only once */
+    private void assertSameLocations(TileRange tr, int[] metaTilingFactors, int workers) throws Exception {
+        Set<List<Long>> expected = new HashSet<>();
+        TileRangeIterator plain = new TileRangeIterator(tr, metaTilingFactors);
+        long[] gridLoc = new long[3];
+        while ((gridLoc = plain.nextMetaGridLocation(gridLoc)) != null) {
+            expected.add(Arrays.asList(gridLoc[0], gridLoc[1], gridLoc[2]));
+        }
+
+        PartitionedTileRangeIterator partitioned = new PartitionedTileRangeIterator(tr, metaTilingFactors, workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<List<List<Long>>>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                TileRangeIterator iterator = partitioned.getWorkerIterator(i);
+                futures.add(executor.submit(() -> {
+                    List<List<Long>> visited = new ArrayList<>();
+                    long[] loc = new long[3];
+                    while ((loc = iterator.nextMetaGridLocation(loc)) != null) {
+                        visited.add(Arrays.asList(loc[0], loc[1], loc[2]));
+                    }
+                    return visited;
+                }));
+            }
+            Set<List<Long>> actual = new HashSet<>();
+            long total = 0;
+            for (Future<List<List<Long>>> future : futures) {
+                List<List<Long>> visited = future.get();
+                actual.addAll(visited);
+                total += visited.size();
+            }
+            assertFalse(expected.isEmpty());
+            assertEquals("some meta tiles were visited more than once", actual.size(), total);
+            assertEquals(expected, actual);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
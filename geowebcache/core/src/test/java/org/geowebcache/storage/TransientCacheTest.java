@@ -16,6 +16,7 @@
 package org.geowebcache.storage;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -23,8 +24,15 @@
 
 import com.google.common.base.Ticker;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.io.ByteBufferResource;
 import org.geowebcache.io.Resource;
+import org.geowebcache.storage.blobstore.memory.CacheStatistics;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -143,6 +151,86 @@ public void testRemoveWhenMaxSpace() throws Exception {
         assertThat(result2, notNullValue()); // Should still be cached
     }
 
+    @Test
+    public void testStatistics() throws Exception {
+        transCache.put("foo", new ByteArrayResource(new byte[] {1, 2, 3}));
+        transCache.put("bar", new ByteArrayResource(new byte[] {1, 2}));
+
+        assertThat(transCache.get("foo"), notNullValue());
+        assertThat(transCache.get("foo"), nullValue());
+        assertThat(transCache.get("baz"), nullValue());
+
+        CacheStatistics stats = transCache.getStatistics();
+        assertThat(stats.getHitCount(), is(1L));
+        assertThat(stats.getMissCount(), is(2L));
+        assertThat(stats.getRequestCount(), is(3L));
+        assertThat(stats.getEvictionCount(), is(0L));
+        assertThat(stats.getActualSize(), is(2L));
+        assertThat(stats.getTotalSize(), is((long) MAX_SPACE_KiB * 1024));
+
+        for (int i = 0; i < MAX_TILES; i++) {
+            transCache.put("foo" + i, new ByteArrayResource(new byte[] {1}));
+        }
+        assertThat(transCache.getStatistics().getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void testOffHeap() throws Exception {
+        transCache = new TransientCache(MAX_TILES, MAX_SPACE_KiB, EXPIRE_TIME, true);
+        transCache.setTicker(ticker);
+        ByteArrayResource r = new ByteArrayResource(new byte[] {1, 2, 3});
+
+        transCache.put("foo", r);
+        // the cache keeps a copy, the original resource can be reused
+        r.truncate();
+        assertThat(transCache.storageSize(), is(3L));
+
+        Resource result = transCache.get("foo");
+        assertThat(result, instanceOf(ByteBufferResource.class));
+        assertThat(result.getSize(), is(3L));
+        try (InputStream is = result.getInputStream()) {
+            assertThat(is.read(), equalTo(1));
+            assertThat(is.read(), equalTo(2));
+            assertThat(is.read(), equalTo(3));
+            assertThat(is.read(), equalTo(-1));
+        }
+        assertThat(transCache.storageSize(), is(0L));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        transCache = new TransientCache(1000, 1024, EXPIRE_TIME);
+        transCache.setTicker(ticker);
+        final int threads = 8;
+        final int tilesPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                results.add(executor.submit(() -> {
+                    int found = 0;
+                    for (int i = 0; i < tilesPerThread; i++) {
+                        String key = thread + "_" + i;
+                        transCache.put(key, new ByteArrayResource(new byte[] {(byte) i}));
+                        if (transCache.get(key) != null) {
+                            found++;
+                        }
+                    }
+                    return found;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertThat(result.get(), is(tilesPerThread));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(transCache.size(), is(0));
+        assertThat(transCache.storageSize(), is(0L));
+        assertThat(transCache.getStatistics().getHitCount(), is((long) threads * tilesPerThread));
+    }
+
     private static class TestTicker extends Ticker {
         long time;
 
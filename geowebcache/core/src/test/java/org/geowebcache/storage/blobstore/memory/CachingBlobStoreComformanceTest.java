@@ -0,0 +1,167 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.memory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.geowebcache.config.BlobStoreCacheInfo;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.storage.AbstractBlobStoreTest;
+import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileObject;
+import org.geowebcache.storage.blobstore.file.FileBlobStore;
+import org.geowebcache.storage.blobstore.memory.guava.GuavaCacheProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CachingBlobStoreComformanceTest extends AbstractBlobStoreTest<CachingBlobStore> {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private String diskDirectory;
+
+    @Override
+    public void createTestUnit() throws Exception {
+        diskDirectory = temp.newFolder("disk").getAbsolutePath();
+        BlobStoreCacheInfo config = new BlobStoreCacheInfo();
+        config.setDiskDirectory(diskDirectory);
+        this.store =
+                new CachingBlobStore(new FileBlobStore(temp.newFolder("remote").getAbsolutePath()), config);
+    }
+
+    private TileObject tile(String contents) {
+        return TileObject.createCompleteTileObject(
+                "testLayer",
+                new long[] {0L, 0L, 0L},
+                "testGridSet",
+                "image/png",
+                null,
+                new ByteArrayResource(contents.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String get(CachingBlobStore store) throws Exception {
+        TileObject fromCache = TileObject.createQueryTileObject(
+                "testLayer", new long[] {0L, 0L, 0L}, "testGridSet", "image/png", null);
+        assertThat(store.get(fromCache), is(true));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        fromCache.getBlob().transferTo(Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8.name());
+    }
+
+    @Test
+    public void testTierStatistics() throws Exception {
+        store.put(tile("first"));
+        assertThat(get(store), equalTo("first"));
+        assertThat(get(store), equalTo("first"));
+        CachingBlobStore.Statistics statistics = store.getStatistics();
+        assertThat(statistics.getStoreHits(), equalTo(1L));
+        assertThat(statistics.getMemoryHits(), equalTo(1L));
+
+        // a put invalidates the cached copies
+        store.put(tile("second"));
+        assertThat(get(store), equalTo("second"));
+        assertThat(statistics.getStoreHits(), equalTo(2L));
+        assertThat(statistics.getRequestCount(), equalTo(3L));
+        assertThat(statistics.getHitRate(), equalTo(1 / 3d));
+
+        // a new cache on the same disk directory starts with the disk tier filled
+        BlobStoreCacheInfo config = new BlobStoreCacheInfo();
+        config.setDiskDirectory(diskDirectory);
+        CachingBlobStore other = new CachingBlobStore(store.getStore(), config);
+        assertThat(get(other), equalTo("second"));
+        assertThat(other.getStatistics().getDiskHits(), equalTo(1L));
+        assertThat(other.getStatistics().getStoreHits(), equalTo(0L));
+        assertThat(get(other), equalTo("second"));
+        assertThat(other.getStatistics().getMemoryHits(), equalTo(1L));
+    }
+
+    @Test
+    public void testNotModifiedIsNotCached() throws Exception {
+        // a remote store answering conditional requests
+        FileBlobStore remote = new FileBlobStore(temp.newFolder("conditional").getAbsolutePath()) {
+            @Override
+            public boolean get(TileObject obj) throws StorageException {
+                if (!super.get(obj)) {
+                    return false;
+                }
+                if (obj.getValidatorTimestamp() >= obj.getCreated()) {
+                    obj.setNotModified();
+                }
+                return true;
+            }
+        };
+        CachingBlobStore store = new CachingBlobStore(remote, new BlobStoreCacheInfo());
+        store.put(tile("contents"));
+
+        TileObject conditional = TileObject.createQueryTileObject(
+                "testLayer", new long[] {0L, 0L, 0L}, "testGridSet", "image/png", null);
+        conditional.setValidators(System.currentTimeMillis() + 1000, -1);
+        assertThat(store.get(conditional), is(true));
+        assertThat(conditional.isNotModified(), is(true));
+        assertThat(conditional.getBlob(), nullValue());
+        assertThat(conditional.getCreated(), equalTo(conditional.getIfModifiedSince()));
+
+        // the contents are fetched, and cached, by the next unconditional request
+        assertThat(get(store), equalTo("contents"));
+        assertThat(store.getStatistics().getStoreHits(), equalTo(2L));
+        assertThat(get(store), equalTo("contents"));
+        assertThat(store.getStatistics().getMemoryHits(), equalTo(1L));
+    }
+
+    @Test
+    public void testPutDuringReadIsNotCached() throws Exception {
+        FileBlobStore remote = new FileBlobStore(temp.newFolder("racing").getAbsolutePath());
+        FileBlobStore disk = new FileBlobStore(temp.newFolder("racingDisk").getAbsolutePath());
+        CachingBlobStore[] holder = new CachingBlobStore[1];
+        // the read gets slow right before caching the tile, and a put of a new version completes meanwhile
+        GuavaCacheProvider memory = new GuavaCacheProvider(new CacheConfiguration()) {
+            boolean racing = true;
+
+            @Override
+            public void putTileObj(TileObject obj) {
+                if (racing) {
+                    racing = false;
+                    try {
+                        holder[0].put(tile("second"));
+                    } catch (StorageException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                super.putTileObj(obj);
+            }
+        };
+        CachingBlobStore store = new CachingBlobStore(remote, memory, disk);
+        holder[0] = store;
+        remote.put(tile("first"));
+
+        // the read started before the put, it can return the old version but must not keep it
+        assertThat(get(store), equalTo("first"));
+        assertThat(get(store), equalTo("second"));
+        assertThat(store.getStatistics().getMemoryHits(), equalTo(0L));
+        assertThat(get(store), equalTo("second"));
+        assertThat(store.getStatistics().getMemoryHits(), equalTo(1L));
+        // nor on disk
+        assertThat(
+                get(new CachingBlobStore(remote, new GuavaCacheProvider(new CacheConfiguration()), disk)),
+                equalTo("second"));
+    }
+}
@@ -23,7 +23,15 @@
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.io.FileUtils;
@@ -33,6 +41,7 @@
 import org.geowebcache.io.Resource;
 import org.geowebcache.storage.BlobStore;
 import org.geowebcache.storage.StorageBrokerTest;
+import org.geowebcache.storage.StorageException;
 import org.geowebcache.storage.TileObject;
 import org.geowebcache.storage.blobstore.file.FileBlobStore;
 import org.geowebcache.storage.blobstore.memory.guava.GuavaCacheProvider;
@@ -260,6 +269,105 @@ public void testLastModifiedFromFilesystem() throws Exception {
         assertEquals(to2.getCreated(), to3.getCreated());
     }
 
+    @Test
+    public void testParallelMisses() throws Exception {
+        // the wrapped store only answers once both reads are running
+        CyclicBarrier bothReading = new CyclicBarrier(2);
+        nbs = new NullBlobStore() {
+            @Override
+            public boolean get(TileObject obj) throws StorageException {
+                try {
+                    bothReading.await(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    return false;
+                }
+                obj.setBlob(new ByteArrayResource("test".getBytes()));
+                return true;
+            }
+        };
+        mbs = new MemoryBlobStore();
+        mbs.setStore(nbs);
+        mbs.setCacheProvider(cache);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = executor.submit(() -> mbs.get(queryTile(1L)));
+            Future<Boolean> second = executor.submit(() -> mbs.get(queryTile(2L)));
+            assertTrue(first.get());
+            assertTrue(second.get());
+        } finally {
+            executor.shutdown();
+        }
+        // the tile keys are not retained once their operations are done
+        assertEquals(0, mbs.sequencer.getPendingKeys());
+    }
+
+    @Test
+    public void testWriteBehind() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> written = new CopyOnWriteArrayList<>();
+        nbs = new NullBlobStore() {
+            @Override
+            public void put(TileObject obj) throws StorageException {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                    try (InputStream is = obj.getBlob().getInputStream()) {
+                        written.add(IOUtils.toString(is, "UTF-8"));
+                    }
+                } catch (InterruptedException | IOException e) {
+                    throw new StorageException(e.getMessage(), e);
+                }
+            }
+        };
+        mbs = new MemoryBlobStore();
+        mbs.setStore(nbs);
+        mbs.setCacheProvider(cache);
+        mbs.setWriteBehind(true);
+
+        mbs.put(tile(1L, "first"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        // the first write is running, the second is queued and the third replaces it
+        mbs.put(tile(1L, "second"));
+        mbs.put(tile(1L, "third"));
+
+        // served from the cache meanwhile
+        TileObject query = queryTile(1L);
+        assertTrue(mbs.get(query));
+        try (InputStream is = query.getBlob().getInputStream()) {
+            assertEquals("third", IOUtils.toString(is, "UTF-8"));
+        }
+
+        release.countDown();
+        // destroy flushes the queue
+        TileTaskSequencer sequencer = mbs.sequencer;
+        mbs.destroy();
+        mbs = null;
+        assertEquals(List.of("first", "third"), written);
+        // and the tile key is released once its writes are done
+        long timeout = System.currentTimeMillis() + 5000;
+        while (sequencer.getPendingKeys() > 0) {
+            assertTrue("Timed out releasing the tile key", System.currentTimeMillis() < timeout);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxPendingWrites() {
+        new MemoryBlobStore().setMaxPendingWrites(0);
+    }
+
+    private TileObject tile(long x, String contents) {
+        Resource blob = new ByteArrayResource(contents.getBytes());
+        long[] xyz = {x, 0L, 1L};
+        return TileObject.createCompleteTileObject("test", xyz, "EPSG:4326", "image/png", null, blob);
+    }
+
+    private TileObject queryTile(long x) {
+        return TileObject.createQueryTileObject("test", new long[] {x, 0L, 1L}, "EPSG:4326", "image/png", null);
+    }
+
     /**
      * * Private method for creating a {@link FileBlobStore}
      *
@@ -45,6 +45,13 @@ public void testStoreTilesInMultipleLayers() throws Exception {
         super.testStoreTilesInMultipleLayers();
     }
 
+    @Override
+    @Ignore
+    @Test
+    public void testPutAllGetAll() throws Exception {
+        super.testPutAllGetAll();
+    }
+
     @Override
     @Ignore
     @Test
@@ -0,0 +1,184 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.memory.offheap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.io.Resource;
+import org.geowebcache.storage.TileObject;
+import org.geowebcache.storage.blobstore.memory.CacheConfiguration;
+import org.geowebcache.storage.blobstore.memory.CacheStatistics;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OffHeapCacheProviderTest {
+
+    private OffHeapCacheProvider cache;
+
+    @Before
+    public void setUp() {
+        CacheConfiguration config = new CacheConfiguration();
+        config.setHardMemoryLimit(1);
+        cache = new OffHeapCacheProvider(config);
+    }
+
+    private TileObject tile(String layer, long x, Map<String, String> parameters, byte[] data) {
+        ByteArrayResource blob = new ByteArrayResource(data);
+        blob.setLastModified(1000 + x);
+        long[] xyz = {x, 0, 10};
+        return TileObject.createCompleteTileObject(layer, xyz, "EPSG:4326", "image/png", parameters, blob);
+    }
+
+    private TileObject query(String layer, long x, Map<String, String> parameters) {
+        return TileObject.createQueryTileObject(layer, new long[] {x, 0, 10}, "EPSG:4326", "image/png", parameters);
+    }
+
+    private byte[] data(int length, int seed) {
+        byte[] data = new byte[length];
+        Arrays.fill(data, (byte) seed);
+        return data;
+    }
+
+    private byte[] contents(Resource resource) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        resource.transferTo(Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testPutGet() throws Exception {
+        byte[] data = {1, 2, 3};
+        Map<String, String> parameters = Collections.singletonMap("STYLES", "red");
+        cache.putTileObj(tile("layer", 1, parameters, data));
+
+        TileObject cached = cache.getTileObj(query("layer", 1, parameters));
+        assertNotNull(cached);
+        assertArrayEquals(data, contents(cached.getBlob()));
+        assertEquals(3, cached.getBlob().getInputStream().available());
+        assertEquals(1001, cached.getBlob().getLastModified());
+
+        assertNull(cache.getTileObj(query("layer", 1, null)));
+        assertNull(cache.getTileObj(query("layer", 2, parameters)));
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(3, statistics.getActualSize());
+        assertEquals(1024 * 1024, statistics.getTotalSize());
+
+        // replaced
+        byte[] other = {4, 5};
+        cache.putTileObj(tile("layer", 1, parameters, other));
+        assertArrayEquals(
+                other, contents(cache.getTileObj(query("layer", 1, parameters)).getBlob()));
+        // the previous view is still readable
+        assertArrayEquals(data, contents(cached.getBlob()));
+
+        cache.removeTileObj(query("layer", 1, parameters));
+        assertNull(cache.getTileObj(query("layer", 1, parameters)));
+    }
+
+    @Test
+    public void testEvictionKeepsViews() throws Exception {
+        // a single page, for a single size class
+        int length = 100 * 1024;
+        cache.putTileObj(tile("layer", 0, null, data(length, 0)));
+        TileObject pinned = cache.getTileObj(query("layer", 0, null));
+        for (int x = 1; x < 50; x++) {
+            cache.putTileObj(tile("layer", x, null, data(length, x)));
+        }
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertTrue(statistics.getEvictionCount() > 0);
+        assertTrue(statistics.getActualSize() <= statistics.getTotalSize());
+        assertNull(cache.getTileObj(query("layer", 0, null)));
+        assertArrayEquals(
+                data(length, 49),
+                contents(cache.getTileObj(query("layer", 49, null)).getBlob()));
+        // the chunk of the evicted tile was not reused while being read
+        assertArrayEquals(data(length, 0), contents(pinned.getBlob()));
+    }
+
+    @Test
+    public void testTileLargerThanPage() {
+        cache.putTileObj(tile("layer", 1, null, new byte[OffHeapCacheProvider.PAGE_SIZE + 1]));
+        assertNull(cache.getTileObj(query("layer", 1, null)));
+        assertEquals(0, cache.getStatistics().getActualSize());
+    }
+
+    @Test
+    public void testRemoveLayer() {
+        cache.putTileObj(tile("a", 1, null, data(10, 1)));
+        cache.putTileObj(tile("b", 1, null, data(10, 1)));
+        cache.removeLayer("a");
+
+        assertNull(cache.getTileObj(query("a", 1, null)));
+        assertNotNull(cache.getTileObj(query("b", 1, null)));
+    }
+
+    @Test
+    public void testClassWithoutPagesTakesColdestPage() throws Exception {
+        // the only page is assigned to the class of the small tiles
+        cache.putTileObj(tile("layer", 1, null, data(100, 1)));
+        cache.putTileObj(tile("layer", 2, null, data(100, 2)));
+        // the class of the larger tile has no page, it takes that one back
+        int length = 100 * 1024;
+        cache.putTileObj(tile("layer", 3, null, data(length, 3)));
+
+        assertNull(cache.getTileObj(query("layer", 1, null)));
+        assertNull(cache.getTileObj(query("layer", 2, null)));
+        assertArrayEquals(
+                data(length, 3),
+                contents(cache.getTileObj(query("layer", 3, null)).getBlob()));
+        assertEquals(2, cache.getStatistics().getEvictionCount());
+        assertEquals(length, cache.getStatistics().getActualSize());
+    }
+
+    @Test
+    public void testTakenPageKeepsViews() throws Exception {
+        cache.putTileObj(tile("layer", 1, null, data(100, 1)));
+        TileObject pinned = cache.getTileObj(query("layer", 1, null));
+        // the page is taken back, but cannot be reused while the evicted tile is read
+        cache.putTileObj(tile("layer", 2, null, data(100 * 1024, 2)));
+
+        assertNull(cache.getTileObj(query("layer", 1, null)));
+        assertNull(cache.getTileObj(query("layer", 2, null)));
+        assertArrayEquals(data(100, 1), contents(pinned.getBlob()));
+    }
+
+    @Test
+    public void testFragmentation() {
+        assertEquals(0, cache.getStatistics().getFragmentation(), 0d);
+        // 300 bytes stored in the only page, assigned to the second size class
+        cache.putTileObj(tile("layer", 1, null, data(300, 1)));
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(300, statistics.getActualSize());
+        int pageSize = OffHeapCacheProvider.PAGE_SIZE;
+        assertEquals((pageSize - 300) * 100d / pageSize, statistics.getFragmentation(), 1e-9);
+
+        // the page stays assigned to the class
+        cache.clear();
+        assertEquals(100, cache.getStatistics().getFragmentation(), 0d);
+    }
+}
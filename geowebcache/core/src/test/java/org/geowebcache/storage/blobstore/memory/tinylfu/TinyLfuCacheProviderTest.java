@@ -0,0 +1,164 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.memory.tinylfu;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.storage.TileObject;
+import org.geowebcache.storage.blobstore.memory.CacheConfiguration;
+import org.geowebcache.storage.blobstore.memory.CacheStatistics;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TinyLfuCacheProviderTest {
+
+    private static final int TILE_SIZE = 10 * 1024;
+
+    private TinyLfuCacheProvider cache;
+
+    @Before
+    public void setUp() {
+        CacheConfiguration config = new CacheConfiguration();
+        config.setHardMemoryLimit(1);
+        config.setConcurrencyLevel(1);
+        cache = new TinyLfuCacheProvider(config);
+    }
+
+    private TileObject tile(String layer, long x, Map<String, String> parameters, byte[] data) {
+        ByteArrayResource blob = new ByteArrayResource(data);
+        blob.setLastModified(1000 + x);
+        long[] xyz = {x, 0, 10};
+        return TileObject.createCompleteTileObject(layer, xyz, "EPSG:4326", "image/png", parameters, blob);
+    }
+
+    private TileObject query(String layer, long x, Map<String, String> parameters) {
+        return TileObject.createQueryTileObject(layer, new long[] {x, 0, 10}, "EPSG:4326", "image/png", parameters);
+    }
+
+    private void put(String layer, long x) {
+        cache.putTileObj(tile(layer, x, null, new byte[TILE_SIZE]));
+    }
+
+    private boolean get(String layer, long x) {
+        return cache.getTileObj(query(layer, x, null)) != null;
+    }
+
+    @Test
+    public void testPutGet() throws Exception {
+        byte[] data = {1, 2, 3};
+        Map<String, String> parameters = Collections.singletonMap("STYLES", "red");
+        cache.putTileObj(tile("layer", 1, parameters, data));
+
+        TileObject cached = cache.getTileObj(query("layer", 1, parameters));
+        assertNotNull(cached);
+        assertArrayEquals(data, ((ByteArrayResource) cached.getBlob()).getContents());
+        assertEquals(1001, cached.getBlob().getLastModified());
+
+        // other parameters, coordinates, layer
+        assertNull(cache.getTileObj(query("layer", 1, Collections.singletonMap("STYLES", "blue"))));
+        assertNull(cache.getTileObj(query("layer", 1, null)));
+        assertNull(cache.getTileObj(query("layer", 2, parameters)));
+        assertNull(cache.getTileObj(query("other", 1, parameters)));
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(4, statistics.getMissCount());
+        assertEquals(3, statistics.getActualSize());
+
+        cache.removeTileObj(query("layer", 1, parameters));
+        assertNull(cache.getTileObj(query("layer", 1, parameters)));
+        assertEquals(0, cache.getStatistics().getActualSize());
+    }
+
+    @Test
+    public void testRemoveLayer() {
+        put("a", 1);
+        put("b", 1);
+        cache.removeLayer("a");
+
+        assertNull(cache.getTileObj(query("a", 1, null)));
+        assertTrue(get("b", 1));
+
+        // cached again after the removal
+        put("a", 1);
+        assertTrue(get("a", 1));
+    }
+
+    @Test
+    public void testUncachedLayer() {
+        cache.addUncachedLayer("a");
+        put("a", 1);
+        assertNull(cache.getTileObj(query("a", 1, null)));
+        assertTrue(cache.containsUncachedLayer("a"));
+    }
+
+    @Test
+    public void testScanResistance() {
+        int hot = 20;
+        for (int x = 0; x < hot; x++) {
+            get("layer", x);
+            put("layer", x);
+        }
+        for (int i = 0; i < 5; i++) {
+            for (int x = 0; x < hot; x++) {
+                get("layer", x);
+            }
+        }
+
+        // read once tiles, ten times the cache size, as the blob store does on misses
+        for (int x = hot; x < hot + 1000; x++) {
+            get("layer", x);
+            put("layer", x);
+        }
+
+        int hits = 0;
+        for (int x = 0; x < hot; x++) {
+            if (get("layer", x)) {
+                hits++;
+            }
+        }
+        // only the tile in the admission window, if any, may have been evicted
+        assertTrue("Hot tiles cached: " + hits, hits >= hot - 1);
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertTrue(statistics.getActualSize() <= statistics.getTotalSize());
+        assertTrue(statistics.getEvictionCount() > 0);
+    }
+
+    @Test
+    public void testTileLargerThanCache() {
+        cache.putTileObj(tile("layer", 1, null, new byte[2 * 1024 * 1024]));
+        assertNull(cache.getTileObj(query("layer", 1, null)));
+        assertEquals(0, cache.getStatistics().getActualSize());
+    }
+
+    @Test
+    public void testReset() {
+        put("layer", 1);
+        cache.reset();
+        assertNull(cache.getTileObj(query("layer", 1, null)));
+
+        CacheConfiguration config = new CacheConfiguration();
+        cache.configure(config);
+        put("layer", 1);
+        assertTrue(get("layer", 1));
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.io.FileResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ResponseUtilsSendfileTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Rule
+    public PropertyRule sendfileMinSize = PropertyRule.system(ResponseUtils.GWC_SENDFILE_MIN_SIZE);
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @Before
+    public void setUp() {
+        ResponseUtils.resetSendfileMinSize();
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+    }
+
+    @After
+    public void tearDown() {
+        ResponseUtils.resetSendfileMinSize();
+    }
+
+    private FileResource createTile(int size) throws IOException {
+        File file = temp.newFile();
+        Files.write(file.toPath(), new byte[size]);
+        return FileResource.readIfExists(file);
+    }
+
+    @Test
+    public void testSendfile() throws IOException {
+        FileResource resource = createTile(64 * 1024);
+        request.setAttribute(ResponseUtils.SENDFILE_SUPPORT, Boolean.TRUE);
+
+        assertTrue(ResponseUtils.sendfile(request, response, resource, resource.getSize()));
+        assertEquals(resource.getFile().getAbsolutePath(), request.getAttribute(ResponseUtils.SENDFILE_FILENAME));
+        assertEquals(0L, request.getAttribute(ResponseUtils.SENDFILE_START));
+        assertEquals(64L * 1024, request.getAttribute(ResponseUtils.SENDFILE_END));
+    }
+
+    @Test
+    public void testNotSupportedByContainer() throws IOException {
+        FileResource resource = createTile(64 * 1024);
+
+        assertFalse(ResponseUtils.sendfile(request, response, resource, resource.getSize()));
+        assertNull(request.getAttribute(ResponseUtils.SENDFILE_FILENAME));
+    }
+
+    @Test
+    public void testMinSize() throws IOException {
+        FileResource resource = createTile(1024);
+        request.setAttribute(ResponseUtils.SENDFILE_SUPPORT, Boolean.TRUE);
+
+        // below the default threshold
+        assertFalse(ResponseUtils.sendfile(request, response, resource, resource.getSize()));
+
+        sendfileMinSize.setValue("0");
+        ResponseUtils.resetSendfileMinSize();
+        assertTrue(ResponseUtils.sendfile(request, response, resource, resource.getSize()));
+
+        // disabled
+        sendfileMinSize.setValue("-1");
+        ResponseUtils.resetSendfileMinSize();
+        assertFalse(ResponseUtils.sendfile(request, response, resource, resource.getSize()));
+    }
+
+    @Test
+    public void testNotAFile() throws IOException {
+        sendfileMinSize.setValue("0");
+        request.setAttribute(ResponseUtils.SENDFILE_SUPPORT, Boolean.TRUE);
+
+        assertFalse(ResponseUtils.sendfile(request, response, new ByteArrayResource(new byte[1024]), 1024));
+    }
+
+    @Test
+    public void testFileReplaced() throws IOException {
+        FileResource resource = createTile(64 * 1024);
+        request.setAttribute(ResponseUtils.SENDFILE_SUPPORT, Boolean.TRUE);
+
+        // the container would send the new file cut to the old size
+        File replacement = temp.newFile();
+        Files.write(replacement.toPath(), new byte[32 * 1024]);
+        Files.move(replacement.toPath(), resource.getFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+        assertFalse(ResponseUtils.sendfile(request, response, resource, resource.getSize()));
+        assertNull(request.getAttribute(ResponseUtils.SENDFILE_FILENAME));
+    }
+
+    @Test
+    public void testFileAttributesNotSnapshotted() throws IOException {
+        FileResource resource = new FileResource(createTile(64 * 1024).getFile());
+        request.setAttribute(ResponseUtils.SENDFILE_SUPPORT, Boolean.TRUE);
+
+        // may be rewritten in place, can't tell
+        assertFalse(ResponseUtils.sendfile(request, response, resource, resource.getSize()));
+    }
+
+    @Test
+    public void testFileAttributesReadOnce() throws IOException {
+        FileResource resource = createTile(1024);
+        long lastModified = resource.getLastModified();
+
+        // the attributes are a snapshot taken when the tile was looked up
+        Files.write(resource.getFile().toPath(), new byte[2048]);
+        assertEquals(1024, resource.getSize());
+        assertEquals(lastModified, resource.getLastModified());
+
+        assertNull(FileResource.readIfExists(new File(temp.getRoot(), "missing.png")));
+    }
+}
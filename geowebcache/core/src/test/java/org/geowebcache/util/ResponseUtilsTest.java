@@ -14,6 +14,8 @@
 package org.geowebcache.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -105,4 +107,17 @@ public void writeOutOfBoundsTile() throws GeoWebCacheException, RequestFilterExc
         assertEquals("image/png", response.getContentType());
         assertEquals("Zoom level was 10, but value has to be in [0,5]", response.getHeader("geowebcache-message"));
     }
+
+    @Test
+    public void acceptsGzip() {
+        assertTrue(ResponseUtils.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ResponseUtils.acceptsGzip("deflate;q=1.0, GZIP;q=0.5"));
+        assertTrue(ResponseUtils.acceptsGzip("x-gzip"));
+        assertTrue(ResponseUtils.acceptsGzip("*"));
+        assertFalse(ResponseUtils.acceptsGzip(null));
+        assertFalse(ResponseUtils.acceptsGzip("identity"));
+        assertFalse(ResponseUtils.acceptsGzip("gzip;q=0"));
+        assertFalse(ResponseUtils.acceptsGzip("*, gzip;q=0.0"));
+        assertFalse(ResponseUtils.acceptsGzip("gzip;q=x"));
+    }
 }
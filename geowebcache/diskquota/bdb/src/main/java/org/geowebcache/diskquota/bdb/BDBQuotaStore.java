@@ -47,7 +47,9 @@
 import org.apache.commons.io.FileUtils;
 import org.geotools.util.logging.Logging;
 import org.geowebcache.config.ConfigurationException;
+import org.geowebcache.diskquota.ExpirationPolicy;
 import org.geowebcache.diskquota.QuotaStore;
+import org.geowebcache.diskquota.storage.ExpirationCandidate;
 import org.geowebcache.diskquota.storage.PageStats;
 import org.geowebcache.diskquota.storage.PageStatsPayload;
 import org.geowebcache.diskquota.storage.PageStoreConfig;
@@ -775,33 +777,54 @@ public List<PageStats> call() throws Exception {
     public TilePage getLeastFrequentlyUsedPage(final Set<String> layerNames) throws InterruptedException {
 
         SecondaryIndex<Float, Long, PageStats> expirationPolicyIndex = pageStatsByLFU;
-        TilePage nextToExpire = issueSync(new FindPageToExpireByLayer(expirationPolicyIndex, layerNames));
+        List<ExpirationCandidate> nextToExpire =
+                issueSync(new FindPagesToExpireByLayer(expirationPolicyIndex, layerNames, 1));
 
-        return nextToExpire;
+        return nextToExpire.isEmpty() ? null : nextToExpire.get(0).getPage();
     }
 
     /** @see org.geowebcache.diskquota.QuotaStore#getLeastRecentlyUsedPage(java.util.Set) */
     @Override
     public TilePage getLeastRecentlyUsedPage(final Set<String> layerNames) throws InterruptedException {
         SecondaryIndex<Float, Long, PageStats> expirationPolicyIndex = pageStatsByLRU;
-        TilePage nextToExpire = issueSync(new FindPageToExpireByLayer(expirationPolicyIndex, layerNames));
+        List<ExpirationCandidate> nextToExpire =
+                issueSync(new FindPagesToExpireByLayer(expirationPolicyIndex, layerNames, 1));
 
-        return nextToExpire;
+        return nextToExpire.isEmpty() ? null : nextToExpire.get(0).getPage();
     }
 
-    private class FindPageToExpireByLayer implements Callable<TilePage> {
+    /** @see org.geowebcache.diskquota.QuotaStore#getPagesToExpire(Set, ExpirationPolicy, int) */
+    @Override
+    public List<ExpirationCandidate> getPagesToExpire(
+            final Set<String> layerNames, final ExpirationPolicy policy, final int maxPages)
+            throws InterruptedException {
+        SecondaryIndex<Float, Long, PageStats> expirationPolicyIndex;
+        if (ExpirationPolicy.LFU.equals(policy)) {
+            expirationPolicyIndex = pageStatsByLFU;
+        } else if (ExpirationPolicy.LRU.equals(policy)) {
+            expirationPolicyIndex = pageStatsByLRU;
+        } else {
+            throw new IllegalStateException("Unrecognized expiration policy: " + policy);
+        }
+        return issueSync(new FindPagesToExpireByLayer(expirationPolicyIndex, layerNames, maxPages));
+    }
+
+    private class FindPagesToExpireByLayer implements Callable<List<ExpirationCandidate>> {
         private final SecondaryIndex<Float, Long, PageStats> expirationPolicyIndex;
 
         private final Set<String> layerNames;
 
-        public FindPageToExpireByLayer(
-                SecondaryIndex<Float, Long, PageStats> expirationPolicyIndex, Set<String> layerNames) {
+        private final int maxPages;
+
+        public FindPagesToExpireByLayer(
+                SecondaryIndex<Float, Long, PageStats> expirationPolicyIndex, Set<String> layerNames, int maxPages) {
             this.expirationPolicyIndex = expirationPolicyIndex;
             this.layerNames = layerNames;
+            this.maxPages = maxPages;
         }
 
         @Override
-        public TilePage call() throws Exception {
+        public List<ExpirationCandidate> call() throws Exception {
 
             // find out the tilesets for the requested layers
             final Set<String> tileSetIds = new HashSet<>();
@@ -817,8 +840,8 @@ public TilePage call() throws Exception {
                 }
             }
 
-            TilePage nextToExpire = null;
-            // find out the LRU page that matches a requested tileset
+            List<ExpirationCandidate> nextToExpire = new ArrayList<>();
+            // find out the LRU pages that match a requested tileset
             final EntityCursor<PageStats> pageStatsCursor = expirationPolicyIndex.entities();
 
             try {
@@ -831,8 +854,10 @@ public TilePage call() throws Exception {
                         TilePage tilePage = pageById.get(pageId);
                         tileSetId = tilePage.getTileSetId();
                         if (tileSetIds.contains(tileSetId)) {
-                            nextToExpire = tilePage;
-                            break;
+                            nextToExpire.add(new ExpirationCandidate(tilePage, pageStats.getFillFactor()));
+                            if (nextToExpire.size() >= maxPages) {
+                                break;
+                            }
                         }
                     }
                 }
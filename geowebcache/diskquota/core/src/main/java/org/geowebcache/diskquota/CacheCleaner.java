@@ -14,11 +14,20 @@
 package org.geowebcache.diskquota;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.util.logging.Logging;
 import org.geowebcache.GeoWebCacheException;
+import org.geowebcache.diskquota.storage.ExpirationCandidate;
 import org.geowebcache.diskquota.storage.LayerQuota;
 import org.geowebcache.diskquota.storage.Quota;
 import org.geowebcache.diskquota.storage.TilePage;
@@ -29,8 +38,16 @@
 import org.geowebcache.seed.TileBreeder;
 import org.geowebcache.storage.TileRange;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
+ * Expires tile pages until the used quota gets back under its limit.
+ *
+ * <p>The pages are expired in batches: the next {@link #setMaxBatchSize(int) candidates} are fetched from the quota
+ * store in one go, the space each of them frees is estimated from its fill factor and the bytes per tile the previous
+ * batches freed, and the pages needed to cover the excess are truncated {@link #setParallelism(int) concurrently}. The
+ * used quota is checked again only between batches.
+ *
  * @author groldan
  * @see DiskQuotaMonitor
  */
@@ -38,9 +55,25 @@ public class CacheCleaner implements DisposableBean {
 
     private static final Logger log = Logging.getLogger(CacheCleaner.class.getName());
 
+    /** Default maximum number of pages expired in a single batch */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 32;
+
+    /** Default number of pages truncated concurrently */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private static final CustomizableThreadFactory tf =
+            new CustomizableThreadFactory("GWC DiskQuota Cache Cleaner Thread-");
+
     private final TileBreeder tileBreeder;
 
-    private boolean shutDown;
+    private volatile boolean shutDown;
+
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /** Truncates the pages of a batch, created on first use */
+    private ExecutorService executor;
 
     public static interface QuotaResolver {
         ExpirationPolicy getExpirationPolicy();
@@ -116,10 +149,58 @@ public CacheCleaner(final TileBreeder tileBreeder) {
         this.tileBreeder = tileBreeder;
     }
 
+    /** @return the maximum number of pages expired in a single batch */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of pages fetched from the quota store and expired in a single batch, {@code 1} expires
+     * one page at a time
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize shall be a positive integer: " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /** @return the number of pages truncated concurrently */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of pages of a batch truncated concurrently, shared by all the running cleanups, {@code 1}
+     * truncates them in the calling thread
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism shall be a positive integer: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
     /** @see org.springframework.beans.factory.DisposableBean#destroy() */
     @Override
     public void destroy() throws Exception {
         this.shutDown = true;
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() throws InterruptedException {
+        if (shutDown) {
+            throw new InterruptedException();
+        }
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(parallelism, tf);
+        }
+        return executor;
     }
 
     /**
@@ -138,6 +219,11 @@ public void expireByLayerNames(
         Quota used;
         Quota excess;
 
+        // the used quota before the last batch and the tiles it expired, to estimate the bytes per tile
+        Quota usedBefore = null;
+        double expiredTiles = 0;
+        double bytesPerTile = 0;
+
         while (true) {
             if (shutDown || Thread.currentThread().isInterrupted()) {
                 throw new InterruptedException();
@@ -146,6 +232,12 @@ public void expireByLayerNames(
             limit = quotaResolver.getLimit();
             used = quotaResolver.getUsed();
             excess = used.difference(limit);
+            if (usedBefore != null && expiredTiles > 0) {
+                BigInteger freed = usedBefore.difference(used).getBytes();
+                if (freed.signum() > 0) {
+                    bytesPerTile = freed.doubleValue() / expiredTiles;
+                }
+            }
             if (excess.getBytes().compareTo(BigInteger.ZERO) <= 0) {
                 log.info("Reached back Quota: "
                         + limit.toNiceString()
@@ -163,16 +255,10 @@ public void expireByLayerNames(
                 return;
             }
 
-            TilePage tilePage = null;
-            if (ExpirationPolicy.LFU.equals(expirationPolicy)) {
-                tilePage = pageStore.getLeastFrequentlyUsedPage(layerNames);
-            } else if (ExpirationPolicy.LRU.equals(expirationPolicy)) {
-                tilePage = pageStore.getLeastRecentlyUsedPage(layerNames);
-            } else {
-                throw new IllegalStateException("Unrecognized expiration policy: " + expirationPolicy);
-            }
+            List<ExpirationCandidate> candidates =
+                    pageStore.getPagesToExpire(layerNames, expirationPolicy, maxBatchSize);
 
-            if (tilePage == null) {
+            if (candidates.isEmpty()) {
                 limit = quotaResolver.getLimit();
                 Quota usedQuota = quotaResolver.getUsed();
                 if (excess.getBytes().compareTo(BigInteger.ZERO) > 0) {
@@ -184,9 +270,23 @@ public void expireByLayerNames(
                 }
                 return;
             }
+
+            // take the candidates until they cover the excess, a single one until there is an estimate
+            Map<TilePage, long[][]> batch = new LinkedHashMap<>();
+            double excessBytes = excess.getBytes().doubleValue();
+            double batchTiles = 0;
+            for (ExpirationCandidate candidate : candidates) {
+                TilePage tilePage = candidate.getPage();
+                long[][] pageGridCoverage = pageStore.getTilesForPage(tilePage);
+                batch.put(tilePage, pageGridCoverage);
+                batchTiles += candidate.getFillFactor() * countTiles(pageGridCoverage, tilePage.getZoomLevel());
+                if (bytesPerTile == 0 || batchTiles * bytesPerTile >= excessBytes) {
+                    break;
+                }
+            }
             if (log.isLoggable(Level.FINE)) {
-                log.fine("Expiring tile page "
-                        + tilePage
+                log.fine("Expiring tile pages "
+                        + batch.keySet()
                         + " based on the global "
                         + expirationPolicy
                         + " expiration policy");
@@ -195,11 +295,52 @@ public void expireByLayerNames(
                 throw new InterruptedException();
             }
 
-            expirePage(pageStore, tilePage);
+            usedBefore = used;
+            expiredTiles = batchTiles;
+            expirePages(pageStore, batch);
         }
     }
 
-    private void expirePage(QuotaStore pageStore, TilePage tilePage) throws InterruptedException {
+    private static long countTiles(long[][] pageGridCoverage, int zoomLevel) {
+        long[] coverage = pageGridCoverage[zoomLevel];
+        return (coverage[2] - coverage[0] + 1) * (coverage[3] - coverage[1] + 1);
+    }
+
+    private void expirePages(QuotaStore pageStore, Map<TilePage, long[][]> batch) throws InterruptedException {
+        if (batch.size() == 1 || parallelism == 1) {
+            for (Map.Entry<TilePage, long[][]> page : batch.entrySet()) {
+                expirePage(pageStore, page.getKey(), page.getValue());
+            }
+            return;
+        }
+
+        ExecutorService executor = getExecutor();
+        List<Future<?>> truncations = new ArrayList<>(batch.size());
+        try {
+            for (Map.Entry<TilePage, long[][]> page : batch.entrySet()) {
+                truncations.add(executor.submit(() -> {
+                    expirePage(pageStore, page.getKey(), page.getValue());
+                    return null;
+                }));
+            }
+            for (Future<?> truncation : truncations) {
+                truncation.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            // stops the pending truncations if one failed or the cleanup got interrupted
+            for (Future<?> truncation : truncations) {
+                truncation.cancel(true);
+            }
+        }
+    }
+
+    private void expirePage(QuotaStore pageStore, TilePage tilePage, long[][] pageGridCoverage)
+            throws InterruptedException {
         final String tileSetId = tilePage.getTileSetId();
         final TileSet tileSet = pageStore.getTileSetById(tileSetId);
         final String layerName = tileSet.getLayerName();
@@ -207,7 +348,6 @@ private void expirePage(QuotaStore pageStore, TilePage tilePage) throws Interrup
         final String blobFormat = tileSet.getBlobFormat();
         final String parametersId = tileSet.getParametersId();
         final int zoomLevel = tilePage.getZoomLevel();
-        final long[][] pageGridCoverage = pageStore.getTilesForPage(tilePage);
 
         MimeType mimeType;
         try {
@@ -18,8 +18,11 @@
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -358,17 +361,17 @@ private LayerCacheInfoBuilder launchCacheInfoGatheringThreads() throws Interrupt
             throw new RuntimeException(e);
         }
         LayerCacheInfoBuilder cacheInfoBuilder =
-                new LayerCacheInfoBuilder(cacheRoot, cleanUpExecutorService, quotaUsageMonitor);
+                new LayerCacheInfoBuilder(cacheRoot, createCacheInfoExecutor(), quotaStore);
 
         for (String layerName : tileLayerDispatcher.getLayerNames()) {
 
             Quota usedQuota = quotaStore.getUsedQuotaByLayerName(layerName);
-            if (usedQuota.getBytes().compareTo(BigInteger.ZERO) > 0) {
+            if (usedQuota.getBytes().compareTo(BigInteger.ZERO) > 0 && !cacheInfoBuilder.isIncomplete(layerName)) {
                 log.fine("Using saved quota information for layer " + layerName + ": " + usedQuota.toNiceString());
             } else {
                 log.fine(layerName
-                        + " has no saved used quota information,"
-                        + "traversing layer cache to compute its disk usage.");
+                        + " has no saved used quota information, or its collection was interrupted,"
+                        + " traversing layer cache to compute its disk usage.");
                 TileLayer tileLayer;
                 try {
                     tileLayer = tileLayerDispatcher.getTileLayer(layerName);
@@ -382,6 +385,22 @@ private LayerCacheInfoBuilder launchCacheInfoGatheringThreads() throws Interrupt
         return cacheInfoBuilder;
     }
 
+    /**
+     * The cache traversal runs on its own low priority threads, so that it does not delay the quota enforcement tasks,
+     * which work on the usage collected so far
+     */
+    private ExecutorService createCacheInfoExecutor() {
+        final int numThreads = Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory tf = new CustomizableThreadFactory("GWC DiskQuota cache info gathering thread-");
+        tf.setThreadPriority(Thread.MIN_PRIORITY);
+
+        ThreadPoolExecutor executorService =
+                new ThreadPoolExecutor(numThreads, numThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), tf);
+        // no need to keep the threads around once the traversal is done
+        executorService.allowCoreThreadTimeOut(true);
+        return executorService;
+    }
+
     private ScheduledExecutorService createCleanUpExecutor() {
 
         final int numCleaningThreads = quotaConfig.getMaxConcurrentCleanUps();
@@ -15,21 +15,39 @@
 
 import java.io.File;
 import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.io.FilenameUtils;
 import org.geotools.util.logging.Logging;
-import org.geowebcache.diskquota.storage.LayerQuota;
+import org.geowebcache.diskquota.storage.PagePyramid;
+import org.geowebcache.diskquota.storage.PageStatsPayload;
 import org.geowebcache.diskquota.storage.Quota;
 import org.geowebcache.diskquota.storage.TilePage;
 import org.geowebcache.diskquota.storage.TileSet;
@@ -43,36 +61,50 @@
 /**
  * Gathers information about the cache of a layer, such as its size and available {@link TilePage}s.
  *
+ * <p>Each zoom level directory is walked with one task per tile directory, and its tile and page counts are added to
+ * the {@link QuotaStore} as a whole once all of them are done. The zoom levels done so far are recorded in a
+ * {@link #CHECKPOINT_FILE checkpoint file} in the layer directory, removed once the whole layer is done, so that a scan
+ * interrupted by a shutdown resumes from the zoom levels that were not done yet. A zoom level is marked as
+ * {@link #COMMITTING committing} in the checkpoint before being added to the quota store, if the scan is interrupted
+ * before it is marked as done there is no telling whether the quota store has it, and the layer is collected again from
+ * scratch.
+ *
  * @author groldan
  */
 final class LayerCacheInfoBuilder {
 
     private static final Logger log = Logging.getLogger(LayerCacheInfoBuilder.class.getName());
 
+    /** The file recording the zoom level directories already scanned, in the layer directory */
+    static final String CHECKPOINT_FILE = "diskquota_scan.properties";
+
+    /** The checkpoint value of a zoom level being added to the quota store */
+    static final String COMMITTING = "committing";
+
     private final File rootCacheDir;
 
     private final ExecutorService threadPool;
 
-    private final Map<String, List<Future<?>>> perLayerRunningTasks;
+    private final Map<String, Queue<Future<?>>> perLayerRunningTasks;
 
-    private final QuotaUpdatesMonitor quotaUsageMonitor;
+    private final QuotaStore quotaStore;
 
-    private boolean closed = false;
+    private volatile boolean closed = false;
 
-    public LayerCacheInfoBuilder(
-            final File rootCacheDir, final ExecutorService threadPool, QuotaUpdatesMonitor quotaUsageMonitor) {
+    public LayerCacheInfoBuilder(final File rootCacheDir, final ExecutorService threadPool, QuotaStore quotaStore) {
         this.rootCacheDir = rootCacheDir;
         this.threadPool = threadPool;
-        this.quotaUsageMonitor = quotaUsageMonitor;
-        this.perLayerRunningTasks = new HashMap<>();
+        this.quotaStore = quotaStore;
+        this.perLayerRunningTasks = new ConcurrentHashMap<>();
     }
 
     /**
      * Asynchronously collects cache usage information for the given {@code tileLayer} into the given {@code layerQuota}
      * by using the provided {@link ExecutorService} at construction time.
      *
-     * <p>This method discards any {@link LayerQuota#getQuota()} used quota} information available for
-     * {@code layerQuota} and updates it by collecting the usage information for the layer.
+     * <p>This method adds the usage information collected for the layer to the one already available in the quota
+     * store, skipping the zoom levels a previous, interrupted, run already collected. If the quota store has no usage
+     * information for the layer the whole layer is collected again.
      *
      * <p>Note the cache information gathering is performed asynchronously and hence this method returns immediately. To
      * check whether the information collect for a given layer has finished use the {@link #isRunning(String)
@@ -81,58 +113,33 @@ public LayerCacheInfoBuilder(
     public void buildCacheInfo(final TileLayer tileLayer) {
 
         final String layerName = tileLayer.getName();
-        final String layerDirName = FilePathUtils.filteredLayerName(layerName);
-
-        final File layerDir = new File(rootCacheDir, layerDirName);
+        final File layerDir = getLayerDir(layerName);
 
         if (!layerDir.exists()) {
             return;
         }
 
-        perLayerRunningTasks.put(layerName, new ArrayList<>());
+        Queue<Future<?>> layerTasks = new ConcurrentLinkedQueue<>();
+        perLayerRunningTasks.put(layerName, layerTasks);
 
         // gathering the on disk tilesets can take a very long time, in case there are
         // many parameters (e.g., long list of times), so moving this task also on background exec
-        Future<?> tilesetCollector = threadPool.submit(() -> gatherStatsByTileset(tileLayer, layerName, layerDir));
+        LayerScan layerScan = new LayerScan(tileLayer, layerDir, layerTasks);
         // make sure the list has at this task too, so early calls to #isRunning find
         // that something is executing, even if the stats collectors have not been created yet
-        perLayerRunningTasks.get(layerName).add(tilesetCollector);
+        layerTasks.add(threadPool.submit(layerScan::scan));
     }
 
-    private void gatherStatsByTileset(TileLayer tileLayer, String layerName, File layerDir) {
-        final Set<TileSet> onDiskTileSets = findOnDiskTileSets(tileLayer, layerDir);
-
-        for (TileSet tileSet : onDiskTileSets) {
-            final String gridSetId = tileSet.getGridsetId();
-            // final String blobFormat = tileSet.getBlobFormat();
-            final String parametersId = tileSet.getParametersId();
-            final GridSubset gs = tileLayer.getGridSubset(gridSetId);
-            final int zoomStart = gs.getZoomStart();
-            final int zoomStop = gs.getZoomStop();
-
-            for (int zoomLevel = zoomStart; zoomLevel <= zoomStop && !closed; zoomLevel++) {
-                String gridsetZLevelParamsDirName = FilePathUtils.gridsetZoomLevelDir(gridSetId, zoomLevel);
-                if (parametersId != null) {
-                    gridsetZLevelParamsDirName += "_" + parametersId;
-                }
-                final File gridsetZLevelDir = new File(layerDir, gridsetZLevelParamsDirName);
-
-                if (gridsetZLevelDir.exists()) {
-                    ZoomLevelVisitor cacheInfoBuilder = new ZoomLevelVisitor(
-                            layerName, gridsetZLevelDir, gridSetId, zoomLevel, parametersId, quotaUsageMonitor);
-
-                    Future<ZoomLevelVisitor.Stats> cacheTask = threadPool.submit(cacheInfoBuilder);
+    /**
+     * @return {@code true} if a previous cache information gathering for the layer was interrupted before collecting
+     *     all of its zoom levels
+     */
+    public boolean isIncomplete(String layerName) {
+        return new File(getLayerDir(layerName), CHECKPOINT_FILE).exists();
+    }
 
-                    perLayerRunningTasks.get(layerName).add(cacheTask);
-                    log.fine("Submitted background task to gather cache info for '"
-                            + layerName
-                            + "'/"
-                            + gridSetId
-                            + "/"
-                            + zoomLevel);
-                }
-            }
-        }
+    private File getLayerDir(String layerName) {
+        return new File(rootCacheDir, FilePathUtils.filteredLayerName(layerName));
     }
 
     private Set<TileSet> findOnDiskTileSets(final TileLayer tileLayer, final File layerDir) {
@@ -169,130 +176,421 @@ private Set<TileSet> findOnDiskTileSets(final TileLayer tileLayer, final File la
         return foundTileSets;
     }
 
+    /** Runs a cache information gathering task, tracking it for {@link #isRunning(String)} */
+    private void submit(Queue<Future<?>> layerTasks, Runnable task) {
+        layerTasks.add(threadPool.submit(task));
+    }
+
     /**
-     * Builds the cache information for a single layer/gridsetId/parametersId/zoomLevel combo
+     * Builds the cache information for a whole layer, one {@link ZoomLevelScan} per zoom level directory, and keeps
+     * track of the ones done in the checkpoint file
+     */
+    private final class LayerScan {
+
+        private final TileLayer tileLayer;
+
+        private final String layerName;
+
+        private final File layerDir;
+
+        private final File checkpointFile;
+
+        private final Queue<Future<?>> layerTasks;
+
+        /** The zoom level directories already scanned, guarded by this */
+        private final Properties checkpoint = new Properties();
+
+        /** The zoom levels being scanned, plus one while they are being submitted */
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private volatile boolean failed;
+
+        LayerScan(TileLayer tileLayer, File layerDir, Queue<Future<?>> layerTasks) {
+            this.tileLayer = tileLayer;
+            this.layerName = tileLayer.getName();
+            this.layerDir = layerDir;
+            this.checkpointFile = new File(layerDir, CHECKPOINT_FILE);
+            this.layerTasks = layerTasks;
+        }
+
+        void scan() {
+            try {
+                loadCheckpoint();
+                for (TileSet tileSet : findOnDiskTileSets(tileLayer, layerDir)) {
+                    submitZoomLevels(tileSet);
+                }
+            } catch (InterruptedException e) {
+                failed = true;
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                failed = true;
+                log.log(Level.WARNING, "Failed to gather cache information for layer " + layerName, e);
+            } finally {
+                zoomLevelDone();
+            }
+        }
+
+        private void loadCheckpoint() throws InterruptedException {
+            if (!checkpointFile.exists()) {
+                return;
+            }
+            // the quota store lost what the previous run collected, e.g. because it was replaced, start over
+            if (quotaStore.getUsedQuotaByLayerName(layerName).getBytes().signum() == 0) {
+                log.info("Discarding the cache information checkpoint of layer "
+                        + layerName
+                        + ", the quota store has no usage information for it");
+                return;
+            }
+            try (InputStream in = Files.newInputStream(checkpointFile.toPath())) {
+                checkpoint.load(in);
+                if (checkpoint.containsValue(COMMITTING)) {
+                    // the previous run stopped while adding a zoom level, the quota store may have it or not
+                    log.info("The cache information gathering for layer "
+                            + layerName
+                            + " was interrupted while saving a zoom level, collecting all zoom levels");
+                    checkpoint.clear();
+                    quotaStore.deleteLayer(layerName);
+                    return;
+                }
+                log.info("Resuming the cache information gathering for layer "
+                        + layerName
+                        + ", "
+                        + checkpoint.size()
+                        + " zoom levels were already collected");
+            } catch (IOException e) {
+                log.log(Level.WARNING, "Failed to read " + checkpointFile + ", collecting all zoom levels", e);
+                checkpoint.clear();
+            }
+        }
+
+        private void submitZoomLevels(TileSet tileSet) {
+            final String gridSetId = tileSet.getGridsetId();
+            final String parametersId = tileSet.getParametersId();
+            final GridSubset gs = tileLayer.getGridSubset(gridSetId);
+            final int zoomStart = gs.getZoomStart();
+            final int zoomStop = gs.getZoomStop();
+            // one pyramid for all the zoom levels, to locate the tile pages without a layer lookup per tile
+            final PagePyramid pagePyramid = new PagePyramid(gs.getCoverages(), zoomStart, zoomStop);
+
+            for (int zoomLevel = zoomStart; zoomLevel <= zoomStop && !closed; zoomLevel++) {
+                String gridsetZLevelParamsDirName = FilePathUtils.gridsetZoomLevelDir(gridSetId, zoomLevel);
+                if (parametersId != null) {
+                    gridsetZLevelParamsDirName += "_" + parametersId;
+                }
+                final File gridsetZLevelDir = new File(layerDir, gridsetZLevelParamsDirName);
+
+                if (isScanned(gridsetZLevelParamsDirName)) {
+                    log.fine(
+                            "Cache info for '" + layerName + "'/" + gridSetId + "/" + zoomLevel + " already collected");
+                } else if (gridsetZLevelDir.exists()) {
+                    ZoomLevelScan zoomLevelScan = new ZoomLevelScan(
+                            this,
+                            gridsetZLevelDir.toPath(),
+                            gridsetZLevelParamsDirName,
+                            gridSetId,
+                            zoomLevel,
+                            parametersId,
+                            pagePyramid);
+                    pending.incrementAndGet();
+                    submit(layerTasks, zoomLevelScan::scan);
+                    log.fine("Submitted background task to gather cache info for '"
+                            + layerName
+                            + "'/"
+                            + gridSetId
+                            + "/"
+                            + zoomLevel);
+                }
+            }
+        }
+
+        private synchronized boolean isScanned(String zoomLevelDirName) {
+            return checkpoint.containsKey(zoomLevelDirName);
+        }
+
+        /** Records the zoom level as about to be added to the quota store, before it is */
+        synchronized void committing(String zoomLevelDirName) {
+            checkpoint.setProperty(zoomLevelDirName, COMMITTING);
+            try {
+                storeCheckpoint();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to update " + checkpointFile, e);
+            }
+        }
+
+        /** Records the zoom level as done */
+        synchronized void scanned(String zoomLevelDirName, long numTiles) {
+            checkpoint.setProperty(zoomLevelDirName, String.valueOf(numTiles));
+            try {
+                storeCheckpoint();
+            } catch (IOException e) {
+                // left as committing, the next run collects the whole layer again
+                log.log(Level.WARNING, "Failed to update " + checkpointFile, e);
+            }
+        }
+
+        /** Replaces the checkpoint file, so that it is never left half written */
+        private void storeCheckpoint() throws IOException {
+            Path tmp = new File(layerDir, CHECKPOINT_FILE + ".tmp").toPath();
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                checkpoint.store(out, "Zoom level directories of the layer collected by the disk quota");
+            }
+            Files.move(tmp, checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        void zoomLevelFailed() {
+            failed = true;
+        }
+
+        void zoomLevelDone() {
+            if (pending.decrementAndGet() == 0 && !closed && !failed) {
+                log.info("Cache information for layer " + layerName + " collected");
+                if (checkpointFile.exists() && !checkpointFile.delete()) {
+                    log.warning("Failed to delete " + checkpointFile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the cache information for a single layer/gridsetId/parametersId/zoomLevel combo, one task per tile
+     * directory, the last one adding it to the quota store
      *
      * @author groldan
      */
-    private final class ZoomLevelVisitor implements FileFilter, Callable<ZoomLevelVisitor.Stats> {
-
-        private final String gridSetId;
+    private final class ZoomLevelScan {
 
-        private int tileZ;
+        private final LayerScan layerScan;
 
-        private final File zoomLevelPath;
+        private final Path zoomLevelPath;
 
-        private Stats stats;
+        private final String zoomLevelDirName;
 
-        private final QuotaUpdatesMonitor quotaUsageMonitor;
+        private final String gridSetId;
 
-        private final String layerName;
+        private final int tileZ;
 
         private final String parametersId;
 
-        private class Stats {
-            long runTimeMillis;
+        private final PagePyramid pagePyramid;
 
-            long numTiles;
+        /** The stats collected by the finished tasks, by blob format, guarded by this */
+        private final Map<String, TileSetStats> stats = new HashMap<>();
 
-            Quota collectedQuota = new Quota();
-        }
+        /** The tile directories being walked, plus one while they are being submitted */
+        private final AtomicInteger pending = new AtomicInteger(1);
 
-        public ZoomLevelVisitor(
-                final String layerName,
-                final File zoomLevelPath,
-                final String gridsetId,
-                final int zoomLevel,
+        private volatile boolean failed;
+
+        private final long startTime = System.currentTimeMillis();
+
+        ZoomLevelScan(
+                LayerScan layerScan,
+                Path zoomLevelPath,
+                String zoomLevelDirName,
+                String gridSetId,
+                int zoomLevel,
                 String parametersId,
-                final QuotaUpdatesMonitor quotaUsageMonitor) {
-            this.layerName = layerName;
+                PagePyramid pagePyramid) {
+            this.layerScan = layerScan;
             this.zoomLevelPath = zoomLevelPath;
-            this.gridSetId = gridsetId;
-            this.parametersId = parametersId;
-            this.quotaUsageMonitor = quotaUsageMonitor;
+            this.zoomLevelDirName = zoomLevelDirName;
+            this.gridSetId = gridSetId;
             this.tileZ = zoomLevel;
-            this.stats = new Stats();
+            this.parametersId = parametersId;
+            this.pagePyramid = pagePyramid;
         }
 
-        /** @see java.util.concurrent.Callable#call() */
-        @Override
-        public Stats call() throws Exception {
-            final String zLevelKey = layerName
+        private String zLevelKey() {
+            return layerScan.layerName
                     + "'/"
                     + gridSetId
                     + "/paramId:"
                     + (parametersId == null ? "default" : parametersId)
                     + "/zlevel:"
                     + tileZ;
+        }
+
+        /** Fans out the tile directories, walking the files directly under the zoom level directory if any */
+        void scan() {
+            log.fine("Gathering cache information for '" + zLevelKey());
+            Map<String, TileSetStats> topLevel = new HashMap<>();
+            walk(zoomLevelPath, 1, topLevel, dir -> {
+                pending.incrementAndGet();
+                submit(layerScan.layerTasks, () -> {
+                    Map<String, TileSetStats> dirStats = new HashMap<>();
+                    walk(dir, Integer.MAX_VALUE, dirStats, null);
+                    done(dirStats);
+                });
+            });
+            done(topLevel);
+        }
+
+        /**
+         * Walks the directory tree adding the tiles found to the given stats, using the file sizes the walk reads
+         * anyway, and handing the directories at the maximum depth to the given consumer, if any
+         */
+        private void walk(Path dir, int maxDepth, Map<String, TileSetStats> target, Consumer<Path> subdirs) {
+            final int[] pageIndex = new int[3];
+            try {
+                Files.walkFileTree(
+                        dir, Collections.<FileVisitOption>emptySet(), maxDepth, new SimpleFileVisitor<Path>() {
+
+                            @Override
+                            public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attrs) {
+                                if (closed || failed) {
+                                    return FileVisitResult.TERMINATE;
+                                }
+                                log.finer("Processing files in " + path);
+                                return FileVisitResult.CONTINUE;
+                            }
+
+                            @Override
+                            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                                if (closed || failed) {
+                                    return FileVisitResult.TERMINATE;
+                                }
+                                if (attrs.isDirectory()) {
+                                    if (subdirs != null) {
+                                        subdirs.accept(file);
+                                    }
+                                } else if (attrs.isRegularFile()) {
+                                    addTile(file, attrs.size(), target, pageIndex);
+                                }
+                                return FileVisitResult.CONTINUE;
+                            }
+
+                            @Override
+                            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                                // most likely removed while walking the cache
+                                log.log(Level.FINE, "Failed to visit " + file, e);
+                                return FileVisitResult.CONTINUE;
+                            }
+                        });
+            } catch (IOException | RuntimeException e) {
+                log.log(Level.WARNING, "Failed to gather cache information for " + zLevelKey(), e);
+                failed = true;
+            }
+        }
+
+        private void addTile(Path file, long length, Map<String, TileSetStats> target, int[] pageIndex) {
+            // <x>_<y>.<extension>
+            final String fileName = file.getFileName().toString();
+            final int coordSepIdx = fileName.lastIndexOf('_');
+            final int dotIdx = fileName.lastIndexOf('.');
+            final String blobFormat;
+            final long x;
+            final long y;
             try {
-                log.fine("Gathering cache information for '" + zLevelKey);
-                stats.numTiles = 0L;
-                stats.runTimeMillis = 0L;
-                long runTime = System.currentTimeMillis();
-                FileUtils.traverseDepth(zoomLevelPath, this);
-                runTime = System.currentTimeMillis() - runTime;
-                stats.runTimeMillis = runTime;
-            } catch (TraversalCanceledException cancel) {
-                log.fine("Gathering cache information for " + zLevelKey + " was canceled.");
-                return null;
-            } catch (Exception e) {
-                throw e;
+                blobFormat = MimeType.createFromExtension(FilenameUtils.getExtension(fileName))
+                        .getFormat();
+                x = Long.parseLong(fileName.substring(0, coordSepIdx));
+                y = Long.parseLong(fileName.substring(1 + coordSepIdx, dotIdx));
+            } catch (MimeException | RuntimeException e) {
+                log.finer("Ignoring " + file + ", not a tile");
+                return;
+            }
+            TileSetStats tileSetStats = target.computeIfAbsent(
+                    blobFormat, f -> new TileSetStats(new TileSet(layerScan.layerName, gridSetId, f, parametersId)));
+            pagePyramid.pageIndexForTile(x, y, tileZ, pageIndex);
+            tileSetStats.add(pageIndex, length);
+        }
+
+        /** Merges the stats of a finished task, adding them to the quota store once all the tasks are done */
+        private void done(Map<String, TileSetStats> taskStats) {
+            synchronized (this) {
+                for (TileSetStats tileSetStats : taskStats.values()) {
+                    TileSetStats merged = stats.putIfAbsent(tileSetStats.tileSet.getBlobFormat(), tileSetStats);
+                    if (merged != null) {
+                        merged.addAll(tileSetStats);
+                    }
+                }
+            }
+            if (pending.decrementAndGet() > 0) {
+                return;
+            }
+            try {
+                if (closed) {
+                    log.fine("Gathering cache information for " + zLevelKey() + " was canceled.");
+                } else if (failed) {
+                    layerScan.zoomLevelFailed();
+                } else {
+                    commit();
+                }
+            } catch (InterruptedException e) {
+                layerScan.zoomLevelFailed();
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                layerScan.zoomLevelFailed();
+                log.log(Level.WARNING, "Failed to save the cache information of " + zLevelKey(), e);
+            } finally {
+                layerScan.zoomLevelDone();
             }
+        }
+
+        private void commit() throws InterruptedException {
+            long numTiles = 0;
+            Quota collectedQuota = new Quota();
+            layerScan.committing(zoomLevelDirName);
+            for (TileSetStats tileSetStats : stats.values()) {
+                quotaStore.addToQuotaAndTileCounts(
+                        tileSetStats.tileSet,
+                        new Quota(BigInteger.valueOf(tileSetStats.bytes)),
+                        new ArrayList<>(tileSetStats.pages.values()));
+                numTiles += tileSetStats.numTiles;
+                collectedQuota.addBytes(tileSetStats.bytes);
+            }
+            layerScan.scanned(zoomLevelDirName, numTiles);
             log.fine("Cache information for "
-                    + zLevelKey
+                    + zLevelKey()
                     + " collected in "
-                    + stats.runTimeMillis / 1000D
+                    + (System.currentTimeMillis() - startTime) / 1000D
                     + "s. Counted "
-                    + stats.numTiles
+                    + numTiles
                     + " tiles for a storage space of "
-                    + stats.collectedQuota.toNiceString());
-            return stats;
+                    + collectedQuota.toNiceString());
         }
+    }
 
-        /** @see java.io.FileFilter#accept(java.io.File) */
-        @Override
-        public boolean accept(final File file) {
-            if (closed) {
-                throw new TraversalCanceledException();
-            }
-            if (file.isDirectory()) {
-                log.finer("Processing files in " + file.getAbsolutePath());
-                return true;
-            }
+    /** The tiles, bytes and tile page counts collected for a tile set */
+    private static final class TileSetStats {
 
-            final long length = file.length();
+        private final TileSet tileSet;
 
-            // we know path is a direct child of processingDir and represents a tile file...
-            final String path = file.getPath();
+        private final Map<String, PageStatsPayload> pages = new HashMap<>();
 
-            final int fileNameIdx = 1 + path.lastIndexOf(File.separatorChar);
-            final int coordSepIdx = path.lastIndexOf('_');
-            final int dotIdx = path.lastIndexOf('.');
-            final String extension = FilenameUtils.getExtension(file.getName());
-            String blobFormat;
-            try {
-                blobFormat = MimeType.createFromExtension(extension).getFormat();
-            } catch (MimeException e) {
-                throw new RuntimeException(e);
-            }
-            final long x = Long.valueOf(path.substring(fileNameIdx, coordSepIdx));
-            final long y = Long.valueOf(path.substring(1 + coordSepIdx, dotIdx));
+        private final StringBuilder pageIdTarget = new StringBuilder(128);
 
-            this.quotaUsageMonitor.tileStored(layerName, gridSetId, blobFormat, parametersId, x, y, tileZ, length);
-            stats.numTiles++;
-            stats.collectedQuota.addBytes(length);
-            return true;
+        private long numTiles;
+
+        private long bytes;
+
+        TileSetStats(TileSet tileSet) {
+            this.tileSet = tileSet;
         }
 
-        /**
-         * Used to brute-force cancel a cache inspection (as InterruptedException is checked and hence can't use it in
-         * accept(File) above
-         *
-         * @author groldan
-         */
-        private class TraversalCanceledException extends RuntimeException {
-            private static final long serialVersionUID = 1L;
-            // doesn't need a body
+        void add(int[] pageIndex, long length) {
+            pageIdTarget.setLength(0);
+            TilePage.computeId(tileSet.getId(), pageIndex[0], pageIndex[1], pageIndex[2], pageIdTarget);
+            PageStatsPayload payload = pages.get(pageIdTarget.toString());
+            if (payload == null) {
+                TilePage page = new TilePage(tileSet.getId(), pageIndex[0], pageIndex[1], pageIndex[2]);
+                payload = new PageStatsPayload(page);
+                pages.put(page.getKey(), payload);
+            }
+            payload.setNumTiles(payload.getNumTiles() + 1);
+            numTiles++;
+            bytes += length;
+        }
+
+        void addAll(TileSetStats other) {
+            for (PageStatsPayload payload : other.pages.values()) {
+                PageStatsPayload merged = pages.putIfAbsent(payload.getPage().getKey(), payload);
+                if (merged != null) {
+                    merged.setNumTiles(merged.getNumTiles() + payload.getNumTiles());
+                }
+            }
+            numTiles += other.numTiles;
+            bytes += other.bytes;
         }
     }
 
@@ -303,7 +601,7 @@ private class TraversalCanceledException extends RuntimeException {
      */
     public boolean isRunning(String layerName) {
         try {
-            List<Future<?>> layerTasks = perLayerRunningTasks.get(layerName);
+            Queue<Future<?>> layerTasks = perLayerRunningTasks.get(layerName);
             if (layerTasks == null) {
                 return false;
             }
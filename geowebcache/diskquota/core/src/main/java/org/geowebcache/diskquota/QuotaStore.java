@@ -14,9 +14,11 @@
 package org.geowebcache.diskquota;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Future;
+import org.geowebcache.diskquota.storage.ExpirationCandidate;
 import org.geowebcache.diskquota.storage.PageStats;
 import org.geowebcache.diskquota.storage.PageStatsPayload;
 import org.geowebcache.diskquota.storage.Quota;
@@ -82,6 +84,32 @@ public abstract void addToQuotaAndTileCounts(
     /** */
     public abstract TilePage getLeastRecentlyUsedPage(final Set<String> layerNames) throws InterruptedException;
 
+    /**
+     * Returns up to {@code maxPages} non empty pages of the given layers, in the order the expiration policy expires
+     * them, along with their fill factors, so that they can be expired in batch.
+     *
+     * <p>The default implementation returns the single page found by {@link #getLeastFrequentlyUsedPage(Set)} or
+     * {@link #getLeastRecentlyUsedPage(Set)}, reported as full.
+     *
+     * @since 1.27
+     */
+    public default List<ExpirationCandidate> getPagesToExpire(
+            final Set<String> layerNames, final ExpirationPolicy policy, final int maxPages)
+            throws InterruptedException {
+        TilePage page;
+        if (ExpirationPolicy.LFU.equals(policy)) {
+            page = getLeastFrequentlyUsedPage(layerNames);
+        } else if (ExpirationPolicy.LRU.equals(policy)) {
+            page = getLeastRecentlyUsedPage(layerNames);
+        } else {
+            throw new IllegalStateException("Unrecognized expiration policy: " + policy);
+        }
+        if (page == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new ExpirationCandidate(page, 1f));
+    }
+
     public abstract PageStats setTruncated(final TilePage tilePage) throws InterruptedException;
 
     public abstract void deleteGridSubset(String layerName, String gridSetId);
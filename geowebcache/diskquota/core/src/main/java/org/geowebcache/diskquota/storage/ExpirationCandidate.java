@@ -0,0 +1,46 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.diskquota.storage;
+
+/**
+ * A tile page selected for expiration, along with the fill factor used to estimate the space expiring it frees.
+ *
+ * @see org.geowebcache.diskquota.QuotaStore#getPagesToExpire
+ * @since 1.27
+ */
+public class ExpirationCandidate {
+
+    private final TilePage page;
+
+    private final float fillFactor;
+
+    public ExpirationCandidate(TilePage page, float fillFactor) {
+        this.page = page;
+        this.fillFactor = fillFactor;
+    }
+
+    public TilePage getPage() {
+        return page;
+    }
+
+    /** @return the fraction of the page tiles that are stored, between 0 and 1 */
+    public float getFillFactor() {
+        return fillFactor;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpirationCandidate[" + page.getKey() + ", fillFactor=" + fillFactor + "]";
+    }
+}
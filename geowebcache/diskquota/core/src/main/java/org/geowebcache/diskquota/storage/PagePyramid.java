@@ -24,11 +24,12 @@
 /**
  * Pyramid of tile pages for a given {@link GridSubset}
  *
- * <p>This is a support class for {@link TilePageCalculator}, hence package visible.
+ * <p>This is a support class for {@link TilePageCalculator}, also used by the startup cache scan to locate the pages of
+ * many tiles without a layer lookup per tile.
  *
  * @author groldan
  */
-class PagePyramid {
+public class PagePyramid {
 
     /** {@code [level][numTilesPerPageX, numTilesPerPageY, numPagesX, numPagesY]} */
     private Map<Integer, PageLevelInfo> pageInfo;
@@ -0,0 +1,180 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.diskquota;
+
+import static org.easymock.EasyMock.anyInt;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.easymock.EasyMock;
+import org.geowebcache.diskquota.storage.ExpirationCandidate;
+import org.geowebcache.diskquota.storage.Quota;
+import org.geowebcache.diskquota.storage.TilePage;
+import org.geowebcache.diskquota.storage.TileSet;
+import org.geowebcache.seed.GWCTask;
+import org.geowebcache.seed.TileBreeder;
+import org.geowebcache.storage.TileRange;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CacheCleanerTest {
+
+    private static final long PAGE_BYTES = 100;
+
+    private TileSet tileSet = new TileSet("layer", "EPSG:4326", "image/png", null);
+
+    /** The pages not truncated yet, in expiration order */
+    private List<TilePage> pages = new CopyOnWriteArrayList<>();
+
+    private List<TileRange> truncated = new CopyOnWriteArrayList<>();
+
+    private AtomicLong used = new AtomicLong();
+
+    private AtomicInteger queries = new AtomicInteger();
+
+    private QuotaStore store;
+
+    private CacheCleaner cleaner;
+
+    @Before
+    public void setUp() throws Exception {
+        for (int x = 0; x < 4; x++) {
+            pages.add(new TilePage(tileSet.getId(), x, 0, 0));
+        }
+        used.set(pages.size() * PAGE_BYTES + 200);
+
+        store = EasyMock.createNiceMock(QuotaStore.class);
+        expect(store.getPagesToExpire(anyObject(), eq(ExpirationPolicy.LFU), anyInt()))
+                .andAnswer(() -> {
+                    queries.incrementAndGet();
+                    int maxPages = (Integer) EasyMock.getCurrentArguments()[2];
+                    return pages.stream()
+                            .limit(maxPages)
+                            .map(p -> new ExpirationCandidate(p, 1f))
+                            .collect(Collectors.toList());
+                })
+                .anyTimes();
+        expect(store.getTilesForPage(anyObject()))
+                .andAnswer(() -> {
+                    TilePage page = (TilePage) EasyMock.getCurrentArguments()[0];
+                    return new long[][] {{page.getPageX(), 0, page.getPageX(), 0, 0}};
+                })
+                .anyTimes();
+        expect(store.getTileSetById(tileSet.getId())).andReturn(tileSet).anyTimes();
+        expect(store.setTruncated(anyObject()))
+                .andAnswer(() -> {
+                    pages.remove(EasyMock.getCurrentArguments()[0]);
+                    used.addAndGet(-PAGE_BYTES);
+                    return null;
+                })
+                .anyTimes();
+        EasyMock.replay(store);
+
+        TileBreeder breeder = EasyMock.createMock(TileBreeder.class);
+        expect(breeder.createTasks(anyObject(), eq(GWCTask.TYPE.TRUNCATE), eq(1), eq(false)))
+                .andAnswer(() -> {
+                    TileRange range = (TileRange) EasyMock.getCurrentArguments()[0];
+                    return new GWCTask[] {
+                        new GWCTask() {
+                            @Override
+                            protected void doActionInternal() {
+                                truncated.add(range);
+                            }
+
+                            @Override
+                            protected void dispose() {}
+                        }
+                    };
+                })
+                .anyTimes();
+        EasyMock.replay(breeder);
+
+        cleaner = new CacheCleaner(breeder);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cleaner.destroy();
+    }
+
+    private CacheCleaner.QuotaResolver resolver(long limit) {
+        return new CacheCleaner.QuotaResolver() {
+            @Override
+            public ExpirationPolicy getExpirationPolicy() {
+                return ExpirationPolicy.LFU;
+            }
+
+            @Override
+            public Quota getLimit() {
+                return new Quota(BigInteger.valueOf(limit));
+            }
+
+            @Override
+            public Quota getUsed() {
+                return new Quota(BigInteger.valueOf(used.get()));
+            }
+        };
+    }
+
+    @Test
+    public void testExpireInBatch() throws Exception {
+        Set<String> layers = Collections.singleton("layer");
+        cleaner.expireByLayerNames(layers, resolver(250), store);
+
+        // a first page to estimate the bytes per tile, then the three covering the remaining excess at once
+        assertEquals(2, queries.get());
+        assertEquals(4, truncated.size());
+        assertTrue(pages.isEmpty());
+        assertEquals(200, used.get());
+    }
+
+    @Test
+    public void testMaxBatchSize() throws Exception {
+        cleaner.setMaxBatchSize(2);
+        Set<String> layers = Collections.singleton("layer");
+        cleaner.expireByLayerNames(layers, resolver(250), store);
+
+        assertEquals(3, queries.get());
+        assertEquals(4, truncated.size());
+        assertEquals(200, used.get());
+    }
+
+    @Test
+    public void testStopAtQuota() throws Exception {
+        Set<String> layers = Collections.singleton("layer");
+        cleaner.expireByLayerNames(layers, resolver(450), store);
+
+        // the estimate avoids expiring more pages than needed
+        assertEquals(2, truncated.size());
+        assertEquals(2, pages.size());
+        assertEquals(400, used.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        cleaner.setParallelism(0);
+    }
+}
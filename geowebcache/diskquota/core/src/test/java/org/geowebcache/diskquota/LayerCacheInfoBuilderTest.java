@@ -0,0 +1,218 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.diskquota;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.easymock.EasyMock;
+import org.geowebcache.config.DefaultGridsets;
+import org.geowebcache.diskquota.storage.PageStatsPayload;
+import org.geowebcache.diskquota.storage.Quota;
+import org.geowebcache.diskquota.storage.TileSet;
+import org.geowebcache.grid.GridSetBroker;
+import org.geowebcache.grid.GridSubset;
+import org.geowebcache.grid.GridSubsetFactory;
+import org.geowebcache.layer.TileLayer;
+import org.geowebcache.storage.blobstore.file.FilePathUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LayerCacheInfoBuilderTest {
+
+    private static final String GRIDSET = "EPSG:4326";
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private File layerDir;
+
+    private TileLayer layer;
+
+    /** The bytes and tiles added to the quota store, by zoom level */
+    private Map<Integer, long[]> collected = new ConcurrentHashMap<>();
+
+    /** Whether the layer was deleted from the quota store, before anything was added */
+    private volatile boolean layerDeleted;
+
+    @Before
+    public void setUp() throws Exception {
+        layerDir = temp.newFolder("layer");
+        GridSubset gridSubset = GridSubsetFactory.createGridSubSet(
+                new GridSetBroker(Collections.singletonList(new DefaultGridsets(false, false))).getWorldEpsg4326());
+
+        layer = EasyMock.createNiceMock(TileLayer.class);
+        expect(layer.getName()).andReturn("layer").anyTimes();
+        expect(layer.getGridSubsets()).andReturn(Collections.singleton(GRIDSET)).anyTimes();
+        expect(layer.getGridSubset(GRIDSET)).andReturn(gridSubset).anyTimes();
+        EasyMock.replay(layer);
+
+        tile(1, "00_00", 0, 0, 10);
+        tile(1, "00_00", 1, 0, 20);
+        tile(1, "01_00", 2, 1, 30);
+        tile(2, "00_00", 3, 1, 5);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private void tile(int z, String dir, long x, long y, int size) throws Exception {
+        File tileDir = new File(new File(layerDir, FilePathUtils.gridsetZoomLevelDir(GRIDSET, z)), dir);
+        tileDir.mkdirs();
+        Files.write(new File(tileDir, x + "_" + y + ".png").toPath(), new byte[size]);
+    }
+
+    private QuotaStore store(long usedBytes) throws Exception {
+        QuotaStore store = EasyMock.createNiceMock(QuotaStore.class);
+        expect(store.getUsedQuotaByLayerName("layer"))
+                .andReturn(new Quota(BigInteger.valueOf(usedBytes)))
+                .anyTimes();
+        store.addToQuotaAndTileCounts(anyObject(), anyObject(), anyObject());
+        expectLastCall()
+                .andAnswer(() -> {
+                    Object[] args = EasyMock.getCurrentArguments();
+                    TileSet tileSet = (TileSet) args[0];
+                    assertEquals("image/png", tileSet.getBlobFormat());
+                    @SuppressWarnings("unchecked")
+                    Collection<PageStatsPayload> pages = (Collection<PageStatsPayload>) args[2];
+                    long tiles = pages.stream()
+                            .mapToLong(PageStatsPayload::getNumTiles)
+                            .sum();
+                    int z = pages.iterator().next().getPage().getZoomLevel();
+                    // marked in the checkpoint before being added
+                    assertEquals(
+                            LayerCacheInfoBuilder.COMMITTING,
+                            checkpoint().getProperty(FilePathUtils.gridsetZoomLevelDir(GRIDSET, z)));
+                    long bytes = ((Quota) args[1]).getBytes().longValue();
+                    collected.put(z, new long[] {bytes, tiles});
+                    return null;
+                })
+                .anyTimes();
+        store.deleteLayer("layer");
+        expectLastCall()
+                .andAnswer(() -> {
+                    assertTrue(collected.isEmpty());
+                    layerDeleted = true;
+                    return null;
+                })
+                .anyTimes();
+        EasyMock.replay(store);
+        return store;
+    }
+
+    private Properties checkpoint() throws IOException {
+        Properties checkpoint = new Properties();
+        try (InputStream in =
+                Files.newInputStream(new File(layerDir, LayerCacheInfoBuilder.CHECKPOINT_FILE).toPath())) {
+            checkpoint.load(in);
+        }
+        return checkpoint;
+    }
+
+    private void build(LayerCacheInfoBuilder builder) throws Exception {
+        builder.buildCacheInfo(layer);
+        long timeout = System.currentTimeMillis() + 10000;
+        while (builder.isRunning("layer")) {
+            assertTrue("Timed out waiting for the cache scan", System.currentTimeMillis() < timeout);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testBuildCacheInfo() throws Exception {
+        LayerCacheInfoBuilder builder = new LayerCacheInfoBuilder(temp.getRoot(), executor, store(0));
+        build(builder);
+
+        assertEquals(2, collected.size());
+        assertEquals(60, collected.get(1)[0]);
+        assertEquals(3, collected.get(1)[1]);
+        assertEquals(5, collected.get(2)[0]);
+        assertEquals(1, collected.get(2)[1]);
+        // the checkpoint is gone once the layer is done
+        assertFalse(builder.isIncomplete("layer"));
+    }
+
+    @Test
+    public void testResume() throws Exception {
+        File checkpoint = new File(layerDir, LayerCacheInfoBuilder.CHECKPOINT_FILE);
+        Files.write(checkpoint.toPath(), (FilePathUtils.gridsetZoomLevelDir(GRIDSET, 1) + "=3\n").getBytes());
+
+        LayerCacheInfoBuilder builder = new LayerCacheInfoBuilder(temp.getRoot(), executor, store(60));
+        assertTrue(builder.isIncomplete("layer"));
+        build(builder);
+
+        // the zoom level collected by the interrupted run is skipped
+        assertEquals(Collections.singleton(2), collected.keySet());
+        assertFalse(layerDeleted);
+        assertFalse(builder.isIncomplete("layer"));
+    }
+
+    @Test
+    public void testDiscardCheckpoint() throws Exception {
+        File checkpoint = new File(layerDir, LayerCacheInfoBuilder.CHECKPOINT_FILE);
+        Files.write(checkpoint.toPath(), (FilePathUtils.gridsetZoomLevelDir(GRIDSET, 1) + "=3\n").getBytes());
+
+        // the quota store lost the usage of the interrupted run, everything is collected again
+        LayerCacheInfoBuilder builder = new LayerCacheInfoBuilder(temp.getRoot(), executor, store(0));
+        build(builder);
+
+        assertEquals(2, collected.size());
+        assertFalse(builder.isIncomplete("layer"));
+    }
+
+    @Test
+    public void testInterruptedWhileCommitting() throws Exception {
+        File checkpoint = new File(layerDir, LayerCacheInfoBuilder.CHECKPOINT_FILE);
+        Files.write(
+                checkpoint.toPath(),
+                (FilePathUtils.gridsetZoomLevelDir(GRIDSET, 1)
+                                + "=3\n"
+                                + FilePathUtils.gridsetZoomLevelDir(GRIDSET, 2)
+                                + "="
+                                + LayerCacheInfoBuilder.COMMITTING
+                                + "\n")
+                        .getBytes());
+
+        // the quota store may or may not have zoom level 2, the layer is reset and collected again
+        LayerCacheInfoBuilder builder = new LayerCacheInfoBuilder(temp.getRoot(), executor, store(65));
+        build(builder);
+
+        assertTrue(layerDeleted);
+        assertEquals(2, collected.size());
+        assertFalse(builder.isIncomplete("layer"));
+    }
+}
@@ -163,4 +163,26 @@ public String contionalTilePageInsertStatement(
 
         return sb.toString();
     }
+
+    @Override
+    public String getUpsertPageFillFactorStatement(
+            String schema,
+            String keyParam,
+            String tileSetIdParam,
+            String zParam,
+            String xParam,
+            String yParam,
+            String creationParam,
+            String fillFactorDiffParam) {
+        return mergePageFillFactorStatement(
+                schema,
+                keyParam,
+                tileSetIdParam,
+                zParam,
+                xParam,
+                yParam,
+                creationParam,
+                fillFactorDiffParam,
+                "(VALUES(1)) AS dummy(one)");
+    }
 }
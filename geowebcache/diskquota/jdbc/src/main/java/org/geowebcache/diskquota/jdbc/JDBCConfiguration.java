@@ -44,6 +44,9 @@ public class JDBCConfiguration implements Serializable {
     /** To be able configure schema in geowebcache-diskquota-jdbc.xml */
     String schema;
 
+    /** Whether the tile counts are updated in batch, see {@link JDBCQuotaStore#setBatchUpdates(boolean)} */
+    Boolean batchUpdates;
+
     ConnectionPoolConfiguration connectionPool;
 
     /**
@@ -172,6 +175,19 @@ public void setSchema(String schema) {
         this.schema = schema;
     }
 
+    /**
+     * Returns whether the quota and tile page fill factor updates are applied in batch, {@code false} if not configured
+     *
+     * @since 1.27
+     */
+    public boolean isBatchUpdates() {
+        return batchUpdates != null && batchUpdates;
+    }
+
+    public void setBatchUpdates(Boolean batchUpdates) {
+        this.batchUpdates = batchUpdates;
+    }
+
     public ConnectionPoolConfiguration getConnectionPool() {
         return connectionPool;
     }
@@ -218,6 +234,8 @@ public String toString() {
                 + dialect
                 + ", JNDISource="
                 + JNDISource
+                + ", batchUpdates="
+                + batchUpdates
                 + ", connectionPool="
                 + connectionPool
                 + "]";
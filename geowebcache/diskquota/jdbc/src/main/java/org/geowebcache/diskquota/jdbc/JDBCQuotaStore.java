@@ -16,6 +16,7 @@
 import java.io.Closeable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -34,7 +35,9 @@
 import javax.sql.DataSource;
 import org.apache.commons.dbcp.BasicDataSource;
 import org.geotools.util.logging.Logging;
+import org.geowebcache.diskquota.ExpirationPolicy;
 import org.geowebcache.diskquota.QuotaStore;
+import org.geowebcache.diskquota.storage.ExpirationCandidate;
 import org.geowebcache.diskquota.storage.PageStats;
 import org.geowebcache.diskquota.storage.PageStatsPayload;
 import org.geowebcache.diskquota.storage.Quota;
@@ -47,6 +50,7 @@
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.transaction.TransactionStatus;
@@ -90,6 +94,12 @@ public class JDBCQuotaStore implements QuotaStore {
     /** The executor used for asynch requests */
     ExecutorService executor;
 
+    /** Whether tile count updates are applied in batch, see {@link #setBatchUpdates(boolean)} */
+    boolean batchUpdates;
+
+    /** The template used to run the batch updates transactions */
+    TransactionTemplate batchTt;
+
     private DataSource dataSource;
 
     public JDBCQuotaStore(DefaultStorageFinder finder, TilePageCalculator tilePageCalculator) {
@@ -125,9 +135,26 @@ public void setDataSource(DataSource dataSource) {
         DataSourceTransactionManager dsTransactionManager = new DataSourceTransactionManager(dataSource);
         this.tt = new TransactionTemplate(dsTransactionManager);
         this.tt.setIsolationLevel(TransactionTemplate.ISOLATION_SERIALIZABLE);
+        // batch updates only add to the current values, no need to isolate them from each other
+        this.batchTt = new TransactionTemplate(dsTransactionManager);
+        this.batchTt.setIsolationLevel(TransactionTemplate.ISOLATION_READ_COMMITTED);
         this.jt = new SimpleJdbcTemplate(dsTransactionManager.getDataSource());
     }
 
+    /** Returns whether tile count updates are applied in batch */
+    public boolean isBatchUpdates() {
+        return batchUpdates;
+    }
+
+    /**
+     * Sets whether the quota and page fill factor updates of {@link #addToQuotaAndTileCounts} are applied in batch, as
+     * increments to the stored values that need no previous read and commute with the concurrent ones, in a read
+     * committed transaction, instead of reading and updating each page with optimistic locking in a serializable one
+     */
+    public void setBatchUpdates(boolean batchUpdates) {
+        this.batchUpdates = batchUpdates;
+    }
+
     /** Called to initialize the database structure and the layers */
     public void initialize() {
         if (dialect == null || jt == null || tt == null) {
@@ -428,6 +455,10 @@ public TilePageCalculator getTilePageCalculator() {
     public void addToQuotaAndTileCounts(
             final TileSet tileSet, final Quota quotaDiff, final Collection<PageStatsPayload> tileCountDiffs)
             throws InterruptedException {
+        if (batchUpdates) {
+            addToQuotaAndTileCountsBatch(tileSet, quotaDiff, tileCountDiffs);
+            return;
+        }
         tt.execute(new TransactionCallbackWithoutResult() {
 
             @Override
@@ -524,6 +555,113 @@ private void upsertTilePageFillFactor(PageStatsPayload payload) {
         });
     }
 
+    /**
+     * Applies the quota and tile count differences with a batch of increments, the page upserts included, retrying the
+     * whole transaction if it deadlocks or races with another one creating the same pages
+     */
+    private void addToQuotaAndTileCountsBatch(
+            final TileSet tileSet, final Quota quotaDiff, final Collection<PageStatsPayload> tileCountDiffs) {
+        DataAccessException lastException = null;
+        for (int i = 0; i < maxLoops; i++) {
+            try {
+                batchTt.execute(new TransactionCallbackWithoutResult() {
+
+                    @Override
+                    protected void doInTransactionWithoutResult(TransactionStatus status) {
+                        getOrCreateTileSet(tileSet);
+                        updateQuotasBatch(tileSet, quotaDiff);
+                        if (tileCountDiffs != null && !tileCountDiffs.isEmpty()) {
+                            // sorted as a deadlock avoidance measure, like in the non batch mode
+                            upsertTilePagesFillFactorBatch(tileSet, sortPayloads(tileCountDiffs));
+                        }
+                    }
+                });
+                return;
+            } catch (ConcurrencyFailureException | DuplicateKeyException e) {
+                if (log.isLoggable(Level.FINE)) {
+                    log.log(Level.FINE, "Concurrent update of the page stats, will retry", e);
+                }
+                lastException = e;
+            }
+        }
+        throw new ConcurrencyFailureException(
+                "Failed to update quota and page stats for tileset " + tileSet + " after " + maxLoops + " attempts",
+                lastException);
+    }
+
+    private void updateQuotasBatch(TileSet tileSet, Quota quotaDiff) {
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Applying quota diff " + quotaDiff.getBytes() + " on tileset " + tileSet);
+        }
+        String updateQuota = dialect.getUpdateQuotaStatement(schema, "tileSetId", "bytes");
+        BigDecimal bytes = new BigDecimal(quotaDiff.getBytes());
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] params =
+                new Map[] {quotaParams(tileSet.getId(), bytes), quotaParams(GLOBAL_QUOTA_NAME, bytes)};
+        jt.batchUpdate(updateQuota, params);
+    }
+
+    private Map<String, Object> quotaParams(String tileSetId, BigDecimal bytes) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("tileSetId", tileSetId);
+        params.put("bytes", bytes);
+        return params;
+    }
+
+    private void upsertTilePagesFillFactorBatch(TileSet tileSet, List<PageStatsPayload> payloads) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] params = new Map[payloads.size()];
+        for (int i = 0; i < params.length; i++) {
+            PageStatsPayload payload = payloads.get(i);
+            TilePage page = payload.getPage();
+            BigInteger tilesPerPage = calculator.getTilesPerPage(tileSet, page.getZoomLevel());
+            // same rounding as PageStats.addTiles
+            float fillFactorDiff = new BigDecimal(payload.getNumTiles())
+                    .divide(new BigDecimal(tilesPerPage), 7, RoundingMode.CEILING)
+                    .floatValue();
+            Map<String, Object> pageParams = new HashMap<>();
+            pageParams.put("key", page.getKey());
+            pageParams.put("tileSetId", page.getTileSetId());
+            pageParams.put("pageZ", page.getZoomLevel());
+            pageParams.put("pageX", page.getPageX());
+            pageParams.put("pageY", page.getPageY());
+            pageParams.put("creationTime", page.getCreationTimeMinutes());
+            pageParams.put("fillFactorDiff", fillFactorDiff);
+            params[i] = pageParams;
+        }
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Applying " + params.length + " page stats payloads on tileset " + tileSet);
+        }
+
+        String upsert = dialect.getUpsertPageFillFactorStatement(
+                schema, "key", "tileSetId", "pageZ", "pageX", "pageY", "creationTime", "fillFactorDiff");
+        if (upsert != null) {
+            jt.batchUpdate(upsert, params);
+            return;
+        }
+        // no upsert, create the missing pages empty, then add to all of them
+        String insert = dialect.contionalTilePageInsertStatement(
+                schema,
+                "key",
+                "tileSetId",
+                "pageZ",
+                "pageX",
+                "pageY",
+                "creationTime",
+                "frequencyOfUse",
+                "lastAccessTime",
+                "fillFactor",
+                "numHits");
+        for (Map<String, Object> pageParams : params) {
+            pageParams.put("frequencyOfUse", 0f);
+            pageParams.put("lastAccessTime", 0);
+            pageParams.put("fillFactor", 0f);
+            pageParams.put("numHits", BigDecimal.ZERO);
+        }
+        jt.batchUpdate(insert, params);
+        jt.batchUpdate(dialect.addPageStatsFillFactor(schema, "key", "fillFactorDiff"), params);
+    }
+
     /** Sorts the payloads by page key */
     protected List<PageStatsPayload> sortPayloads(Collection<PageStatsPayload> tileCountDiffs) {
         List<PageStatsPayload> result = new ArrayList<>(tileCountDiffs);
@@ -635,6 +773,32 @@ public TilePage getLeastRecentlyUsedPage(Set<String> layerNames) throws Interrup
         return getSinglePage(layerNames, false);
     }
 
+    @Override
+    public List<ExpirationCandidate> getPagesToExpire(Set<String> layerNames, ExpirationPolicy policy, int maxPages)
+            throws InterruptedException {
+        boolean leastFrequentlyUsed;
+        if (ExpirationPolicy.LFU.equals(policy)) {
+            leastFrequentlyUsed = true;
+        } else if (ExpirationPolicy.LRU.equals(policy)) {
+            leastFrequentlyUsed = false;
+        } else {
+            throw new IllegalStateException("Unrecognized expiration policy: " + policy);
+        }
+        Map<String, Object> params = new HashMap<>();
+        List<String> layerParamNames = new ArrayList<>();
+        int i = 0;
+        for (String layer : layerNames) {
+            i++;
+            String param = "Layer" + i;
+            params.put(param, layer);
+            layerParamNames.add(param);
+        }
+        String select = dialect.getPagesToExpire(schema, layerParamNames, leastFrequentlyUsed, maxPages);
+        TilePageRowMapper pageMapper = new TilePageRowMapper();
+        return jt.query(
+                select, params, (rs, rowNum) -> new ExpirationCandidate(pageMapper.mapRow(rs, rowNum), rs.getFloat(6)));
+    }
+
     private TilePage getSinglePage(Set<String> layerNames, boolean leastFrequentlyUsed) {
         Map<String, Object> params = new HashMap<>();
         List<String> layerParamNames = new ArrayList<>();
@@ -172,6 +172,7 @@ private QuotaStore getJDBCStore(
         store.setDialect(dialect);
         // sets schema if configured in geowebcache-diskquota-jdbc.xml
         store.setSchema(expandedConfig.getSchema());
+        store.setBatchUpdates(expandedConfig.isBatchUpdates());
 
         // initialize it
         store.initialize();
@@ -108,6 +108,20 @@ protected void addEmtpyTableReference(StringBuilder sb) {
         sb.append("FROM DUAL");
     }
 
+    @Override
+    public String getUpsertPageFillFactorStatement(
+            String schema,
+            String keyParam,
+            String tileSetIdParam,
+            String zParam,
+            String xParam,
+            String yParam,
+            String creationParam,
+            String fillFactorDiffParam) {
+        return mergePageFillFactorStatement(
+                schema, keyParam, tileSetIdParam, zParam, xParam, yParam, creationParam, fillFactorDiffParam, "DUAL");
+    }
+
     @Override
     public String getLeastFrequentlyUsedPage(String schema, List<String> layerParamNames) {
         StringBuilder sb = new StringBuilder("SELECT * FROM (");
@@ -159,4 +173,14 @@ public String getLeastRecentlyUsedPage(String schema, List<String> layerParamNam
 
         return sb.toString();
     }
+
+    @Override
+    public String getPagesToExpire(
+            String schema, List<String> layerParamNames, boolean leastFrequentlyUsed, int maxPages) {
+        StringBuilder sb = new StringBuilder("SELECT * FROM (");
+        appendPagesToExpire(sb, schema, layerParamNames, leastFrequentlyUsed);
+        sb.append(") WHERE ROWNUM <= ").append(maxPages);
+
+        return sb.toString();
+    }
 }
@@ -18,4 +18,27 @@
  *
  * @author Andrea Aime - GeoSolutions
  */
-public class PostgreSQLDialect extends SQLDialect {}
+public class PostgreSQLDialect extends SQLDialect {
+
+    @Override
+    public String getUpsertPageFillFactorStatement(
+            String schema,
+            String keyParam,
+            String tileSetIdParam,
+            String zParam,
+            String xParam,
+            String yParam,
+            String creationParam,
+            String fillFactorDiffParam) {
+        StringBuilder sb = new StringBuilder("INSERT INTO ");
+        if (schema != null) {
+            sb.append(schema).append(".");
+        }
+        sb.append("TILEPAGE AS T ");
+        appendNewPageValues(sb, keyParam, tileSetIdParam, zParam, xParam, yParam, creationParam, fillFactorDiffParam);
+        sb.append(" ON CONFLICT (KEY) DO UPDATE SET FILL_FACTOR = ");
+        sb.append(clampFillFactor("T.FILL_FACTOR + " + floatParam(fillFactorDiffParam)));
+
+        return sb.toString();
+    }
+}
@@ -441,6 +441,105 @@ public String updatePageStats(
         return sb.toString();
     }
 
+    /**
+     * Adds a difference to the fill factor of a page, keeping it between 0 and 1, without reading it first, so that
+     * concurrent updates of the same page commute. Used along with {@link #getUpsertPageFillFactorStatement(String,
+     * String, String, String, String, String, String, String)} in batch mode, after creating the missing pages, when
+     * the database has no upsert statement.
+     */
+    public String addPageStatsFillFactor(String schema, String keyParam, String fillFactorDiffParam) {
+        StringBuilder sb = new StringBuilder("UPDATE ");
+        if (schema != null) {
+            sb.append(schema).append(".");
+        }
+        sb.append("TILEPAGE SET FILL_FACTOR = ");
+        sb.append(clampFillFactor("FILL_FACTOR + " + floatParam(fillFactorDiffParam)));
+        sb.append(" WHERE KEY = :").append(keyParam);
+
+        return sb.toString();
+    }
+
+    /**
+     * Adds a difference to the fill factor of a page, keeping it between 0 and 1, creating the page with no hits if
+     * missing, in a single statement that can be run in batch and commutes with concurrent updates of the same page.
+     *
+     * @return the upsert statement, or {@code null} if the database has none, in which case the missing pages are
+     *     created with {@link #contionalTilePageInsertStatement} and then updated with
+     *     {@link #addPageStatsFillFactor(String, String, String)}
+     */
+    public String getUpsertPageFillFactorStatement(
+            String schema,
+            String keyParam,
+            String tileSetIdParam,
+            String zParam,
+            String xParam,
+            String yParam,
+            String creationParam,
+            String fillFactorDiffParam) {
+        return null;
+    }
+
+    /**
+     * Builds a standard MERGE statement for {@link #getUpsertPageFillFactorStatement(String, String, String, String,
+     * String, String, String, String)}
+     *
+     * @param source the single row table to merge from
+     */
+    protected String mergePageFillFactorStatement(
+            String schema,
+            String keyParam,
+            String tileSetIdParam,
+            String zParam,
+            String xParam,
+            String yParam,
+            String creationParam,
+            String fillFactorDiffParam,
+            String source) {
+        StringBuilder sb = new StringBuilder("MERGE INTO ");
+        if (schema != null) {
+            sb.append(schema).append(".");
+        }
+        sb.append("TILEPAGE T USING ").append(source);
+        sb.append(" ON (T.KEY = :").append(keyParam).append(")");
+        sb.append(" WHEN MATCHED THEN UPDATE SET T.FILL_FACTOR = ");
+        sb.append(clampFillFactor("T.FILL_FACTOR + " + floatParam(fillFactorDiffParam)));
+        sb.append(" WHEN NOT MATCHED THEN INSERT ");
+        appendNewPageValues(sb, keyParam, tileSetIdParam, zParam, xParam, yParam, creationParam, fillFactorDiffParam);
+
+        return sb.toString();
+    }
+
+    /** Appends the columns and values of a new page with no hits, for the upsert statements */
+    protected void appendNewPageValues(
+            StringBuilder sb,
+            String keyParam,
+            String tileSetIdParam,
+            String zParam,
+            String xParam,
+            String yParam,
+            String creationParam,
+            String fillFactorDiffParam) {
+        sb.append("(KEY, TILESET_ID, PAGE_Z, PAGE_X, PAGE_Y, CREATION_TIME_MINUTES, ");
+        sb.append("FREQUENCY_OF_USE, LAST_ACCESS_TIME_MINUTES, FILL_FACTOR, NUM_HITS) VALUES (");
+        sb.append(":").append(keyParam).append(", ");
+        sb.append(":").append(tileSetIdParam).append(", ");
+        sb.append(":").append(zParam).append(", ");
+        sb.append(":").append(xParam).append(", ");
+        sb.append(":").append(yParam).append(", ");
+        sb.append(":").append(creationParam).append(", 0, 0, ");
+        sb.append(clampFillFactor(floatParam(fillFactorDiffParam))).append(", 0)");
+    }
+
+    /** @return the expression, limited to the 0 to 1 range of fill factors */
+    protected String clampFillFactor(String expression) {
+        return "CASE WHEN " + expression + " < 0 THEN 0 WHEN " + expression + " > 1 THEN 1 ELSE " + expression + " END";
+    }
+
+    /** @return the parameter, typed as a float, as some databases cannot infer its type in expressions */
+    protected String floatParam(String param) {
+        return "CAST(:" + param + " AS FLOAT)";
+    }
+
     public String getLeastFrequentlyUsedPage(String schema, List<String> layerParamNames) {
         StringBuilder sb = new StringBuilder("SELECT TILESET_ID, PAGE_X, PAGE_Y, PAGE_Z, CREATION_TIME_MINUTES FROM ");
         if (schema != null) {
@@ -488,4 +587,45 @@ public String getLeastRecentlyUsedPage(String schema, List<String> layerParamNam
 
         return sb.toString();
     }
+
+    /**
+     * Selects up to {@code maxPages} non empty pages of the given layers, in expiration order, along with their fill
+     * factor
+     */
+    public String getPagesToExpire(
+            String schema, List<String> layerParamNames, boolean leastFrequentlyUsed, int maxPages) {
+        StringBuilder sb = new StringBuilder();
+        appendPagesToExpire(sb, schema, layerParamNames, leastFrequentlyUsed);
+        sb.append(" LIMIT ").append(maxPages);
+
+        return sb.toString();
+    }
+
+    /** Appends the ordered selection of {@link #getPagesToExpire(String, List, boolean, int)}, with no limit */
+    protected void appendPagesToExpire(
+            StringBuilder sb, String schema, List<String> layerParamNames, boolean leastFrequentlyUsed) {
+        sb.append("SELECT TILESET_ID, PAGE_X, PAGE_Y, PAGE_Z, CREATION_TIME_MINUTES, FILL_FACTOR FROM ");
+        if (schema != null) {
+            sb.append(schema).append(".");
+        }
+        sb.append("TILEPAGE WHERE FILL_FACTOR > 0 ");
+        sb.append("AND TILESET_ID IN (");
+        sb.append("SELECT KEY FROM ");
+        if (schema != null) {
+            sb.append(schema).append(".");
+        }
+        sb.append("TILESET WHERE LAYER_NAME IN (");
+        for (int i = 0; i < layerParamNames.size(); i++) {
+            sb.append(":" + layerParamNames.get(i));
+            if (i < layerParamNames.size() - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append(")) ");
+        if (leastFrequentlyUsed) {
+            sb.append("ORDER BY FREQUENCY_OF_USE ASC");
+        } else {
+            sb.append("ORDER BY LAST_ACCESS_TIME_MINUTES ASC");
+        }
+    }
 }
@@ -44,6 +44,8 @@
 import org.geowebcache.config.XMLConfiguration;
 import org.geowebcache.config.XMLConfigurationBackwardsCompatibilityTest;
 import org.geowebcache.diskquota.DiskQuotaMonitor;
+import org.geowebcache.diskquota.ExpirationPolicy;
+import org.geowebcache.diskquota.storage.ExpirationCandidate;
 import org.geowebcache.diskquota.storage.PageStats;
 import org.geowebcache.diskquota.storage.PageStatsPayload;
 import org.geowebcache.diskquota.storage.Quota;
@@ -656,6 +658,37 @@ public void testPageStatsGathering() throws Exception {
         assertEquals(expected, frequencyOfUsePerMinute, 1e-6f);
     }
 
+    @Test
+    public void testBatchUpdates() throws Exception {
+        store.setBatchUpdates(true);
+        TileSet tileSet = testTileSet;
+        TilePage page = new TilePage(tileSet.getId(), 0, 0, (byte) 0);
+        PageStatsPayload payload = new PageStatsPayload(page);
+        payload.setTileSet(tileSet);
+        payload.setNumTiles(1);
+
+        // the first update creates the page, the second one finds it, the fill factor stays within bounds
+        store.addToQuotaAndTileCounts(tileSet, new Quota(1, StorageUnit.MiB), Collections.singleton(payload));
+        store.addToQuotaAndTileCounts(tileSet, new Quota(1, StorageUnit.MiB), Collections.singleton(payload));
+        assertEquals(
+                new Quota(2, StorageUnit.MiB).getBytes(),
+                store.getUsedQuotaByTileSetId(tileSet.getId()).getBytes());
+        assertEquals(
+                new Quota(2, StorageUnit.MiB).getBytes(),
+                store.getGloballyUsedQuota().getBytes());
+        List<PageStats> stats =
+                store.addHitsAndSetAccesTime(Collections.singleton(payload)).get();
+        assertEquals(1f, stats.get(0).getFillFactor(), 1e-6f);
+
+        payload.setNumTiles(-1);
+        store.addToQuotaAndTileCounts(tileSet, new Quota(-1, StorageUnit.MiB), Collections.singleton(payload));
+        assertEquals(
+                new Quota(1, StorageUnit.MiB).getBytes(),
+                store.getUsedQuotaByTileSetId(tileSet.getId()).getBytes());
+        stats = store.addHitsAndSetAccesTime(Collections.singleton(payload)).get();
+        assertEquals(0f, stats.get(0).getFillFactor(), 1e-6f);
+    }
+
     @Test
     public void testGetGloballyUsedQuota() throws InterruptedException {
         Quota usedQuota = store.getGloballyUsedQuota();
@@ -730,6 +763,39 @@ public void testGetLeastFrequentlyUsedPage() throws Exception {
         assertEquals(page1, leastFrequentlyUsedPage);
     }
 
+    @Test
+    public void testGetPagesToExpire() throws Exception {
+        Set<String> layerNames = Collections.singleton(testTileSet.getLayerName());
+        assertTrue(store.getPagesToExpire(layerNames, ExpirationPolicy.LFU, 10).isEmpty());
+
+        TilePage page1 = new TilePage(testTileSet.getId(), 0, 1, 2);
+        TilePage page2 = new TilePage(testTileSet.getId(), 1, 1, 2);
+        TilePage page3 = new TilePage(testTileSet.getId(), 0, 0, 2);
+        List<PageStatsPayload> payloads = new ArrayList<>();
+        int[] hits = {100, 10, 1000};
+        for (TilePage page : Arrays.asList(page1, page2, page3)) {
+            PageStatsPayload payload = new PageStatsPayload(page, testTileSet);
+            payload.setNumTiles(1);
+            payload.setNumHits(hits[payloads.size()]);
+            payloads.add(payload);
+        }
+        store.addToQuotaAndTileCounts(testTileSet, new Quota(1, StorageUnit.MiB), payloads);
+        store.addHitsAndSetAccesTime(payloads).get();
+
+        List<ExpirationCandidate> candidates = store.getPagesToExpire(layerNames, ExpirationPolicy.LFU, 2);
+        assertEquals(2, candidates.size());
+        assertEquals(page2, candidates.get(0).getPage());
+        assertEquals(page1, candidates.get(1).getPage());
+        assertTrue(candidates.get(0).getFillFactor() > 0);
+
+        // empty pages are skipped
+        store.setTruncated(page2);
+        candidates = store.getPagesToExpire(layerNames, ExpirationPolicy.LFU, 10);
+        assertEquals(
+                Arrays.asList(page1, page3),
+                candidates.stream().map(ExpirationCandidate::getPage).collect(Collectors.toList()));
+    }
+
     @Test
     public void testGetLeastFrequentlyUsedPageSkipEmpty() throws Exception {
         final String layerName = testTileSet.getLayerName();
@@ -0,0 +1,104 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.memory.distributed;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import java.io.IOException;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.storage.TileObject;
+
+/**
+ * Value stored in the Hazelcast map by the {@link HazelcastCacheProvider}: the contents of a tile, its last
+ * modification time, and its layer name for the removal of the layers. The other tile properties are part of the map
+ * key. The contents are shared with the returned tiles and must not be modified.
+ *
+ * @since 1.27
+ */
+public class CachedTile implements IdentifiedDataSerializable {
+
+    /** Name of the attribute holding the layer name, indexed in the Hazelcast map */
+    public static final String LAYER_ATTRIBUTE = "layer";
+
+    private String layer;
+
+    private long lastModified;
+
+    private byte[] contents;
+
+    /** Constructor used by the deserialization */
+    public CachedTile() {}
+
+    public CachedTile(String layer, long lastModified, byte[] contents) {
+        this.layer = layer;
+        this.lastModified = lastModified;
+        this.contents = contents;
+    }
+
+    public String getLayer() {
+        return layer;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public byte[] getContents() {
+        return contents;
+    }
+
+    /**
+     * @param query the tile requested
+     * @return the requested tile with the cached contents
+     */
+    public TileObject toTileObject(TileObject query) {
+        ByteArrayResource blob = new ByteArrayResource(contents);
+        blob.setLastModified(lastModified);
+        TileObject tile = TileObject.createCompleteTileObject(
+                query.getLayerName(),
+                query.getXYZ(),
+                query.getGridSetId(),
+                query.getBlobFormat(),
+                query.getParameters(),
+                blob);
+        tile.setParametersId(query.getParametersId());
+        tile.setCreated(lastModified);
+        return tile;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return CachedTileFactory.FACTORY_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return CachedTileFactory.CACHED_TILE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeString(layer);
+        out.writeLong(lastModified);
+        out.writeByteArray(contents);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        layer = in.readString();
+        lastModified = in.readLong();
+        contents = in.readByteArray();
+    }
+}
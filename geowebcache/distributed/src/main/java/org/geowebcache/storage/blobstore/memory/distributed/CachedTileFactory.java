@@ -0,0 +1,55 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.storage.blobstore.memory.distributed;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+/**
+ * {@link DataSerializableFactory} of the {@link CachedTile} values. It must be registered in the configuration of all
+ * the cluster members with the {@link #FACTORY_ID} id, either with {@link #register(Config)} or in the <code>
+ * serialization</code> section of the <code>hazelcast.xml</code> file. The {@link HazelcastLoader} registers it in the
+ * configurations it loads.
+ *
+ * @since 1.27
+ */
+public class CachedTileFactory implements DataSerializableFactory {
+
+    /** Id of the factory in the Hazelcast serialization configuration */
+    public static final int FACTORY_ID = 1927;
+
+    /** Class id of {@link CachedTile} */
+    public static final int CACHED_TILE = 1;
+
+    @Override
+    public IdentifiedDataSerializable create(int typeId) {
+        return typeId == CACHED_TILE ? new CachedTile() : null;
+    }
+
+    /** Registers the factory in the given configuration, unless a factory is already registered with its id */
+    public static void register(Config config) {
+        if (!isRegistered(config)) {
+            config.getSerializationConfig().addDataSerializableFactory(FACTORY_ID, new CachedTileFactory());
+        }
+    }
+
+    /** @return whether a factory is registered with the {@link #FACTORY_ID} id in the given configuration */
+    public static boolean isRegistered(Config config) {
+        SerializationConfig serialization = config.getSerializationConfig();
+        return serialization.getDataSerializableFactories().containsKey(FACTORY_ID)
+                || serialization.getDataSerializableFactoryClasses().containsKey(FACTORY_ID);
+    }
+}
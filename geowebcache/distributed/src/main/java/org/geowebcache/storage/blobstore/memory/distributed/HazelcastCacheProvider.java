@@ -13,18 +13,22 @@
  */
 package org.geowebcache.storage.blobstore.memory.distributed;
 
-import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.map.IMap;
 import com.hazelcast.map.LocalMapStats;
-import com.hazelcast.query.Predicate;
-import com.hazelcast.query.PredicateBuilder;
-import com.hazelcast.query.impl.PredicateBuilderImpl;
+import com.hazelcast.nearcache.NearCacheStats;
+import com.hazelcast.query.Predicates;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.apache.commons.io.IOUtils;
 import org.geotools.util.logging.Logging;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.io.Resource;
 import org.geowebcache.storage.TileObject;
 import org.geowebcache.storage.blobstore.memory.CacheConfiguration;
 import org.geowebcache.storage.blobstore.memory.CacheConfiguration.EvictionPolicy;
@@ -43,6 +47,11 @@
  * instances while the total operation count indicates only the number of GET operations requested on the local cluster
  * instance.
  *
+ * <p>The tiles are stored as {@link CachedTile} values, serialized by the {@link CachedTileFactory} which must be
+ * registered on all the cluster members, and the map is indexed on their layer name. A near cache can be configured on
+ * the map to serve the hot tiles without a network hop, as long as it is invalidated on change. Its hits are counted in
+ * the statistics.
+ *
  * @author Nicola Lagomarsini Geosolutions
  */
 public class HazelcastCacheProvider implements CacheProvider, DisposableBean {
@@ -60,7 +69,7 @@ public class HazelcastCacheProvider implements CacheProvider, DisposableBean {
     private static final String HAZELCAST_NAME = "Hazelcast Cache";
 
     /** Hazelcast {@link IMap} */
-    private final IMap<String, TileObject> map;
+    private final IMap<String, CachedTile> map;
 
     /** Boolean indicating that the Cache has been configured */
     private final boolean configured;
@@ -74,6 +83,7 @@ public HazelcastCacheProvider(HazelcastLoader loader) {
         // cacheProvider parameters are defined
         if (configured) {
             map = loader.getInstance().getMap(HAZELCAST_MAP_DEFINITION);
+            addLayerIndex(map);
             totalSize = loader.getInstance()
                             .getConfig()
                             .getMapConfig(HAZELCAST_MAP_DEFINITION)
@@ -92,10 +102,16 @@ public HazelcastCacheProvider(HazelcastLoader loader) {
         }
     }
 
-    public HazelcastCacheProvider(IMap<String, TileObject> map, long totalSize) {
+    public HazelcastCacheProvider(IMap<String, CachedTile> map, long totalSize) {
         this.map = map;
         this.totalSize = totalSize;
         this.configured = true;
+        addLayerIndex(map);
+    }
+
+    /** Indexes the map on the layer names, does nothing if the index already exists */
+    private static void addLayerIndex(IMap<String, CachedTile> map) {
+        map.addIndex(new IndexConfig(IndexType.HASH, CachedTile.LAYER_ATTRIBUTE));
     }
 
     @Override
@@ -105,7 +121,8 @@ public TileObject getTileObj(TileObject obj) {
                 LOGGER.fine("Getting TileObject:" + obj);
             }
             String key = GuavaCacheProvider.generateTileKey(obj);
-            return map.get(key);
+            CachedTile cached = map.get(key);
+            return cached != null ? cached.toTileObject(obj) : null;
         } else {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.fine("Cache not configured");
@@ -120,8 +137,15 @@ public void putTileObj(TileObject obj) {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.fine("Adding TileObject:" + obj);
             }
+            byte[] contents;
+            try {
+                contents = getContents(obj.getBlob());
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Unable to read the TileObject to cache: " + obj, e);
+                return;
+            }
             String key = GuavaCacheProvider.generateTileKey(obj);
-            map.put(key, obj);
+            map.put(key, new CachedTile(obj.getLayerName(), obj.getBlob().getLastModified(), contents));
         } else {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.fine("Cache not configured");
@@ -150,15 +174,8 @@ public void removeLayer(String layername) {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.fine("Removing Layer:" + layername);
             }
-            // Creation of the Predicate
-            PredicateBuilder.EntryObject e = new PredicateBuilderImpl().getEntryObject();
-            @SuppressWarnings("unchecked")
-            Predicate<String, TileObject> predicate =
-                    (Predicate<String, TileObject>) e.get("layer_name").equal(layername);
-            // Creation of the processor
-            CacheEntryProcessor entryProcessor = new CacheEntryProcessor();
-            // Execution of the Processor
-            map.executeOnEntries(entryProcessor, predicate);
+            // Removal of the entries found in the layer index
+            map.removeAll(Predicates.equal(CachedTile.LAYER_ATTRIBUTE, layername));
         } else {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.fine("Cache not configured");
@@ -166,6 +183,17 @@ public void removeLayer(String layername) {
         }
     }
 
+    /** @return the contents of the resource, without copying them if it is a {@link ByteArrayResource} */
+    private static byte[] getContents(Resource blob) throws IOException {
+        if (blob instanceof ByteArrayResource) {
+            byte[] contents = ((ByteArrayResource) blob).getContents();
+            return contents != null ? contents : new byte[0];
+        }
+        try (InputStream is = blob.getInputStream()) {
+            return IOUtils.toByteArray(is);
+        }
+    }
+
     @Override
     public void clear() {
         if (configured) {
@@ -269,8 +297,12 @@ static class HazelcastCacheStatistics extends CacheStatistics {
 
         public HazelcastCacheStatistics(LocalMapStats localMapStats, long totalSize) {
             // Note that HITS indicates all the hits to the local entries, even if the request
-            // is made from another cluster instance
+            // is made from another cluster instance, plus the hits of the local near cache
             long hits = localMapStats.getHits();
+            NearCacheStats nearCacheStats = localMapStats.getNearCacheStats();
+            if (nearCacheStats != null) {
+                hits += nearCacheStats.getHits();
+            }
             setHitCount(hits);
             // Total indicates the total number of the GET operations made by the local cache
             long total = localMapStats.getGetOperationCount();
@@ -297,24 +329,4 @@ public HazelcastCacheStatistics(LocalMapStats localMapStats, long totalSize) {
             setEvictionCount(-1);
         }
     }
-
-    /**
-     * {@link EntryProcessor} implementation used for removing defined entries
-     *
-     * @author Nicola Lagomarsini Geosolutions
-     */
-    static class CacheEntryProcessor implements EntryProcessor<String, TileObject, Object> {
-
-        @Override
-        public Object process(Entry<String, TileObject> entry) {
-            // By setting the entry value to null the entry is evicted
-            entry.setValue(null);
-            return null;
-        }
-
-        @Override
-        public EntryProcessor<String, TileObject, Object> getBackupProcessor() {
-            return null;
-        }
-    }
 }
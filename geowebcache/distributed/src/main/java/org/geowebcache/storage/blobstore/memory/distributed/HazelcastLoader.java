@@ -36,7 +36,8 @@
  * instance or can setup a file called hazelcast.xml and define its directory with the hazelcast.config.dir Java
  * property. Note that the configuration must contain a map with name "CacheProviderMap" with a specific size in MB, an
  * eviction policy equal to LRU or LFU. Also if NearCache is enabled, user must be careful that the max size is not
- * bigger or equal to Integer.MAX_VALUE
+ * bigger or equal to Integer.MAX_VALUE, and that it is invalidated on change. The {@link CachedTileFactory} is
+ * registered in the configuration loaded from the file, while an injected instance must have been configured with it.
  *
  * @author Nicola Lagomarsini Geosolutions
  */
@@ -81,6 +82,7 @@ public void afterPropertiesSet() throws Exception {
                         try (InputStream stream = new FileInputStream(hazelCastConf)) {
                             config = new XmlConfigBuilder(stream).build();
                         }
+                        CachedTileFactory.register(config);
                         // Ensure the configuration is accepted
                         if (configAccepted(config)) {
                             if (LOGGER.isLoggable(Level.FINE)) {
@@ -130,7 +132,8 @@ public HazelcastInstance getInstance() {
      * Validation for an input {@link Config} object provided. This method ensures that the input configuration contains
      * a map with name "CacheProviderMap", contains a size configuration in Mb and related to the used Heap size and has
      * an eviction policy equal to LRU or LFU. If a NearCache object is defined it cannot have max size greater or equal
-     * to {@link Integer}.MAX_VALUE
+     * to {@link Integer}.MAX_VALUE, and must be invalidated on change. The {@link CachedTileFactory} must be
+     * registered.
      */
     private boolean configAccepted(Config config) {
         boolean configAccepted = false;
@@ -151,10 +154,16 @@ private boolean configAccepted(Config config) {
                 boolean nearCacheAccepted = true;
                 if (mapConfig.getNearCacheConfig() != null) {
                     NearCacheConfig conf = mapConfig.getNearCacheConfig();
-                    nearCacheAccepted = conf.getEvictionConfig().getSize() < Integer.MAX_VALUE;
+                    nearCacheAccepted =
+                            conf.getEvictionConfig().getSize() < Integer.MAX_VALUE && conf.isInvalidateOnChange();
+                }
+                // Check the serialization of the cached tiles
+                boolean factoryRegistered = CachedTileFactory.isRegistered(config);
+                if (!factoryRegistered && LOGGER.isLoggable(Level.INFO)) {
+                    LOGGER.info("No DataSerializableFactory registered with id " + CachedTileFactory.FACTORY_ID);
                 }
 
-                if (sizeDefined && policyExists && sizeFromHeap && nearCacheAccepted) {
+                if (sizeDefined && policyExists && sizeFromHeap && nearCacheAccepted && factoryRegistered) {
                     if (LOGGER.isLoggable(Level.FINE)) {
                         LOGGER.fine("Hazelcast config validated");
                     }
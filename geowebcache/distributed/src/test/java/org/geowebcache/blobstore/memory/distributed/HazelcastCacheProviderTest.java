@@ -19,9 +19,12 @@
 import static org.junit.Assert.fail;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.TcpIpConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastTestSupport;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.UnknownHostException;
@@ -36,6 +39,7 @@
 import org.geowebcache.storage.TileObject;
 import org.geowebcache.storage.blobstore.memory.MemoryBlobStore;
 import org.geowebcache.storage.blobstore.memory.NullBlobStore;
+import org.geowebcache.storage.blobstore.memory.distributed.CachedTileFactory;
 import org.geowebcache.storage.blobstore.memory.distributed.HazelcastCacheProvider;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -66,6 +70,12 @@ public class HazelcastCacheProviderTest {
     /** Cache object 2 */
     private static HazelcastCacheProvider cache2;
 
+    /** Cache object 1 with a near cache */
+    private static HazelcastCacheProvider nearCache1;
+
+    /** Cache object 2 with a near cache */
+    private static HazelcastCacheProvider nearCache2;
+
     /** First {@link MemoryBlobStore} instance used for tests */
     private static MemoryBlobStore mem1;
 
@@ -77,6 +87,14 @@ public static void initialSetup() throws UnknownHostException {
         Config config = new Config();
         config.getMapConfig("default").setBackupCount(1).setAsyncBackupCount(0);
         config.setClusterName("gwc");
+        CachedTileFactory.register(config);
+        // Near cache caching all the entries, invalidated without waiting for a batch
+        config.setProperty("hazelcast.map.invalidation.batch.enabled", "false");
+        NearCacheConfig nearCacheConfig = new NearCacheConfig()
+                .setInMemoryFormat(InMemoryFormat.OBJECT)
+                .setCacheLocalEntries(true)
+                .setInvalidateOnChange(true);
+        config.getMapConfig("nearMap").setNearCacheConfig(nearCacheConfig);
         TcpIpConfig tcpIpConfig = config.getNetworkConfig().getJoin().getTcpIpConfig();
         tcpIpConfig.setEnabled(true);
         tcpIpConfig.getMembers().add("localhost");
@@ -95,6 +113,9 @@ public static void initialSetup() throws UnknownHostException {
         cache2 = new HazelcastCacheProvider(h2.getMap("map1"), 16);
         mem2.setCacheProvider(cache2);
 
+        nearCache1 = new HazelcastCacheProvider(h1.getMap("nearMap"), 16);
+        nearCache2 = new HazelcastCacheProvider(h2.getMap("nearMap"), 16);
+
         // Ensure both the caches are available and immutable
         assertTrue(HazelcastCacheProviderTest.cache1.isAvailable());
         assertTrue(HazelcastCacheProviderTest.cache1.isImmutable());
@@ -206,6 +227,58 @@ public void testTileDelete() throws Exception {
         assertNull(to6);
     }
 
+    @Test
+    public void testRemoveLayer() throws Exception {
+        cache1.clear();
+
+        long[] xyz = {1L, 2L, 3L};
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("a", "x");
+        for (String layer : new String[] {"layer1", "layer2"}) {
+            cache1.putTileObj(TileObject.createCompleteTileObject(
+                    layer, xyz, "EPSG:4326", "image/png", parameters, new ByteArrayResource(layer.getBytes())));
+        }
+
+        // Removal from the other cluster instance
+        cache2.removeLayer("layer1");
+
+        assertNull(cache1.getTileObj(
+                TileObject.createQueryTileObject("layer1", xyz, "EPSG:4326", "image/png", parameters)));
+        TileObject cached = cache1.getTileObj(
+                TileObject.createQueryTileObject("layer2", xyz, "EPSG:4326", "image/png", parameters));
+        assertNotNull(cached);
+        assertEquals("layer2", cached.getLayerName());
+        assertEquals("layer2", new String(((ByteArrayResource) cached.getBlob()).getContents()));
+    }
+
+    @Test
+    public void testNearCache() throws Exception {
+        long[] xyz = {1L, 2L, 3L};
+        TileObject to = TileObject.createCompleteTileObject(
+                "near", xyz, "EPSG:4326", "image/png", null, new ByteArrayResource("1 2 3".getBytes()));
+        TileObject query = TileObject.createQueryTileObject("near", xyz, "EPSG:4326", "image/png", null);
+        nearCache1.putTileObj(to);
+
+        // The second read is served by the near cache
+        assertNotNull(nearCache2.getTileObj(query));
+        assertNotNull(nearCache2.getTileObj(query));
+        assertTrue(nearCache2.getStatistics().getHitCount() > 0);
+
+        // A tile replaced by the other cluster instance is invalidated
+        TileObject replaced = TileObject.createCompleteTileObject(
+                "near", xyz, "EPSG:4326", "image/png", null, new ByteArrayResource("4 5 6".getBytes()));
+        nearCache1.putTileObj(replaced);
+        HazelcastTestSupport.assertTrueEventually(() -> {
+            TileObject cached = nearCache2.getTileObj(query);
+            assertNotNull(cached);
+            assertEquals("4 5 6", new String(((ByteArrayResource) cached.getBlob()).getContents()));
+        });
+
+        // And so is a removed layer
+        nearCache1.removeLayer("near");
+        HazelcastTestSupport.assertTrueEventually(() -> assertNull(nearCache2.getTileObj(query)));
+    }
+
     @AfterClass
     public static void afterClass() throws Exception {
         // Blobstore destroy
@@ -215,6 +288,8 @@ public static void afterClass() throws Exception {
         // Cache destruction
         cache1.destroy();
         cache2.destroy();
+        nearCache1.destroy();
+        nearCache2.destroy();
 
         // tear down hazelcast itself
         Hazelcast.shutdownAll();
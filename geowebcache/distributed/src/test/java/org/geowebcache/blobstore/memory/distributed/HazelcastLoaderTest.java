@@ -0,0 +1,141 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.blobstore.memory.distributed;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.geowebcache.storage.blobstore.memory.distributed.CachedTileFactory;
+import org.geowebcache.storage.blobstore.memory.distributed.HazelcastCacheProvider;
+import org.geowebcache.storage.blobstore.memory.distributed.HazelcastLoader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** This test class is used for testing the configurations accepted or rejected by {@link HazelcastLoader}. */
+public class HazelcastLoaderTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    /** Returns a configuration with a valid cache map, without the tile factory */
+    private static Config config() {
+        Config config = new Config();
+        config.getMapConfig(HazelcastCacheProvider.HAZELCAST_MAP_DEFINITION)
+                .getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE)
+                .setSize(16);
+        return config;
+    }
+
+    /** Returns an instance only exposing the given configuration, as the loader does not use anything else */
+    private static HazelcastInstance instance(Config config) {
+        return (HazelcastInstance) Proxy.newProxyInstance(
+                HazelcastLoaderTest.class.getClassLoader(),
+                new Class<?>[] {HazelcastInstance.class},
+                (proxy, method, args) -> "getConfig".equals(method.getName()) ? config : null);
+    }
+
+    private static HazelcastLoader load(Config config) throws Exception {
+        HazelcastLoader loader = new HazelcastLoader();
+        loader.setInstance(instance(config));
+        loader.afterPropertiesSet();
+        return loader;
+    }
+
+    @Test
+    public void testInjectedInstanceAccepted() throws Exception {
+        Config config = config();
+        CachedTileFactory.register(config);
+
+        assertTrue(load(config).isConfigured());
+    }
+
+    @Test
+    public void testInjectedInstanceWithoutFactoryRejected() throws Exception {
+        HazelcastLoader loader = load(config());
+
+        assertFalse(loader.isConfigured());
+        assertNull(loader.getInstance());
+    }
+
+    @Test
+    public void testNearCacheWithoutInvalidationRejected() throws Exception {
+        Config config = config();
+        CachedTileFactory.register(config);
+        config.getMapConfig(HazelcastCacheProvider.HAZELCAST_MAP_DEFINITION)
+                .setNearCacheConfig(new NearCacheConfig().setInvalidateOnChange(false));
+
+        assertFalse(load(config).isConfigured());
+    }
+
+    @Test
+    public void testNearCacheWithInvalidationAccepted() throws Exception {
+        Config config = config();
+        CachedTileFactory.register(config);
+        config.getMapConfig(HazelcastCacheProvider.HAZELCAST_MAP_DEFINITION)
+                .setNearCacheConfig(new NearCacheConfig().setInvalidateOnChange(true));
+
+        assertTrue(load(config).isConfigured());
+    }
+
+    @Test
+    public void testFileConfigRegistersFactory() throws Exception {
+        // No factory declared in the file, the loader registers it
+        String xml = "<hazelcast xmlns=\"http://www.hazelcast.com/schema/config\">\n"
+                + "  <cluster-name>gwc-loader-test</cluster-name>\n"
+                + "  <network>\n"
+                + "    <join>\n"
+                + "      <auto-detection enabled=\"false\"/>\n"
+                + "      <multicast enabled=\"false\"/>\n"
+                + "    </join>\n"
+                + "  </network>\n"
+                + "  <map name=\"" + HazelcastCacheProvider.HAZELCAST_MAP_DEFINITION + "\">\n"
+                + "    <eviction eviction-policy=\"LRU\" max-size-policy=\"USED_HEAP_SIZE\" size=\"16\"/>\n"
+                + "  </map>\n"
+                + "</hazelcast>\n";
+        File dir = temp.newFolder();
+        Files.write(new File(dir, HazelcastLoader.HAZELCAST_NAME).toPath(), xml.getBytes(StandardCharsets.UTF_8));
+
+        String previous = System.getProperty(HazelcastLoader.HAZELCAST_CONFIG_DIR);
+        System.setProperty(HazelcastLoader.HAZELCAST_CONFIG_DIR, dir.getAbsolutePath());
+        HazelcastLoader loader = new HazelcastLoader();
+        try {
+            loader.afterPropertiesSet();
+
+            assertTrue(loader.isConfigured());
+            assertTrue(CachedTileFactory.isRegistered(loader.getInstance().getConfig()));
+        } finally {
+            if (previous == null) {
+                System.clearProperty(HazelcastLoader.HAZELCAST_CONFIG_DIR);
+            } else {
+                System.setProperty(HazelcastLoader.HAZELCAST_CONFIG_DIR, previous);
+            }
+            if (loader.isConfigured()) {
+                loader.getInstance().shutdown();
+            }
+        }
+    }
+}
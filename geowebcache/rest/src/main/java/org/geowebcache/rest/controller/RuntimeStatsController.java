@@ -0,0 +1,74 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.rest.controller;
+
+import java.util.Map;
+import org.geowebcache.stats.LatencyHistogram;
+import org.geowebcache.stats.RuntimeStats;
+import org.geowebcache.stats.RuntimeStats.LatencyKey;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Publishes the request latency percentiles tracked by {@link RuntimeStats} as JSON */
+@Component
+@RestController
+@RequestMapping(path = "${gwc.context.suffix:}/rest")
+public class RuntimeStatsController {
+
+    @Autowired(required = false)
+    RuntimeStats runtimeStats;
+
+    public void setRuntimeStats(RuntimeStats runtimeStats) {
+        this.runtimeStats = runtimeStats;
+    }
+
+    @RequestMapping(
+            value = {"/runtimestats", "/runtimestats.json"},
+            method = RequestMethod.GET,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> doGet() throws JSONException {
+        if (runtimeStats == null) {
+            return new ResponseEntity<>("Runtime statistics are not enabled", HttpStatus.NOT_FOUND);
+        }
+        JSONArray latencies = new JSONArray();
+        for (Map.Entry<LatencyKey, LatencyHistogram> e :
+                runtimeStats.getLatencies().entrySet()) {
+            LatencyKey key = e.getKey();
+            LatencyHistogram histogram = e.getValue();
+            JSONObject entry = new JSONObject();
+            entry.put("layer", key.getLayer());
+            entry.put("gridSet", key.getGridSet());
+            entry.put("cacheResult", key.getCacheResult().toString());
+            entry.put("count", histogram.getCount());
+            entry.put("meanMicros", histogram.getMean());
+            entry.put("p50Micros", histogram.getPercentile(50));
+            entry.put("p99Micros", histogram.getPercentile(99));
+            entry.put("p999Micros", histogram.getPercentile(99.9));
+            entry.put("maxMicros", histogram.getMax());
+            latencies.put(entry);
+        }
+        JSONObject result = new JSONObject();
+        result.put("latencies", latencies);
+        return new ResponseEntity<>(result.toString(), HttpStatus.OK);
+    }
+}
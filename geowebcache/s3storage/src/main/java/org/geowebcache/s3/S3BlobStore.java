@@ -17,23 +17,23 @@
 import static java.util.Objects.isNull;
 
 import com.amazonaws.AmazonServiceException;
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.AccessControlList;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.BucketPolicy;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.DeleteObjectsRequest;
-import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
 import com.amazonaws.services.s3.model.Grant;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
-import com.google.common.base.Function;
-import com.google.common.collect.AbstractIterator;
-import com.google.common.collect.Iterators;
-import com.google.common.collect.Lists;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -41,16 +41,27 @@
 import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.geotools.util.logging.Logging;
 import org.geowebcache.GeoWebCacheException;
@@ -61,14 +72,16 @@
 import org.geowebcache.locks.LockProvider;
 import org.geowebcache.mime.MimeException;
 import org.geowebcache.mime.MimeType;
+import org.geowebcache.s3.S3Ops.ConditionalGetResult;
 import org.geowebcache.storage.BlobStore;
 import org.geowebcache.storage.BlobStoreListener;
 import org.geowebcache.storage.BlobStoreListenerList;
 import org.geowebcache.storage.CompositeBlobStore;
+import org.geowebcache.storage.ListingTruncator;
 import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileBatches;
 import org.geowebcache.storage.TileObject;
 import org.geowebcache.storage.TileRange;
-import org.geowebcache.storage.TileRangeIterator;
 import org.geowebcache.util.TMSKeyBuilder;
 
 public class S3BlobStore implements BlobStore {
@@ -89,6 +102,45 @@ public class S3BlobStore implements BlobStore {
 
     private CannedAccessControlList acl;
 
+    /**
+     * Runs the single tile requests of {@link #putAll(Collection)} and {@link #getAll(Collection)}, and the listings
+     * and deletes of {@link #delete(TileRange)}
+     */
+    private final ExecutorService batchExecutor;
+
+    /** Maximum number of keys of a multi-object delete request */
+    static final int DELETE_BATCH_SIZE = 1000;
+
+    private final ListingTruncator truncator;
+
+    /** Maximum number of entries of {@link #tileSizes} */
+    static final int TILE_SIZES_CACHE_SIZE = 100_000;
+
+    /** {@link #tileSizes} value for the tiles known not to exist */
+    private static final long ABSENT = -1;
+
+    /** Seconds {@link #destroy()} waits for the pending uploads */
+    private static final int SHUTDOWN_TIMEOUT = 30;
+
+    /** Whether tiles are uploaded in the background, see {@link S3BlobStoreInfo#getAsyncPuts()} */
+    private final boolean asyncPuts;
+
+    /** Runs the uploads in async mode, {@code null} otherwise */
+    private final ExecutorService putExecutor;
+
+    /** Bounds the number of uploads running or queued in async mode */
+    private final Semaphore putWindow;
+
+    /** The uploads running or queued in async mode by key, so that reads and deletes see them */
+    private final Map<String, PendingPut> pendingPuts = new ConcurrentHashMap<>();
+
+    /**
+     * Sizes of the tiles recently read or written in async mode, or {@link #ABSENT}, so that listeners can be notified
+     * without a metadata request per upload
+     */
+    private final Cache<String, Long> tileSizes =
+            CacheBuilder.newBuilder().maximumSize(TILE_SIZES_CACHE_SIZE).build();
+
     public S3BlobStore(S3BlobStoreInfo config, TileLayerDispatcher layers, LockProvider lockProvider)
             throws StorageException {
         checkNotNull(config);
@@ -101,6 +153,17 @@ public S3BlobStore(S3BlobStoreInfo config, TileLayerDispatcher layers, LockProvi
         acl = config.getAccessControlList();
 
         this.s3Ops = new S3Ops(conn, bucketName, keyBuilder, lockProvider);
+        int parallelism = getParallelism(config.getMaxConnections());
+        this.batchExecutor = createExecutor("GWC S3BlobStore batch thread-%d. Bucket: " + bucketName, parallelism);
+        this.truncator = new S3Truncator(parallelism);
+        this.asyncPuts = Boolean.parseBoolean(config.getAsyncPuts());
+        if (asyncPuts) {
+            this.putExecutor = createExecutor("GWC S3BlobStore put thread-%d. Bucket: " + bucketName, parallelism);
+            this.putWindow = new Semaphore(4 * parallelism);
+        } else {
+            this.putExecutor = null;
+            this.putWindow = null;
+        }
 
         boolean empty = !s3Ops.prefixExists(prefix);
         boolean existing = Objects.nonNull(s3Ops.getObjectMetadata(keyBuilder.storeMetadata()));
@@ -112,6 +175,22 @@ public S3BlobStore(S3BlobStoreInfo config, TileLayerDispatcher layers, LockProvi
         s3Ops.putProperties(keyBuilder.storeMetadata(), new Properties());
     }
 
+    private static int getParallelism(@Nullable String maxConnections) {
+        Integer parallelism = maxConnections == null ? null : Ints.tryParse(maxConnections.trim());
+        if (parallelism == null || parallelism <= 0) {
+            parallelism = ClientConfiguration.DEFAULT_MAX_CONNECTIONS;
+        }
+        return parallelism;
+    }
+
+    private static ExecutorService createExecutor(String nameFormat, int parallelism) {
+        ThreadFactory tf = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat(nameFormat)
+                .build();
+        return Executors.newFixedThreadPool(parallelism, tf);
+    }
+
     /**
      * Validates the client connection by running some {@link S3ClientChecker}, returns the valiated client on success,
      * otherwise throws an exception
@@ -176,6 +255,17 @@ public void destroy() {
         AmazonS3Client conn = this.conn;
         this.conn = null;
         if (conn != null) {
+            if (putExecutor != null) {
+                putExecutor.shutdown();
+                try {
+                    if (!putExecutor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                        log.warning("Gave up waiting for " + pendingPuts.size() + " pending uploads to " + bucketName);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            batchExecutor.shutdownNow();
             s3Ops.shutDown();
             conn.shutdown();
         }
@@ -191,51 +281,165 @@ public boolean removeListener(BlobStoreListener listener) {
         return listeners.removeListener(listener);
     }
 
+    /**
+     * Uploads the tile, in async mode the upload is queued and this method returns as soon as the tile is visible to
+     * {@link #get(TileObject)}
+     */
     @Override
     public void put(TileObject obj) throws StorageException {
-        final Resource blob = obj.getBlob();
-        checkNotNull(blob);
-        checkNotNull(obj.getBlobFormat());
+        if (asyncPuts) {
+            putAsync(obj, true);
+            return;
+        }
+        putTile(obj);
+        putParametersMetadata(obj.getLayerName(), obj.getParametersId(), obj.getParameters());
+    }
 
+    /**
+     * Uploads the tiles concurrently, and the parameters metadata once per distinct set of parameters instead of once
+     * per tile
+     */
+    @Override
+    public void putAll(Collection<TileObject> objs) throws StorageException {
+        if (asyncPuts) {
+            Set<String> parameters = new HashSet<>();
+            for (TileObject obj : objs) {
+                putAsync(obj, parameters.add(obj.getLayerName() + "/" + obj.getParametersId()));
+            }
+            return;
+        }
+        TileBatches.forEach(objs, batchExecutor, obj -> {
+            putTile(obj);
+            return true;
+        });
+        Map<String, TileObject> byParameters = new HashMap<>();
+        for (TileObject obj : objs) {
+            byParameters.putIfAbsent(obj.getLayerName() + "/" + obj.getParametersId(), obj);
+        }
+        for (TileObject obj : byParameters.values()) {
+            putParametersMetadata(obj.getLayerName(), obj.getParametersId(), obj.getParameters());
+        }
+    }
+
+    /** Fetches the tiles concurrently */
+    @Override
+    public List<TileObject> getAll(Collection<TileObject> objs) throws StorageException {
+        return TileBatches.forEach(objs, batchExecutor, this::get);
+    }
+
+    /**
+     * Queues the upload of a tile, waiting if the upload window is full. Failed uploads are logged, the tile is then
+     * simply missing from the cache.
+     */
+    private void putAsync(TileObject obj, boolean withParameters) throws StorageException {
+        checkNotNull(obj.getBlob());
+        checkNotNull(obj.getBlobFormat());
         final String key = keyBuilder.forTile(obj);
-        ObjectMetadata objectMetadata = new ObjectMetadata();
-        objectMetadata.setContentLength(blob.getSize());
+        final byte[] bytes = toBytes(obj.getBlob());
+        try {
+            putWindow.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted waiting to store " + key, e);
+        }
+        final PendingPut pending = new PendingPut(bytes);
+        final PendingPut previous = pendingPuts.put(key, pending);
+        try {
+            putExecutor.execute(() -> {
+                try {
+                    // keep the uploads of the same tile in order
+                    if (previous != null) previous.await();
+                    uploadTile(obj, key, bytes);
+                    if (withParameters) {
+                        putParametersMetadata(obj.getLayerName(), obj.getParametersId(), obj.getParameters());
+                    }
+                } catch (Exception e) {
+                    log.log(Level.WARNING, "Failed to store " + key, e);
+                } finally {
+                    pendingPuts.remove(key, pending);
+                    pending.done.countDown();
+                    putWindow.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            pendingPuts.remove(key, pending);
+            pending.done.countDown();
+            putWindow.release();
+            throw new StorageException("Could not queue the upload of " + key, e);
+        }
+    }
 
-        String blobFormat = obj.getBlobFormat();
-        String mimeType;
+    /** Waits for the pending upload of a tile, if any */
+    private void awaitPendingPut(String key) throws StorageException {
+        PendingPut pending = pendingPuts.get(key);
+        if (pending != null) {
+            pending.await();
+        }
+    }
+
+    /** Waits for all the uploads pending at the time of the call, before the operations working on key prefixes */
+    void awaitPendingPuts() throws StorageException {
+        if (!asyncPuts) {
+            return;
+        }
+        for (PendingPut pending : new ArrayList<>(pendingPuts.values())) {
+            pending.await();
+        }
+    }
+
+    private void awaitPendingPutsUnchecked() {
         try {
-            mimeType = MimeType.createFromFormat(blobFormat).getMimeType();
-        } catch (MimeException me) {
-            throw new RuntimeException(me);
+            awaitPendingPuts();
+        } catch (StorageException e) {
+            throw new RuntimeException(e);
         }
-        objectMetadata.setContentType(mimeType);
+    }
 
+    /** Waits for the pending uploads and forgets the cached tile sizes, before deleting tiles by key prefix */
+    private void prepareBulkDelete() throws StorageException {
+        awaitPendingPuts();
+        tileSizes.invalidateAll();
+    }
+
+    private void putTile(TileObject obj) throws StorageException {
+        final Resource blob = obj.getBlob();
+        checkNotNull(blob);
+        checkNotNull(obj.getBlobFormat());
+        uploadTile(obj, keyBuilder.forTile(obj), toBytes(blob));
+    }
+
+    private void uploadTile(TileObject obj, String key, byte[] bytes) throws StorageException {
+        log.finer(log.isLoggable(Level.FINER) ? ("Storing " + key) : "");
         // don't bother for the extra call if there are no listeners
         final boolean existed;
-        ObjectMetadata oldObj;
+        long oldSize = ABSENT;
         if (listeners.isEmpty()) {
             existed = false;
-            oldObj = null;
+            s3Ops.putObject(newPutObjectRequest(obj, key, bytes));
+        } else if (asyncPuts) {
+            Long cachedSize = tileSizes.getIfPresent(key);
+            if (cachedSize != null) {
+                oldSize = cachedSize;
+                s3Ops.putObject(newPutObjectRequest(obj, key, bytes));
+            } else {
+                oldSize = putIfAbsent(obj, key, bytes);
+            }
+            existed = oldSize != ABSENT;
+            tileSizes.put(key, (long) bytes.length);
         } else {
-            oldObj = s3Ops.getObjectMetadata(key);
+            ObjectMetadata oldObj = s3Ops.getObjectMetadata(key);
             existed = oldObj != null;
+            if (existed) {
+                oldSize = oldObj.getContentLength();
+            }
+            s3Ops.putObject(newPutObjectRequest(obj, key, bytes));
         }
 
-        final ByteArrayInputStream input = toByteArray(blob);
-        PutObjectRequest putObjectRequest =
-                new PutObjectRequest(bucketName, key, input, objectMetadata).withCannedAcl(acl);
-
-        log.finer(log.isLoggable(Level.FINER) ? ("Storing " + key) : "");
-        s3Ops.putObject(putObjectRequest);
-
-        putParametersMetadata(obj.getLayerName(), obj.getParametersId(), obj.getParameters());
-
         /*
          * This is important because listeners may be tracking tile existence
          */
         if (!listeners.isEmpty()) {
             if (existed) {
-                long oldSize = oldObj.getContentLength();
                 listeners.sendTileUpdated(obj, oldSize);
             } else {
                 listeners.sendTileStored(obj);
@@ -243,7 +447,51 @@ public void put(TileObject obj) throws StorageException {
         }
     }
 
-    private ByteArrayInputStream toByteArray(final Resource blob) throws StorageException {
+    /**
+     * Uploads a tile only if it does not exist, letting the server tell whether it is new in the same round trip. If it
+     * exists its size is looked up and the tile overwritten.
+     *
+     * @return the size of the tile being replaced, or {@link #ABSENT}
+     */
+    private long putIfAbsent(TileObject obj, String key, byte[] bytes) throws StorageException {
+        PutObjectRequest request = newPutObjectRequest(obj, key, bytes);
+        request.putCustomRequestHeader("If-None-Match", "*");
+        try {
+            s3Ops.putObject(request);
+            return ABSENT;
+        } catch (StorageException e) {
+            // 412 if the tile exists, 409 if a concurrent conditional upload of the same tile is in progress
+            if (!(e.getCause() instanceof AmazonS3Exception)) {
+                throw e;
+            }
+            int status = ((AmazonS3Exception) e.getCause()).getStatusCode();
+            if (status != 412 && status != 409) {
+                throw e;
+            }
+        }
+        ObjectMetadata oldObj = s3Ops.getObjectMetadata(key);
+        s3Ops.putObject(newPutObjectRequest(obj, key, bytes));
+        return oldObj == null ? ABSENT : oldObj.getContentLength();
+    }
+
+    private PutObjectRequest newPutObjectRequest(TileObject obj, String key, byte[] bytes) {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentLength(bytes.length);
+
+        String blobFormat = obj.getBlobFormat();
+        String mimeType;
+        try {
+            mimeType = MimeType.createFromFormat(blobFormat).getMimeType();
+        } catch (MimeException me) {
+            throw new RuntimeException(me);
+        }
+        objectMetadata.setContentType(mimeType);
+
+        return new PutObjectRequest(bucketName, key, new ByteArrayInputStream(bytes), objectMetadata)
+                .withCannedAcl(acl);
+    }
+
+    private byte[] toBytes(final Resource blob) throws StorageException {
         final byte[] bytes;
         if (blob instanceof ByteArrayResource) {
             bytes = ((ByteArrayResource) blob).getContents();
@@ -256,22 +504,44 @@ private ByteArrayInputStream toByteArray(final Resource blob) throws StorageExce
                 throw new StorageException("Error copying blob contents", e);
             }
         }
-        ByteArrayInputStream input = new ByteArrayInputStream(bytes);
-        return input;
+        return bytes;
     }
 
     @Override
     public boolean get(TileObject obj) throws StorageException {
         final String key = keyBuilder.forTile(obj);
-        try (S3Object object = s3Ops.getObject(key)) {
-            if (object == null) {
-                return false;
+        if (asyncPuts) {
+            PendingPut pending = pendingPuts.get(key);
+            if (pending != null) {
+                obj.setBlobSize(pending.bytes.length);
+                obj.setBlob(new ByteArrayResource(pending.bytes));
+                obj.setCreated(pending.created);
+                return true;
             }
+        }
+        final long validatorTimestamp = obj.getValidatorTimestamp();
+        final S3Object found;
+        if (validatorTimestamp < 0) {
+            found = s3Ops.getObject(key);
+        } else {
+            ConditionalGetResult result = s3Ops.getObject(key, new Date(validatorTimestamp));
+            if (result != null && result.isNotModified()) {
+                obj.setNotModified();
+                return true;
+            }
+            found = result == null ? null : result.getObject();
+        }
+        if (found == null) {
+            if (asyncPuts) tileSizes.put(key, ABSENT);
+            return false;
+        }
+        try (S3Object object = found) {
             try (S3ObjectInputStream in = object.getObjectContent()) {
                 byte[] bytes = ByteStreams.toByteArray(in);
                 obj.setBlobSize(bytes.length);
                 obj.setBlob(new ByteArrayResource(bytes));
                 obj.setCreated(object.getObjectMetadata().getLastModified().getTime());
+                if (asyncPuts) tileSizes.put(key, (long) bytes.length);
             }
         } catch (IOException e) {
             throw new StorageException("Error getting " + key, e);
@@ -279,79 +549,43 @@ public boolean get(TileObject obj) throws StorageException {
         return true;
     }
 
-    private class TileToKey implements Function<long[], KeyVersion> {
+    /** Truncates tile ranges listing the tiles actually stored, see {@link ListingTruncator} */
+    private class S3Truncator extends ListingTruncator {
 
-        private final String coordsPrefix;
+        S3Truncator(int parallelism) {
+            super(batchExecutor, parallelism, DELETE_BATCH_SIZE);
+        }
 
-        private final String extension;
+        @Override
+        protected Stream<StoredObject> list(String prefix) {
+            return s3Ops.objectStream(prefix).map(o -> new StoredObject(o.getKey(), o.getSize()));
+        }
 
-        public TileToKey(String coordsPrefix, MimeType mimeType) {
-            this.coordsPrefix = coordsPrefix;
-            this.extension = mimeType.getInternalName();
+        @Override
+        protected void delete(List<String> keys) throws StorageException {
+            s3Ops.deleteObjects(keys);
         }
 
         @Override
-        public KeyVersion apply(long[] loc) {
-            long z = loc[2];
-            long x = loc[0];
-            long y = loc[1];
-            StringBuilder sb = new StringBuilder(coordsPrefix);
-            sb.append(z).append('/').append(x).append('/').append(y).append('.').append(extension);
-            return new KeyVersion(sb.toString());
+        protected boolean isAborted() {
+            return shutDown;
         }
     }
 
     @Override
     public boolean delete(final TileRange tileRange) throws StorageException {
 
+        prepareBulkDelete();
         final String coordsPrefix = keyBuilder.coordinatesPrefix(tileRange, true);
         if (!s3Ops.prefixExists(coordsPrefix)) {
             return false;
         }
 
-        final Iterator<long[]> tileLocations = new AbstractIterator<>() {
-
-            // TileRange iterator with 1x1 meta tiling factor
-            private TileRangeIterator trIter = new TileRangeIterator(tileRange, new int[] {1, 1});
-
-            @Override
-            protected long[] computeNext() {
-                long[] gridLoc = trIter.nextMetaGridLocation(new long[3]);
-                return gridLoc == null ? endOfData() : gridLoc;
-            }
-        };
-
-        if (listeners.isEmpty()) {
-            // if there are no listeners, don't bother requesting every tile
-            // metadata to notify the listeners
-            Iterator<List<long[]>> partition = Iterators.partition(tileLocations, 1000);
-            final TileToKey tileToKey = new TileToKey(coordsPrefix, tileRange.getMimeType());
-
-            while (partition.hasNext() && !shutDown) {
-                List<long[]> locations = partition.next();
-                List<KeyVersion> keys = Lists.transform(locations, tileToKey);
-
-                DeleteObjectsRequest req = new DeleteObjectsRequest(bucketName);
-                req.setQuiet(true);
-                req.setKeys(keys);
-                conn.deleteObjects(req);
-            }
-
-        } else {
-            long[] xyz;
-            String layerName = tileRange.getLayerName();
-            String gridSetId = tileRange.getGridSetId();
-            String format = tileRange.getMimeType().getFormat();
-            Map<String, String> parameters = tileRange.getParameters();
-
-            while (tileLocations.hasNext()) {
-                xyz = tileLocations.next();
-                TileObject tile = TileObject.createQueryTileObject(layerName, xyz, gridSetId, format, parameters);
-                tile.setParametersId(tileRange.getParametersId());
-                delete(tile);
-            }
+        truncator.truncate(tileRange, coordsPrefix, listeners);
+        if (asyncPuts) {
+            // sizes read while truncating might be stale
+            tileSizes.invalidateAll();
         }
-
         return true;
     }
 
@@ -359,6 +593,7 @@ protected long[] computeNext() {
     public boolean delete(String layerName) throws StorageException {
         checkNotNull(layerName, "layerName");
 
+        prepareBulkDelete();
         final String metadataKey = keyBuilder.layerMetadata(layerName);
         final String layerPrefix = keyBuilder.forLayer(layerName);
 
@@ -382,6 +617,7 @@ public boolean deleteByGridsetId(final String layerName, final String gridSetId)
         checkNotNull(layerName, "layerName");
         checkNotNull(gridSetId, "gridSetId");
 
+        prepareBulkDelete();
         final String gridsetPrefix = keyBuilder.forGridset(layerName, gridSetId);
 
         boolean prefixExists;
@@ -399,6 +635,10 @@ public boolean deleteByGridsetId(final String layerName, final String gridSetId)
     @Override
     public boolean delete(TileObject obj) throws StorageException {
         final String key = keyBuilder.forTile(obj);
+        if (asyncPuts) {
+            awaitPendingPut(key);
+            tileSizes.put(key, ABSENT);
+        }
 
         // don't bother for the extra call if there are no listeners
         if (listeners.isEmpty()) {
@@ -473,6 +713,7 @@ private void putParametersMetadata(String layerName, String parametersId, Map<St
 
     @Override
     public boolean layerExists(String layerName) {
+        awaitPendingPutsUnchecked();
         final String coordsPrefix = keyBuilder.forLayer(layerName);
         boolean layerExists = s3Ops.prefixExists(coordsPrefix);
         return layerExists;
@@ -483,6 +724,7 @@ public boolean deleteByParametersId(String layerName, String parametersId) throw
         checkNotNull(layerName, "layerName");
         checkNotNull(parametersId, "parametersId");
 
+        prepareBulkDelete();
         boolean prefixExists = keyBuilder.forParameters(layerName, parametersId).stream()
                 .map(prefix -> {
                     try {
@@ -503,6 +745,7 @@ public boolean deleteByParametersId(String layerName, String parametersId) throw
     @SuppressWarnings("unchecked")
     @Override
     public Set<Map<String, String>> getParameters(String layerName) {
+        awaitPendingPutsUnchecked();
         return s3Ops.objectStream(keyBuilder.parametersMetadataPrefix(layerName))
                 .map(S3ObjectSummary::getKey)
                 .map(s3Ops::getProperties)
@@ -513,10 +756,34 @@ public Set<Map<String, String>> getParameters(String layerName) {
     @Override
     @SuppressWarnings("unchecked")
     public Map<String, Optional<Map<String, String>>> getParametersMapping(String layerName) {
+        awaitPendingPutsUnchecked();
         return s3Ops.objectStream(keyBuilder.parametersMetadataPrefix(layerName))
                 .map(S3ObjectSummary::getKey)
                 .map(s3Ops::getProperties)
                 .map(props -> (Map<String, String>) (Map<?, ?>) props)
                 .collect(Collectors.toMap(ParametersUtils::getId, Optional::of));
     }
+
+    /** A tile upload queued in async mode */
+    private static class PendingPut {
+
+        final byte[] bytes;
+
+        final long created = System.currentTimeMillis();
+
+        final CountDownLatch done = new CountDownLatch(1);
+
+        PendingPut(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        void await() throws StorageException {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StorageException("Interrupted waiting for a pending upload", e);
+            }
+        }
+    }
 }
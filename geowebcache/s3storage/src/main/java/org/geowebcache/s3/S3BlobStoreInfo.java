@@ -77,6 +77,8 @@ public class S3BlobStoreInfo extends BlobStoreInfo {
 
     private String endpoint;
 
+    private String asyncPuts;
+
     public S3BlobStoreInfo() {
         super();
     }
@@ -325,6 +327,25 @@ public void setUseGzip(String use) {
         this.useGzip = use;
     }
 
+    /**
+     * Checks if tiles are uploaded in the background
+     *
+     * @return whether tiles are uploaded in the background
+     */
+    public String getAsyncPuts() {
+        return asyncPuts;
+    }
+
+    /**
+     * Sets whether tiles should be uploaded in the background, letting tile requests return without waiting for S3.
+     * Tiles being uploaded are served from memory, uploads failing are logged and the tiles are not cached.
+     *
+     * @param asyncPuts whether tiles should be uploaded in the background
+     */
+    public void setAsyncPuts(String asyncPuts) {
+        this.asyncPuts = asyncPuts;
+    }
+
     @Override
     public BlobStore createInstance(TileLayerDispatcher layers, LockProvider lockProvider) throws StorageException {
 
@@ -357,6 +378,7 @@ public S3BlobStoreInfo clone(GeoWebCacheEnvironment gwcEnvironment, Boolean allo
             blobStore.setProxyUsername(nullSafeResolveString(getProxyUsername(), gwcEnvironment));
             blobStore.setProxyPassword(nullSafeResolveString(getProxyPassword(), gwcEnvironment));
             blobStore.setEndpoint(nullSafeResolveString(getEndpoint(), gwcEnvironment));
+            blobStore.setAsyncPuts(nullSafeResolveString(getAsyncPuts(), gwcEnvironment));
         }
         return blobStore;
     }
@@ -460,6 +482,7 @@ public int hashCode() {
         final int prime = 31;
         int result = super.hashCode();
         result = prime * result + ((access == null) ? 0 : access.hashCode());
+        result = prime * result + ((asyncPuts == null) ? 0 : asyncPuts.hashCode());
         result = prime * result + ((awsAccessKey == null) ? 0 : awsAccessKey.hashCode());
         result = prime * result + ((awsSecretKey == null) ? 0 : awsSecretKey.hashCode());
         result = prime * result + ((bucket == null) ? 0 : bucket.hashCode());
@@ -484,6 +507,9 @@ public boolean equals(Object obj) {
         if (getClass() != obj.getClass()) return false;
         S3BlobStoreInfo other = (S3BlobStoreInfo) obj;
         if (access != other.access) return false;
+        if (asyncPuts == null) {
+            if (other.asyncPuts != null) return false;
+        } else if (!asyncPuts.equals(other.asyncPuts)) return false;
         if (awsAccessKey == null) {
             if (other.awsAccessKey != null) return false;
         } else if (!awsAccessKey.equals(other.awsAccessKey)) return false;
@@ -561,6 +587,8 @@ public String toString() {
                 + useGzip
                 + ", endpoint="
                 + endpoint
+                + ", asyncPuts="
+                + asyncPuts
                 + ", getName()="
                 + getName()
                 + ", getId()="
@@ -19,6 +19,7 @@
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
@@ -32,6 +33,7 @@
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -235,6 +237,61 @@ public S3Object getObject(String key) throws StorageException {
         return object;
     }
 
+    /**
+     * Conditional version of {@link #getObject(String)}, the result tells whether the object has been modified since
+     * the given time
+     *
+     * @return {@code null} if the object does not exist
+     */
+    @Nullable
+    public ConditionalGetResult getObject(String key, Date modifiedSince) throws StorageException {
+        final S3Object object;
+        try {
+            object = conn.getObject(new GetObjectRequest(bucketName, key).withModifiedSinceConstraint(modifiedSince));
+        } catch (AmazonS3Exception e) {
+            if (404 == e.getStatusCode()) { // 404 == not found
+                return null;
+            }
+            throw new StorageException("Error fetching " + key + ": " + e.getMessage(), e);
+        }
+        if (object == null) {
+            // the constraint was not met, but the object may be about to be deleted
+            if (!isPendingDelete(key)) {
+                return ConditionalGetResult.NOT_MODIFIED;
+            }
+            S3Object current = getObject(key);
+            return current == null ? null : new ConditionalGetResult(current);
+        }
+        if (isPendingDelete(object)) {
+            closeObject(object);
+            return null;
+        }
+        return new ConditionalGetResult(object);
+    }
+
+    /** The outcome of {@link S3Ops#getObject(String, Date)}, either the object or the fact it has not been modified */
+    static final class ConditionalGetResult {
+
+        static final ConditionalGetResult NOT_MODIFIED = new ConditionalGetResult(null);
+
+        @Nullable
+        private final S3Object object;
+
+        private ConditionalGetResult(@Nullable S3Object object) {
+            this.object = object;
+        }
+
+        public boolean isNotModified() {
+            return object == null;
+        }
+
+        /** @return the object, which the caller must close, or {@code null} if {@link #isNotModified() not modified} */
+        @Nullable
+        public S3Object getObject() {
+            return object;
+        }
+    }
+
     private void closeObject(S3Object object) throws StorageException {
         try {
             object.close();
@@ -243,6 +300,18 @@ private void closeObject(S3Object object) throws StorageException {
         }
     }
 
+    /** Deletes the objects with the given keys, at most 1000, with a single request */
+    public void deleteObjects(List<String> keys) throws StorageException {
+        DeleteObjectsRequest req = new DeleteObjectsRequest(bucketName);
+        req.setQuiet(true);
+        req.setKeys(keys.stream().map(KeyVersion::new).collect(Collectors.toList()));
+        try {
+            conn.deleteObjects(req);
+        } catch (RuntimeException e) {
+            throw new StorageException("Error deleting " + keys.size() + " objects: " + e.getMessage(), e);
+        }
+    }
+
     public boolean deleteObject(final String key) {
         try {
             conn.deleteObject(bucketName, key);
@@ -252,6 +321,10 @@ public boolean deleteObject(final String key) {
         return true;
     }
 
+    private boolean isPendingDelete(String key) {
+        return pendingDeletesKeyTime.keySet().stream().anyMatch(key::startsWith);
+    }
+
     private boolean isPendingDelete(S3Object object) {
         if (pendingDeletesKeyTime.isEmpty()) {
             return false;
@@ -0,0 +1,47 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.s3;
+
+import java.util.Collection;
+import org.geowebcache.layer.TileLayerDispatcher;
+import org.geowebcache.locks.LockProvider;
+import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileObject;
+
+/**
+ * Runs the conformance tests with {@link S3BlobStoreInfo#getAsyncPuts() async puts}. The listeners are notified once
+ * the upload is done, so the store waits for the pending uploads after each put to let the tests verify them.
+ */
+public class S3BlobStoreAsyncConformanceTest extends S3BlobStoreConformanceTest {
+
+    @Override
+    protected S3BlobStore createStore(S3BlobStoreInfo config, TileLayerDispatcher layers, LockProvider lockProvider)
+            throws StorageException {
+        config.setAsyncPuts("true");
+        return new S3BlobStore(config, layers, lockProvider) {
+
+            @Override
+            public void put(TileObject obj) throws StorageException {
+                super.put(obj);
+                awaitPendingPuts();
+            }
+
+            @Override
+            public void putAll(Collection<TileObject> objs) throws StorageException {
+                super.putAll(objs);
+                awaitPendingPuts();
+            }
+        };
+    }
+}
@@ -0,0 +1,243 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.s3;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.layer.TileLayer;
+import org.geowebcache.layer.TileLayerDispatcher;
+import org.geowebcache.locks.NoOpLockProvider;
+import org.geowebcache.mime.ImageMime;
+import org.geowebcache.storage.BlobStoreListener;
+import org.geowebcache.storage.TileObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatcher;
+
+/**
+ * Tests the {@link S3BlobStoreInfo#getAsyncPuts() async puts} against a mocked client, so that the uploads can be held
+ * back or made to fail
+ */
+public class S3BlobStoreAsyncTest {
+
+    private static final String BUCKET = "test-bucket";
+
+    private AmazonS3Client client;
+
+    private S3BlobStore store;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws Exception {
+        client = mock(AmazonS3Client.class);
+        when(client.listObjects(any(ListObjectsRequest.class))).thenReturn(new ObjectListing());
+
+        TileLayer layer = mock(TileLayer.class);
+        when(layer.getName()).thenReturn("testLayer");
+        when(layer.getId()).thenReturn("testLayer");
+        when(layer.getGridSubsets()).thenReturn(Collections.singleton("testGridSet"));
+        when(layer.getMimeTypes()).thenReturn(Arrays.asList(ImageMime.png));
+        TileLayerDispatcher layers = mock(TileLayerDispatcher.class);
+        when(layers.getTileLayer("testLayer")).thenReturn(layer);
+
+        S3BlobStoreInfo config = new S3BlobStoreInfo() {
+            @Override
+            public AmazonS3Client buildClient() {
+                return client;
+            }
+        };
+        config.setBucket(BUCKET);
+        config.setAsyncPuts("true");
+        // a window of four uploads
+        config.setMaxConnections("1");
+        store = new S3BlobStore(config, layers, new NoOpLockProvider()) {
+            @Override
+            protected AmazonS3Client validateClient(AmazonS3Client client, String bucketName) {
+                return client;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        store.destroy();
+    }
+
+    private static TileObject tile(long x, String content) {
+        return TileObject.createCompleteTileObject(
+                "testLayer",
+                new long[] {x, 0, 5},
+                "testGridSet",
+                "image/png",
+                null,
+                new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static TileObject query(long x) {
+        return TileObject.createQueryTileObject("testLayer", new long[] {x, 0, 5}, "testGridSet", "image/png", null);
+    }
+
+    private static ArgumentMatcher<PutObjectRequest> tileRequest() {
+        return request -> request != null && request.getKey().endsWith(".png");
+    }
+
+    private static ArgumentMatcher<PutObjectRequest> conditionalRequest() {
+        return request -> {
+            if (request == null || !request.getKey().endsWith(".png")) {
+                return false;
+            }
+            Map<String, String> headers = request.getCustomRequestHeaders();
+            return headers != null && "*".equals(headers.get("If-None-Match"));
+        };
+    }
+
+    /** Holds the tile uploads back until {@link #release} is counted down */
+    private void holdUploads() {
+        when(client.putObject(argThat(tileRequest()))).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return new PutObjectResult();
+        });
+    }
+
+    private static AmazonS3Exception exception(int status) {
+        AmazonS3Exception exception = new AmazonS3Exception("status " + status);
+        exception.setStatusCode(status);
+        return exception;
+    }
+
+    @Test
+    public void testGetServedFromPendingPut() throws Exception {
+        holdUploads();
+
+        store.put(tile(1, "pending"));
+        TileObject query = query(1);
+        assertThat(store.get(query), is(true));
+        assertThat(
+                new String(((ByteArrayResource) query.getBlob()).getContents(), StandardCharsets.UTF_8),
+                equalTo("pending"));
+        verify(client, never()).getObject(eq(BUCKET), argThat(key -> key.endsWith(".png")));
+
+        release.countDown();
+        store.awaitPendingPuts();
+        verify(client).putObject(argThat(tileRequest()));
+    }
+
+    @Test
+    public void testExistingTileFallsBackToUnconditionalPut() throws Exception {
+        BlobStoreListener listener = mock(BlobStoreListener.class);
+        store.addListener(listener);
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(42);
+        when(client.getObjectMetadata(eq(BUCKET), argThat(key -> key != null && key.endsWith(".png"))))
+                .thenReturn(metadata);
+        // the tile exists, or a concurrent conditional upload of the same tile is in progress
+        when(client.putObject(argThat(conditionalRequest())))
+                .thenThrow(exception(412))
+                .thenThrow(exception(409));
+
+        store.put(tile(1, "first"));
+        store.put(tile(2, "second"));
+        store.awaitPendingPuts();
+
+        verify(client, times(2)).putObject(argThat(conditionalRequest()));
+        verify(client, times(4)).putObject(argThat(tileRequest()));
+        verify(listener).tileUpdated("testLayer", "testGridSet", "image/png", null, 1, 0, 5, "first".length(), 42);
+        verify(listener).tileUpdated("testLayer", "testGridSet", "image/png", null, 2, 0, 5, "second".length(), 42);
+        verify(listener, never())
+                .tileStored(anyString(), anyString(), anyString(), any(), anyLong(), anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    public void testUploadWindowBlocksPuts() throws Exception {
+        holdUploads();
+        for (int i = 0; i < 4; i++) {
+            store.put(tile(i, "tile"));
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> blocked = executor.submit(() -> {
+                store.put(tile(4, "tile"));
+                return null;
+            });
+            try {
+                blocked.get(200, TimeUnit.MILLISECONDS);
+                throw new AssertionError("The put should wait for a slot in the upload window");
+            } catch (TimeoutException e) {
+                // expected
+            }
+            release.countDown();
+            blocked.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        store.awaitPendingPuts();
+        verify(client, times(5)).putObject(argThat(tileRequest()));
+    }
+
+    @Test
+    public void testFailedPutIsNotNotified() throws Exception {
+        BlobStoreListener listener = mock(BlobStoreListener.class);
+        store.addListener(listener);
+        when(client.putObject(argThat(tileRequest()))).thenThrow(exception(500));
+
+        // failures are logged, the tile is then missing
+        store.put(tile(1, "lost"));
+        store.awaitPendingPuts();
+
+        assertThat(store.get(query(1)), is(false));
+        verify(listener, never())
+                .tileStored(anyString(), anyString(), anyString(), any(), anyLong(), anyLong(), anyInt(), anyLong());
+
+        // the store keeps working
+        when(client.putObject(argThat(tileRequest()))).thenReturn(new PutObjectResult());
+        store.put(tile(2, "stored"));
+        store.awaitPendingPuts();
+        verify(listener).tileStored("testLayer", "testGridSet", "image/png", null, 2, 0, 5, "stored".length());
+    }
+}
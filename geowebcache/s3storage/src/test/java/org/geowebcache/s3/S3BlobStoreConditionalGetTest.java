@@ -0,0 +1,161 @@
+/**
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * <p>You should have received a copy of the GNU Lesser General Public License along with this program. If not, see
+ * <http://www.gnu.org/licenses/>.
+ *
+ * <p>Copyright 2026
+ */
+package org.geowebcache.s3;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.layer.TileLayer;
+import org.geowebcache.layer.TileLayerDispatcher;
+import org.geowebcache.locks.NoOpLockProvider;
+import org.geowebcache.storage.TileObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatcher;
+
+/** Tests the conditional gets issued for tiles the client already has a copy of, against a mocked client */
+public class S3BlobStoreConditionalGetTest {
+
+    private static final String BUCKET = "test-bucket";
+
+    private static final long CLIENT_COPY = 1_000_000L;
+
+    private AmazonS3Client client;
+
+    private S3BlobStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        client = mock(AmazonS3Client.class);
+        when(client.listObjects(any(ListObjectsRequest.class))).thenReturn(new ObjectListing());
+
+        TileLayer layer = mock(TileLayer.class);
+        when(layer.getName()).thenReturn("testLayer");
+        when(layer.getId()).thenReturn("testLayer");
+        TileLayerDispatcher layers = mock(TileLayerDispatcher.class);
+        when(layers.getTileLayer("testLayer")).thenReturn(layer);
+
+        S3BlobStoreInfo config = new S3BlobStoreInfo() {
+            @Override
+            public AmazonS3Client buildClient() {
+                return client;
+            }
+        };
+        config.setBucket(BUCKET);
+        store = new S3BlobStore(config, layers, new NoOpLockProvider()) {
+            @Override
+            protected AmazonS3Client validateClient(AmazonS3Client client, String bucketName) {
+                return client;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        store.destroy();
+    }
+
+    private static TileObject query(long validator) {
+        TileObject query =
+                TileObject.createQueryTileObject("testLayer", new long[] {1, 0, 5}, "testGridSet", "image/png", null);
+        query.setValidators(validator, -1);
+        return query;
+    }
+
+    private static ArgumentMatcher<GetObjectRequest> modifiedSince(long time) {
+        return request -> request != null
+                && request.getKey().endsWith(".png")
+                && request.getModifiedSinceConstraint() != null
+                && request.getModifiedSinceConstraint().getTime() == time;
+    }
+
+    private static S3Object object(String content, long lastModified) {
+        S3Object object = new S3Object();
+        object.setKey("testLayer/testGridSet/png/default/5/1/0.png");
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setLastModified(new Date(lastModified));
+        object.setObjectMetadata(metadata);
+        object.setObjectContent(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        return object;
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        // the client returns no object when the constraint is not met
+        when(client.getObject(argThat(modifiedSince(CLIENT_COPY)))).thenReturn(null);
+
+        TileObject query = query(CLIENT_COPY);
+        assertThat(store.get(query), is(true));
+        assertThat(query.isNotModified(), is(true));
+        assertThat(query.getBlob(), nullValue());
+        assertThat(query.getCreated(), equalTo(CLIENT_COPY));
+    }
+
+    @Test
+    public void testModified() throws Exception {
+        when(client.getObject(argThat(modifiedSince(CLIENT_COPY)))).thenReturn(object("newer", CLIENT_COPY + 1000));
+
+        TileObject query = query(CLIENT_COPY);
+        assertThat(store.get(query), is(true));
+        assertThat(query.isNotModified(), is(false));
+        assertThat(
+                new String(((ByteArrayResource) query.getBlob()).getContents(), StandardCharsets.UTF_8),
+                equalTo("newer"));
+        assertThat(query.getCreated(), equalTo(CLIENT_COPY + 1000));
+    }
+
+    @Test
+    public void testMissing() throws Exception {
+        AmazonS3Exception notFound = new AmazonS3Exception("not found");
+        notFound.setStatusCode(404);
+        when(client.getObject(argThat(modifiedSince(CLIENT_COPY)))).thenThrow(notFound);
+
+        TileObject query = query(CLIENT_COPY);
+        assertThat(store.get(query), is(false));
+        assertThat(query.isNotModified(), is(false));
+    }
+
+    @Test
+    public void testNoValidatorIsUnconditional() throws Exception {
+        when(client.getObject(eq(BUCKET), argThat(key -> key != null && key.endsWith(".png"))))
+                .thenReturn(object("tile", CLIENT_COPY));
+
+        TileObject query = query(-1);
+        assertThat(store.get(query), is(true));
+        assertThat(query.isNotModified(), is(false));
+        assertThat(query.getBlobSize(), equalTo("tile".length()));
+        verify(client, never()).getObject(any(GetObjectRequest.class));
+    }
+}
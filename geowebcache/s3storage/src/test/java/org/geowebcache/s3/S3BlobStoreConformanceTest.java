@@ -29,6 +29,7 @@
 import org.geowebcache.locks.LockProvider;
 import org.geowebcache.locks.NoOpLockProvider;
 import org.geowebcache.storage.AbstractBlobStoreTest;
+import org.geowebcache.storage.StorageException;
 import org.junit.Assume;
 import org.junit.Rule;
 
@@ -61,6 +62,11 @@ public void createTestUnit() throws Exception {
                 })
                 .forEach(EasyMock::replay);
         replay(layers);
-        store = new S3BlobStore(config, layers, lockProvider);
+        store = createStore(config, layers, lockProvider);
+    }
+
+    protected S3BlobStore createStore(S3BlobStoreInfo config, TileLayerDispatcher layers, LockProvider lockProvider)
+            throws StorageException {
+        return new S3BlobStore(config, layers, lockProvider);
     }
 }
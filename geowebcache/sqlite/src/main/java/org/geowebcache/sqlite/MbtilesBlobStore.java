@@ -23,19 +23,29 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -66,6 +76,11 @@ public final class MbtilesBlobStore extends SqliteBlobStore {
     // pattern for matching the name of a file that contains mbtiles metadata (layerName.properties)
     private static final Pattern MBTILES_METADATA_FILE_NAME_PATTERN = Pattern.compile("(.*?)\\.properties");
 
+    private static final String SELECT_TILE_SIZE =
+            "SELECT length(tile_data) FROM tiles WHERE zoom_level = ? AND tile_column = ? AND tile_row = ?;";
+
+    private static final String INSERT_CREATE_TIME = "INSERT OR REPLACE INTO tiles_metadata VALUES (?, ?, ?, ?);";
+
     // sqlite database that will contain layers metadata
     private final File metadataFile;
 
@@ -86,6 +101,17 @@ public final class MbtilesBlobStore extends SqliteBlobStore {
     // Apply GZIP compression to uncompressed vector tile formats.
     private final boolean gzipVector;
 
+    // maximum number of concurrent puts on the same file committed together, and how long to wait for them
+    private final int commitBatchSize;
+
+    private final long commitDelayMs;
+
+    // group commits of the files being written, removed once they have no pending puts
+    private final Map<File, GroupCommit> groupCommits = new ConcurrentHashMap<>();
+
+    // layer and parameters ids whose parameters map was already stored in the metadata file
+    private final Set<String> persistedParameters = ConcurrentHashMap.newKeySet();
+
     MbtilesBlobStore(MbtilesInfo configuration) throws StorageException {
         // caution this constructor will create a new connection pool
         this(
@@ -126,12 +152,14 @@ public MbtilesBlobStore(MbtilesInfo configuration, SqliteConnectionManager conne
         executorService = Executors.newFixedThreadPool(configuration.getExecutorConcurrency());
         listeners = new BlobStoreListenerList();
         gzipVector = configuration.isGzipVector();
+        commitBatchSize = configuration.getCommitBatchSize();
+        commitDelayMs = configuration.getCommitDelayMs();
 
         initMbtilesLayersMetadata(configuration.getMbtilesMetadataDirectory());
         if (LOGGER.isLoggable(Level.INFO)) {
             LOGGER.info(String.format(
-                    "MBTiles blob store initiated: [eagerDelete='%b', useCreateTime='%b'.",
-                    eagerDelete, useCreateTime));
+                    "MBTiles blob store initiated: [eagerDelete='%b', useCreateTime='%b', commitBatchSize='%d'.",
+                    eagerDelete, useCreateTime, commitBatchSize));
         }
     }
 
@@ -139,6 +167,10 @@ private boolean tileIsGzipped(TileObject tile) throws MimeException {
         return gzipVector && MimeType.createFromFormat(tile.getBlobFormat()).isVector();
     }
 
+    /**
+     * Saves the tile, together with the tiles being put concurrently on the same database file, in a single
+     * transaction, see {@link GroupCommit}.
+     */
     @Override
     public void put(TileObject tile) throws StorageException {
         File file = fileManager.getFile(tile);
@@ -146,64 +178,162 @@ public void put(TileObject tile) throws StorageException {
             LOGGER.fine(String.format("Tile '%s' mapped to file '%s'.", tile, file));
         }
         initDatabaseFileIfNeeded(file, tile.getLayerName(), tile.getBlobFormat());
-        // do work in write mode
-        connectionManager.doWork(file, false, connection -> {
-            // instantiating geotools needed objects
-            MBTilesFile mbtiles = GeoToolsMbtilesUtils.getMBTilesFile(connection, file);
-            MBTilesTile gtTile = new MBTilesTile(tile.getXYZ()[2], tile.getXYZ()[0], tile.getXYZ()[1]);
-            try {
-                final boolean gzipped = tileIsGzipped(tile);
+        if (commitBatchSize <= 1) {
+            saveTiles(file, Collections.singletonList(tile));
+        } else {
+            PendingPut put = new PendingPut(tile);
+            groupCommits.computeIfAbsent(file, GroupCommit::new).commit(put);
+            if (put.failure != null) {
+                throw put.failure;
+            }
+        }
+        persistParameterMap(tile);
+    }
 
-                byte[] bytes;
-                if (gzipped) {
-                    try (ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-                            GZIPOutputStream gzOut = new GZIPOutputStream(byteStream)) {
-                        gzOut.write(Utils.resourceToByteArray(tile.getBlob()));
-                        gzOut.flush();
-                        bytes = byteStream.toByteArray();
-                    }
-                } else {
-                    bytes = Utils.resourceToByteArray(tile.getBlob());
+    /**
+     * Saves the tiles going to the same database file with a single connection checkout and in a single transaction,
+     * instead of one implicit transaction (and journal sync) per tile.
+     */
+    @Override
+    public void putAll(Collection<TileObject> tiles) throws StorageException {
+        Map<File, List<TileObject>> tilesByFile = new LinkedHashMap<>();
+        for (TileObject tile : tiles) {
+            tilesByFile
+                    .computeIfAbsent(fileManager.getFile(tile), f -> new ArrayList<>())
+                    .add(tile);
+        }
+        for (Map.Entry<File, List<TileObject>> entry : tilesByFile.entrySet()) {
+            File file = entry.getKey();
+            List<TileObject> fileTiles = entry.getValue();
+            TileObject first = fileTiles.get(0);
+            initDatabaseFileIfNeeded(file, first.getLayerName(), first.getBlobFormat());
+            saveTiles(file, fileTiles);
+            fileTiles.forEach(this::persistParameterMap);
+        }
+    }
+
+    /**
+     * Saves the tiles in the given database file in a single transaction, reusing the same statements for all of them,
+     * and notifies the listeners once the transaction is committed.
+     */
+    private void saveTiles(File file, List<TileObject> tiles) {
+        long[] oldSizes = connectionManager.doWork(file, false, connection -> {
+            try {
+                connection.setAutoCommit(false);
+                try {
+                    long[] sizes = saveTiles(connection, file, tiles);
+                    connection.commit();
+                    return sizes;
+                } catch (RuntimeException exception) {
+                    connection.rollback();
+                    throw exception;
+                } finally {
+                    connection.setAutoCommit(true);
                 }
-                gtTile.setData(bytes);
+            } catch (SQLException exception) {
+                throw Utils.exception(exception, "Error saving %d tiles in file '%s'.", tiles.size(), file);
+            }
+        });
+        if (listeners.isEmpty()) {
+            // no listeners to update we are done
+            return;
+        }
+        for (int i = 0; i < tiles.size(); i++) {
+            if (oldSizes[i] < 0) {
+                // this was new tile
+                listeners.sendTileStored(tiles.get(i));
+            } else {
+                // this an update
+                listeners.sendTileUpdated(tiles.get(i), oldSizes[i]);
+            }
+        }
+    }
 
-                // if necessary getting old data size for listeners
-                byte[] olData = null;
-                if (!listeners.isEmpty()) {
-                    olData = mbtiles.loadTile(tile.getXYZ()[2], tile.getXYZ()[0], tile.getXYZ()[1])
-                            .getData();
+    /** @return the sizes the tiles had before being saved, or -1 for the new ones, if there are listeners to notify */
+    private long[] saveTiles(Connection connection, File file, List<TileObject> tiles) throws SQLException {
+        long[] oldSizes = new long[tiles.size()];
+        if (useCreateTime) {
+            createTilesMetadataTable(connection);
+        }
+        // tiles are saved by geotools, which also keeps the zoom levels metadata up to date
+        MBTilesFile mbtiles = GeoToolsMbtilesUtils.getMBTilesFile(connection, file);
+        // null statements are skipped by try with resources
+        try (PreparedStatement sizeQuery = listeners.isEmpty() ? null : connection.prepareStatement(SELECT_TILE_SIZE);
+                PreparedStatement insertCreateTime =
+                        useCreateTime ? connection.prepareStatement(INSERT_CREATE_TIME) : null) {
+            long createTime = System.currentTimeMillis();
+            for (int i = 0; i < tiles.size(); i++) {
+                TileObject tile = tiles.get(i);
+                long[] xyz = tile.getXYZ();
+                if (sizeQuery != null) {
+                    // getting old data size for listeners
+                    setTileLocation(sizeQuery, xyz);
+                    try (ResultSet resultSet = sizeQuery.executeQuery()) {
+                        oldSizes[i] = resultSet.next() ? resultSet.getLong(1) : -1;
+                    }
                 }
                 // saving the tile
-                mbtiles.saveTile(gtTile);
-                if (useCreateTime) {
+                MBTilesTile gtTile = new MBTilesTile(xyz[2], xyz[0], xyz[1]);
+                gtTile.setData(getTileData(tile, file));
+                saveTile(mbtiles, gtTile, tile, file);
+                if (insertCreateTime != null) {
                     // we need to store this tile create time
-                    putTileCreateTime(
-                            connection,
-                            tile.getXYZ()[2],
-                            tile.getXYZ()[0],
-                            tile.getXYZ()[1],
-                            System.currentTimeMillis());
+                    setTileLocation(insertCreateTime, xyz);
+                    insertCreateTime.setLong(4, createTime);
+                    insertCreateTime.addBatch();
                 }
                 if (LOGGER.isLoggable(Level.FINE)) {
                     LOGGER.fine(String.format("Tile '%s' saved in file '%s'.", tile, file));
                 }
-                if (listeners.isEmpty()) {
-                    // no listeners to update we are done
-                    return;
-                }
-                if (olData == null) {
-                    // this was new tile
-                    listeners.sendTileStored(tile);
-                } else {
-                    // this an update
-                    listeners.sendTileUpdated(tile, olData.length);
-                }
-            } catch (Exception exception) {
-                throw Utils.exception(exception, "Error saving tile '%s' in file '%s'.", tile, file);
             }
-        });
+            if (insertCreateTime != null) {
+                insertCreateTime.executeBatch();
+            }
+        }
+        return oldSizes;
+    }
 
-        persistParameterMap(tile);
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+                GZIPInputStream gzIn = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            IOUtils.copy(gzIn, byteOut);
+            return byteOut.toByteArray();
+        }
+    }
+
+    private static void saveTile(MBTilesFile mbtiles, MBTilesTile gtTile, TileObject tile, File file) {
+        try {
+            mbtiles.saveTile(gtTile);
+        } catch (IOException exception) {
+            throw Utils.exception(exception, "Error saving tile '%s' in file '%s'.", tile, file);
+        }
+    }
+
+    private static void setTileLocation(PreparedStatement statement, long[] xyz) throws SQLException {
+        statement.setLong(1, xyz[2]);
+        statement.setLong(2, xyz[0]);
+        statement.setLong(3, xyz[1]);
+    }
+
+    private byte[] getTileData(TileObject tile, File file) {
+        try {
+            byte[] bytes = Utils.resourceToByteArray(tile.getBlob());
+            boolean encoded = TileObject.GZIP_ENCODING.equals(tile.getBlobEncoding());
+            if (tileIsGzipped(tile) == encoded) {
+                // already in the stored form
+                return bytes;
+            } else if (encoded) {
+                return gunzip(bytes);
+            }
+            try (ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+                    GZIPOutputStream gzOut = new GZIPOutputStream(byteStream)) {
+                gzOut.write(bytes);
+                gzOut.finish();
+                return byteStream.toByteArray();
+            }
+        } catch (Exception exception) {
+            throw Utils.exception(exception, "Error saving tile '%s' in file '%s'.", tile, file);
+        }
     }
 
     @Override
@@ -225,17 +355,15 @@ public boolean get(final TileObject tile) throws StorageException {
 
                 byte[] bytes = gtTile.getData();
                 if (gtTile.getData() != null) {
-                    if (gzipped) {
-                        try (ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
-                                ByteArrayInputStream byteIn = new ByteArrayInputStream(gtTile.getData());
-                                GZIPInputStream gzIn = new GZIPInputStream(byteIn)) {
-                            IOUtils.copy(gzIn, byteOut);
-                            bytes = byteOut.toByteArray();
-                        }
+                    if (gzipped && tile.isGzipAccepted()) {
+                        // the caller can take the tile as stored, no need to decompress it
+                        tile.setBlob(Utils.byteArrayToResource(bytes), TileObject.GZIP_ENCODING);
                     } else {
-                        bytes = gtTile.getData();
+                        if (gzipped) {
+                            bytes = gunzip(bytes);
+                        }
+                        tile.setBlob(Utils.byteArrayToResource(bytes));
                     }
-                    tile.setBlob(Utils.byteArrayToResource(bytes));
 
                     if (LOGGER.isLoggable(Level.FINE)) {
                         LOGGER.fine(String.format("Tile '%s' found on file '%s'.", tile, file));
@@ -738,10 +866,109 @@ public Map<String, Optional<Map<String, String>>> getParametersMapping(String la
 
     protected void persistParameterMap(TileObject stObj) {
         if (Objects.nonNull(stObj.getParametersId())) {
-            putLayerMetadata(
-                    stObj.getLayerName(),
-                    "parameters." + stObj.getParametersId(),
-                    ParametersUtils.getKvp(stObj.getParameters()));
+            // the parameters map of an id never changes, no need to write it again for each tile
+            String key = stObj.getLayerName() + "/" + stObj.getParametersId();
+            if (!persistedParameters.add(key)) {
+                return;
+            }
+            try {
+                putLayerMetadata(
+                        stObj.getLayerName(),
+                        "parameters." + stObj.getParametersId(),
+                        ParametersUtils.getKvp(stObj.getParameters()));
+            } catch (RuntimeException exception) {
+                persistedParameters.remove(key);
+                throw exception;
+            }
+        }
+    }
+
+    /** A tile put waiting for a {@link GroupCommit} */
+    private static final class PendingPut {
+
+        private final TileObject tile;
+
+        private volatile boolean done;
+
+        private volatile RuntimeException failure;
+
+        PendingPut(TileObject tile) {
+            this.tile = tile;
+        }
+    }
+
+    /**
+     * Commits the puts on a database file in groups. Each put is queued, and the first putting thread to get the
+     * committer lock saves all the queued tiles, up to the batch size, in a single transaction, while the others wait
+     * for the lock and most likely find their own tile already committed. Under concurrent seeding this pays one
+     * transaction, and one journal sync, per group instead of per tile.
+     */
+    private final class GroupCommit {
+
+        private final File file;
+
+        private final Queue<PendingPut> pending = new ConcurrentLinkedQueue<>();
+
+        private final ReentrantLock committer = new ReentrantLock();
+
+        GroupCommit(File file) {
+            this.file = file;
+        }
+
+        void commit(PendingPut put) {
+            pending.add(put);
+            while (!put.done) {
+                committer.lock();
+                try {
+                    if (!put.done) {
+                        commitPending();
+                    }
+                } finally {
+                    committer.unlock();
+                }
+            }
+        }
+
+        private void commitPending() {
+            if (commitDelayMs > 0 && pending.size() < commitBatchSize) {
+                // give the concurrent puts some time to join this commit
+                try {
+                    Thread.sleep(commitDelayMs);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            List<PendingPut> batch = new ArrayList<>();
+            PendingPut next;
+            while (batch.size() < commitBatchSize && (next = pending.poll()) != null) {
+                batch.add(next);
+            }
+            if (pending.isEmpty()) {
+                // the puts queued from now on go to a new group commit, this one still serves its own ones
+                groupCommits.remove(file, this);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<TileObject> tiles = new ArrayList<>(batch.size());
+            batch.forEach(put -> tiles.add(put.tile));
+            try {
+                saveTiles(file, tiles);
+            } catch (RuntimeException exception) {
+                if (batch.size() == 1) {
+                    batch.get(0).failure = exception;
+                } else {
+                    // one bad tile should not fail the others, retry them one by one
+                    for (PendingPut put : batch) {
+                        try {
+                            saveTiles(file, Collections.singletonList(put.tile));
+                        } catch (RuntimeException tileException) {
+                            put.failure = tileException;
+                        }
+                    }
+                }
+            }
+            batch.forEach(put -> put.done = true);
         }
     }
 }
@@ -13,6 +13,7 @@
  */
 package org.geowebcache.sqlite;
 
+import java.util.Objects;
 import org.geowebcache.layer.TileLayerDispatcher;
 import org.geowebcache.locks.LockProvider;
 import org.geowebcache.storage.BlobStore;
@@ -22,6 +23,8 @@
 public class MbtilesInfo extends SqliteInfo {
     private static final long serialVersionUID = -6618985107587790155L;
 
+    static final int DEFAULT_COMMIT_BATCH_SIZE = 100;
+
     public MbtilesInfo() {
         super();
     }
@@ -36,6 +39,10 @@ public MbtilesInfo(String id) {
 
     private Boolean gzipVector = false;
 
+    private Integer commitBatchSize;
+
+    private Integer commitDelayMs;
+
     public String getMbtilesMetadataDirectory() {
         return mbtilesMetadataDirectory;
     }
@@ -60,6 +67,27 @@ public void setGzipVector(boolean gzipVector) {
         this.gzipVector = gzipVector;
     }
 
+    /**
+     * @return the maximum number of concurrent tile puts on the same file committed in a single transaction, 1 to
+     *     commit each put on its own
+     */
+    public int getCommitBatchSize() {
+        return commitBatchSize == null ? DEFAULT_COMMIT_BATCH_SIZE : commitBatchSize;
+    }
+
+    public void setCommitBatchSize(Integer commitBatchSize) {
+        this.commitBatchSize = commitBatchSize;
+    }
+
+    /** @return how long a commit waits for more tile puts on the same file to join it, 0 by default */
+    public int getCommitDelayMs() {
+        return commitDelayMs == null ? 0 : commitDelayMs;
+    }
+
+    public void setCommitDelayMs(Integer commitDelayMs) {
+        this.commitDelayMs = commitDelayMs;
+    }
+
     @Override
     public BlobStore createInstance(TileLayerDispatcher layers, LockProvider lockProvider) throws StorageException {
         return new MbtilesBlobStore(this, super.getConnectionManager());
@@ -77,6 +105,7 @@ public int hashCode() {
         result = prime * result + executorConcurrency;
         result = prime * result + ((gzipVector == null) ? 0 : gzipVector.hashCode());
         result = prime * result + ((mbtilesMetadataDirectory == null) ? 0 : mbtilesMetadataDirectory.hashCode());
+        result = prime * result + Objects.hash(commitBatchSize, commitDelayMs);
         return result;
     }
 
@@ -93,6 +122,7 @@ public boolean equals(Object obj) {
         if (mbtilesMetadataDirectory == null) {
             if (other.mbtilesMetadataDirectory != null) return false;
         } else if (!mbtilesMetadataDirectory.equals(other.mbtilesMetadataDirectory)) return false;
-        return true;
+        return Objects.equals(commitBatchSize, other.commitBatchSize)
+                && Objects.equals(commitDelayMs, other.commitDelayMs);
     }
 }
@@ -20,12 +20,18 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -35,6 +41,10 @@
 /**
  * Manages the connections to sqlite databases files taking care of the concurrent access. The concurrent access are
  * managed by JVM if two JVMs access the same database file the result is unpredictable.
+ *
+ * <p>By default a single connection is used per database file, shared by the readers and locked exclusively by the
+ * writers. In WAL mode, see {@link SqliteInfo#isWalMode()}, each file gets a single writer connection and a small pool
+ * of read connections, so that reads are never blocked by writes, e.g. while seeding.
  */
 public final class SqliteConnectionManager {
 
@@ -42,18 +52,36 @@ public final class SqliteConnectionManager {
 
     private final ConcurrentHashMap<File, PooledConnection> pool = new ConcurrentHashMap<>();
 
+    private static final List<String> SYNCHRONOUS_MODES = Arrays.asList("OFF", "NORMAL", "FULL", "EXTRA");
+
     private volatile boolean stopPoolReaper = false;
 
+    /** Maximum number of read connections per file in WAL mode, zero if not in WAL mode */
+    private final int readConnections;
+
+    /** Pragmas executed on each new connection */
+    private final List<String> pragmas;
+
     public SqliteConnectionManager(SqliteInfo configuration) {
-        this(configuration.getPoolSize(), configuration.getPoolReaperIntervalMs());
+        this(
+                configuration.getPoolSize(),
+                configuration.getPoolReaperIntervalMs(),
+                configuration.isWalMode() ? Math.max(1, configuration.getReadConnections()) : 0,
+                pragmas(configuration));
     }
 
     SqliteConnectionManager(long poolSize, long poolReaperIntervalMs) {
+        this(poolSize, poolReaperIntervalMs, 0, Collections.emptyList());
+    }
+
+    SqliteConnectionManager(long poolSize, long poolReaperIntervalMs, int readConnections, List<String> pragmas) {
         if (LOGGER.isLoggable(Level.INFO)) {
             LOGGER.info(String.format(
-                    "Initiating connection poll: [poolSize='%d', poolReaperIntervalMs='%d'].",
-                    poolSize, poolReaperIntervalMs));
+                    "Initiating connection poll: [poolSize='%d', poolReaperIntervalMs='%d', readConnections='%d'].",
+                    poolSize, poolReaperIntervalMs, readConnections));
         }
+        this.readConnections = readConnections;
+        this.pragmas = pragmas;
         // let's load the sqlite driver
         try {
             Class.forName("org.sqlite.JDBC");
@@ -99,6 +127,27 @@ public SqliteConnectionManager(SqliteInfo configuration) {
                 .start();
     }
 
+    /** Builds the pragmas tuning the connections out of the configuration */
+    static List<String> pragmas(SqliteInfo configuration) {
+        List<String> pragmas = new ArrayList<>();
+        if (configuration.getSynchronous() != null) {
+            String synchronous = configuration.getSynchronous().trim().toUpperCase();
+            if (!SYNCHRONOUS_MODES.contains(synchronous)) {
+                throw Utils.exception(
+                        "Invalid synchronous mode '%s', expected one of %s.",
+                        configuration.getSynchronous(), SYNCHRONOUS_MODES);
+            }
+            pragmas.add("PRAGMA synchronous=" + synchronous);
+        }
+        if (configuration.getMmapSize() != null) {
+            pragmas.add("PRAGMA mmap_size=" + configuration.getMmapSize());
+        }
+        if (configuration.getCacheSize() != null) {
+            pragmas.add("PRAGMA cache_size=" + configuration.getCacheSize());
+        }
+        return pragmas;
+    }
+
     /** Helper interface to submit work. */
     interface Work {
         void doWork(Connection connection);
@@ -179,14 +228,19 @@ <T> T doWork(File file, boolean readOnly, WorkWithResult<T> work) {
         }
         // let's find or instantiate on the fly a pool connection for the current file
         PooledConnection pooledConnection = getPooledConnection(file);
-        // acquiring the proper lock on the pooled connection (read or write lock)
-        pooledConnection = readOnly
-                ? pooledConnection.getReadLockOnValidConnection()
-                : pooledConnection.getWriteLockOnValidConnection();
+        // acquiring the proper lock on the pooled connection (read or write lock), in WAL mode
+        // readers and the writer use different connections and don't need to exclude each other
+        final boolean exclusive = !readOnly && readConnections == 0;
+        pooledConnection = exclusive
+                ? pooledConnection.getWriteLockOnValidConnection()
+                : pooledConnection.getReadLockOnValidConnection();
         // the PooledConnection seems to  manage the actual connection
         @SuppressWarnings("PMD.CloseResource")
-        ExtendedConnection connection = pooledConnection.getExtendedConnection();
+        Connection checkedOut = null;
         try {
+            checkedOut = pooledConnection.checkOut(readOnly);
+            @SuppressWarnings("PMD.CloseResource")
+            ExtendedConnection connection = new ExtendedConnection(checkedOut);
             // do the work
             T result = work.doWork(connection);
             if (!connection.closeInvoked()) {
@@ -201,11 +255,14 @@ <T> T doWork(File file, boolean readOnly, WorkWithResult<T> work) {
             }
             return result;
         } finally {
+            if (checkedOut != null) {
+                pooledConnection.checkIn(checkedOut, readOnly);
+            }
             // releasing the acquired lock
-            if (readOnly) {
-                pooledConnection.releaseReadLock();
-            } else {
+            if (exclusive) {
                 pooledConnection.releaseWriteLock();
+            } else {
+                pooledConnection.releaseReadLock();
             }
         }
     }
@@ -246,6 +303,9 @@ void delete(File file) {
         try {
             pooledConnection.closeConnection();
             FileUtils.deleteQuietly(file);
+            // leftovers of WAL mode, if the connections were not closed cleanly
+            FileUtils.deleteQuietly(new File(file.getPath() + "-wal"));
+            FileUtils.deleteQuietly(new File(file.getPath() + "-shm"));
             pool.remove(file);
             if (LOGGER.isLoggable(Level.INFO)) {
                 LOGGER.info(String.format("File '%s' deleted.", file));
@@ -328,25 +388,54 @@ private PooledConnection getPooledConnection(File file) {
         }
     }
 
+    /** A read connection checked out by a thread, and how many of its reads are using it */
+    private static final class HeldReader {
+
+        private final Connection connection;
+
+        private int checkOuts = 1;
+
+        HeldReader(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
     /** Helper class that contains all the info associated to an open connection. */
     private final class PooledConnection implements Comparable<PooledConnection> {
 
         private final File file;
+        /** The only connection, or the writer one in WAL mode */
         private Connection connection;
 
         private final ReentrantReadWriteLock lock;
 
+        /** Serializes the writers in WAL mode */
+        private final ReentrantLock writer = new ReentrantLock();
+
+        /** The idle read connections in WAL mode */
+        private final BlockingQueue<Connection> idleReaders;
+
+        /** The number of open read connections in WAL mode, idle or not */
+        private final AtomicInteger openReaders = new AtomicInteger();
+
+        /**
+         * The read connection checked out by the current thread in WAL mode, handed out again to nested reads instead
+         * of waiting for another one the thread may be the last holder of
+         */
+        private final ThreadLocal<HeldReader> heldReader = new ThreadLocal<>();
+
         private long lastAccess;
         private volatile boolean closed;
 
         PooledConnection(File file) {
             this.file = file;
             lock = new ReentrantReadWriteLock();
+            idleReaders = readConnections > 0 ? new ArrayBlockingQueue<>(readConnections) : null;
             closed = true;
         }
 
         void init() {
-            connection = openConnection(file);
+            connection = openConnection(file, false);
             lastAccess = System.currentTimeMillis();
             closed = false;
         }
@@ -359,9 +448,68 @@ public int compareTo(PooledConnection other) {
             return 1;
         }
 
-        ExtendedConnection getExtendedConnection() {
+        /** Returns the connection to work with, to be given back with {@link #checkIn(Connection, boolean)} */
+        Connection checkOut(boolean readOnly) {
             lastAccess = System.currentTimeMillis();
-            return new ExtendedConnection(connection);
+            if (readConnections == 0) {
+                return connection;
+            }
+            if (!readOnly) {
+                writer.lock();
+                return connection;
+            }
+            if (writer.isHeldByCurrentThread()) {
+                // reading while writing, the changes not committed yet must be visible
+                return connection;
+            }
+            HeldReader held = heldReader.get();
+            if (held != null) {
+                held.checkOuts++;
+                return held.connection;
+            }
+            Connection reader = takeReader();
+            heldReader.set(new HeldReader(reader));
+            return reader;
+        }
+
+        private Connection takeReader() {
+            Connection reader = idleReaders.poll();
+            if (reader != null) {
+                return reader;
+            }
+            if (openReaders.incrementAndGet() <= readConnections) {
+                try {
+                    return openConnection(file, true);
+                } catch (RuntimeException exception) {
+                    openReaders.decrementAndGet();
+                    throw exception;
+                }
+            }
+            // all the read connections are in use, wait for one
+            openReaders.decrementAndGet();
+            try {
+                return idleReaders.take();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw Utils.exception(exception, "Interrupted waiting for a connection to file '%s'.", file);
+            }
+        }
+
+        void checkIn(Connection checkedOut, boolean readOnly) {
+            if (readConnections == 0) {
+                return;
+            }
+            if (!readOnly) {
+                writer.unlock();
+            } else if (checkedOut != connection) {
+                HeldReader held = heldReader.get();
+                if (held != null && --held.checkOuts > 0) {
+                    // still in use by an outer read of this thread
+                    return;
+                }
+                heldReader.remove();
+                idleReaders.add(checkedOut);
+            }
         }
 
         void reapConnection() {
@@ -379,6 +527,13 @@ void closeConnection() {
                 // this connection is open let's close it
                 try {
                     connection.close();
+                    if (idleReaders != null) {
+                        // no reader is in use, the caller holds the write lock
+                        for (Connection reader = idleReaders.poll(); reader != null; reader = idleReaders.poll()) {
+                            reader.close();
+                        }
+                        openReaders.set(0);
+                    }
                     closed = true;
                 } catch (Exception exception) {
                     throw Utils.exception("Error closing connection to file '%s'.", file);
@@ -467,14 +622,33 @@ void releaseWriteLock() {
             }
         }
 
-        private Connection openConnection(File file) {
+        private Connection openConnection(File file, boolean reader) {
             if (LOGGER.isLoggable(Level.INFO)) {
-                LOGGER.info(String.format("Opening connection to file '%s'.", file));
+                String kind = reader ? "read connection" : "connection";
+                LOGGER.info(String.format("Opening %s to file '%s'.", kind, file));
             }
             Utils.createFileParents(file);
+            Connection connection = null;
             try {
-                return DriverManager.getConnection("jdbc:sqlite:" + file.getPath());
+                connection = DriverManager.getConnection("jdbc:sqlite:" + file.getPath());
+                try (Statement statement = connection.createStatement()) {
+                    if (readConnections > 0) {
+                        // WAL mode is persistent, only the writer needs to set it
+                        statement.execute(reader ? "PRAGMA query_only=1" : "PRAGMA journal_mode=WAL");
+                    }
+                    for (String pragma : pragmas) {
+                        statement.execute(pragma);
+                    }
+                }
+                return connection;
             } catch (Exception exception) {
+                if (connection != null) {
+                    try {
+                        connection.close();
+                    } catch (SQLException e) {
+                        exception.addSuppressed(e);
+                    }
+                }
                 throw Utils.exception(exception, "Error opening connection to file '%s'.", file);
             }
         }
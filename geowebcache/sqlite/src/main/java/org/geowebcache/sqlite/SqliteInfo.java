@@ -14,6 +14,7 @@
 package org.geowebcache.sqlite;
 
 import java.io.File;
+import java.util.Objects;
 import java.util.UUID;
 import org.geowebcache.config.BlobStoreInfo;
 
@@ -21,6 +22,8 @@
 public abstract class SqliteInfo extends BlobStoreInfo {
     private static final long serialVersionUID = 2300159159094621077L;
 
+    static final int DEFAULT_READ_CONNECTIONS = 4;
+
     public SqliteInfo() {
         this(UUID.randomUUID().toString());
     }
@@ -47,6 +50,16 @@ public SqliteInfo(String id) {
 
     private boolean useCreateTime = true;
 
+    private boolean walMode = false;
+
+    private Integer readConnections;
+
+    private String synchronous;
+
+    private Long mmapSize;
+
+    private Long cacheSize;
+
     public File getRootDirectoryFile() {
         File file = new File(rootDirectory);
         if (!file.exists()) {
@@ -119,6 +132,69 @@ public void setUseCreateTime(boolean useCreateTime) {
         this.useCreateTime = useCreateTime;
     }
 
+    /**
+     * @return whether the database files are opened in WAL mode, with a single writer connection and a pool of
+     *     {@link #getReadConnections() read connections} per file, so that reads are not blocked by writes
+     * @since 1.27
+     */
+    public boolean isWalMode() {
+        return walMode;
+    }
+
+    public void setWalMode(boolean walMode) {
+        this.walMode = walMode;
+    }
+
+    /**
+     * @return the maximum number of read connections per database file in WAL mode
+     * @since 1.27
+     */
+    public int getReadConnections() {
+        return readConnections == null ? DEFAULT_READ_CONNECTIONS : readConnections;
+    }
+
+    public void setReadConnections(Integer readConnections) {
+        this.readConnections = readConnections;
+    }
+
+    /**
+     * @return the value of the {@code synchronous} pragma, one of {@code OFF}, {@code NORMAL}, {@code FULL} or
+     *     {@code EXTRA}, {@code null} for the SQLite default
+     * @since 1.27
+     */
+    public String getSynchronous() {
+        return synchronous;
+    }
+
+    public void setSynchronous(String synchronous) {
+        this.synchronous = synchronous;
+    }
+
+    /**
+     * @return the value of the {@code mmap_size} pragma in bytes, {@code null} for the SQLite default
+     * @since 1.27
+     */
+    public Long getMmapSize() {
+        return mmapSize;
+    }
+
+    public void setMmapSize(Long mmapSize) {
+        this.mmapSize = mmapSize;
+    }
+
+    /**
+     * @return the value of the {@code cache_size} pragma, in pages if positive or in kibibytes if negative,
+     *     {@code null} for the SQLite default
+     * @since 1.27
+     */
+    public Long getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(Long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
     @Override
     public String getLocation() {
         return rootDirectory;
@@ -143,6 +219,7 @@ public int hashCode() {
         result = prime * result + (int) (rowRangeCount ^ (rowRangeCount >>> 32));
         result = prime * result + ((templatePath == null) ? 0 : templatePath.hashCode());
         result = prime * result + (useCreateTime ? 1231 : 1237);
+        result = prime * result + Objects.hash(walMode, readConnections, synchronous, mmapSize, cacheSize);
         return result;
     }
 
@@ -164,6 +241,10 @@ public boolean equals(Object obj) {
             if (other.templatePath != null) return false;
         } else if (!templatePath.equals(other.templatePath)) return false;
         if (useCreateTime != other.useCreateTime) return false;
-        return true;
+        if (walMode != other.walMode) return false;
+        return Objects.equals(readConnections, other.readConnections)
+                && Objects.equals(synchronous, other.synchronous)
+                && Objects.equals(mmapSize, other.mmapSize)
+                && Objects.equals(cacheSize, other.cacheSize);
     }
 }
@@ -25,7 +25,12 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.easymock.EasyMock;
 import org.geowebcache.mime.MimeType;
+import org.geowebcache.storage.BlobStoreListener;
 import org.geowebcache.storage.CompositeBlobStore;
 import org.geowebcache.storage.SuitabilityCheckRule;
 import org.geowebcache.storage.TileObject;
@@ -69,6 +74,59 @@ public void testTilePutGetDeleteOperations() throws Exception {
         assertThat(getTile.getBlob(), nullValue());
     }
 
+    @Test
+    public void testConcurrentPuts() throws Exception {
+        // instantiating the store with group commits waiting for the concurrent puts
+        MbtilesInfo configuration = getDefaultConfiguration();
+        configuration.setCommitBatchSize(10);
+        configuration.setCommitDelayMs(5);
+        MbtilesBlobStore store = new MbtilesBlobStore(configuration);
+        addStoresToClean(store);
+        // each tile is stored and then updated, listeners are notified about both
+        int tiles = 50;
+        BlobStoreListener listener = EasyMock.createMock(BlobStoreListener.class);
+        for (int x = 0; x < tiles; x++) {
+            int size = ("IMAGE-" + x + "-0-10").length();
+            listener.tileStored("africa", "EPSG:4326", "image/png", null, x, 0, 10, size);
+            listener.tileUpdated("africa", "EPSG:4326", "image/png", null, x, 0, 10, size + 1, size);
+        }
+        EasyMock.replay(listener);
+        store.addListener(listener);
+        // putting the tiles, all in the same file, from several threads
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (String suffix : new String[] {"", "!"}) {
+                List<Future<?>> puts = new ArrayList<>();
+                for (int i = 0; i < tiles; i++) {
+                    long x = i;
+                    puts.add(executor.submit(() -> {
+                        store.put(TileObject.createCompleteTileObject(
+                                "africa",
+                                new long[] {x, 0, 10},
+                                "EPSG:4326",
+                                "image/png",
+                                null,
+                                stringToResource("IMAGE-" + x + "-0-10" + suffix)));
+                        return null;
+                    }));
+                }
+                for (Future<?> put : puts) {
+                    put.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        EasyMock.verify(listener);
+        // checking that the last version of each tile was committed
+        for (int x = 0; x < tiles; x++) {
+            TileObject getTile =
+                    TileObject.createQueryTileObject("africa", new long[] {x, 0, 10}, "EPSG:4326", "image/png", null);
+            assertThat(store.get(getTile), is(true));
+            assertThat(resourceToString(getTile.getBlob()), is("IMAGE-" + x + "-0-10!"));
+        }
+    }
+
     @Test
     public void testTileMetadataOperations() throws Exception {
         // instantiating the store
@@ -15,6 +15,7 @@
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -78,6 +79,34 @@ public void testGetTileDoUnzip() throws Exception {
         }
     }
 
+    @Test
+    public void testGetTileGzipAccepted() throws Exception {
+        MbtilesInfo configuration = getDefaultConfiguration();
+        configuration.setGzipVector(true);
+        MbtilesBlobStore store = new MbtilesBlobStore(configuration);
+        addStoresToClean(store);
+        TileObject tile = TileObject.createQueryTileObject(
+                layer, new long[] {0, 0, 0}, "EPSG:900913", ApplicationMime.mapboxVector.getFormat(), null);
+        tile.setGzipAccepted(true);
+        assertThat(store.get(tile), is(true));
+        assertThat(tile.getBlobEncoding(), is(TileObject.GZIP_ENCODING));
+        try (InputStream is = MBTilesFileVectorTileTest.class.getResourceAsStream("tile_data.pbf.gz")) {
+            assertTrue(IOUtils.contentEquals(tile.getBlob().getInputStream(), is));
+        }
+        // storing the gzipped tile keeps it as is
+        TileObject copy = TileObject.createQueryTileObject(
+                layer, new long[] {1, 0, 1}, "EPSG:900913", ApplicationMime.mapboxVector.getFormat(), null);
+        copy.setBlob(tile.getBlob(), tile.getBlobEncoding());
+        store.put(copy);
+        TileObject unzipped = TileObject.createQueryTileObject(
+                layer, new long[] {1, 0, 1}, "EPSG:900913", ApplicationMime.mapboxVector.getFormat(), null);
+        assertThat(store.get(unzipped), is(true));
+        assertThat(unzipped.getBlobEncoding(), nullValue());
+        try (InputStream is = MBTilesFileVectorTileTest.class.getResourceAsStream("tile_data.pbf")) {
+            assertTrue(IOUtils.contentEquals(unzipped.getBlob().getInputStream(), is));
+        }
+    }
+
     @Test
     public void testGetTileNoUnzip() throws Exception {
         MbtilesInfo configuration = getDefaultConfiguration();
@@ -19,15 +19,18 @@
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThrows;
 
 import java.io.File;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -85,6 +88,96 @@ public void testGetConnection() throws StorageException {
         });
     }
 
+    @Test
+    public void testWalModeReadsNotBlockedByWriter() throws Exception {
+        SqliteConnectionManager connectionManager =
+                new SqliteConnectionManager(Integer.MAX_VALUE, 1000, 2, Arrays.asList("PRAGMA synchronous=NORMAL"));
+        connectionManagersToClean.add(connectionManager);
+        File file = buildRootFile("tiles", "data_base_wal.sqlite");
+        connectionManager.doWork(file, false, connection -> {
+            insertInTestTable(connection, "name", "europe");
+        });
+        String journalMode = connectionManager.executeQuery(
+                file, resultSet -> resultSet.next() ? resultSet.getString(1) : null, "PRAGMA journal_mode;");
+        assertThat(journalMode, is("wal"));
+
+        // a writer holding its connection does not block the readers
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> connectionManager.doWork(file, false, connection -> {
+                try {
+                    connection.setAutoCommit(false);
+                    insertInTestTable(connection, "other", "africa");
+                    writing.countDown();
+                    release.await();
+                    connection.commit();
+                    connection.setAutoCommit(true);
+                } catch (Exception exception) {
+                    throw Utils.exception(exception, "Error writing.");
+                }
+            }));
+            assertThat(writing.await(10, TimeUnit.SECONDS), is(true));
+            connectionManager.doWork(file, true, connection -> {
+                assertThat(getFromTestTable(connection, "name"), is("europe"));
+                // not committed yet
+                assertThat(getFromTestTable(connection, "other"), nullValue());
+            });
+            release.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        connectionManager.doWork(file, true, connection -> {
+            assertThat(getFromTestTable(connection, "other"), is("africa"));
+        });
+    }
+
+    @Test
+    public void testWalModeNestedReadsReuseConnection() throws Exception {
+        // a single read connection, the nested read must not wait for the one its own thread holds
+        SqliteConnectionManager connectionManager =
+                new SqliteConnectionManager(Integer.MAX_VALUE, 1000, 1, Arrays.asList("PRAGMA synchronous=NORMAL"));
+        connectionManagersToClean.add(connectionManager);
+        File file = buildRootFile("tiles", "data_base_nested.sqlite");
+        connectionManager.doWork(file, false, connection -> {
+            insertInTestTable(connection, "name", "europe");
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> reader = executor.submit(() -> connectionManager.doWork(file, true, connection -> {
+                return connectionManager.doWork(file, true, nested -> {
+                    return getFromTestTable(nested, "name");
+                });
+            }));
+            assertThat(reader.get(10, TimeUnit.SECONDS), is("europe"));
+        } finally {
+            executor.shutdownNow();
+        }
+        // the connection went back to the pool, another thread can read
+        String value = connectionManager.doWork(file, true, connection -> {
+            return getFromTestTable(connection, "name");
+        });
+        assertThat(value, is("europe"));
+    }
+
+    @Test
+    public void testPragmas() {
+        MbtilesInfo configuration = new MbtilesInfo();
+        assertThat(SqliteConnectionManager.pragmas(configuration).isEmpty(), is(true));
+        configuration.setSynchronous("normal");
+        configuration.setMmapSize(268435456L);
+        configuration.setCacheSize(-8000L);
+        assertThat(
+                SqliteConnectionManager.pragmas(configuration),
+                is(Arrays.asList(
+                        "PRAGMA synchronous=NORMAL", "PRAGMA mmap_size=268435456", "PRAGMA cache_size=-8000")));
+        configuration.setSynchronous("NORMAL; DROP TABLE tiles");
+        assertThrows(RuntimeException.class, () -> SqliteConnectionManager.pragmas(configuration));
+    }
+
     @Test
     @Ignore
     public void testMultiThreadsWithSingleFile() throws Exception {
@@ -23,6 +23,10 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -59,14 +63,19 @@
 import org.geowebcache.util.NullURLMangler;
 import org.geowebcache.util.ServletUtils;
 import org.geowebcache.util.URLMangler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
-public class WMSService extends Service {
+public class WMSService extends Service implements DisposableBean {
     public static final String GEOWEBCACHE_WMS_PROXY_REQUEST_WHITELIST = "GEOWEBCACHE_WMS_PROXY_REQUEST_WHITELIST";
 
     public static final String SERVICE_WMS = "wms";
 
     static final String SERVICE_PATH = "/" + GeoWebCacheDispatcher.TYPE_SERVICE + "/" + SERVICE_WMS;
 
+    /** Default maximum number of source tiles fetched at the same time by a single recombined request */
+    public static final int DEFAULT_FUSER_REQUEST_THREADS = 4;
+
     private static Logger log = Logging.getLogger(org.geowebcache.service.wms.WMSService.class.getName());
 
     // Recombine tiles to support regular WMS clients?
@@ -94,6 +103,14 @@ public class WMSService extends Service {
 
     private SecurityDispatcher securityDispatcher;
 
+    // Threads fetching and decoding the source tiles of the recombined requests, 0 to use the request threads
+    private int fuserThreads = Runtime.getRuntime().availableProcessors();
+
+    // Source tiles fetched at the same time by a single recombined request
+    private volatile int fuserRequestThreads = DEFAULT_FUSER_REQUEST_THREADS;
+
+    private ThreadPoolExecutor fuserExecutor;
+
     /** Protected no-argument constructor to allow run-time instrumentation */
     protected WMSService() {
         super(SERVICE_WMS);
@@ -331,9 +348,33 @@ protected WMSTileFuser getFuser(HttpServletRequest servletReq) throws GeoWebCach
         wmsFuser.setApplicationContext(utility.getApplicationContext());
         // Setting of the hintConfiguration if present
         wmsFuser.setHintsConfiguration(hintsConfig);
+        // Setting of the executor shared by the requests, unless the tiles are fetched one at a time
+        int requestThreads = fuserRequestThreads;
+        wmsFuser.setExecutor(requestThreads > 1 ? getFuserExecutor() : null, requestThreads);
         return wmsFuser;
     }
 
+    /** @return the executor fetching the source tiles of the recombined requests, {@code null} if disabled */
+    protected synchronized ExecutorService getFuserExecutor() {
+        if (fuserExecutor == null && fuserThreads > 0) {
+            CustomizableThreadFactory tf = new CustomizableThreadFactory("GWC WMSTileFuser thread-");
+            tf.setDaemon(true);
+            // The queue is bounded by the number of requests, each one submitting at most fuserRequestThreads tiles
+            fuserExecutor = new ThreadPoolExecutor(
+                    fuserThreads, fuserThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), tf);
+            fuserExecutor.allowCoreThreadTimeOut(true);
+        }
+        return fuserExecutor;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (fuserExecutor != null) {
+            fuserExecutor.shutdownNow();
+            fuserExecutor = null;
+        }
+    }
+
     /** Handles a getfeatureinfo request */
     private void handleGetFeatureInfo(ConveyorTile tile) throws GeoWebCacheException {
         TileLayer tl = tld.getTileLayer(tile.getLayerId());
@@ -479,6 +520,42 @@ public void setHintsConfig(String hintsConfig) {
         this.hintsConfig = hintsConfig;
     }
 
+    /**
+     * Sets the number of threads fetching and decoding the source tiles of the recombined requests, shared by all the
+     * requests. 0 fetches the tiles sequentially on the request threads. A running pool is resized, the requests in
+     * progress keep using it.
+     */
+    public synchronized void setFuserThreads(int fuserThreads) {
+        if (fuserThreads < 0) {
+            throw new IllegalArgumentException("fuserThreads must be positive or 0, got " + fuserThreads);
+        }
+        this.fuserThreads = fuserThreads;
+        if (fuserExecutor == null) {
+            return;
+        }
+        if (fuserThreads == 0) {
+            // Not shut down, the requests in progress may still submit tiles, the idle threads time out
+            fuserExecutor = null;
+        } else if (fuserThreads > fuserExecutor.getMaximumPoolSize()) {
+            fuserExecutor.setMaximumPoolSize(fuserThreads);
+            fuserExecutor.setCorePoolSize(fuserThreads);
+        } else {
+            fuserExecutor.setCorePoolSize(fuserThreads);
+            fuserExecutor.setMaximumPoolSize(fuserThreads);
+        }
+    }
+
+    /**
+     * Sets the maximum number of source tiles fetched at the same time by a single recombined request, so that a large
+     * request does not take all the threads. 1 fetches the tiles sequentially on the request threads.
+     */
+    public synchronized void setFuserRequestThreads(int fuserRequestThreads) {
+        if (fuserRequestThreads < 1) {
+            throw new IllegalArgumentException("fuserRequestThreads must be positive, got " + fuserRequestThreads);
+        }
+        this.fuserRequestThreads = fuserRequestThreads;
+    }
+
     public void setUtility(WMSUtilities utility) {
         this.utility = utility;
     }
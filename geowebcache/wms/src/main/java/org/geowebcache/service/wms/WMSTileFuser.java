@@ -20,11 +20,16 @@
 import java.awt.image.BufferedImage;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.media.jai.PlanarImage;
@@ -149,6 +154,24 @@ static class PixelOffsets {
 
     private SecurityDispatcher securityDispatcher;
 
+    /** Executor fetching and decoding the source tiles, {@code null} to do it on the request thread */
+    private ExecutorService executor;
+
+    /** Maximum number of source tiles fetched and decoded at the same time for this request */
+    private int concurrency = 1;
+
+    /** A source tile to fetch and decode, and the part of it drawn on the canvas */
+    static class SourceTile {
+        ConveyorTile tile;
+        long[] gridLoc;
+        int tilex;
+        int tiley;
+        int tileWidth;
+        int tileHeight;
+        int canvasx;
+        int canvasy;
+    }
+
     /** Enum storing the Hints associated to one of the 3 configurations(SPEED, QUALITY, DEFAULT) */
     public enum HintsLevel {
         QUALITY(0, "quality"),
@@ -469,9 +492,60 @@ protected void createCanvas() {
     }
 
     protected void renderCanvas() throws OutsideCoverageException, GeoWebCacheException, IOException, Exception {
+        List<SourceTile> sourceTiles = collectSourceTiles();
+
+        // Fetch and decode the tiles ahead of the one being drawn, at most concurrency at a time,
+        // and draw them in order so the canvas does not depend on which tile completes first
+        int window = executor != null ? Math.max(1, concurrency) : 1;
+        List<Future<BufferedImage>> images = new ArrayList<>(sourceTiles.size());
+        try {
+            for (int i = 0; i < Math.min(window, sourceTiles.size()); i++) {
+                images.add(submit(sourceTiles.get(i)));
+            }
+            for (int i = 0; i < sourceTiles.size(); i++) {
+                SourceTile sourceTile = sourceTiles.get(i);
+                BufferedImage tileImg = getImage(images.get(i));
+
+                // Cut down the tile to the part we want
+                if (sourceTile.tileWidth != gridSubset.getTileWidth()
+                        || sourceTile.tileHeight != gridSubset.getTileHeight()) {
+                    log.fine("tileImg.getSubimage(" + sourceTile.tilex + "," + sourceTile.tiley + ","
+                            + sourceTile.tileWidth + "," + sourceTile.tileHeight + ")");
+                    tileImg = tileImg.getSubimage(
+                            sourceTile.tilex, sourceTile.tiley, sourceTile.tileWidth, sourceTile.tileHeight);
+                }
+
+                // Render the tile on the big canvas
+                log.fine("drawImage(subtile," + sourceTile.canvasx + "," + sourceTile.canvasy + ",null) "
+                        + Arrays.toString(sourceTile.gridLoc));
+
+                bufferedImageWrapper.drawImage(tileImg, sourceTile.canvasx, sourceTile.canvasy);
+                images.set(i, null);
+
+                if (i + window < sourceTiles.size()) {
+                    images.add(submit(sourceTiles.get(i + window)));
+                }
+            }
+        } finally {
+            // Stop fetching the remaining tiles if one failed, without interrupting the ones in progress, as an
+            // interrupt would close the file channels of the blob store or abort the backend requests half way
+            for (Future<BufferedImage> image : images) {
+                if (image != null) {
+                    image.cancel(false);
+                }
+            }
+        }
+        if (bufferedImageWrapper != null) {
+            bufferedImageWrapper.disposeGraphics();
+        }
+    }
 
-        // Now we loop over all the relevant tiles and write them to the canvas,
-        // Starting at the bottom, moving to the right and up
+    /**
+     * Lists the tiles to draw on the canvas, starting at the bottom, moving to the right and up. The security checks
+     * and the request filters are applied on the request thread.
+     */
+    protected List<SourceTile> collectSourceTiles() throws GeoWebCacheException {
+        List<SourceTile> sourceTiles = new ArrayList<>();
 
         // Bottom row of tiles, in tile coordinates
         long starty = srcRectangle[1];
@@ -525,14 +599,6 @@ protected void renderCanvas() throws OutsideCoverageException, GeoWebCacheExcept
                     continue;
                 }
 
-                layer.getTile(tile);
-                // Selection of the resource input stream
-                Resource blob = tile.getBlob();
-                // Extraction of the image associated with the defined MimeType
-                String formatName = srcFormat.getMimeType();
-                BufferedImage tileImg = decoderMap.decode(
-                        formatName, blob, decoderMap.isAggressiveInputStreamSupported(formatName), null);
-
                 int tilex = 0;
                 int canvasx = (int) (gridx - startx) * gridSubset.getTileWidth();
                 int tileWidth = gridSubset.getTileWidth();
@@ -565,20 +631,55 @@ protected void renderCanvas() throws OutsideCoverageException, GeoWebCacheExcept
                     continue;
                 }
 
-                // Cut down the tile to the part we want
-                if (tileWidth != gridSubset.getTileWidth() || tileHeight != gridSubset.getTileHeight()) {
-                    log.fine("tileImg.getSubimage(" + tilex + "," + tiley + "," + tileWidth + "," + tileHeight + ")");
-                    tileImg = tileImg.getSubimage(tilex, tiley, tileWidth, tileHeight);
-                }
+                SourceTile sourceTile = new SourceTile();
+                sourceTile.tile = tile;
+                sourceTile.gridLoc = gridLoc;
+                sourceTile.tilex = tilex;
+                sourceTile.tiley = tiley;
+                sourceTile.tileWidth = tileWidth;
+                sourceTile.tileHeight = tileHeight;
+                sourceTile.canvasx = canvasx;
+                sourceTile.canvasy = canvasy;
+                sourceTiles.add(sourceTile);
+            }
+        }
+        return sourceTiles;
+    }
 
-                // Render the tile on the big canvas
-                log.fine("drawImage(subtile," + canvasx + "," + canvasy + ",null) " + Arrays.toString(gridLoc));
+    /** Fetches and decodes the tile on the executor, or on the calling thread if there is none */
+    private Future<BufferedImage> submit(SourceTile sourceTile) {
+        if (executor != null) {
+            return executor.submit(() -> fetchImage(sourceTile.tile));
+        }
+        FutureTask<BufferedImage> task = new FutureTask<>(() -> fetchImage(sourceTile.tile));
+        task.run();
+        return task;
+    }
 
-                bufferedImageWrapper.drawImage(tileImg, canvasx, canvasy);
+    private BufferedImage fetchImage(ConveyorTile tile) throws Exception {
+        layer.getTile(tile);
+        // Selection of the resource input stream
+        Resource blob = tile.getBlob();
+        // Extraction of the image associated with the defined MimeType
+        String formatName = srcFormat.getMimeType();
+        return decoderMap.decode(formatName, blob, decoderMap.isAggressiveInputStreamSupported(formatName), null);
+    }
+
+    /** Waits for the image, rethrowing the exception of the tile fetching or decoding if it failed */
+    private static BufferedImage getImage(Future<BufferedImage> image) throws Exception {
+        try {
+            return image.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
             }
-        }
-        if (bufferedImageWrapper != null) {
-            bufferedImageWrapper.disposeGraphics();
+            throw e;
         }
     }
 
@@ -676,4 +777,16 @@ public void setHintsConfiguration(String hintsConfig) {
     public void setSecurityDispatcher(SecurityDispatcher securityDispatcher) {
         this.securityDispatcher = securityDispatcher;
     }
+
+    /**
+     * Sets the executor fetching and decoding the source tiles
+     *
+     * @param executor the executor, shared by the requests, or {@code null} to fetch the tiles on the request thread
+     * @param concurrency the maximum number of tiles fetched at the same time for this request, so that a large request
+     *     does not take all the executor threads
+     */
+    public void setExecutor(ExecutorService executor, int concurrency) {
+        this.executor = executor;
+        this.concurrency = concurrency;
+    }
 }
@@ -10,6 +10,7 @@
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.eq;
@@ -27,6 +28,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.apache.commons.collections4.map.CaseInsensitiveMap;
@@ -795,6 +797,32 @@ protected void testProxyRequestPrevented(
         }
     }
 
+    /** Changing the fuser threads of a running pool must not stop the tiles being fetched by the requests */
+    @Test
+    public void testFuserThreadsResizeRunningPool() throws Exception {
+        service = new WMSService(sb, tld, mock(RuntimeStats.class));
+        service.setFuserThreads(4);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) service.getFuserExecutor();
+        try {
+            service.setFuserThreads(2);
+            assertSame(executor, service.getFuserExecutor());
+            assertEquals(2, executor.getCorePoolSize());
+            assertEquals(2, executor.getMaximumPoolSize());
+
+            service.setFuserThreads(8);
+            assertSame(executor, service.getFuserExecutor());
+            assertEquals(8, executor.getCorePoolSize());
+            assertEquals(8, executor.getMaximumPoolSize());
+
+            service.setFuserThreads(0);
+            assertNull(service.getFuserExecutor());
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+            service.destroy();
+        }
+    }
+
     protected void testProxyRequestAllowed(
             SecurityDispatcher mockSecDisp, String layerName, TestLayer mockTileLayer, String requestName)
             throws GeoWebCacheException {
@@ -13,6 +13,7 @@
  */
 package org.geowebcache.service.wms;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -23,8 +24,11 @@
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
@@ -33,6 +37,9 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.imageio.ImageIO;
 import javax.servlet.http.HttpServletRequest;
@@ -44,6 +51,7 @@
 import org.geowebcache.grid.GridSetBroker;
 import org.geowebcache.grid.GridSubset;
 import org.geowebcache.grid.GridSubsetFactory;
+import org.geowebcache.io.ByteArrayResource;
 import org.geowebcache.io.FileResource;
 import org.geowebcache.layer.TileLayer;
 import org.geowebcache.layer.TileLayerDispatcher;
@@ -356,6 +364,77 @@ public boolean get(TileObject stObj) throws StorageException {
         }
     }
 
+    @Test
+    public void testParallelRenderCanvas() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AtomicInteger sequentialActive = new AtomicInteger();
+            int[] sequential = renderCanvas(null, 1, sequentialActive);
+            assertEquals(1, sequentialActive.get());
+
+            // same canvas whatever the order the tiles complete in, with at most 2 tiles fetched at once
+            AtomicInteger parallelActive = new AtomicInteger();
+            int[] parallel = renderCanvas(executor, 2, parallelActive);
+            assertArrayEquals(sequential, parallel);
+            assertTrue(parallelActive.get() <= 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Renders a canvas of tiles of a different color each, fetched with a random delay
+     *
+     * @return the canvas pixels
+     */
+    private int[] renderCanvas(ExecutorService executor, int concurrency, AtomicInteger maxActive) throws Exception {
+        WMSLayer layer = createWMSLayer();
+        BoundingBox bounds = new BoundingBox(-25.0, 17.0, 40.0, 22);
+        int width = (int) bounds.getWidth() * 10;
+        int height = (int) bounds.getHeight() * 10;
+        GridSubset gridSubset =
+                layer.getGridSubset(layer.getGridSubsets().iterator().next());
+        TileLayerDispatcher tld = mock(TileLayerDispatcher.class);
+        Mockito.when(tld.getTileLayer("test:layer")).thenReturn(layer);
+        StorageBroker sb = mock(StorageBroker.class);
+        AtomicInteger active = new AtomicInteger();
+        Mockito.when(sb.get(ArgumentMatchers.any(TileObject.class))).thenAnswer(invoc -> {
+            int current = active.incrementAndGet();
+            maxActive.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(20));
+                TileObject stObj = (TileObject) invoc.getArguments()[0];
+                long[] xyz = stObj.getXYZ();
+                BufferedImage tile = new BufferedImage(256, 256, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D graphics = tile.createGraphics();
+                graphics.setColor(new Color((int) (xyz[0] * 37 % 256), (int) (xyz[1] * 59 % 256), 128));
+                graphics.fillRect(0, 0, 256, 256);
+                graphics.dispose();
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                ImageIO.write(tile, "png", bytes);
+                stObj.setBlob(new ByteArrayResource(bytes.toByteArray()));
+                stObj.setCreated((new Date()).getTime());
+                return true;
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+        WMSTileFuser tileFuser = new WMSTileFuser(tld, sb, fuserRequest(layer, gridSubset, bounds, width, height));
+        try (ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext("appContextTest.xml")) {
+            tileFuser.setApplicationContext(context);
+            tileFuser.setSecurityDispatcher(secDisp);
+            tileFuser.setExecutor(executor, concurrency);
+
+            tileFuser.determineSourceResolution();
+            tileFuser.determineCanvasLayout();
+            tileFuser.createCanvas();
+            tileFuser.renderCanvas();
+
+            BufferedImage canvas = tileFuser.bufferedImageWrapper.getCanvas();
+            return canvas.getRGB(0, 0, canvas.getWidth(), canvas.getHeight(), null, 0, canvas.getWidth());
+        }
+    }
+
     private WMSLayer createWMSLayer() {
         String[] urls = {"http://localhost:38080/wms"};
         List<String> formatList = new LinkedList<>();